@@ -0,0 +1,70 @@
+package com.prestify.services;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * IAsyncCategorieService that runs each call of a blocking ICategorieService
+ * on an AsyncExecutor.
+ */
+public class AsyncCategorieService implements IAsyncCategorieService {
+
+    private final ICategorieService delegate;
+    private final AsyncExecutor executor;
+
+    public AsyncCategorieService(ICategorieService delegate, AsyncExecutor executor) {
+        if (delegate == null) {
+            throw new IllegalArgumentException("Delegate cannot be null");
+        }
+        if (executor == null) {
+            throw new IllegalArgumentException("Executor cannot be null");
+        }
+        this.delegate = delegate;
+        this.executor = executor;
+    }
+
+    @Override
+    public CompletableFuture<Categorie> addCategorie(Categorie categorie) {
+        return executor.submit(() -> delegate.addCategorie(categorie));
+    }
+
+    @Override
+    public CompletableFuture<Categorie> getCategorieById(long id) {
+        return executor.submit(() -> delegate.getCategorieById(id));
+    }
+
+    @Override
+    public CompletableFuture<List<Categorie>> getAllCategories() {
+        return executor.submit(delegate::getAllCategories);
+    }
+
+    @Override
+    public CompletableFuture<Page<Categorie>> getCategoriesPage(String cursor, int size) {
+        return executor.submit(() -> delegate.getCategoriesPage(cursor, size));
+    }
+
+    @Override
+    public CompletableFuture<Delta<Categorie>> getCategoriesChangedSince(String token, int limit) {
+        return executor.submit(() -> delegate.getCategoriesChangedSince(token, limit));
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteCategorie(Long id) {
+        return executor.run(() -> delegate.deleteCategorie(id));
+    }
+
+    @Override
+    public CompletableFuture<Categorie> updateCategorie(Long id, Categorie categorie) {
+        return executor.submit(() -> delegate.updateCategorie(id, categorie));
+    }
+
+    @Override
+    public CompletableFuture<Categorie> patchCategorie(Long id, CategoriePatch patch) {
+        return executor.submit(() -> delegate.patchCategorie(id, patch));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> existsByNom(String nom) {
+        return executor.submit(() -> delegate.existsByNom(nom));
+    }
+}
@@ -0,0 +1,162 @@
+package com.prestify.services;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs blocking calls asynchronously with a cap on how many run at once.
+ * Tasks beyond the cap wait in a queue rather than on a thread, and each finished
+ * task hands its permit to the next queued one. By default tasks run one thread
+ * per task: virtual threads when the runtime provides them, daemon platform
+ * threads otherwise.
+ */
+public final class AsyncExecutor implements AutoCloseable {
+
+    public static final int DEFAULT_MAX_CONCURRENCY = 64;
+
+    private final Executor executor;
+    private final boolean ownsExecutor;
+    private final Semaphore permits;
+    private final int maxConcurrency;
+    private final Queue<Task<?>> pending = new ConcurrentLinkedQueue<>();
+
+    public AsyncExecutor() {
+        this(DEFAULT_MAX_CONCURRENCY);
+    }
+
+    public AsyncExecutor(int maxConcurrency) {
+        this(newTaskExecutor(), true, maxConcurrency);
+    }
+
+    /**
+     * Uses a caller-managed executor; close() leaves it running.
+     */
+    public AsyncExecutor(Executor executor, int maxConcurrency) {
+        this(executor, false, maxConcurrency);
+    }
+
+    private AsyncExecutor(Executor executor, boolean ownsExecutor, int maxConcurrency) {
+        if (executor == null) {
+            throw new IllegalArgumentException("Executor cannot be null");
+        }
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("Max concurrency must be positive");
+        }
+        this.executor = executor;
+        this.ownsExecutor = ownsExecutor;
+        this.maxConcurrency = maxConcurrency;
+        this.permits = new Semaphore(maxConcurrency);
+    }
+
+    /**
+     * @return a virtual-thread-per-task executor when the runtime supports it,
+     *         otherwise a cached pool of daemon threads
+     */
+    public static ExecutorService newTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            AtomicInteger counter = new AtomicInteger();
+            return Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "prestify-async-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    /**
+     * @return number of tasks waiting for a permit
+     */
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * @return a future completed with the call's result, or exceptionally with what it threw
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> call) {
+        if (call == null) {
+            throw new IllegalArgumentException("Call cannot be null");
+        }
+        Task<T> task = new Task<>(call);
+        pending.add(task);
+        drain();
+        return task.future;
+    }
+
+    public CompletableFuture<Void> run(Runnable call) {
+        if (call == null) {
+            throw new IllegalArgumentException("Call cannot be null");
+        }
+        return submit(() -> {
+            call.run();
+            return null;
+        });
+    }
+
+    /**
+     * Shuts down the executor if this instance created it.
+     */
+    @Override
+    public void close() {
+        if (ownsExecutor) {
+            ((ExecutorService) executor).shutdown();
+        }
+    }
+
+    private void drain() {
+        while (!pending.isEmpty() && permits.tryAcquire()) {
+            Task<?> task = pending.poll();
+            if (task == null) {
+                permits.release();
+                continue;
+            }
+            try {
+                executor.execute(() -> {
+                    try {
+                        task.run();
+                    } finally {
+                        permits.release();
+                        drain();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                permits.release();
+                task.future.completeExceptionally(e);
+            }
+        }
+    }
+
+    private static final class Task<T> {
+        private final Supplier<T> call;
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+
+        Task(Supplier<T> call) {
+            this.call = call;
+        }
+
+        void run() {
+            if (future.isDone()) {
+                return;
+            }
+            try {
+                future.complete(call.get());
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+            }
+        }
+    }
+}
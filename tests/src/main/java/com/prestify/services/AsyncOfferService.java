@@ -0,0 +1,147 @@
+package com.prestify.services;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * IAsyncOfferService that runs each call of a blocking IOfferService on an
+ * AsyncExecutor. Sharing one executor between the offer and category services
+ * bounds the total number of concurrent calls reaching the repositories.
+ */
+public class AsyncOfferService implements IAsyncOfferService {
+
+    private final IOfferService delegate;
+    private final AsyncExecutor executor;
+
+    public AsyncOfferService(IOfferService delegate, AsyncExecutor executor) {
+        if (delegate == null) {
+            throw new IllegalArgumentException("Delegate cannot be null");
+        }
+        if (executor == null) {
+            throw new IllegalArgumentException("Executor cannot be null");
+        }
+        this.delegate = delegate;
+        this.executor = executor;
+    }
+
+    @Override
+    public CompletableFuture<Offer> addOffer(Offer offer) {
+        return executor.submit(() -> delegate.addOffer(offer));
+    }
+
+    @Override
+    public CompletableFuture<BatchResult<Offer>> addOffers(Collection<Offer> offers) {
+        return executor.submit(() -> delegate.addOffers(offers));
+    }
+
+    @Override
+    public CompletableFuture<Offer> getOfferById(long id) {
+        return executor.submit(() -> delegate.getOfferById(id));
+    }
+
+    @Override
+    public CompletableFuture<List<Offer>> getAllOffers() {
+        return executor.submit(delegate::getAllOffers);
+    }
+
+    @Override
+    public CompletableFuture<Page<Offer>> getOffersPage(String cursor, int size) {
+        return executor.submit(() -> delegate.getOffersPage(cursor, size));
+    }
+
+    @Override
+    public CompletableFuture<Delta<Offer>> getOffersChangedSince(String token, int limit) {
+        return executor.submit(() -> delegate.getOffersChangedSince(token, limit));
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteOffer(Long id) {
+        return executor.run(() -> delegate.deleteOffer(id));
+    }
+
+    @Override
+    public CompletableFuture<Offer> updateOffer(Long id, Offer offer) {
+        return executor.submit(() -> delegate.updateOffer(id, offer));
+    }
+
+    @Override
+    public CompletableFuture<Offer> updateOfferIfVersion(Long id, Offer offer, long expectedVersion) {
+        return executor.submit(() -> delegate.updateOfferIfVersion(id, offer, expectedVersion));
+    }
+
+    @Override
+    public CompletableFuture<Offer> modifyOffer(Long id, Consumer<Offer> mutation) {
+        return executor.submit(() -> delegate.modifyOffer(id, mutation));
+    }
+
+    @Override
+    public CompletableFuture<Offer> patchOffer(Long id, OfferPatch patch) {
+        return executor.submit(() -> delegate.patchOffer(id, patch));
+    }
+
+    @Override
+    public CompletableFuture<List<Offer>> getOffersByTitle(String title) {
+        return executor.submit(() -> delegate.getOffersByTitle(title));
+    }
+
+    @Override
+    public CompletableFuture<List<Offer>> searchOffersByTitle(String query) {
+        return executor.submit(() -> delegate.searchOffersByTitle(query));
+    }
+
+    @Override
+    public CompletableFuture<List<Offer>> getOffersByLocation(String location) {
+        return executor.submit(() -> delegate.getOffersByLocation(location));
+    }
+
+    @Override
+    public CompletableFuture<List<Offer>> getOffersByPriceRange(Double minPrice, Double maxPrice) {
+        return executor.submit(() -> delegate.getOffersByPriceRange(minPrice, maxPrice));
+    }
+
+    @Override
+    public CompletableFuture<List<Offer>> searchOffers(OfferQuery query) {
+        return executor.submit(() -> delegate.searchOffers(query));
+    }
+
+    @Override
+    public CompletableFuture<List<Offer>> getOffersMatching(Predicate<? super Offer> filter) {
+        return executor.submit(() -> delegate.getOffersMatching(filter));
+    }
+
+    @Override
+    public CompletableFuture<List<Offer>> getTopOffers(OfferQuery.Sort order, String location,
+                                                       Double minPrice, Double maxPrice, int k) {
+        return executor.submit(() -> delegate.getTopOffers(order, location, minPrice, maxPrice, k));
+    }
+
+    @Override
+    public CompletableFuture<List<Offer>> getOffersByStatus(String status) {
+        return executor.submit(() -> delegate.getOffersByStatus(status));
+    }
+
+    @Override
+    public CompletableFuture<PriceStats> getPriceStatistics(String location) {
+        return executor.submit(() -> delegate.getPriceStatistics(location));
+    }
+
+    @Override
+    public CompletableFuture<Map<String, PriceStats>> getPriceStatisticsByLocation() {
+        return executor.submit(delegate::getPriceStatisticsByLocation);
+    }
+
+    @Override
+    public CompletableFuture<List<Offer>> getOffersByStatuses(Collection<String> statuses, String location,
+                                                              Double minPrice, Double maxPrice) {
+        return executor.submit(() -> delegate.getOffersByStatuses(statuses, location, minPrice, maxPrice));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> offerExists(long id) {
+        return executor.submit(() -> delegate.offerExists(id));
+    }
+}
@@ -0,0 +1,78 @@
+package com.prestify.services;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of a batch operation: the items that were persisted and,
+ * for every rejected item, its position in the input and the reason.
+ */
+public class BatchResult<T> {
+
+    private final List<T> saved = new ArrayList<>();
+    private final List<Failure<T>> failures = new ArrayList<>();
+
+    void addSaved(List<T> items) {
+        saved.addAll(items);
+    }
+
+    void addFailure(int index, T item, String reason) {
+        failures.add(new Failure<>(index, item, reason));
+    }
+
+    public List<T> getSaved() {
+        return Collections.unmodifiableList(saved);
+    }
+
+    public List<Failure<T>> getFailures() {
+        return Collections.unmodifiableList(failures);
+    }
+
+    public boolean hasFailures() {
+        return !failures.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "BatchResult{" +
+                "saved=" + saved.size() +
+                ", failures=" + failures.size() +
+                '}';
+    }
+
+    /**
+     * A rejected item with its position in the submitted batch.
+     */
+    public static class Failure<T> {
+        private final int index;
+        private final T item;
+        private final String reason;
+
+        Failure(int index, T item, String reason) {
+            this.index = index;
+            this.item = item;
+            this.reason = reason;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public T getItem() {
+            return item;
+        }
+
+        public String getReason() {
+            return reason;
+        }
+
+        @Override
+        public String toString() {
+            return "Failure{" +
+                    "index=" + index +
+                    ", reason='" + reason + '\'' +
+                    '}';
+        }
+    }
+}
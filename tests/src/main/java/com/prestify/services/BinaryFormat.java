@@ -0,0 +1,153 @@
+package com.prestify.services;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Primitives shared by the binary codecs: unsigned and zigzag varints,
+ * big-endian doubles whatever the buffer's byte order, and strings as a
+ * varint byte length followed by UTF-8. Strings are encoded
+ * straight into the target buffer; an unpaired surrogate is written as '?',
+ * as String.getBytes does.
+ */
+final class BinaryFormat {
+
+    private BinaryFormat() {
+    }
+
+    static int varLongSize(long value) {
+        int size = 1;
+        while ((value & ~0x7FL) != 0) {
+            value >>>= 7;
+            size++;
+        }
+        return size;
+    }
+
+    static void writeVarLong(ByteBuffer buffer, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    static long readVarLong(ByteBuffer buffer) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint");
+    }
+
+    static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    static void writeDouble(ByteBuffer buffer, double value) {
+        long bits = Double.doubleToRawLongBits(value);
+        buffer.putLong(buffer.order() == ByteOrder.BIG_ENDIAN ? bits : Long.reverseBytes(bits));
+    }
+
+    static double readDouble(ByteBuffer buffer) {
+        long bits = buffer.getLong();
+        return Double.longBitsToDouble(buffer.order() == ByteOrder.BIG_ENDIAN ? bits : Long.reverseBytes(bits));
+    }
+
+    /**
+     * @return bytes taken by the string, length prefix included
+     */
+    static int stringSize(String value) {
+        int length = utf8Length(value);
+        return varLongSize(length) + length;
+    }
+
+    static void writeString(ByteBuffer buffer, String value) {
+        writeVarLong(buffer, utf8Length(value));
+        int n = value.length();
+        for (int i = 0; i < n; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                buffer.put((byte) c);
+            } else if (c < 0x800) {
+                buffer.put((byte) (0xC0 | (c >> 6)));
+                buffer.put((byte) (0x80 | (c & 0x3F)));
+            } else if (Character.isSurrogate(c)) {
+                if (Character.isHighSurrogate(c) && i + 1 < n && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                    buffer.put((byte) (0xF0 | (codePoint >> 18)));
+                    buffer.put((byte) (0x80 | ((codePoint >> 12) & 0x3F)));
+                    buffer.put((byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+                    buffer.put((byte) (0x80 | (codePoint & 0x3F)));
+                } else {
+                    buffer.put((byte) '?');
+                }
+            } else {
+                buffer.put((byte) (0xE0 | (c >> 12)));
+                buffer.put((byte) (0x80 | ((c >> 6) & 0x3F)));
+                buffer.put((byte) (0x80 | (c & 0x3F)));
+            }
+        }
+    }
+
+    /**
+     * Decodes a string in place: from the backing array for heap buffers,
+     * through a slice for direct and mapped ones.
+     */
+    static String readString(ByteBuffer buffer) {
+        int length = readLength(buffer);
+        int position = buffer.position();
+        String value;
+        if (buffer.hasArray()) {
+            value = new String(buffer.array(), buffer.arrayOffset() + position, length, StandardCharsets.UTF_8);
+        } else {
+            value = StandardCharsets.UTF_8.decode(buffer.slice(position, length)).toString();
+        }
+        buffer.position(position + length);
+        return value;
+    }
+
+    static void skipString(ByteBuffer buffer) {
+        int length = readLength(buffer);
+        buffer.position(buffer.position() + length);
+    }
+
+    private static int readLength(ByteBuffer buffer) {
+        long length = readVarLong(buffer);
+        if (length > buffer.remaining()) {
+            throw new IllegalArgumentException("String length exceeds buffer");
+        }
+        return (int) length;
+    }
+
+    private static int utf8Length(String value) {
+        int n = value.length();
+        int length = n;
+        for (int i = 0; i < n; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                continue;
+            }
+            if (c < 0x800) {
+                length += 1;
+            } else if (Character.isSurrogate(c)) {
+                if (Character.isHighSurrogate(c) && i + 1 < n && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    length += 2;
+                    i++;
+                }
+            } else {
+                length += 2;
+            }
+        }
+        return length;
+    }
+}
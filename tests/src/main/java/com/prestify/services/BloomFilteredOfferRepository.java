@@ -0,0 +1,270 @@
+package com.prestify.services;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+/**
+ * IOfferRepository decorator that keeps a counting Bloom filter of stored ids
+ * in front of existsById and findById, so lookups of ids that were never
+ * stored or have been deleted are answered without touching the delegate.
+ * The filter is rebuilt from the delegate on construction and kept in sync
+ * by the writes that go through this decorator.
+ */
+public class BloomFilteredOfferRepository implements IOfferRepository {
+
+    private static final int REBUILD_PAGE_SIZE = 1000;
+
+    private final IOfferRepository delegate;
+    private final CountingBloomFilter filter;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public BloomFilteredOfferRepository(IOfferRepository delegate, int expectedOffers, double falsePositiveRate) {
+        if (delegate == null) {
+            throw new IllegalArgumentException("Delegate cannot be null");
+        }
+        this.delegate = delegate;
+        this.filter = new CountingBloomFilter(expectedOffers, falsePositiveRate);
+        rebuild();
+    }
+
+    /**
+     * Reloads the filter from the ids currently stored in the delegate,
+     * dropping false positives accumulated through saturated counters.
+     */
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            filter.clear();
+            Long after = null;
+            List<Offer> page;
+            do {
+                page = delegate.findAllAfter(after, REBUILD_PAGE_SIZE);
+                for (Offer offer : page) {
+                    filter.add(offer.getId());
+                    after = offer.getId();
+                }
+            } while (page.size() == REBUILD_PAGE_SIZE);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return false if the id is definitely not stored
+     */
+    public boolean mightContain(long id) {
+        lock.readLock().lock();
+        try {
+            return filter.mightContain(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Offer save(Offer offer) {
+        if (offer == null) {
+            throw new IllegalArgumentException("Offer cannot be null");
+        }
+        lock.writeLock().lock();
+        try {
+            boolean known = isKnown(offer.getId());
+            Offer saved = delegate.save(offer);
+            if (!known) {
+                filter.add(saved.getId());
+            }
+            return saved;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Offer> saveAll(Collection<Offer> offers) {
+        lock.writeLock().lock();
+        try {
+            List<Boolean> known = new ArrayList<>(offers.size());
+            for (Offer offer : offers) {
+                known.add(offer != null && isKnown(offer.getId()));
+            }
+            List<Offer> saved = delegate.saveAll(offers);
+            for (int i = 0; i < saved.size(); i++) {
+                if (!known.get(i)) {
+                    filter.add(saved.get(i).getId());
+                }
+            }
+            return saved;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void restore(Collection<Offer> offers) {
+        lock.writeLock().lock();
+        try {
+            Set<Long> unknown = new HashSet<>();
+            for (Offer offer : offers) {
+                if (offer != null && !isKnown(offer.getId())) {
+                    unknown.add(offer.getId());
+                }
+            }
+            delegate.restore(offers);
+            for (Long id : unknown) {
+                filter.add(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public OptionalLong reserveIds(int count) {
+        return delegate.reserveIds(count);
+    }
+
+    @Override
+    public Optional<Offer> findById(Long id) {
+        return id != null ? findById(id.longValue()) : Optional.empty();
+    }
+
+    @Override
+    public Optional<Offer> findById(long id) {
+        if (!mightContain(id)) {
+            return Optional.empty();
+        }
+        return delegate.findById(id);
+    }
+
+    @Override
+    public boolean existsById(Long id) {
+        return id != null && existsById(id.longValue());
+    }
+
+    @Override
+    public boolean existsById(long id) {
+        if (!mightContain(id)) {
+            return false;
+        }
+        return delegate.existsById(id);
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        if (id == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            boolean existed = filter.mightContain(id) && delegate.existsById(id.longValue());
+            delegate.deleteById(id);
+            if (existed) {
+                filter.remove(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Offer> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public List<Offer> findAllAfter(Long afterId, int limit) {
+        return delegate.findAllAfter(afterId, limit);
+    }
+
+    @Override
+    public List<Offer> findByTitle(String title) {
+        return delegate.findByTitle(title);
+    }
+
+    @Override
+    public List<Offer> searchByTitle(String fragment) {
+        return delegate.searchByTitle(fragment);
+    }
+
+    @Override
+    public List<Offer> findByLocation(String location) {
+        return delegate.findByLocation(location);
+    }
+
+    /**
+     * Only ever rewrites an existing offer, whose id the filter already holds.
+     */
+    @Override
+    public Optional<Offer> saveIfVersion(Offer offer, long expectedVersion) {
+        return delegate.saveIfVersion(offer, expectedVersion);
+    }
+
+    @Override
+    public Optional<Offer> patch(long id, OfferPatch patch) {
+        return delegate.patch(id, patch);
+    }
+
+    @Override
+    public List<Offer> findMatching(Predicate<? super Offer> filter) {
+        return delegate.findMatching(filter);
+    }
+
+    @Override
+    public PriceStats priceStatistics(String location) {
+        return delegate.priceStatistics(location);
+    }
+
+    @Override
+    public Map<String, PriceStats> priceStatisticsByLocation() {
+        return delegate.priceStatisticsByLocation();
+    }
+
+    @Override
+    public List<Offer> findByQuery(OfferQuery query) {
+        return delegate.findByQuery(query);
+    }
+
+    @Override
+    public List<Offer> findByStatus(String status) {
+        return delegate.findByStatus(status);
+    }
+
+    @Override
+    public List<Offer> findByStatusIn(Collection<String> statuses, String location,
+                                      Double minPrice, Double maxPrice) {
+        return delegate.findByStatusIn(statuses, location, minPrice, maxPrice);
+    }
+
+    @Override
+    public List<Offer> findByLocationAfter(String location, Long afterId, int limit) {
+        return delegate.findByLocationAfter(location, afterId, limit);
+    }
+
+    @Override
+    public List<Offer> findByPriceBetween(Double minPrice, Double maxPrice) {
+        return delegate.findByPriceBetween(minPrice, maxPrice);
+    }
+
+    @Override
+    public List<Offer> findByPriceBetweenAfter(Double minPrice, Double maxPrice,
+                                               Double afterPrice, Long afterId, int limit) {
+        return delegate.findByPriceBetweenAfter(minPrice, maxPrice, afterPrice, afterId, limit);
+    }
+
+    /**
+     * Whether the id is already counted in the filter. Only a possible hit
+     * needs confirming against the delegate; new offers skip that round trip.
+     */
+    private boolean isKnown(Long id) {
+        return id != null && filter.mightContain(id) && delegate.existsById(id.longValue());
+    }
+}
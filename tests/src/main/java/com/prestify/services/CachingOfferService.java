@@ -0,0 +1,249 @@
+package com.prestify.services;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Flow;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Read-through caching decorator for IOfferService.
+ * getOfferById and offerExists are answered from a TinyLfuCache when possible;
+ * writes, creates included, go to the delegate first and then invalidate the
+ * cached entry. offerExists only peeks at the cache, so existence probes do not
+ * count as lookups in the stats or the admission sketch.
+ * Cached offers are copied on the way in and out, so callers mutating a
+ * returned offer cannot corrupt the cache.
+ */
+public class CachingOfferService implements IOfferService {
+
+    private final IOfferService delegate;
+    private final TinyLfuCache<Offer> cache;
+
+    public CachingOfferService(IOfferService delegate, int maximumSize) {
+        this(delegate, new TinyLfuCache<>(maximumSize, 0));
+    }
+
+    public CachingOfferService(IOfferService delegate, int maximumSize, Duration ttl) {
+        this(delegate, new TinyLfuCache<>(maximumSize, ttl.toNanos()));
+    }
+
+    CachingOfferService(IOfferService delegate, TinyLfuCache<Offer> cache) {
+        if (delegate == null) {
+            throw new IllegalArgumentException("Delegate cannot be null");
+        }
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    public CacheStats getStats() {
+        return cache.stats();
+    }
+
+    /**
+     * A create with an explicit id may overwrite a cached offer, so every saved id
+     * is invalidated; if the delegate fails, the ids it was given are.
+     */
+    @Override
+    public Offer addOffer(Offer offer) {
+        Offer added = null;
+        try {
+            added = delegate.addOffer(offer);
+            return added;
+        } finally {
+            invalidate(added != null ? added.getId() : offer != null ? offer.getId() : null);
+        }
+    }
+
+    @Override
+    public BatchResult<Offer> addOffers(Collection<Offer> offers) {
+        BatchResult<Offer> result = null;
+        try {
+            result = delegate.addOffers(offers);
+            return result;
+        } finally {
+            Collection<Offer> written = result != null ? result.getSaved() : offers;
+            if (written != null) {
+                for (Offer offer : written) {
+                    invalidate(offer != null ? offer.getId() : null);
+                }
+            }
+        }
+    }
+
+    @Override
+    public Offer getOfferById(Long id) {
+        if (id == null) {
+            return delegate.getOfferById(null);
+        }
+        return getOfferById(id.longValue());
+    }
+
+    @Override
+    public Offer getOfferById(long id) {
+        Offer cached = cache.get(id);
+        if (cached != null) {
+            return new Offer(cached);
+        }
+        long token = cache.loadToken();
+        Offer loaded = delegate.getOfferById(id);
+        cache.put(id, new Offer(loaded), token);
+        return loaded;
+    }
+
+    @Override
+    public List<Offer> getAllOffers() {
+        return delegate.getAllOffers();
+    }
+
+    @Override
+    public Page<Offer> getOffersPage(String cursor, int size) {
+        return delegate.getOffersPage(cursor, size);
+    }
+
+    @Override
+    public Delta<Offer> getOffersChangedSince(String token, int limit) {
+        return delegate.getOffersChangedSince(token, limit);
+    }
+
+    @Override
+    public void deleteOffer(Long id) {
+        try {
+            delegate.deleteOffer(id);
+        } finally {
+            invalidate(id);
+        }
+    }
+
+    @Override
+    public Offer updateOffer(Long id, Offer offer) {
+        try {
+            return delegate.updateOffer(id, offer);
+        } finally {
+            invalidate(id);
+        }
+    }
+
+    @Override
+    public Offer updateOfferIfVersion(Long id, Offer offer, long expectedVersion) {
+        try {
+            return delegate.updateOfferIfVersion(id, offer, expectedVersion);
+        } finally {
+            invalidate(id);
+        }
+    }
+
+    @Override
+    public Offer modifyOffer(Long id, Consumer<Offer> mutation) {
+        try {
+            return delegate.modifyOffer(id, mutation);
+        } finally {
+            invalidate(id);
+        }
+    }
+
+    @Override
+    public Offer patchOffer(Long id, OfferPatch patch) {
+        try {
+            return delegate.patchOffer(id, patch);
+        } finally {
+            invalidate(id);
+        }
+    }
+
+    @Override
+    public List<Offer> getOffersByTitle(String title) {
+        return delegate.getOffersByTitle(title);
+    }
+
+    @Override
+    public List<Offer> searchOffersByTitle(String query) {
+        return delegate.searchOffersByTitle(query);
+    }
+
+    @Override
+    public List<Offer> getOffersByLocation(String location) {
+        return delegate.getOffersByLocation(location);
+    }
+
+    @Override
+    public List<Offer> getOffersByPriceRange(Double minPrice, Double maxPrice) {
+        return delegate.getOffersByPriceRange(minPrice, maxPrice);
+    }
+
+    @Override
+    public List<Offer> searchOffers(OfferQuery query) {
+        return delegate.searchOffers(query);
+    }
+
+    @Override
+    public List<Offer> getOffersMatching(Predicate<? super Offer> filter) {
+        return delegate.getOffersMatching(filter);
+    }
+
+    @Override
+    public List<Offer> getTopOffers(OfferQuery.Sort order, String location,
+                                    Double minPrice, Double maxPrice, int k) {
+        return delegate.getTopOffers(order, location, minPrice, maxPrice, k);
+    }
+
+    @Override
+    public PriceStats getPriceStatistics(String location) {
+        return delegate.getPriceStatistics(location);
+    }
+
+    @Override
+    public Map<String, PriceStats> getPriceStatisticsByLocation() {
+        return delegate.getPriceStatisticsByLocation();
+    }
+
+    @Override
+    public List<Offer> getOffersByStatus(String status) {
+        return delegate.getOffersByStatus(status);
+    }
+
+    @Override
+    public List<Offer> getOffersByStatuses(Collection<String> statuses, String location,
+                                           Double minPrice, Double maxPrice) {
+        return delegate.getOffersByStatuses(statuses, location, minPrice, maxPrice);
+    }
+
+    @Override
+    public boolean offerExists(Long id) {
+        if (id == null) {
+            return delegate.offerExists(null);
+        }
+        return offerExists(id.longValue());
+    }
+
+    @Override
+    public boolean offerExists(long id) {
+        if (cache.containsKey(id)) {
+            return true;
+        }
+        return delegate.offerExists(id);
+    }
+
+    @Override
+    public Flow.Publisher<Offer> streamAllOffers() {
+        return delegate.streamAllOffers();
+    }
+
+    @Override
+    public Flow.Publisher<Offer> streamOffersByLocation(String location) {
+        return delegate.streamOffersByLocation(location);
+    }
+
+    @Override
+    public Flow.Publisher<Offer> streamOffersByPriceRange(Double minPrice, Double maxPrice) {
+        return delegate.streamOffersByPriceRange(minPrice, maxPrice);
+    }
+
+    private void invalidate(Long id) {
+        if (id != null) {
+            cache.invalidate(id);
+        }
+    }
+}
@@ -24,6 +24,12 @@ public class Categorie {
         this.description = description;
     }
 
+    public Categorie(Categorie other) {
+        this.id = other.id;
+        this.nom = other.nom;
+        this.description = other.description;
+    }
+
     public Long getId() {
         return id;
     }
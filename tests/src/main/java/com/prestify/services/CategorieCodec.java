@@ -0,0 +1,95 @@
+package com.prestify.services;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * Compact, versioned binary encoding of a Categorie, in the same style as
+ * OfferCodec: format version byte, presence bits byte, varint id, then nom and
+ * description as varint-length-prefixed UTF-8.
+ */
+public final class CategorieCodec {
+
+    public static final byte FORMAT_VERSION = 1;
+
+    private static final int ID = 1;
+    private static final int NOM = 1 << 1;
+    private static final int DESCRIPTION = 1 << 2;
+
+    private CategorieCodec() {
+    }
+
+    public static int encodedSize(Categorie categorie) {
+        int size = 2;
+        if (categorie.getId() != null) {
+            size += BinaryFormat.varLongSize(categorie.getId());
+        }
+        if (categorie.getNom() != null) {
+            size += BinaryFormat.stringSize(categorie.getNom());
+        }
+        if (categorie.getDescription() != null) {
+            size += BinaryFormat.stringSize(categorie.getDescription());
+        }
+        return size;
+    }
+
+    /**
+     * Writes the categorie at the buffer's position and advances past it.
+     * @throws BufferOverflowException if the buffer lacks room, in which case nothing is written
+     */
+    public static void encode(Categorie categorie, ByteBuffer buffer) {
+        if (categorie == null) {
+            throw new IllegalArgumentException("Categorie cannot be null");
+        }
+        if (buffer.remaining() < encodedSize(categorie)) {
+            throw new BufferOverflowException();
+        }
+        int flags = (categorie.getId() != null ? ID : 0)
+                | (categorie.getNom() != null ? NOM : 0)
+                | (categorie.getDescription() != null ? DESCRIPTION : 0);
+        buffer.put(FORMAT_VERSION);
+        buffer.put((byte) flags);
+        if ((flags & ID) != 0) {
+            BinaryFormat.writeVarLong(buffer, categorie.getId());
+        }
+        if ((flags & NOM) != 0) {
+            BinaryFormat.writeString(buffer, categorie.getNom());
+        }
+        if ((flags & DESCRIPTION) != 0) {
+            BinaryFormat.writeString(buffer, categorie.getDescription());
+        }
+    }
+
+    public static byte[] toBytes(Categorie categorie) {
+        byte[] bytes = new byte[encodedSize(categorie)];
+        encode(categorie, ByteBuffer.wrap(bytes));
+        return bytes;
+    }
+
+    /**
+     * Reads the categorie at the buffer's position and advances past it.
+     * @throws IllegalArgumentException if the format version is unknown or the data is malformed
+     */
+    public static Categorie decode(ByteBuffer buffer) {
+        byte format = buffer.get();
+        if (format != FORMAT_VERSION) {
+            throw new IllegalArgumentException("Unsupported categorie format version: " + format);
+        }
+        int flags = buffer.get() & 0xFF;
+        Categorie categorie = new Categorie();
+        if ((flags & ID) != 0) {
+            categorie.setId(BinaryFormat.readVarLong(buffer));
+        }
+        if ((flags & NOM) != 0) {
+            categorie.setNom(BinaryFormat.readString(buffer));
+        }
+        if ((flags & DESCRIPTION) != 0) {
+            categorie.setDescription(BinaryFormat.readString(buffer));
+        }
+        return categorie;
+    }
+
+    public static Categorie fromBytes(byte[] bytes) {
+        return decode(ByteBuffer.wrap(bytes));
+    }
+}
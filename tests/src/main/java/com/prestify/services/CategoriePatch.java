@@ -0,0 +1,74 @@
+package com.prestify.services;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Partial update of a Categorie. Only the fields explicitly set are written.
+ */
+public final class CategoriePatch {
+
+    public enum Field {
+        NOM, DESCRIPTION
+    }
+
+    private final Set<Field> fields = EnumSet.noneOf(Field.class);
+    private String nom;
+    private String description;
+
+    public CategoriePatch nom(String nom) {
+        this.nom = nom;
+        fields.add(Field.NOM);
+        return this;
+    }
+
+    public CategoriePatch description(String description) {
+        this.description = description;
+        fields.add(Field.DESCRIPTION);
+        return this;
+    }
+
+    public boolean contains(Field field) {
+        return fields.contains(field);
+    }
+
+    public Set<Field> getFields() {
+        return Collections.unmodifiableSet(fields);
+    }
+
+    public boolean isEmpty() {
+        return fields.isEmpty();
+    }
+
+    public String getNom() {
+        return nom;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * Writes the set fields into the categorie.
+     * @return the fields whose value differed from the categorie's, possibly empty
+     */
+    public Set<Field> applyTo(Categorie categorie) {
+        Set<Field> changed = EnumSet.noneOf(Field.class);
+        if (fields.contains(Field.NOM) && !Objects.equals(nom, categorie.getNom())) {
+            categorie.setNom(nom);
+            changed.add(Field.NOM);
+        }
+        if (fields.contains(Field.DESCRIPTION) && !Objects.equals(description, categorie.getDescription())) {
+            categorie.setDescription(description);
+            changed.add(Field.DESCRIPTION);
+        }
+        return changed;
+    }
+
+    @Override
+    public String toString() {
+        return "CategoriePatch{fields=" + fields + '}';
+    }
+}
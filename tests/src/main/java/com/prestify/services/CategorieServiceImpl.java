@@ -2,6 +2,8 @@ package com.prestify.services;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.function.Supplier;
 
 /**
  * Implementation of CategorieService
@@ -9,11 +11,28 @@ import java.util.Optional;
 public class CategorieServiceImpl implements ICategorieService {
     
     private ICategorieRepository categorieRepository;
+    private ChangeFeed<Categorie> changeFeed;
+    private ChangeLog<Categorie> changeLog;
 
     public CategorieServiceImpl(ICategorieRepository categorieRepository) {
         this.categorieRepository = categorieRepository;
     }
 
+    /**
+     * Sets the feed that every add, update and delete is published on; null stops publishing.
+     */
+    public void setChangeFeed(ChangeFeed<Categorie> changeFeed) {
+        this.changeFeed = changeFeed;
+    }
+
+    /**
+     * Sets the log that answers getCategoriesChangedSince, typically subscribed to the change feed
+     * and built with Categorie::new as its copier so deltas never share its values.
+     */
+    public void setChangeLog(ChangeLog<Categorie> changeLog) {
+        this.changeLog = changeLog;
+    }
+
     @Override
     public Categorie addCategorie(Categorie categorie) {
         if (categorie == null) {
@@ -22,7 +41,30 @@ public class CategorieServiceImpl implements ICategorieService {
         if (categorie.getNom() == null || categorie.getNom().isEmpty()) {
             throw new IllegalArgumentException("Categorie nom cannot be empty");
         }
-        return categorieRepository.save(categorie);
+        Categorie named = categorie.getId() == null ? withReservedId(categorie) : categorie;
+        if (named.getId() == null) {
+            return recordCreate(() -> published(ChangeEvent.Type.CREATED, categorieRepository.save(categorie)));
+        }
+        return recordChange(named.getId(), ChangeEvent.Type.CREATED, () -> categorieRepository.save(named));
+    }
+
+    /**
+     * Gives a copy of a new categorie an id reserved from the repository, so its create
+     * can be published under that id's stripe before anyone else can reach it. The
+     * categorie is left as it is when nothing is published or the repository cannot
+     * reserve ids.
+     */
+    private Categorie withReservedId(Categorie categorie) {
+        if (changeFeed == null) {
+            return categorie;
+        }
+        OptionalLong id = categorieRepository.reserveIds(1);
+        if (id.isEmpty()) {
+            return categorie;
+        }
+        Categorie named = new Categorie(categorie);
+        named.setId(id.getAsLong());
+        return named;
     }
 
     @Override
@@ -30,6 +72,11 @@ public class CategorieServiceImpl implements ICategorieService {
         if (id == null) {
             throw new IllegalArgumentException("ID cannot be null");
         }
+        return getCategorieById(id.longValue());
+    }
+
+    @Override
+    public Categorie getCategorieById(long id) {
         return categorieRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Categorie not found with id: " + id));
     }
@@ -39,15 +86,50 @@ public class CategorieServiceImpl implements ICategorieService {
         return categorieRepository.findAll();
     }
 
+    @Override
+    public Page<Categorie> getCategoriesPage(String cursor, int size) {
+        PageCursor.checkPageSize(size);
+        Long afterId = PageCursor.decode(cursor);
+        return Page.fromSlice(categorieRepository.findAllAfter(afterId, size + 1), size, Categorie::getId);
+    }
+
+    /**
+     * Returns categories changed and ids deleted since the token, at most limit of them.
+     * A null token, or one the change log can no longer answer, yields a reset.
+     * @throws IllegalStateException if no change log is set
+     */
+    @Override
+    public Delta<Categorie> getCategoriesChangedSince(String token, int limit) {
+        ChangeLog<Categorie> log = changeLog;
+        if (log == null) {
+            throw new IllegalStateException("Change log is not configured");
+        }
+        return log.changesSince(token, limit);
+    }
+
     @Override
     public void deleteCategorie(Long id) {
         if (id == null) {
             throw new IllegalArgumentException("ID cannot be null");
         }
-        if (!categorieRepository.existsById(id)) {
+        ChangeFeed<Categorie> feed = changeFeed;
+        if (feed == null) {
+            checkExists(id);
+            categorieRepository.deleteById(id);
+            return;
+        }
+        feed.inOrder(id, () -> {
+            checkExists(id);
+            categorieRepository.deleteById(id);
+            feed.publish(ChangeEvent.Type.DELETED, id, null);
+            return null;
+        });
+    }
+
+    private void checkExists(Long id) {
+        if (!categorieRepository.existsById(id.longValue())) {
             throw new RuntimeException("Categorie not found with id: " + id);
         }
-        categorieRepository.deleteById(id);
     }
 
     @Override
@@ -60,7 +142,62 @@ public class CategorieServiceImpl implements ICategorieService {
         existing.setNom(categorie.getNom());
         existing.setDescription(categorie.getDescription());
         
-        return categorieRepository.save(existing);
+        return recordChange(id, ChangeEvent.Type.UPDATED, () -> categorieRepository.save(existing));
+    }
+
+    /**
+     * Writes only the fields set on the patch.
+     */
+    @Override
+    public Categorie patchCategorie(Long id, CategoriePatch patch) {
+        if (id == null || patch == null) {
+            throw new IllegalArgumentException("ID and patch cannot be null");
+        }
+        if (patch.contains(CategoriePatch.Field.NOM) && (patch.getNom() == null || patch.getNom().isEmpty())) {
+            throw new IllegalArgumentException("Categorie nom cannot be empty");
+        }
+        Categorie patched = recordChange(id, ChangeEvent.Type.UPDATED,
+                () -> categorieRepository.patch(id.longValue(), patch).orElse(null));
+        if (patched == null) {
+            throw new RuntimeException("Categorie not found with id: " + id);
+        }
+        return patched;
+    }
+
+    /**
+     * Runs a write and publishes the categorie it returns, if any, as one step per categorie id,
+     * so the feed carries each categorie's changes in the order they were applied.
+     */
+    private Categorie recordChange(long id, ChangeEvent.Type type, Supplier<Categorie> write) {
+        ChangeFeed<Categorie> feed = changeFeed;
+        if (feed == null) {
+            return write.get();
+        }
+        return feed.inOrder(id, () -> published(type, write.get()));
+    }
+
+    /**
+     * Runs a create whose id the repository assigns on save, and publishes it,
+     * before any recordChange write can reach the new id. Only repositories that
+     * cannot reserve ids get here, and the create then holds every stripe.
+     */
+    private <R> R recordCreate(Supplier<R> write) {
+        ChangeFeed<Categorie> feed = changeFeed;
+        if (feed == null) {
+            return write.get();
+        }
+        return feed.inOrderOfAll(write);
+    }
+
+    /**
+     * Publishes a copy, so callers modifying the returned categorie cannot change the event.
+     */
+    private Categorie published(ChangeEvent.Type type, Categorie categorie) {
+        ChangeFeed<Categorie> feed = changeFeed;
+        if (feed != null && categorie != null) {
+            feed.publish(type, categorie.getId(), new Categorie(categorie));
+        }
+        return categorie;
     }
 
     @Override
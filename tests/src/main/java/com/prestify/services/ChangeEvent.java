@@ -0,0 +1,56 @@
+package com.prestify.services;
+
+/**
+ * A change to one entity, as published on a ChangeFeed.
+ * Sequences are assigned by the feed and strictly increase in publication order.
+ */
+public final class ChangeEvent<T> {
+
+    public enum Type {
+        CREATED, UPDATED, DELETED
+    }
+
+    private final long sequence;
+    private final Type type;
+    private final long id;
+    private final T value;
+
+    public ChangeEvent(long sequence, Type type, long id, T value) {
+        if (type == null) {
+            throw new IllegalArgumentException("Type cannot be null");
+        }
+        this.sequence = sequence;
+        this.type = type;
+        this.id = id;
+        this.value = value;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * @return the entity as stored after the change, or null for a delete;
+     *         shared by every subscriber, so it must not be modified
+     */
+    public T getValue() {
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return "ChangeEvent{" +
+                "sequence=" + sequence +
+                ", type=" + type +
+                ", id=" + id +
+                '}';
+    }
+}
@@ -0,0 +1,314 @@
+package com.prestify.services;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * In-process change feed on a ring buffer, in the style of the LMAX Disruptor.
+ * Publishers claim a sequence with one atomic increment, fill the matching
+ * slot and mark it available; no lock is taken on the way. Each subscription
+ * runs its listener on its own thread, handing it every available event in
+ * batches of up to maxBatch, and tracks its own sequence. A publisher that
+ * would overwrite an event some subscription has not consumed yet waits for
+ * it, so a slow subscriber slows publishers down rather than missing events.
+ * With no subscriptions, old events are simply overwritten.
+ * A subscription starts with the events published after it was created.
+ */
+public class ChangeFeed<T> implements AutoCloseable {
+
+    public static final int DEFAULT_CAPACITY = 1 << 14;
+    public static final int DEFAULT_MAX_BATCH = 256;
+
+    /** At most 64, so inOrderOf can collect the stripes it needs in one long. */
+    private static final int LOCK_STRIPES = 64;
+    private static final int SPIN_TRIES = 100;
+    private static final long PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    /**
+     * Receives the events of a subscription, oldest first. Runs on the subscription's thread only.
+     */
+    @FunctionalInterface
+    public interface Listener<T> {
+        void onEvents(List<ChangeEvent<T>> events);
+    }
+
+    private final Object[] entries;
+    private final AtomicLongArray available;
+    private final int mask;
+    private final AtomicLong claimed = new AtomicLong();
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+    private final ReentrantLock[] stripes = new ReentrantLock[LOCK_STRIPES];
+    private final int maxBatch;
+    private volatile long cachedGatingSequence;
+    private volatile boolean closed;
+
+    public ChangeFeed() {
+        this(DEFAULT_CAPACITY, DEFAULT_MAX_BATCH);
+    }
+
+    /**
+     * @param capacity number of slots in the ring, a power of two
+     * @param maxBatch most events handed to a listener at once
+     */
+    public ChangeFeed(int capacity, int maxBatch) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a positive power of two");
+        }
+        if (maxBatch <= 0) {
+            throw new IllegalArgumentException("Max batch must be greater than 0");
+        }
+        this.entries = new Object[capacity];
+        this.available = new AtomicLongArray(capacity);
+        this.mask = capacity - 1;
+        this.maxBatch = maxBatch;
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    public int getCapacity() {
+        return entries.length;
+    }
+
+    /**
+     * @return sequence of the last event claimed by a publisher, 0 before the first one
+     */
+    public long getLastSequence() {
+        return claimed.get();
+    }
+
+    /**
+     * Publishes an event, waiting for room if the slowest subscription lags a full ring behind.
+     * @return the event's sequence
+     * @throws IllegalStateException if the feed is closed
+     */
+    public long publish(ChangeEvent.Type type, long id, T value) {
+        if (closed) {
+            throw new IllegalStateException("Change feed is closed");
+        }
+        long sequence = claimed.incrementAndGet();
+        long wrapPoint = sequence - entries.length;
+        if (wrapPoint > cachedGatingSequence) {
+            long gating;
+            while (wrapPoint > (gating = gatingSequence(sequence - 1))) {
+                LockSupport.parkNanos(PARK_NANOS);
+            }
+            cachedGatingSequence = gating;
+        }
+        int slot = (int) (sequence & mask);
+        entries[slot] = new ChangeEvent<>(sequence, type, id, value);
+        available.set(slot, sequence);
+        return sequence;
+    }
+
+    /**
+     * Runs a write that publishes its own events under a lock striped by key,
+     * so concurrent writes to one entity publish in the order they were applied.
+     */
+    public <R> R inOrder(long key, Supplier<R> write) {
+        ReentrantLock stripe = stripes[stripeOf(key)];
+        stripe.lock();
+        try {
+            return write.get();
+        } finally {
+            stripe.unlock();
+        }
+    }
+
+    /**
+     * Runs a write touching several entities, such as a batch of creates, under
+     * the stripes of all their keys. Stripes are taken in index order, as
+     * inOrderOfAll takes them, so overlapping writes cannot deadlock.
+     */
+    public <R> R inOrderOf(long[] keys, Supplier<R> write) {
+        long wanted = 0;
+        for (long key : keys) {
+            wanted |= 1L << stripeOf(key);
+        }
+        long locked = 0;
+        try {
+            for (long remaining = wanted; remaining != 0; remaining &= remaining - 1) {
+                int stripe = Long.numberOfTrailingZeros(remaining);
+                stripes[stripe].lock();
+                locked |= 1L << stripe;
+            }
+            return write.get();
+        } finally {
+            for (; locked != 0; locked &= locked - 1) {
+                stripes[Long.numberOfTrailingZeros(locked)].unlock();
+            }
+        }
+    }
+
+    /**
+     * Runs a write whose keys are only known once it is applied, such as a create
+     * in a repository that cannot reserve ids, under every stripe. No inOrder
+     * write can touch the new entities until its events are published.
+     */
+    public <R> R inOrderOfAll(Supplier<R> write) {
+        int locked = 0;
+        try {
+            for (; locked < LOCK_STRIPES; locked++) {
+                stripes[locked].lock();
+            }
+            return write.get();
+        } finally {
+            while (locked > 0) {
+                stripes[--locked].unlock();
+            }
+        }
+    }
+
+    /**
+     * Starts delivering events published from now on to the listener, on a new daemon thread.
+     */
+    public Subscription subscribe(String name, Listener<T> listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Listener cannot be null");
+        }
+        if (closed) {
+            throw new IllegalStateException("Change feed is closed");
+        }
+        Subscription subscription = new Subscription(name, listener, claimed.get());
+        subscriptions.add(subscription);
+        subscription.thread.start();
+        return subscription;
+    }
+
+    /**
+     * Stops accepting events, lets every subscription drain what was published and waits for them to stop.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        for (Subscription subscription : subscriptions) {
+            subscription.await();
+        }
+    }
+
+    private static int stripeOf(long key) {
+        return Long.hashCode(key) & (LOCK_STRIPES - 1);
+    }
+
+    private long gatingSequence(long fallback) {
+        long minimum = fallback;
+        for (Subscription subscription : subscriptions) {
+            minimum = Math.min(minimum, subscription.sequence.get());
+        }
+        return minimum;
+    }
+
+    /**
+     * One consumer of the feed. Closing it stops delivery and releases publishers waiting on it.
+     */
+    public final class Subscription implements AutoCloseable {
+        private final Listener<T> listener;
+        private final AtomicLong sequence;
+        private volatile boolean running = true;
+        private volatile RuntimeException lastFailure;
+        private final Thread thread;
+
+        private Subscription(String name, Listener<T> listener, long start) {
+            this.listener = listener;
+            this.sequence = new AtomicLong(start);
+            this.thread = new Thread(this::run, "prestify-change-feed-" + (name != null ? name : "subscriber"));
+            this.thread.setDaemon(true);
+        }
+
+        /**
+         * @return sequence of the last event handed to the listener
+         */
+        public long getSequence() {
+            return sequence.get();
+        }
+
+        /**
+         * @return what the listener last threw; the events it was given count as consumed
+         */
+        public RuntimeException getLastFailure() {
+            return lastFailure;
+        }
+
+        /**
+         * Waits until the listener has been given every event up to the sequence.
+         * @return false if that did not happen within the timeout
+         */
+        public boolean awaitSequence(long target, long timeout, TimeUnit unit) {
+            long deadline = System.nanoTime() + unit.toNanos(timeout);
+            while (sequence.get() < target) {
+                if (!running || System.nanoTime() - deadline > 0) {
+                    return sequence.get() >= target;
+                }
+                LockSupport.parkNanos(PARK_NANOS);
+            }
+            return true;
+        }
+
+        @Override
+        public void close() {
+            running = false;
+            subscriptions.remove(this);
+            if (Thread.currentThread() != thread) {
+                await();
+            }
+        }
+
+        private void await() {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private void run() {
+            int idle = 0;
+            while (running) {
+                long next = sequence.get() + 1;
+                long limit = Math.min(claimed.get(), next + maxBatch - 1);
+                long last = next - 1;
+                while (last < limit && available.get((int) ((last + 1) & mask)) == last + 1) {
+                    last++;
+                }
+                if (last < next) {
+                    if (closed && next > claimed.get()) {
+                        break;
+                    }
+                    idle = idle(idle);
+                    continue;
+                }
+                idle = 0;
+                List<ChangeEvent<T>> batch = new ArrayList<>((int) (last - next + 1));
+                for (long s = next; s <= last; s++) {
+                    batch.add((ChangeEvent<T>) entries[(int) (s & mask)]);
+                }
+                try {
+                    listener.onEvents(batch);
+                } catch (RuntimeException e) {
+                    lastFailure = e;
+                }
+                sequence.set(last);
+            }
+            subscriptions.remove(this);
+        }
+
+        private int idle(int idle) {
+            if (idle < SPIN_TRIES) {
+                Thread.onSpinWait();
+            } else if (idle < SPIN_TRIES * 2) {
+                Thread.yield();
+            } else {
+                LockSupport.parkNanos(PARK_NANOS);
+            }
+            return idle + 1;
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package com.prestify.services;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.UnaryOperator;
+
+/**
+ * Compacted log of changes, answering "what changed since token T".
+ * Only the latest change per id is kept, ordered by sequence, so the log
+ * never grows beyond one entry per live entity plus retained tombstones.
+ * Once more than maxTombstones deletes are retained, the oldest are dropped
+ * and the horizon moves to the newest dropped sequence. A token older than
+ * the horizon can no longer be answered and gets a reset.
+ * Tokens carry a random epoch drawn per log, so a token from an earlier
+ * process is never taken for a position in this one.
+ * The log is usually fed by subscribing it to a ChangeFeed.
+ * Each delta hands out copies made by the log's copier, so clients never
+ * share the retained values; without a copier the values must be immutable.
+ */
+public class ChangeLog<T> implements ChangeFeed.Listener<T> {
+
+    public static final int DEFAULT_MAX_TOMBSTONES = 100_000;
+
+    private static final String PREFIX = "since:";
+
+    private final Map<Long, ChangeEvent<T>> latest = new HashMap<>();
+    private final NavigableMap<Long, ChangeEvent<T>> bySequence = new TreeMap<>();
+    private final NavigableSet<Long> tombstones = new TreeSet<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final long epoch = ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE;
+    private final int maxTombstones;
+    private final UnaryOperator<T> copier;
+    private long head;
+    private long horizon;
+
+    /**
+     * Creates a log for immutable values, handed out as they are.
+     */
+    public ChangeLog() {
+        this(DEFAULT_MAX_TOMBSTONES);
+    }
+
+    public ChangeLog(int maxTombstones) {
+        this(maxTombstones, UnaryOperator.identity());
+    }
+
+    /**
+     * @param copier copies a retained value for each delta that returns it, e.g. Offer::new
+     */
+    public ChangeLog(UnaryOperator<T> copier) {
+        this(DEFAULT_MAX_TOMBSTONES, copier);
+    }
+
+    public ChangeLog(int maxTombstones, UnaryOperator<T> copier) {
+        if (maxTombstones < 0) {
+            throw new IllegalArgumentException("Max tombstones cannot be negative");
+        }
+        if (copier == null) {
+            throw new IllegalArgumentException("Copier cannot be null");
+        }
+        this.maxTombstones = maxTombstones;
+        this.copier = copier;
+    }
+
+    @Override
+    public void onEvents(List<ChangeEvent<T>> events) {
+        lock.writeLock().lock();
+        try {
+            for (ChangeEvent<T> event : events) {
+                apply(event);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Records a change, replacing any earlier change to the same id.
+     * Events at or below the last recorded sequence are ignored.
+     */
+    public void append(ChangeEvent<T> event) {
+        lock.writeLock().lock();
+        try {
+            apply(event);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return a token for "now", to continue from after a full reload
+     */
+    public String currentToken() {
+        lock.readLock().lock();
+        try {
+            return encode(head);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @param token a token from an earlier delta or currentToken(); null asks for a reset
+     * @param limit most changes to return
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    public Delta<T> changesSince(String token, int limit) {
+        PageCursor.checkPageSize(limit);
+        Long since = decode(token);
+        lock.readLock().lock();
+        try {
+            if (since == null || since < horizon || since > head) {
+                return Delta.reset(encode(head));
+            }
+            List<T> changed = new ArrayList<>();
+            List<Long> deleted = new ArrayList<>();
+            Iterator<ChangeEvent<T>> it = bySequence.tailMap(since, false).values().iterator();
+            long last = head;
+            while (it.hasNext() && changed.size() + deleted.size() < limit) {
+                ChangeEvent<T> event = it.next();
+                if (event.getType() == ChangeEvent.Type.DELETED) {
+                    deleted.add(event.getId());
+                } else {
+                    changed.add(copier.apply(event.getValue()));
+                }
+                last = event.getSequence();
+            }
+            boolean hasMore = it.hasNext();
+            return new Delta<>(changed, deleted, encode(hasMore ? last : head), hasMore, false);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return number of changes retained, tombstones included
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return bySequence.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int getTombstoneCount() {
+        lock.readLock().lock();
+        try {
+            return tombstones.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void apply(ChangeEvent<T> event) {
+        if (event.getSequence() <= head) {
+            return;
+        }
+        head = event.getSequence();
+        ChangeEvent<T> previous = latest.put(event.getId(), event);
+        if (previous != null) {
+            bySequence.remove(previous.getSequence());
+            tombstones.remove(previous.getSequence());
+        }
+        bySequence.put(event.getSequence(), event);
+        if (event.getType() == ChangeEvent.Type.DELETED) {
+            tombstones.add(event.getSequence());
+            while (tombstones.size() > maxTombstones) {
+                long oldest = tombstones.pollFirst();
+                ChangeEvent<T> dropped = bySequence.remove(oldest);
+                latest.remove(dropped.getId());
+                horizon = Math.max(horizon, oldest);
+            }
+        }
+    }
+
+    private String encode(long sequence) {
+        byte[] raw = (PREFIX + epoch + ":" + sequence).getBytes(StandardCharsets.UTF_8);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
+    }
+
+    /**
+     * @return the sequence the token stands for, or null for a missing token or one from another log
+     */
+    private Long decode(String token) {
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':', PREFIX.length());
+            if (!raw.startsWith(PREFIX) || separator < 0) {
+                throw new IllegalArgumentException("Invalid sync token: " + token);
+            }
+            long tokenEpoch = Long.parseLong(raw.substring(PREFIX.length(), separator));
+            long sequence = Long.parseLong(raw.substring(separator + 1));
+            return tokenEpoch == epoch ? sequence : null;
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid sync token: " + token, e);
+        }
+    }
+}
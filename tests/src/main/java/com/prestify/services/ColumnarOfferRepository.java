@@ -0,0 +1,460 @@
+package com.prestify.services;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Column-oriented implementation of IOfferRepository for scan-heavy workloads.
+ * Ids and prices live in off-heap LongBuffer/DoubleBuffer columns and location
+ * and status are dictionary-encoded into off-heap int columns, so price and
+ * location filters run as tight loops over primitive memory. Offer objects are
+ * only materialized for the rows that match. Rows are found by id through a
+ * primitive long-to-int map, and live rows are tracked in a separate bit set,
+ * so every id value is usable. Deleted rows are recycled, so row order is not
+ * id order; a LongBitmap of live ids gives id order, so keyset pages and
+ * findAll walk ids directly instead of scanning and sorting every row.
+ */
+public class ColumnarOfferRepository implements IOfferRepository {
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final LongIntMap rowsById = new LongIntMap();
+    private final BitSet live = new BitSet();
+    private final LongBitmap liveIds = new LongBitmap();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private LongBuffer ids;
+    private LongBuffer versions;
+    private DoubleBuffer prices;
+    private IntBuffer locations;
+    private IntBuffer statuses;
+    private String[] titles;
+    private String[] descriptions;
+    private int capacity;
+    private int rowCount;
+    private int[] freeRows = new int[16];
+    private int freeCount;
+    private final ValueDictionary dictionary;
+    private long sequence;
+
+    public ColumnarOfferRepository() {
+        this(INITIAL_CAPACITY, new ValueDictionary());
+    }
+
+    public ColumnarOfferRepository(int initialCapacity) {
+        this(initialCapacity, new ValueDictionary());
+    }
+
+    /**
+     * @param dictionary codes for locations and statuses; it keeps every value
+     *                   it has seen, so share one only between repositories
+     *                   whose values come from a bounded set
+     */
+    public ColumnarOfferRepository(int initialCapacity, ValueDictionary dictionary) {
+        if (initialCapacity <= 0) {
+            throw new IllegalArgumentException("Initial capacity must be greater than 0");
+        }
+        if (dictionary == null) {
+            throw new IllegalArgumentException("Dictionary cannot be null");
+        }
+        this.dictionary = dictionary;
+        allocate(initialCapacity);
+    }
+
+    @Override
+    public Offer save(Offer offer) {
+        if (offer == null) {
+            throw new IllegalArgumentException("Offer cannot be null");
+        }
+        lock.writeLock().lock();
+        try {
+            long id;
+            if (offer.getId() == null) {
+                id = ++sequence;
+            } else {
+                id = offer.getId();
+                sequence = Math.max(sequence, id);
+            }
+            int row = rowsById.get(id);
+            long version = 1;
+            if (row == LongIntMap.NO_VALUE) {
+                row = claimRow();
+                rowsById.put(id, row);
+                live.set(row);
+                liveIds.add(id);
+            } else {
+                version = versions.get(row) + 1;
+            }
+            write(row, id, offer, version);
+            return materialize(row);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void restore(Collection<Offer> offers) {
+        for (Offer offer : offers) {
+            if (offer == null || offer.getId() == null) {
+                throw new IllegalArgumentException("Offer and its ID cannot be null");
+            }
+        }
+        lock.writeLock().lock();
+        try {
+            for (Offer offer : offers) {
+                long id = offer.getId();
+                sequence = Math.max(sequence, id);
+                int row = rowsById.get(id);
+                if (row == LongIntMap.NO_VALUE) {
+                    row = claimRow();
+                    rowsById.put(id, row);
+                    live.set(row);
+                    liveIds.add(id);
+                }
+                write(row, id, offer, offer.getVersion());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public OptionalLong reserveIds(int count) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("Count must be greater than 0");
+        }
+        lock.writeLock().lock();
+        try {
+            long first = sequence + 1;
+            sequence += count;
+            return OptionalLong.of(first);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<Offer> saveIfVersion(Offer offer, long expectedVersion) {
+        if (offer == null || offer.getId() == null) {
+            throw new IllegalArgumentException("Offer and its ID cannot be null");
+        }
+        lock.writeLock().lock();
+        try {
+            int row = rowsById.get(offer.getId());
+            if (row == LongIntMap.NO_VALUE || versions.get(row) != expectedVersion) {
+                return Optional.empty();
+            }
+            write(row, offer.getId(), offer, expectedVersion + 1);
+            return Optional.of(materialize(row));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Writes only the columns of fields whose value changed.
+     */
+    @Override
+    public Optional<Offer> patch(long id, OfferPatch patch) {
+        if (patch == null) {
+            throw new IllegalArgumentException("Patch cannot be null");
+        }
+        lock.writeLock().lock();
+        try {
+            int row = rowsById.get(id);
+            if (row == LongIntMap.NO_VALUE) {
+                return Optional.empty();
+            }
+            Offer current = materialize(row);
+            Set<OfferPatch.Field> changed = patch.applyTo(current);
+            for (OfferPatch.Field field : changed) {
+                switch (field) {
+                    case TITLE:
+                        titles[row] = current.getTitle();
+                        break;
+                    case DESCRIPTION:
+                        descriptions[row] = current.getDescription();
+                        break;
+                    case PRICE:
+                        prices.put(row, current.getPrice() != null ? current.getPrice() : Double.NaN);
+                        break;
+                    case LOCATION:
+                        locations.put(row, dictionary.encode(current.getLocation()));
+                        break;
+                    case STATUS:
+                        statuses.put(row, dictionary.encode(current.getStatus()));
+                        break;
+                    default:
+                        throw new IllegalStateException("Unknown field: " + field);
+                }
+            }
+            if (!changed.isEmpty()) {
+                versions.put(row, versions.get(row) + 1);
+            }
+            return Optional.of(materialize(row));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<Offer> findById(Long id) {
+        return id != null ? findById(id.longValue()) : Optional.empty();
+    }
+
+    @Override
+    public Optional<Offer> findById(long id) {
+        lock.readLock().lock();
+        try {
+            int row = rowsById.get(id);
+            return row != LongIntMap.NO_VALUE ? Optional.of(materialize(row)) : Optional.empty();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Offer> findAll() {
+        lock.readLock().lock();
+        try {
+            List<Offer> result = new ArrayList<>(rowsById.size());
+            liveIds.forEach(id -> result.add(materialize(rowsById.get(id))));
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Offer> findAllAfter(Long afterId, int limit) {
+        List<Offer> result = new ArrayList<>();
+        if (limit <= 0 || (afterId != null && afterId == Long.MAX_VALUE)) {
+            return result;
+        }
+        lock.readLock().lock();
+        try {
+            liveIds.forEachFrom(afterId == null ? Long.MIN_VALUE : afterId + 1, id -> {
+                result.add(materialize(rowsById.get(id)));
+                return result.size() < limit;
+            });
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        if (id == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            int row = rowsById.remove(id);
+            if (row == LongIntMap.NO_VALUE) {
+                return;
+            }
+            live.clear(row);
+            liveIds.remove(id);
+            titles[row] = null;
+            descriptions[row] = null;
+            if (freeCount == freeRows.length) {
+                freeRows = Arrays.copyOf(freeRows, freeCount << 1);
+            }
+            freeRows[freeCount++] = row;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean existsById(Long id) {
+        return id != null && existsById(id.longValue());
+    }
+
+    @Override
+    public boolean existsById(long id) {
+        lock.readLock().lock();
+        try {
+            return rowsById.containsKey(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Offer> findByTitle(String title) {
+        if (title == null) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            int[] rows = new int[16];
+            int count = 0;
+            for (int row = live.nextSetBit(0); row >= 0; row = live.nextSetBit(row + 1)) {
+                if (title.equals(titles[row])) {
+                    if (count == rows.length) {
+                        rows = Arrays.copyOf(rows, count << 1);
+                    }
+                    rows[count++] = row;
+                }
+            }
+            return materializeById(rows, count);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Offer> findByLocation(String location) {
+        if (location == null) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            int code = dictionary.codeOf(location);
+            if (code == ValueDictionary.NO_CODE) {
+                return List.of();
+            }
+            int[] rows = new int[16];
+            int count = 0;
+            for (int row = 0; row < rowCount; row++) {
+                if (locations.get(row) == code && live.get(row)) {
+                    if (count == rows.length) {
+                        rows = Arrays.copyOf(rows, count << 1);
+                    }
+                    rows[count++] = row;
+                }
+            }
+            return materializeById(rows, count);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Offer> findByPriceBetween(Double minPrice, Double maxPrice) {
+        if (minPrice == null || maxPrice == null || minPrice > maxPrice) {
+            return List.of();
+        }
+        double min = minPrice;
+        double max = maxPrice;
+        lock.readLock().lock();
+        try {
+            int[] rows = new int[16];
+            int count = 0;
+            for (int row = 0; row < rowCount; row++) {
+                double price = prices.get(row);
+                if (price >= min && price <= max && live.get(row)) {
+                    if (count == rows.length) {
+                        rows = Arrays.copyOf(rows, count << 1);
+                    }
+                    rows[count++] = row;
+                }
+            }
+            List<Offer> result = materializeById(rows, count);
+            result.sort(Comparator.comparing(Offer::getPrice));
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return rowsById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int claimRow() {
+        if (freeCount > 0) {
+            return freeRows[--freeCount];
+        }
+        if (rowCount == capacity) {
+            grow();
+        }
+        return rowCount++;
+    }
+
+    private void write(int row, long id, Offer offer, long version) {
+        ids.put(row, id);
+        versions.put(row, version);
+        prices.put(row, offer.getPrice() != null ? offer.getPrice() : Double.NaN);
+        locations.put(row, dictionary.encode(offer.getLocation()));
+        statuses.put(row, dictionary.encode(offer.getStatus()));
+        titles[row] = offer.getTitle();
+        descriptions[row] = offer.getDescription();
+    }
+
+    private Offer materialize(int row) {
+        Offer offer = new Offer();
+        offer.setId(ids.get(row));
+        double price = prices.get(row);
+        offer.setPrice(Double.isNaN(price) ? null : price);
+        offer.setTitle(titles[row]);
+        offer.setDescription(descriptions[row]);
+        offer.setLocation(dictionary.decode(locations.get(row)));
+        offer.setStatus(dictionary.decode(statuses.get(row)));
+        offer.setVersion(versions.get(row));
+        return offer;
+    }
+
+    /**
+     * Materializes the given rows in id order.
+     */
+    private List<Offer> materializeById(int[] rows, int count) {
+        List<Offer> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            result.add(materialize(rows[i]));
+        }
+        result.sort(Comparator.comparing(Offer::getId));
+        return result;
+    }
+
+    private void allocate(int newCapacity) {
+        LongBuffer newIds = ByteBuffer.allocateDirect(newCapacity * Long.BYTES).order(ByteOrder.nativeOrder()).asLongBuffer();
+        LongBuffer newVersions = ByteBuffer.allocateDirect(newCapacity * Long.BYTES).order(ByteOrder.nativeOrder()).asLongBuffer();
+        DoubleBuffer newPrices = ByteBuffer.allocateDirect(newCapacity * Double.BYTES).order(ByteOrder.nativeOrder()).asDoubleBuffer();
+        IntBuffer newLocations = ByteBuffer.allocateDirect(newCapacity * Integer.BYTES).order(ByteOrder.nativeOrder()).asIntBuffer();
+        IntBuffer newStatuses = ByteBuffer.allocateDirect(newCapacity * Integer.BYTES).order(ByteOrder.nativeOrder()).asIntBuffer();
+        if (ids != null) {
+            newIds.put(ids.duplicate().position(0).limit(rowCount));
+            newVersions.put(versions.duplicate().position(0).limit(rowCount));
+            newPrices.put(prices.duplicate().position(0).limit(rowCount));
+            newLocations.put(locations.duplicate().position(0).limit(rowCount));
+            newStatuses.put(statuses.duplicate().position(0).limit(rowCount));
+            titles = Arrays.copyOf(titles, newCapacity);
+            descriptions = Arrays.copyOf(descriptions, newCapacity);
+        } else {
+            titles = new String[newCapacity];
+            descriptions = new String[newCapacity];
+        }
+        ids = newIds;
+        versions = newVersions;
+        prices = newPrices;
+        locations = newLocations;
+        statuses = newStatuses;
+        capacity = newCapacity;
+    }
+
+    private void grow() {
+        allocate(capacity << 1);
+    }
+}
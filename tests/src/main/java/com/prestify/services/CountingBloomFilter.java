@@ -0,0 +1,103 @@
+package com.prestify.services;
+
+import java.util.Arrays;
+
+/**
+ * Counting Bloom filter over long keys with 4-bit counters, so keys can be
+ * removed as well as added. mightContain never returns false for a key that
+ * was added and not removed; saturated counters are never decremented, which
+ * can only cause false positives.
+ * Not thread-safe: callers guard it with their own lock.
+ */
+public class CountingBloomFilter {
+
+    private static final int MAX_COUNT = 15;
+
+    private final long[] counters;
+    private final int slots;
+    private final int hashes;
+
+    /**
+     * @param expectedKeys      number of keys the filter is sized for
+     * @param falsePositiveRate target false positive rate at that size, e.g. 0.01
+     */
+    public CountingBloomFilter(int expectedKeys, double falsePositiveRate) {
+        if (expectedKeys <= 0) {
+            throw new IllegalArgumentException("Expected keys must be greater than 0");
+        }
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("False positive rate must be between 0 and 1");
+        }
+        double ln2 = Math.log(2);
+        long bits = (long) Math.ceil(-expectedKeys * Math.log(falsePositiveRate) / (ln2 * ln2));
+        this.slots = (int) Math.max(64, Math.min(bits, Integer.MAX_VALUE - 16));
+        this.hashes = Math.max(1, (int) Math.round((double) slots / expectedKeys * ln2));
+        this.counters = new long[(slots + 15) / 16];
+    }
+
+    public void add(long key) {
+        long hash = mix(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < hashes; i++) {
+            int slot = slot(h1 + i * h2);
+            int count = count(slot);
+            if (count < MAX_COUNT) {
+                set(slot, count + 1);
+            }
+        }
+    }
+
+    public void remove(long key) {
+        long hash = mix(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < hashes; i++) {
+            int slot = slot(h1 + i * h2);
+            int count = count(slot);
+            if (count > 0 && count < MAX_COUNT) {
+                set(slot, count - 1);
+            }
+        }
+    }
+
+    /**
+     * @return false if the key is definitely absent, true if it may be present
+     */
+    public boolean mightContain(long key) {
+        long hash = mix(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < hashes; i++) {
+            if (count(slot(h1 + i * h2)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public void clear() {
+        Arrays.fill(counters, 0L);
+    }
+
+    private int slot(int hash) {
+        return (hash & Integer.MAX_VALUE) % slots;
+    }
+
+    private int count(int slot) {
+        return (int) ((counters[slot >>> 4] >>> ((slot & 15) << 2)) & 0xfL);
+    }
+
+    private void set(int slot, int count) {
+        int shift = (slot & 15) << 2;
+        int index = slot >>> 4;
+        counters[index] = (counters[index] & ~(0xfL << shift)) | ((long) count << shift);
+    }
+
+    private static long mix(long key) {
+        long h = key * 0x9e3779b97f4a7c15L;
+        h ^= h >>> 31;
+        h *= 0xbf58476d1ce4e5b9L;
+        return h ^ (h >>> 29);
+    }
+}
@@ -0,0 +1,64 @@
+package com.prestify.services;
+
+import java.util.List;
+
+/**
+ * Changes since a sync token: entities created or updated, as they are now,
+ * and ids of entities deleted. The token to pass on the next call is opaque
+ * to callers. When the token is unknown or too old to compute a delta from,
+ * the delta is a reset: the caller must reload everything, then continue
+ * from the token the reset carries.
+ */
+public class Delta<T> {
+    private final List<T> changed;
+    private final List<Long> deleted;
+    private final String token;
+    private final boolean hasMore;
+    private final boolean reset;
+
+    public Delta(List<T> changed, List<Long> deleted, String token, boolean hasMore, boolean reset) {
+        this.changed = List.copyOf(changed);
+        this.deleted = List.copyOf(deleted);
+        this.token = token;
+        this.hasMore = hasMore;
+        this.reset = reset;
+    }
+
+    static <T> Delta<T> reset(String token) {
+        return new Delta<>(List.of(), List.of(), token, false, true);
+    }
+
+    public List<T> getChanged() {
+        return changed;
+    }
+
+    public List<Long> getDeleted() {
+        return deleted;
+    }
+
+    public String getToken() {
+        return token;
+    }
+
+    /**
+     * @return true if more changes are available right away with the returned token
+     */
+    public boolean hasMore() {
+        return hasMore;
+    }
+
+    public boolean isReset() {
+        return reset;
+    }
+
+    @Override
+    public String toString() {
+        return "Delta{" +
+                "changed=" + changed.size() +
+                ", deleted=" + deleted.size() +
+                ", token='" + token + '\'' +
+                ", hasMore=" + hasMore +
+                ", reset=" + reset +
+                '}';
+    }
+}
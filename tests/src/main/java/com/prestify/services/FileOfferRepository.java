@@ -0,0 +1,830 @@
+package com.prestify.services;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * IOfferRepository persisted to a directory as a snapshot plus write-ahead logs.
+ * Offers are served from an indexed in-memory copy. Every change is appended
+ * to a memory-mapped log as a record [length][sequence][type][payload][crc32],
+ * the payload of a save being the OfferCodec encoding of the stored offer,
+ * so it survives a crash of the process as soon as the write returns; sync()
+ * forces the log to the device. Once snapshotThreshold records have been
+ * logged, a background thread writes every offer to a new snapshot and
+ * deletes the logs it covers. Writers only wait while the copy is taken and
+ * the log is switched.
+ * On startup the latest snapshot is mapped and loaded, then only the log
+ * records after it are replayed. A torn record at the end of the last log is
+ * dropped and overwritten by the next write.
+ */
+public class FileOfferRepository implements IOfferRepository, AutoCloseable {
+
+    public static final int DEFAULT_LOG_SIZE = 64 << 20;
+    public static final long DEFAULT_SNAPSHOT_THRESHOLD = 1_000_000;
+
+    static final String SNAPSHOT_FILE = "offers.snapshot";
+    static final String LOG_PREFIX = "offers-";
+    static final String LOG_SUFFIX = ".log";
+
+    private static final int LOG_MAGIC = 0x504F4C47;
+    private static final int SNAPSHOT_MAGIC = 0x504F534E;
+    private static final int FORMAT_VERSION = 2;
+    private static final int LOG_HEADER_SIZE = 16;
+    private static final int SNAPSHOT_HEADER_SIZE = 32;
+    private static final int MAX_LOG_SIZE = 1 << 30;
+    private static final int RESTORE_BATCH_SIZE = 1000;
+    private static final byte PUT = 1;
+    private static final byte DELETE = 2;
+
+    private final Path directory;
+    private final int initialLogSize;
+    private final long snapshotThreshold;
+    private final InMemoryOfferRepository view = new InMemoryOfferRepository();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ReentrantLock snapshotLock = new ReentrantLock();
+    private final AtomicBoolean snapshotScheduled = new AtomicBoolean();
+    private final ExecutorService snapshotter;
+    private final CRC32 crc = new CRC32();
+    private ByteBuffer scratch = ByteBuffer.allocate(512);
+    private FileChannel logChannel;
+    private MappedByteBuffer log;
+    private long lastSequence;
+    private long recordsSinceSnapshot;
+    private volatile RuntimeException lastSnapshotFailure;
+    private boolean closed;
+
+    public FileOfferRepository(Path directory) {
+        this(directory, DEFAULT_LOG_SIZE, DEFAULT_SNAPSHOT_THRESHOLD);
+    }
+
+    /**
+     * Opens the repository stored in the directory, creating it if needed.
+     * @param initialLogSize bytes mapped for a new log; a full log is remapped at twice the size
+     * @param snapshotThreshold number of logged changes that triggers a snapshot
+     * @throws UncheckedIOException if the files cannot be read or created
+     * @throws IllegalStateException if a snapshot or a log other than the last one is corrupt
+     */
+    public FileOfferRepository(Path directory, int initialLogSize, long snapshotThreshold) {
+        if (directory == null) {
+            throw new IllegalArgumentException("Directory cannot be null");
+        }
+        if (initialLogSize < LOG_HEADER_SIZE * 2 || initialLogSize > MAX_LOG_SIZE) {
+            throw new IllegalArgumentException("Initial log size out of range");
+        }
+        if (snapshotThreshold <= 0) {
+            throw new IllegalArgumentException("Snapshot threshold must be positive");
+        }
+        this.directory = directory;
+        this.initialLogSize = initialLogSize;
+        this.snapshotThreshold = snapshotThreshold;
+        try {
+            Files.createDirectories(directory);
+            recover();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open offer store in " + directory, e);
+        }
+        this.snapshotter = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "prestify-offer-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * @return sequence number of the last logged change
+     */
+    public long getLastSequence() {
+        lock.lock();
+        try {
+            return lastSequence;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the failure of the most recent background snapshot, or null if it succeeded
+     */
+    public RuntimeException getLastSnapshotFailure() {
+        return lastSnapshotFailure;
+    }
+
+    /**
+     * Forces logged changes to the storage device.
+     */
+    public void sync() {
+        lock.lock();
+        try {
+            ensureOpen();
+            log.force();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Writes a snapshot of every offer and deletes the logs it makes redundant.
+     */
+    public void snapshot() {
+        snapshotLock.lock();
+        try {
+            List<Offer> offers;
+            long sequence;
+            long lastId;
+            lock.lock();
+            try {
+                ensureOpen();
+                offers = view.findAll();
+                sequence = lastSequence;
+                lastId = view.lastAssignedId();
+                openLog(sequence + 1);
+                recordsSinceSnapshot = 0;
+            } finally {
+                lock.unlock();
+            }
+            writeSnapshot(offers, sequence, lastId);
+            deleteLogsBefore(sequence + 1);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write offer snapshot", e);
+        } finally {
+            snapshotLock.unlock();
+        }
+    }
+
+    /**
+     * Waits for a running snapshot, then forces and closes the log.
+     */
+    @Override
+    public void close() {
+        snapshotter.shutdown();
+        try {
+            snapshotter.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            log.force();
+            logChannel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot close offer log", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Offer save(Offer offer) {
+        if (offer == null) {
+            throw new IllegalArgumentException("Offer cannot be null");
+        }
+        Offer saved;
+        lock.lock();
+        try {
+            ensureOpen();
+            Optional<Offer> previous = offer.getId() != null ? view.findById(offer.getId().longValue()) : Optional.empty();
+            saved = view.save(offer);
+            logChange(PUT, saved.getId(), saved, previous);
+        } finally {
+            lock.unlock();
+        }
+        maybeSnapshot();
+        return saved;
+    }
+
+    /**
+     * Saves the batch into the view in one call and logs it as one append of
+     * consecutive records, all under a single acquisition of the lock.
+     */
+    @Override
+    public List<Offer> saveAll(Collection<Offer> offers) {
+        return putAll(offers, view::saveAll);
+    }
+
+    /**
+     * Stores the offers with the versions they carry, logged like saveAll.
+     */
+    @Override
+    public void restore(Collection<Offer> offers) {
+        for (Offer offer : offers) {
+            if (offer == null || offer.getId() == null) {
+                throw new IllegalArgumentException("Offer and its ID cannot be null");
+            }
+        }
+        putAll(offers, batch -> {
+            view.restore(batch);
+            return new ArrayList<>(batch);
+        });
+    }
+
+    /**
+     * Reserved ids are not logged; the snapshot records them, and one never
+     * saved before a crash may be handed out again after it.
+     */
+    @Override
+    public OptionalLong reserveIds(int count) {
+        lock.lock();
+        try {
+            ensureOpen();
+            return view.reserveIds(count);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private List<Offer> putAll(Collection<Offer> offers, Function<Collection<Offer>, List<Offer>> write) {
+        Map<Long, Optional<Offer>> previous = new HashMap<>();
+        List<Offer> saved;
+        lock.lock();
+        try {
+            ensureOpen();
+            for (Offer offer : offers) {
+                if (offer == null) {
+                    throw new IllegalArgumentException("Offer cannot be null");
+                }
+                if (offer.getId() != null && !previous.containsKey(offer.getId())) {
+                    previous.put(offer.getId(), view.findById(offer.getId().longValue()));
+                }
+            }
+            saved = write.apply(offers);
+            logPuts(saved, previous);
+        } finally {
+            lock.unlock();
+        }
+        maybeSnapshot();
+        return saved;
+    }
+
+    @Override
+    public Optional<Offer> saveIfVersion(Offer offer, long expectedVersion) {
+        if (offer == null || offer.getId() == null) {
+            throw new IllegalArgumentException("Offer and its ID cannot be null");
+        }
+        Optional<Offer> saved;
+        lock.lock();
+        try {
+            ensureOpen();
+            Optional<Offer> previous = view.findById(offer.getId().longValue());
+            saved = view.saveIfVersion(offer, expectedVersion);
+            if (saved.isPresent()) {
+                logChange(PUT, saved.get().getId(), saved.get(), previous);
+            }
+        } finally {
+            lock.unlock();
+        }
+        maybeSnapshot();
+        return saved;
+    }
+
+    @Override
+    public Optional<Offer> patch(long id, OfferPatch patch) {
+        Optional<Offer> patched;
+        lock.lock();
+        try {
+            ensureOpen();
+            Optional<Offer> previous = view.findById(id);
+            patched = view.patch(id, patch);
+            if (patched.isPresent() && patched.get().getVersion() != previous.get().getVersion()) {
+                logChange(PUT, id, patched.get(), previous);
+            }
+        } finally {
+            lock.unlock();
+        }
+        maybeSnapshot();
+        return patched;
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        if (id == null) {
+            return;
+        }
+        lock.lock();
+        try {
+            ensureOpen();
+            Optional<Offer> previous = view.findById(id.longValue());
+            if (previous.isEmpty()) {
+                return;
+            }
+            view.deleteById(id);
+            logChange(DELETE, id, null, previous);
+        } finally {
+            lock.unlock();
+        }
+        maybeSnapshot();
+    }
+
+    @Override
+    public Optional<Offer> findById(Long id) {
+        return view.findById(id);
+    }
+
+    @Override
+    public Optional<Offer> findById(long id) {
+        return view.findById(id);
+    }
+
+    @Override
+    public boolean existsById(Long id) {
+        return view.existsById(id);
+    }
+
+    @Override
+    public boolean existsById(long id) {
+        return view.existsById(id);
+    }
+
+    @Override
+    public List<Offer> findAll() {
+        return view.findAll();
+    }
+
+    @Override
+    public List<Offer> findAllAfter(Long afterId, int limit) {
+        return view.findAllAfter(afterId, limit);
+    }
+
+    @Override
+    public List<Offer> findByTitle(String title) {
+        return view.findByTitle(title);
+    }
+
+    @Override
+    public List<Offer> searchByTitle(String fragment) {
+        return view.searchByTitle(fragment);
+    }
+
+    @Override
+    public List<Offer> findByLocation(String location) {
+        return view.findByLocation(location);
+    }
+
+    @Override
+    public List<Offer> findByLocationAfter(String location, Long afterId, int limit) {
+        return view.findByLocationAfter(location, afterId, limit);
+    }
+
+    @Override
+    public List<Offer> findByPriceBetween(Double minPrice, Double maxPrice) {
+        return view.findByPriceBetween(minPrice, maxPrice);
+    }
+
+    @Override
+    public List<Offer> findByPriceBetweenAfter(Double minPrice, Double maxPrice,
+                                               Double afterPrice, Long afterId, int limit) {
+        return view.findByPriceBetweenAfter(minPrice, maxPrice, afterPrice, afterId, limit);
+    }
+
+    @Override
+    public List<Offer> findByStatus(String status) {
+        return view.findByStatus(status);
+    }
+
+    @Override
+    public List<Offer> findByStatusIn(Collection<String> statuses, String location,
+                                      Double minPrice, Double maxPrice) {
+        return view.findByStatusIn(statuses, location, minPrice, maxPrice);
+    }
+
+    @Override
+    public List<Offer> findByQuery(OfferQuery query) {
+        return view.findByQuery(query);
+    }
+
+    @Override
+    public List<Offer> findMatching(Predicate<? super Offer> filter) {
+        return view.findMatching(filter);
+    }
+
+    @Override
+    public PriceStats priceStatistics(String location) {
+        return view.priceStatistics(location);
+    }
+
+    @Override
+    public Map<String, PriceStats> priceStatisticsByLocation() {
+        return view.priceStatisticsByLocation();
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("Repository is closed");
+        }
+    }
+
+    /**
+     * Logs a change already applied to the view; if it cannot be logged the
+     * view is put back to its previous state so memory never runs ahead of disk.
+     */
+    private void logChange(byte type, long id, Offer offer, Optional<Offer> previous) {
+        try {
+            append(type, id, offer);
+        } catch (IOException e) {
+            if (previous.isPresent()) {
+                view.restore(List.of(previous.get()));
+            } else {
+                view.deleteById(id);
+            }
+            throw new UncheckedIOException("Cannot append to offer log", e);
+        }
+    }
+
+    /**
+     * Logs a batch of saves already applied to the view; if it cannot be logged
+     * every offer in the batch is put back to its state before the batch.
+     */
+    private void logPuts(List<Offer> saved, Map<Long, Optional<Offer>> previous) {
+        if (saved.isEmpty()) {
+            return;
+        }
+        try {
+            appendPuts(saved);
+        } catch (IOException e) {
+            List<Offer> restored = new ArrayList<>();
+            for (Offer offer : saved) {
+                Optional<Offer> before = previous.getOrDefault(offer.getId(), Optional.empty());
+                if (before.isPresent()) {
+                    restored.add(before.get());
+                } else {
+                    view.deleteById(offer.getId());
+                }
+            }
+            view.restore(restored);
+            throw new UncheckedIOException("Cannot append to offer log", e);
+        }
+    }
+
+    private void maybeSnapshot() {
+        lock.lock();
+        try {
+            if (closed || recordsSinceSnapshot < snapshotThreshold || !snapshotScheduled.compareAndSet(false, true)) {
+                return;
+            }
+        } finally {
+            lock.unlock();
+        }
+        try {
+            snapshotter.execute(() -> {
+                try {
+                    snapshot();
+                    lastSnapshotFailure = null;
+                } catch (RuntimeException e) {
+                    lastSnapshotFailure = e;
+                } finally {
+                    snapshotScheduled.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // closing; the log still holds every change
+            snapshotScheduled.set(false);
+        }
+    }
+
+    // ===== LOG =====
+
+    private void append(byte type, long id, Offer offer) throws IOException {
+        long sequence = lastSequence + 1;
+        ByteBuffer body = encodeRecord(sequence, type, id, offer);
+        ensureLogCapacity(body.remaining() + 8, sequence);
+        putRecord(log, body);
+        lastSequence = sequence;
+        recordsSinceSnapshot++;
+    }
+
+    /**
+     * Encodes one PUT record per offer, with consecutive sequences, and copies
+     * them into the log in a single put.
+     */
+    private void appendPuts(List<Offer> offers) throws IOException {
+        int size = 0;
+        for (Offer offer : offers) {
+            size += 8 + Long.BYTES + 1 + OfferCodec.encodedSize(offer);
+        }
+        ByteBuffer records = ByteBuffer.allocate(size);
+        long sequence = lastSequence;
+        for (Offer offer : offers) {
+            putRecord(records, encodeRecord(++sequence, PUT, offer.getId(), offer));
+        }
+        records.flip();
+        ensureLogCapacity(records.remaining(), lastSequence + 1);
+        log.put(records);
+        recordsSinceSnapshot += sequence - lastSequence;
+        lastSequence = sequence;
+    }
+
+    /** Writes [length][body][crc32] at the target's position. */
+    private void putRecord(ByteBuffer target, ByteBuffer body) {
+        crc.reset();
+        crc.update(body.duplicate());
+        target.putInt(body.remaining());
+        target.put(body);
+        target.putInt((int) crc.getValue());
+    }
+
+    private ByteBuffer encodeRecord(long sequence, byte type, long id, Offer offer) {
+        int size = Long.BYTES + 1 + (type == PUT ? OfferCodec.encodedSize(offer) : Long.BYTES);
+        if (scratch.capacity() < size) {
+            scratch = ByteBuffer.allocate(Math.max(size, scratch.capacity() * 2));
+        }
+        scratch.clear();
+        scratch.putLong(sequence);
+        scratch.put(type);
+        if (type == PUT) {
+            OfferCodec.encode(offer, scratch);
+        } else {
+            scratch.putLong(id);
+        }
+        return scratch.flip();
+    }
+
+    /**
+     * Makes room for records: remaps the log at twice its size, or starts a
+     * new log at the first record's sequence once the mapping would exceed
+     * MAX_LOG_SIZE, remapping that one too if the records outgrow a fresh log.
+     */
+    private void ensureLogCapacity(int needed, long sequence) throws IOException {
+        if (log.remaining() >= needed + 4) {
+            return;
+        }
+        long size = Math.max((long) log.capacity() * 2, (long) log.position() + needed + 4);
+        if (size > MAX_LOG_SIZE) {
+            openLog(sequence);
+            if (log.remaining() >= needed + 4) {
+                return;
+            }
+            size = (long) log.position() + needed + 4;
+            if (size > MAX_LOG_SIZE) {
+                throw new IOException("Change of " + needed + " bytes does not fit in one log");
+            }
+        }
+        int position = log.position();
+        log.force();
+        log = logChannel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        log.position(position);
+    }
+
+    /**
+     * Forces and closes the current log, then starts a fresh one whose first record has the given sequence.
+     */
+    private void openLog(long firstSequence) throws IOException {
+        if (log != null) {
+            log.force();
+            logChannel.close();
+        }
+        Path path = directory.resolve(logName(firstSequence));
+        logChannel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        log = logChannel.map(FileChannel.MapMode.READ_WRITE, 0, initialLogSize);
+        log.putInt(LOG_MAGIC);
+        log.putInt(FORMAT_VERSION);
+        log.putLong(firstSequence);
+    }
+
+    private static String logName(long firstSequence) {
+        return String.format("%s%020d%s", LOG_PREFIX, firstSequence, LOG_SUFFIX);
+    }
+
+    private static long firstSequenceOf(Path log) {
+        String name = log.getFileName().toString();
+        return Long.parseLong(name.substring(LOG_PREFIX.length(), name.length() - LOG_SUFFIX.length()));
+    }
+
+    private List<Path> listLogs() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> {
+                String name = path.getFileName().toString();
+                return name.startsWith(LOG_PREFIX) && name.endsWith(LOG_SUFFIX);
+            }).sorted().collect(Collectors.toList());
+        }
+    }
+
+    private void deleteLogsBefore(long sequence) throws IOException {
+        for (Path path : listLogs()) {
+            if (firstSequenceOf(path) < sequence) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    // ===== RECOVERY =====
+
+    private void recover() throws IOException {
+        Path snapshot = directory.resolve(SNAPSHOT_FILE);
+        long snapshotSequence = Files.exists(snapshot) ? loadSnapshot(snapshot) : 0;
+        lastSequence = snapshotSequence;
+        List<Path> logs = listLogs();
+        for (int i = 0; i < logs.size(); i++) {
+            boolean last = i == logs.size() - 1;
+            if (!last && firstSequenceOf(logs.get(i + 1)) <= snapshotSequence + 1) {
+                // every record in this log is older than the snapshot
+                Files.deleteIfExists(logs.get(i));
+                continue;
+            }
+            replay(logs.get(i), last);
+        }
+        if (log == null) {
+            openLog(lastSequence + 1);
+        }
+    }
+
+    /**
+     * Applies the records of a log that follow lastSequence. The last log stays
+     * mapped for appending, positioned after its last valid record.
+     */
+    private void replay(Path path, boolean last) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        if (channel.size() < LOG_HEADER_SIZE || channel.size() > MAX_LOG_SIZE) {
+            channel.close();
+            throw new IllegalStateException("Not an offer log: " + path);
+        }
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+        if (buffer.getInt() != LOG_MAGIC || buffer.getInt() != FORMAT_VERSION) {
+            channel.close();
+            throw new IllegalStateException("Not an offer log: " + path);
+        }
+        buffer.getLong();
+        List<Offer> puts = new ArrayList<>();
+        while (true) {
+            int start = buffer.position();
+            ByteBuffer body = nextRecord(buffer);
+            if (body == null) {
+                buffer.position(start);
+                break;
+            }
+            long sequence = body.getLong();
+            if (sequence <= lastSequence) {
+                continue;
+            }
+            if (sequence != lastSequence + 1) {
+                buffer.position(start);
+                break;
+            }
+            if (body.get() == PUT) {
+                puts.add(OfferCodec.decode(body));
+                if (puts.size() == RESTORE_BATCH_SIZE) {
+                    view.restore(puts);
+                    puts.clear();
+                }
+            } else {
+                view.restore(puts);
+                puts.clear();
+                view.deleteById(body.getLong());
+            }
+            lastSequence = sequence;
+            recordsSinceSnapshot++;
+        }
+        view.restore(puts);
+        if (!last) {
+            boolean complete = buffer.remaining() < 4 || buffer.getInt(buffer.position()) == 0;
+            channel.close();
+            if (!complete) {
+                throw new IllegalStateException("Corrupt offer log: " + path);
+            }
+            return;
+        }
+        int tail = buffer.position();
+        int end = buffer.limit();
+        if (buffer.remaining() >= 4) {
+            int length = buffer.getInt(tail);
+            if (length >= 0 && length <= buffer.remaining() - 8) {
+                end = tail + length + 8;
+            }
+        }
+        for (int i = tail; i < end; i++) {
+            buffer.put(i, (byte) 0);
+        }
+        logChannel = channel;
+        log = buffer;
+    }
+
+    /**
+     * @return the body of the record at the buffer's position, advancing past it,
+     *         or null at the end of the log or at a torn or corrupt record
+     */
+    private ByteBuffer nextRecord(ByteBuffer buffer) {
+        if (buffer.remaining() < 4) {
+            return null;
+        }
+        int length = buffer.getInt();
+        if (length <= 0 || length > buffer.remaining() - 4) {
+            return null;
+        }
+        ByteBuffer body = buffer.slice(buffer.position(), length);
+        buffer.position(buffer.position() + length);
+        crc.reset();
+        crc.update(body.duplicate());
+        if (buffer.getInt() != (int) crc.getValue()) {
+            return null;
+        }
+        return body;
+    }
+
+    // ===== SNAPSHOT =====
+
+    private void writeSnapshot(List<Offer> offers, long sequence, long lastId) throws IOException {
+        Path temp = directory.resolve(SNAPSHOT_FILE + ".tmp");
+        CRC32 checksum = new CRC32();
+        ByteBuffer buffer = ByteBuffer.allocate(1 << 16);
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            buffer.putInt(SNAPSHOT_MAGIC).putInt(FORMAT_VERSION).putLong(sequence).putLong(lastId).putLong(offers.size());
+            flush(channel, buffer);
+            for (Offer offer : offers) {
+                int size = OfferCodec.encodedSize(offer);
+                if (buffer.remaining() < size) {
+                    flush(channel, buffer);
+                    if (buffer.remaining() < size) {
+                        buffer = ByteBuffer.allocate(size);
+                    }
+                }
+                int start = buffer.position();
+                OfferCodec.encode(offer, buffer);
+                checksum.update(buffer.array(), start, size);
+            }
+            buffer = ensureRoom(channel, buffer, 4);
+            buffer.putInt((int) checksum.getValue());
+            flush(channel, buffer);
+            channel.force(true);
+        }
+        Files.move(temp, directory.resolve(SNAPSHOT_FILE),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static ByteBuffer ensureRoom(FileChannel channel, ByteBuffer buffer, int needed) throws IOException {
+        if (buffer.remaining() < needed) {
+            flush(channel, buffer);
+        }
+        return buffer;
+    }
+
+    private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Maps the snapshot and loads its offers into the view.
+     * @return sequence of the last change the snapshot includes
+     */
+    private long loadSnapshot(Path path) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (buffer.remaining() < SNAPSHOT_HEADER_SIZE + 4
+                || buffer.getInt() != SNAPSHOT_MAGIC || buffer.getInt() != FORMAT_VERSION) {
+            throw new IllegalStateException("Not an offer snapshot: " + path);
+        }
+        long sequence = buffer.getLong();
+        long lastId = buffer.getLong();
+        long count = buffer.getLong();
+        ByteBuffer records = buffer.slice(SNAPSHOT_HEADER_SIZE, buffer.limit() - SNAPSHOT_HEADER_SIZE - 4);
+        CRC32 checksum = new CRC32();
+        checksum.update(records.duplicate());
+        if (buffer.getInt(buffer.limit() - 4) != (int) checksum.getValue()) {
+            throw new IllegalStateException("Corrupt offer snapshot: " + path);
+        }
+        List<Offer> batch = new ArrayList<>(RESTORE_BATCH_SIZE);
+        for (long i = 0; i < count; i++) {
+            batch.add(OfferCodec.decode(records));
+            if (batch.size() == RESTORE_BATCH_SIZE) {
+                view.restore(batch);
+                batch.clear();
+            }
+        }
+        view.restore(batch);
+        view.reserveIdsThrough(lastId);
+        return sequence;
+    }
+}
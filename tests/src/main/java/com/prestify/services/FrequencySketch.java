@@ -0,0 +1,77 @@
+package com.prestify.services;
+
+/**
+ * Count-min sketch of access frequencies with 4-bit counters, used by
+ * TinyLfuCache to decide whether a new entry deserves to evict an old one.
+ * Counters are halved every sampleSize increments so that popularity ages out.
+ * Not thread-safe: callers guard it with their own lock.
+ */
+class FrequencySketch {
+
+    private static final long[] SEEDS = {
+        0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L
+    };
+    private static final long RESET_MASK = 0x7777777777777777L;
+
+    private final long[] table;
+    private final int mask;
+    private final int sampleSize;
+    private int additions;
+
+    FrequencySketch(int maximumSize) {
+        int capacity = Integer.highestOneBit(Math.max(16, maximumSize - 1) << 1);
+        this.table = new long[capacity];
+        this.mask = capacity - 1;
+        this.sampleSize = 10 * Math.max(1, maximumSize);
+    }
+
+    /**
+     * @return estimated number of recent accesses to the key, between 0 and 15
+     */
+    int frequency(long key) {
+        int frequency = 15;
+        for (int row = 0; row < SEEDS.length; row++) {
+            frequency = Math.min(frequency, counter(key, row));
+        }
+        return frequency;
+    }
+
+    void increment(long key) {
+        boolean added = false;
+        for (int row = 0; row < SEEDS.length; row++) {
+            long hash = hash(key, row);
+            int index = (int) hash & mask;
+            int shift = counterShift(hash);
+            if (((table[index] >>> shift) & 0xfL) < 15) {
+                table[index] += 1L << shift;
+                added = true;
+            }
+        }
+        if (added && ++additions == sampleSize) {
+            reset();
+        }
+    }
+
+    private int counter(long key, int row) {
+        long hash = hash(key, row);
+        return (int) ((table[(int) hash & mask] >>> counterShift(hash)) & 0xfL);
+    }
+
+    private void reset() {
+        for (int i = 0; i < table.length; i++) {
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+        }
+        additions >>>= 1;
+    }
+
+    private static int counterShift(long hash) {
+        return (int) ((hash >>> 32) & 15) << 2;
+    }
+
+    private static long hash(long key, int row) {
+        long h = (key + SEEDS[row]) * 0x9e3779b97f4a7c15L;
+        h ^= h >>> 29;
+        h *= 0xbf58476d1ce4e5b9L;
+        return h ^ (h >>> 32);
+    }
+}
@@ -0,0 +1,24 @@
+package com.prestify.services;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Asynchronous counterpart of ICategorieService.
+ * Each call returns at once; failures the blocking service would throw complete
+ * the future exceptionally instead.
+ * Every ICategorieService operation is covered except the boxed-id overload
+ * of getCategorieById, which the primitive one replaces, and findAll, an
+ * alias of getAllCategories.
+ */
+public interface IAsyncCategorieService {
+    CompletableFuture<Categorie> addCategorie(Categorie categorie);
+    CompletableFuture<Categorie> getCategorieById(long id);
+    CompletableFuture<List<Categorie>> getAllCategories();
+    CompletableFuture<Page<Categorie>> getCategoriesPage(String cursor, int size);
+    CompletableFuture<Delta<Categorie>> getCategoriesChangedSince(String token, int limit);
+    CompletableFuture<Void> deleteCategorie(Long id);
+    CompletableFuture<Categorie> updateCategorie(Long id, Categorie categorie);
+    CompletableFuture<Categorie> patchCategorie(Long id, CategoriePatch patch);
+    CompletableFuture<Boolean> existsByNom(String nom);
+}
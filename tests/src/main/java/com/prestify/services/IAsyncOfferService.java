@@ -0,0 +1,45 @@
+package com.prestify.services;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Asynchronous counterpart of IOfferService.
+ * Each call returns at once; failures the blocking service would throw complete
+ * the future exceptionally instead.
+ * Every IOfferService operation is covered except the boxed-id overloads of
+ * getOfferById and offerExists, which the primitive ones replace, and the
+ * stream* methods, whose Flow.Publisher results are already asynchronous.
+ * The mutation passed to modifyOffer and the filter passed to
+ * getOffersMatching run on the executor's threads.
+ */
+public interface IAsyncOfferService {
+    CompletableFuture<Offer> addOffer(Offer offer);
+    CompletableFuture<BatchResult<Offer>> addOffers(Collection<Offer> offers);
+    CompletableFuture<Offer> getOfferById(long id);
+    CompletableFuture<List<Offer>> getAllOffers();
+    CompletableFuture<Page<Offer>> getOffersPage(String cursor, int size);
+    CompletableFuture<Delta<Offer>> getOffersChangedSince(String token, int limit);
+    CompletableFuture<Void> deleteOffer(Long id);
+    CompletableFuture<Offer> updateOffer(Long id, Offer offer);
+    CompletableFuture<Offer> updateOfferIfVersion(Long id, Offer offer, long expectedVersion);
+    CompletableFuture<Offer> modifyOffer(Long id, Consumer<Offer> mutation);
+    CompletableFuture<Offer> patchOffer(Long id, OfferPatch patch);
+    CompletableFuture<List<Offer>> getOffersByTitle(String title);
+    CompletableFuture<List<Offer>> searchOffersByTitle(String query);
+    CompletableFuture<List<Offer>> getOffersByLocation(String location);
+    CompletableFuture<List<Offer>> getOffersByPriceRange(Double minPrice, Double maxPrice);
+    CompletableFuture<List<Offer>> searchOffers(OfferQuery query);
+    CompletableFuture<List<Offer>> getOffersMatching(Predicate<? super Offer> filter);
+    CompletableFuture<List<Offer>> getTopOffers(OfferQuery.Sort order, String location, Double minPrice, Double maxPrice, int k);
+    CompletableFuture<List<Offer>> getOffersByStatus(String status);
+    CompletableFuture<PriceStats> getPriceStatistics(String location);
+    CompletableFuture<Map<String, PriceStats>> getPriceStatisticsByLocation();
+    CompletableFuture<List<Offer>> getOffersByStatuses(Collection<String> statuses, String location,
+                                                       Double minPrice, Double maxPrice);
+    CompletableFuture<Boolean> offerExists(long id);
+}
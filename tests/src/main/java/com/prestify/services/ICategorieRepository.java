@@ -1,7 +1,10 @@
 package com.prestify.services;
 
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.stream.Collectors;
 
 /**
  * Repository interface for Categorie
@@ -13,4 +16,59 @@ public interface ICategorieRepository {
     void deleteById(Long id);
     boolean existsById(Long id);
     boolean existsByNom(String nom);
+
+    /**
+     * Primitive-id lookup. Implementations keyed by primitive ids override this
+     * so the hot path does not box the id.
+     */
+    default Optional<Categorie> findById(long id) {
+        return findById(Long.valueOf(id));
+    }
+
+    default boolean existsById(long id) {
+        return existsById(Long.valueOf(id));
+    }
+
+    /**
+     * Reserves count consecutive ids that the repository will never assign to
+     * another categorie, so a caller can name a new categorie before saving it.
+     * Repositories that only assign ids on save return empty.
+     * @return the first reserved id
+     */
+    default OptionalLong reserveIds(int count) {
+        return OptionalLong.empty();
+    }
+
+    /**
+     * Applies a partial update to the stored categorie.
+     * This fallback reads, patches and re-saves the whole categorie.
+     * @return the categorie after the patch, or empty when no categorie has the id
+     */
+    default Optional<Categorie> patch(long id, CategoriePatch patch) {
+        if (patch == null) {
+            throw new IllegalArgumentException("Patch cannot be null");
+        }
+        Optional<Categorie> current = findById(id);
+        if (current.isEmpty()) {
+            return current;
+        }
+        Categorie patched = new Categorie(current.get().getId(), current.get().getNom(), current.get().getDescription());
+        if (patch.applyTo(patched).isEmpty()) {
+            return current;
+        }
+        return Optional.of(save(patched));
+    }
+
+    /**
+     * Keyset pagination: up to limit categories with an id greater than afterId, in id order.
+     * A null afterId starts from the beginning.
+     * Implementations without an ordered id index fall back to a full scan.
+     */
+    default List<Categorie> findAllAfter(Long afterId, int limit) {
+        return findAll().stream()
+                .filter(categorie -> afterId == null || categorie.getId() > afterId)
+                .sorted(Comparator.comparing(Categorie::getId))
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
 }
@@ -6,9 +6,13 @@ package com.prestify.services;
 public interface ICategorieService {
     Categorie addCategorie(Categorie categorie);
     Categorie getCategorieById(Long id);
+    Categorie getCategorieById(long id);
     java.util.List<Categorie> getAllCategories();
+    Page<Categorie> getCategoriesPage(String cursor, int size);
+    Delta<Categorie> getCategoriesChangedSince(String token, int limit);
     void deleteCategorie(Long id);
     Categorie updateCategorie(Long id, Categorie categorie);
+    Categorie patchCategorie(Long id, CategoriePatch patch);
     java.util.List<Categorie> findAll();
     boolean existsByNom(String nom);
 }
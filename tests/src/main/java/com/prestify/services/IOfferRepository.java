@@ -1,18 +1,249 @@
 package com.prestify.services;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 /**
  * Repository interface for Offer
  */
 public interface IOfferRepository {
     Offer save(Offer offer);
+
+    /**
+     * Saves a batch of offers in one write and returns them in input order.
+     * Implementations without a batched write fall back to one save per offer.
+     */
+    default List<Offer> saveAll(Collection<Offer> offers) {
+        List<Offer> saved = new ArrayList<>(offers.size());
+        for (Offer offer : offers) {
+            saved.add(save(offer));
+        }
+        return saved;
+    }
+
+    /**
+     * Stores offers exactly as given, versions included, replacing any stored
+     * offer with the same id and moving the id sequence past them. Layers that
+     * number versions themselves, such as a write-behind cache flushing
+     * coalesced writes, use it so the store does not renumber them.
+     * A repository cannot keep versions through save, so this fallback throws.
+     * @throws UnsupportedOperationException if the repository cannot store versions
+     */
+    default void restore(Collection<Offer> offers) {
+        throw new UnsupportedOperationException(getClass().getSimpleName() + " cannot store offer versions");
+    }
+
+    /**
+     * Reserves count consecutive ids that the repository will never assign to
+     * another offer, so a caller can name new offers before saving them.
+     * Repositories that only assign ids on save return empty.
+     * @return the first reserved id
+     */
+    default OptionalLong reserveIds(int count) {
+        return OptionalLong.empty();
+    }
+
     Optional<Offer> findById(Long id);
     List<Offer> findAll();
     void deleteById(Long id);
     boolean existsById(Long id);
+
+    /**
+     * Primitive-id lookup. Implementations keyed by primitive ids override this
+     * so the hot path does not box the id.
+     */
+    default Optional<Offer> findById(long id) {
+        return findById(Long.valueOf(id));
+    }
+
+    default boolean existsById(long id) {
+        return existsById(Long.valueOf(id));
+    }
+
+    /**
+     * Compare-and-set save: stores the offer only if the stored offer with the same
+     * id is currently at expectedVersion, bumping it to expectedVersion + 1.
+     * The check and the write must be one atomic step under the repository's
+     * own write lock, so there is no fallback; repositories that do not
+     * override it reject conditional saves.
+     * @return the stored offer, or empty when the offer is missing or at another version
+     * @throws UnsupportedOperationException if the repository cannot compare and set
+     */
+    default Optional<Offer> saveIfVersion(Offer offer, long expectedVersion) {
+        throw new UnsupportedOperationException(getClass().getSimpleName() + " cannot compare and set offers");
+    }
+
+    /**
+     * Applies a partial update to the stored offer.
+     * This fallback reads, patches and re-saves the whole offer; indexed
+     * implementations rewrite and re-index only the fields that changed.
+     * @return the offer after the patch, or empty when no offer has the id
+     */
+    default Optional<Offer> patch(long id, OfferPatch patch) {
+        if (patch == null) {
+            throw new IllegalArgumentException("Patch cannot be null");
+        }
+        Optional<Offer> current = findById(id);
+        if (current.isEmpty()) {
+            return current;
+        }
+        Offer patched = new Offer(current.get());
+        if (patch.applyTo(patched).isEmpty()) {
+            return current;
+        }
+        return Optional.of(save(patched));
+    }
+
     List<Offer> findByTitle(String title);
     List<Offer> findByLocation(String location);
     List<Offer> findByPriceBetween(Double minPrice, Double maxPrice);
+
+    /**
+     * Keyset pagination: up to limit offers with an id greater than afterId, in id order.
+     * A null afterId starts from the beginning.
+     * Implementations without an ordered id index fall back to a full scan.
+     */
+    default List<Offer> findAllAfter(Long afterId, int limit) {
+        return findAll().stream()
+                .filter(offer -> afterId == null || offer.getId() > afterId)
+                .sorted(Comparator.comparing(Offer::getId))
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Keyset slice of findByLocation: up to limit offers with an id greater than afterId, in id order.
+     */
+    default List<Offer> findByLocationAfter(String location, Long afterId, int limit) {
+        return findByLocation(location).stream()
+                .filter(offer -> afterId == null || offer.getId() > afterId)
+                .sorted(Comparator.comparing(Offer::getId))
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Keyset slice of findByPriceBetween, ordered by price then id: up to limit offers
+     * sorting strictly after (afterPrice, afterId). A null afterPrice starts at the beginning.
+     */
+    default List<Offer> findByPriceBetweenAfter(Double minPrice, Double maxPrice,
+                                                Double afterPrice, Long afterId, int limit) {
+        Comparator<Offer> order = Comparator.comparing(Offer::getPrice).thenComparing(Offer::getId);
+        Offer after = afterPrice == null ? null : new Offer(afterId, null, afterPrice);
+        return findByPriceBetween(minPrice, maxPrice).stream()
+                .filter(offer -> after == null || order.compare(offer, after) > 0)
+                .sorted(order)
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Offers whose status equals the given value, in id order.
+     */
+    default List<Offer> findByStatus(String status) {
+        if (status == null) {
+            return List.of();
+        }
+        return findAll().stream()
+                .filter(offer -> status.equals(offer.getStatus()))
+                .sorted(Comparator.comparing(Offer::getId))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Offers whose status is any of the given values, located at location and
+     * priced between minPrice and maxPrice inclusive, in id order. A null or empty
+     * statuses, a null location or a null price bound leaves that filter open.
+     */
+    default List<Offer> findByStatusIn(Collection<String> statuses, String location,
+                                       Double minPrice, Double maxPrice) {
+        return findAll().stream()
+                .filter(offer -> statuses == null || statuses.isEmpty() || statuses.contains(offer.getStatus()))
+                .filter(offer -> location == null || location.equals(offer.getLocation()))
+                .filter(offer -> minPrice == null || (offer.getPrice() != null && offer.getPrice() >= minPrice))
+                .filter(offer -> maxPrice == null || (offer.getPrice() != null && offer.getPrice() <= maxPrice))
+                .sorted(Comparator.comparing(Offer::getId))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Case- and accent-insensitive substring search on title.
+     * Implementations without a text index fall back to a full scan.
+     */
+    default List<Offer> searchByTitle(String fragment) {
+        String query = NGramIndex.normalize(fragment);
+        if (query == null || query.isEmpty()) {
+            return List.of();
+        }
+        return findAll().stream()
+                .filter(offer -> offer.getTitle() != null
+                        && NGramIndex.normalize(offer.getTitle()).contains(query))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Offers satisfying an arbitrary, unindexed predicate, in id order.
+     * Implementations may evaluate the predicate concurrently from several
+     * threads, so it must be side-effect free.
+     */
+    default List<Offer> findMatching(Predicate<? super Offer> filter) {
+        if (filter == null) {
+            return List.of();
+        }
+        return findAll().stream()
+                .filter(filter)
+                .sorted(Comparator.comparing(Offer::getId))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Price statistics of the offers at a location, or of the whole catalog when
+     * location is null. This fallback scans; indexed implementations keep the
+     * aggregates up to date on every write.
+     */
+    default PriceStats priceStatistics(String location) {
+        List<Offer> offers = location == null ? findAll() : findByLocation(location);
+        return PriceStats.of(offers.stream().map(Offer::getPrice).collect(Collectors.toList()));
+    }
+
+    /**
+     * Price statistics for every location holding at least one priced offer, by location name.
+     */
+    default Map<String, PriceStats> priceStatisticsByLocation() {
+        Map<String, List<Double>> prices = new TreeMap<>();
+        for (Offer offer : findAll()) {
+            if (offer.getLocation() != null && offer.getPrice() != null) {
+                prices.computeIfAbsent(offer.getLocation(), l -> new ArrayList<>()).add(offer.getPrice());
+            }
+        }
+        Map<String, PriceStats> result = new TreeMap<>();
+        prices.forEach((location, values) -> result.put(location, PriceStats.of(values)));
+        return result;
+    }
+
+    /**
+     * Offers matching every criterion of the query, in the query's sort order and
+     * truncated to its limit. Implementations with indexes drive the query from
+     * the most selective one; this fallback scans and filters.
+     */
+    default List<Offer> findByQuery(OfferQuery query) {
+        if (query == null) {
+            return List.of();
+        }
+        TopK<Offer> top = new TopK<>(query.getLimit(), query.getSort().comparator());
+        for (Offer offer : findAll()) {
+            if (query.matches(offer)) {
+                top.offer(offer);
+            }
+        }
+        return top.toSortedList();
+    }
 }
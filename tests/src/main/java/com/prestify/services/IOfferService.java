@@ -1,19 +1,48 @@
 package com.prestify.services;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.Flow;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 /**
  * Service interface for Offer
  */
 public interface IOfferService {
     Offer addOffer(Offer offer);
+    BatchResult<Offer> addOffers(Collection<Offer> offers);
     Offer getOfferById(Long id);
+    Offer getOfferById(long id);
     List<Offer> getAllOffers();
+    Page<Offer> getOffersPage(String cursor, int size);
+    Delta<Offer> getOffersChangedSince(String token, int limit);
     void deleteOffer(Long id);
     Offer updateOffer(Long id, Offer offer);
+
+    /**
+     * Like updateOffer, but only if the stored offer is still at expectedVersion.
+     * @throws OptimisticLockException if another write got in first
+     */
+    Offer updateOfferIfVersion(Long id, Offer offer, long expectedVersion);
+    Offer modifyOffer(Long id, Consumer<Offer> mutation);
+    Offer patchOffer(Long id, OfferPatch patch);
     List<Offer> getOffersByTitle(String title);
+    List<Offer> searchOffersByTitle(String query);
     List<Offer> getOffersByLocation(String location);
     List<Offer> getOffersByPriceRange(Double minPrice, Double maxPrice);
+    List<Offer> searchOffers(OfferQuery query);
+    List<Offer> getOffersMatching(Predicate<? super Offer> filter);
+    List<Offer> getTopOffers(OfferQuery.Sort order, String location, Double minPrice, Double maxPrice, int k);
+    List<Offer> getOffersByStatus(String status);
+    PriceStats getPriceStatistics(String location);
+    Map<String, PriceStats> getPriceStatisticsByLocation();
+    List<Offer> getOffersByStatuses(Collection<String> statuses, String location, Double minPrice, Double maxPrice);
     boolean offerExists(Long id);
+    boolean offerExists(long id);
+    Flow.Publisher<Offer> streamAllOffers();
+    Flow.Publisher<Offer> streamOffersByLocation(String location);
+    Flow.Publisher<Offer> streamOffersByPriceRange(Double minPrice, Double maxPrice);
 }
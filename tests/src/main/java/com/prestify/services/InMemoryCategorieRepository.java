@@ -0,0 +1,212 @@
+package com.prestify.services;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory implementation of ICategorieRepository.
+ * Categories are kept in a primitive-keyed map for lookups and in id order so
+ * pages can be read with a tail view, plus a count per nom for existsByNom.
+ */
+public class InMemoryCategorieRepository implements ICategorieRepository {
+
+    private final NavigableMap<Long, Categorie> categories = new TreeMap<>();
+    private final LongObjectMap<Categorie> categoriesById = new LongObjectMap<>();
+    private final Map<String, Integer> nomCounts = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private long sequence;
+
+    @Override
+    public Categorie save(Categorie categorie) {
+        if (categorie == null) {
+            throw new IllegalArgumentException("Categorie cannot be null");
+        }
+        Categorie stored = copy(categorie);
+        lock.writeLock().lock();
+        try {
+            if (stored.getId() == null) {
+                stored.setId(++sequence);
+            } else if (stored.getId() > sequence) {
+                sequence = stored.getId();
+            }
+            Categorie previous = categoriesById.put(stored.getId(), stored);
+            categories.put(stored.getId(), stored);
+            if (previous == null || !Objects.equals(previous.getNom(), stored.getNom())) {
+                if (previous != null) {
+                    decrementNom(previous.getNom());
+                }
+                if (stored.getNom() != null) {
+                    nomCounts.merge(stored.getNom(), 1, Integer::sum);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return copy(stored);
+    }
+
+    @Override
+    public OptionalLong reserveIds(int count) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("Count must be greater than 0");
+        }
+        lock.writeLock().lock();
+        try {
+            long first = sequence + 1;
+            sequence += count;
+            return OptionalLong.of(first);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Applies the patch to a copy of the stored categorie; the nom counts are
+     * only touched when the nom actually changed.
+     */
+    @Override
+    public Optional<Categorie> patch(long id, CategoriePatch patch) {
+        if (patch == null) {
+            throw new IllegalArgumentException("Patch cannot be null");
+        }
+        lock.writeLock().lock();
+        try {
+            Categorie current = categoriesById.get(id);
+            if (current == null) {
+                return Optional.empty();
+            }
+            Categorie patched = copy(current);
+            Set<CategoriePatch.Field> changed = patch.applyTo(patched);
+            if (changed.isEmpty()) {
+                return Optional.of(copy(current));
+            }
+            categoriesById.put(id, patched);
+            categories.put(id, patched);
+            if (changed.contains(CategoriePatch.Field.NOM)) {
+                decrementNom(current.getNom());
+                if (patched.getNom() != null) {
+                    nomCounts.merge(patched.getNom(), 1, Integer::sum);
+                }
+            }
+            return Optional.of(copy(patched));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<Categorie> findById(Long id) {
+        return id != null ? findById(id.longValue()) : Optional.empty();
+    }
+
+    @Override
+    public Optional<Categorie> findById(long id) {
+        lock.readLock().lock();
+        try {
+            Categorie categorie = categoriesById.get(id);
+            return categorie != null ? Optional.of(copy(categorie)) : Optional.empty();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Categorie> findAll() {
+        lock.readLock().lock();
+        try {
+            return copyOf(categories.values(), Integer.MAX_VALUE);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Categorie> findAllAfter(Long afterId, int limit) {
+        lock.readLock().lock();
+        try {
+            Collection<Categorie> tail = afterId == null
+                    ? categories.values()
+                    : categories.tailMap(afterId, false).values();
+            return copyOf(tail, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        if (id == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            Categorie removed = categoriesById.remove(id);
+            if (removed != null) {
+                categories.remove(id);
+                decrementNom(removed.getNom());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean existsById(Long id) {
+        return id != null && existsById(id.longValue());
+    }
+
+    @Override
+    public boolean existsById(long id) {
+        lock.readLock().lock();
+        try {
+            return categoriesById.containsKey(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean existsByNom(String nom) {
+        if (nom == null) {
+            return false;
+        }
+        lock.readLock().lock();
+        try {
+            return nomCounts.containsKey(nom);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void decrementNom(String nom) {
+        if (nom != null) {
+            nomCounts.computeIfPresent(nom, (key, count) -> count > 1 ? count - 1 : null);
+        }
+    }
+
+    private static Categorie copy(Categorie categorie) {
+        return new Categorie(categorie.getId(), categorie.getNom(), categorie.getDescription());
+    }
+
+    private static List<Categorie> copyOf(Collection<Categorie> source, int limit) {
+        List<Categorie> result = new ArrayList<>();
+        for (Categorie categorie : source) {
+            if (result.size() >= limit) {
+                break;
+            }
+            result.add(copy(categorie));
+        }
+        return result;
+    }
+}
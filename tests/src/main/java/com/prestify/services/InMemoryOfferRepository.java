@@ -0,0 +1,951 @@
+package com.prestify.services;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * In-memory implementation of IOfferRepository.
+ * Keeps a primitive-keyed id map for lookups and an id-ordered map for paging,
+ * plus secondary indexes on title, location and price, all updated under the
+ * same write lock so readers never see a half-indexed offer.
+ * The two id maps are a deliberate trade: both hold the same Offer instances,
+ * so the second costs one TreeMap entry (about 40 bytes) per offer and one
+ * more put or remove per write. In return, lookups by id, which dominate
+ * reads, probe an open-addressed array without boxing or walking a tree, and
+ * keyset pages and id-ordered scans stay O(log n + limit) without sorting.
+ * Stored offers are replaced, never mutated, so lookups copy them after
+ * releasing the lock.
+ * Location and status values are canonicalized through a ValueDictionary, so
+ * equal values share one String, and are indexed as one LongBitmap per code
+ * so that status, location and price filters combine by bitmap AND/OR.
+ * Composite queries are planned from index statistics: the criterion with the
+ * fewest estimated matches drives candidate generation and the others are
+ * checked on each candidate.
+ * Price aggregates for the whole catalog and for each location are updated on
+ * every write, so statistics reads never scan.
+ */
+public class InMemoryOfferRepository implements IOfferRepository {
+
+    /**
+     * Access path chosen by the planner for an OfferQuery.
+     */
+    enum Access {
+        SCAN, TITLE, LOCATION, STATUS, PRICE
+    }
+
+    private static final Set<OfferPatch.Field> ALL_FIELDS =
+            Collections.unmodifiableSet(EnumSet.allOf(OfferPatch.Field.class));
+
+    private final NavigableMap<Long, Offer> offers = new TreeMap<>();
+    private final LongObjectMap<Offer> offersById = new LongObjectMap<>();
+    private final Map<String, NavigableSet<Long>> titleIndex = new HashMap<>();
+    private final Map<Integer, LongBitmap> locationIndex = new HashMap<>();
+    private final Map<Integer, LongBitmap> statusIndex = new HashMap<>();
+    private final PriceIndex priceIndex = new PriceIndex();
+    private final NGramIndex titleSearchIndex = new NGramIndex();
+    private final Map<Integer, PriceAggregate> locationPrices = new HashMap<>();
+    private final PriceAggregate catalogPrices = new PriceAggregate();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ValueDictionary dictionary;
+    private volatile ParallelScanner scanner = new ParallelScanner();
+    private long sequence;
+    /** Set while writeAll batches price index changes. */
+    private boolean deferPriceIndex;
+
+    public InMemoryOfferRepository() {
+        this(new ValueDictionary());
+    }
+
+    /**
+     * @param dictionary codes for locations and statuses; it keeps every value
+     *                   it has seen, so share one only between repositories
+     *                   whose values come from a bounded set
+     */
+    public InMemoryOfferRepository(ValueDictionary dictionary) {
+        if (dictionary == null) {
+            throw new IllegalArgumentException("Dictionary cannot be null");
+        }
+        this.dictionary = dictionary;
+    }
+
+    /**
+     * Sets the fork/join scanner used by findMatching.
+     */
+    public void setParallelScanner(ParallelScanner scanner) {
+        if (scanner == null) {
+            throw new IllegalArgumentException("Scanner cannot be null");
+        }
+        this.scanner = scanner;
+    }
+
+    @Override
+    public Offer save(Offer offer) {
+        if (offer == null) {
+            throw new IllegalArgumentException("Offer cannot be null");
+        }
+        Offer stored = prepare(offer);
+        lock.writeLock().lock();
+        try {
+            store(stored);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return new Offer(stored);
+    }
+
+    @Override
+    public List<Offer> saveAll(Collection<Offer> batch) {
+        List<Offer> stored = new ArrayList<>(batch.size());
+        for (Offer offer : batch) {
+            if (offer == null) {
+                throw new IllegalArgumentException("Offer cannot be null");
+            }
+            stored.add(prepare(offer));
+        }
+        lock.writeLock().lock();
+        try {
+            writeAll(stored, this::store);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return copyOf(stored);
+    }
+
+    @Override
+    public Optional<Offer> saveIfVersion(Offer offer, long expectedVersion) {
+        if (offer == null || offer.getId() == null) {
+            throw new IllegalArgumentException("Offer and its ID cannot be null");
+        }
+        Offer stored = prepare(offer);
+        lock.writeLock().lock();
+        try {
+            Offer current = offersById.get(stored.getId());
+            if (current == null || current.getVersion() != expectedVersion) {
+                return Optional.empty();
+            }
+            store(stored);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return Optional.of(new Offer(stored));
+    }
+
+    /**
+     * Copies the stored offer, applies the patch and swaps the copy in; only the
+     * indexes of fields whose value changed are touched, and unchanged strings
+     * such as the description are shared with the previous version, not copied.
+     * A patch that changes nothing does not bump the version.
+     */
+    @Override
+    public Optional<Offer> patch(long id, OfferPatch patch) {
+        if (patch == null) {
+            throw new IllegalArgumentException("Patch cannot be null");
+        }
+        lock.writeLock().lock();
+        try {
+            Offer current = offersById.get(id);
+            if (current == null) {
+                return Optional.empty();
+            }
+            Offer patched = new Offer(current);
+            Set<OfferPatch.Field> changed = patch.applyTo(patched);
+            if (changed.isEmpty()) {
+                return Optional.of(new Offer(current));
+            }
+            patched.setLocation(dictionary.canonicalize(patched.getLocation()));
+            patched.setStatus(dictionary.canonicalize(patched.getStatus()));
+            patched.setVersion(current.getVersion() + 1);
+            offersById.put(id, patched);
+            offers.put(id, patched);
+            reindex(current, patched, changed);
+            return Optional.of(new Offer(patched));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<Offer> findById(Long id) {
+        return id != null ? findById(id.longValue()) : Optional.empty();
+    }
+
+    @Override
+    public Optional<Offer> findById(long id) {
+        Offer offer;
+        lock.readLock().lock();
+        try {
+            offer = offersById.get(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+        return offer != null ? Optional.of(new Offer(offer)) : Optional.empty();
+    }
+
+    @Override
+    public List<Offer> findAll() {
+        lock.readLock().lock();
+        try {
+            return copyOf(offers.values());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Offer> findAllAfter(Long afterId, int limit) {
+        lock.readLock().lock();
+        try {
+            Collection<Offer> tail = afterId == null ? offers.values() : offers.tailMap(afterId, false).values();
+            List<Offer> result = new ArrayList<>();
+            for (Offer offer : tail) {
+                if (result.size() >= limit) {
+                    break;
+                }
+                result.add(new Offer(offer));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        if (id == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            Offer removed = offersById.remove(id);
+            if (removed != null) {
+                offers.remove(id);
+                reindex(removed, null);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean existsById(Long id) {
+        return id != null && existsById(id.longValue());
+    }
+
+    @Override
+    public boolean existsById(long id) {
+        lock.readLock().lock();
+        try {
+            return offersById.containsKey(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Offer> findByTitle(String title) {
+        if (title == null) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            return offersOf(titleIndex.get(title));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Offer> findByLocation(String location) {
+        int code = dictionary.codeOf(location);
+        if (code == ValueDictionary.NO_CODE) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            return offersOf(locationIndex.get(code));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Offer> findByStatus(String status) {
+        int code = dictionary.codeOf(status);
+        if (code == ValueDictionary.NO_CODE) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            return offersOf(statusIndex.get(code));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Offer> findByStatusIn(Collection<String> statuses, String location,
+                                      Double minPrice, Double maxPrice) {
+        lock.readLock().lock();
+        try {
+            LongBitmap matches = null;
+            if (statuses != null && !statuses.isEmpty()) {
+                matches = new LongBitmap();
+                for (String status : statuses) {
+                    LongBitmap ids = statusIndex.get(dictionary.codeOf(status));
+                    if (ids != null) {
+                        matches = matches.or(ids);
+                    }
+                }
+            }
+            if (location != null) {
+                LongBitmap ids = locationIndex.get(dictionary.codeOf(location));
+                if (ids == null) {
+                    return List.of();
+                }
+                matches = matches == null ? ids : matches.and(ids);
+            }
+            if (minPrice == null && maxPrice == null) {
+                return matches == null ? copyOf(offers.values()) : offersOf(matches);
+            }
+            double min = minPrice != null ? minPrice : Double.NEGATIVE_INFINITY;
+            double max = maxPrice != null ? maxPrice : Double.POSITIVE_INFINITY;
+            if (matches == null || priceIndex.countBetween(min, max) < matches.cardinality()) {
+                // price is the only or the most selective filter: intersect its slice
+                LongBitmap ids = LongBitmap.of(priceIndex.idsBetween(min, max));
+                return offersOf(matches == null ? ids : matches.and(ids));
+            }
+            List<Offer> result = new ArrayList<>();
+            matches.forEach(id -> {
+                Offer offer = offersById.get(id);
+                Double price = offer.getPrice();
+                if (price != null && Double.compare(price, min) >= 0 && Double.compare(price, max) <= 0) {
+                    result.add(new Offer(offer));
+                }
+                return true;
+            });
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Offer> findByLocationAfter(String location, Long afterId, int limit) {
+        int code = dictionary.codeOf(location);
+        if (code == ValueDictionary.NO_CODE) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            LongBitmap ids = locationIndex.get(code);
+            if (ids == null || limit <= 0 || (afterId != null && afterId == Long.MAX_VALUE)) {
+                return List.of();
+            }
+            List<Offer> result = new ArrayList<>();
+            ids.forEachFrom(afterId == null ? Long.MIN_VALUE : afterId + 1, id -> {
+                result.add(new Offer(offersById.get(id)));
+                return result.size() < limit;
+            });
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Offer> findByPriceBetweenAfter(Double minPrice, Double maxPrice,
+                                               Double afterPrice, Long afterId, int limit) {
+        if (minPrice == null || maxPrice == null || minPrice > maxPrice) {
+            return List.of();
+        }
+        long after = afterId != null ? afterId : Long.MIN_VALUE;
+        lock.readLock().lock();
+        try {
+            return offersOf(priceIndex.idsBetweenAfter(minPrice, maxPrice, afterPrice, after, limit));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Offer> searchByTitle(String fragment) {
+        lock.readLock().lock();
+        try {
+            return offersOf(titleSearchIndex.search(fragment));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Evaluates the predicate over an id-ordered snapshot on the parallel scanner.
+     * The read lock is only held while the snapshot is taken; stored offers are
+     * replaced rather than modified, so the scan sees a consistent store without
+     * blocking writers. The predicate is tested against the stored offers
+     * themselves, so no offer is copied until it matches; like any findMatching
+     * predicate it must be side-effect free and must not modify its argument.
+     */
+    @Override
+    public List<Offer> findMatching(Predicate<? super Offer> filter) {
+        if (filter == null) {
+            return List.of();
+        }
+        Offer[] snapshot;
+        lock.readLock().lock();
+        try {
+            snapshot = offers.values().toArray(new Offer[0]);
+        } finally {
+            lock.readLock().unlock();
+        }
+        return scanner.filter(snapshot, filter, Offer::new);
+    }
+
+    @Override
+    public List<Offer> findByQuery(OfferQuery query) {
+        if (query == null) {
+            return List.of();
+        }
+        OfferQuery.Sort sort = query.getSort();
+        int limit = query.getLimit();
+        lock.readLock().lock();
+        try {
+            Access access = plan(query);
+            boolean ordered = access == Access.PRICE ? isPriceSort(sort) : !isPriceSort(sort);
+            boolean reverse = ordered && (sort == OfferQuery.Sort.ID_DESC || sort == OfferQuery.Sort.PRICE_DESC);
+            List<Offer> result = new ArrayList<>();
+            if (ordered) {
+                forEachCandidate(query, access, reverse, offer -> {
+                    if (query.matches(offer)) {
+                        result.add(new Offer(offer));
+                    }
+                    return result.size() < limit;
+                });
+                return result;
+            }
+            TopK<Offer> top = new TopK<>(limit, sort.comparator());
+            forEachCandidate(query, access, false, offer -> {
+                if (query.matches(offer)) {
+                    top.offer(offer);
+                }
+                return true;
+            });
+            for (Offer offer : top.toSortedList()) {
+                result.add(new Offer(offer));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return the access path findByQuery would use for the query right now
+     */
+    Access explain(OfferQuery query) {
+        lock.readLock().lock();
+        try {
+            return plan(query);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Offer> findByPriceBetween(Double minPrice, Double maxPrice) {
+        if (minPrice == null || maxPrice == null || minPrice > maxPrice) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            return offersOf(priceIndex.idsBetween(minPrice, maxPrice));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public PriceStats priceStatistics(String location) {
+        lock.readLock().lock();
+        try {
+            if (location == null) {
+                return catalogPrices.snapshot();
+            }
+            PriceAggregate aggregate = locationPrices.get(dictionary.codeOf(location));
+            return aggregate == null ? PriceStats.EMPTY : aggregate.snapshot();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Map<String, PriceStats> priceStatisticsByLocation() {
+        lock.readLock().lock();
+        try {
+            Map<String, PriceStats> result = new TreeMap<>();
+            for (Map.Entry<Integer, PriceAggregate> entry : locationPrices.entrySet()) {
+                result.put(dictionary.decode(entry.getKey()), entry.getValue().snapshot());
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return number of offers currently stored
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return offersById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Stores offers exactly as they were persisted, versions included.
+     * Used when rebuilding the repository from a snapshot or a log, and by
+     * write-behind layers flushing versions they assigned.
+     */
+    @Override
+    public void restore(Collection<Offer> batch) {
+        List<Offer> stored = new ArrayList<>(batch.size());
+        for (Offer offer : batch) {
+            if (offer == null || offer.getId() == null) {
+                throw new IllegalArgumentException("Offer and its ID cannot be null");
+            }
+            stored.add(prepare(offer));
+        }
+        lock.writeLock().lock();
+        try {
+            writeAll(stored, this::put);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return highest id assigned so far, including ids of deleted offers
+     */
+    long lastAssignedId() {
+        lock.readLock().lock();
+        try {
+            return sequence;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Makes sure ids up to the given one are never assigned to new offers.
+     */
+    void reserveIdsThrough(long id) {
+        lock.writeLock().lock();
+        try {
+            sequence = Math.max(sequence, id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public OptionalLong reserveIds(int count) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("Count must be greater than 0");
+        }
+        lock.writeLock().lock();
+        try {
+            long first = sequence + 1;
+            sequence += count;
+            return OptionalLong.of(first);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void store(Offer stored) {
+        if (stored.getId() == null) {
+            stored.setId(++sequence);
+        }
+        Offer current = offersById.get(stored.getId());
+        stored.setVersion(current == null ? 1 : current.getVersion() + 1);
+        put(stored);
+    }
+
+    /**
+     * Writes a batch with the price index left alone until the end, then moves
+     * every offer the batch touched from its price before the batch to its
+     * price after it in one removeAll and one addAll, instead of shifting the
+     * index arrays once per offer. Caller holds the write lock.
+     */
+    private void writeAll(List<Offer> batch, Consumer<Offer> write) {
+        Map<Long, Double> pricesBefore = new HashMap<>();
+        deferPriceIndex = true;
+        try {
+            for (Offer offer : batch) {
+                Long id = offer.getId();
+                if (id != null && !pricesBefore.containsKey(id)) {
+                    Offer current = offersById.get(id);
+                    pricesBefore.put(id, current != null ? current.getPrice() : null);
+                }
+                write.accept(offer);
+                if (id == null) {
+                    pricesBefore.put(offer.getId(), null);
+                }
+            }
+        } finally {
+            deferPriceIndex = false;
+            reindexPrices(pricesBefore);
+        }
+    }
+
+    private void reindexPrices(Map<Long, Double> pricesBefore) {
+        int count = pricesBefore.size();
+        double[] oldPrices = new double[count];
+        long[] oldIds = new long[count];
+        double[] newPrices = new double[count];
+        long[] newIds = new long[count];
+        int removals = 0;
+        int additions = 0;
+        for (Map.Entry<Long, Double> entry : pricesBefore.entrySet()) {
+            long id = entry.getKey();
+            Offer current = offersById.get(id);
+            Double before = entry.getValue();
+            Double after = current != null ? current.getPrice() : null;
+            if (Objects.equals(before, after)) {
+                continue;
+            }
+            if (before != null) {
+                oldPrices[removals] = before;
+                oldIds[removals++] = id;
+            }
+            if (after != null) {
+                newPrices[additions] = after;
+                newIds[additions++] = id;
+            }
+        }
+        priceIndex.removeAll(oldPrices, oldIds, removals);
+        priceIndex.addAll(newPrices, newIds, additions);
+    }
+
+    private void put(Offer stored) {
+        if (stored.getId() > sequence) {
+            sequence = stored.getId();
+        }
+        Offer previous = offersById.put(stored.getId(), stored);
+        offers.put(stored.getId(), stored);
+        reindex(previous, stored);
+    }
+
+    /**
+     * Copies an incoming offer, swapping location and status for their canonical instances.
+     */
+    private Offer prepare(Offer offer) {
+        Offer stored = new Offer(offer);
+        stored.setLocation(dictionary.canonicalize(offer.getLocation()));
+        stored.setStatus(dictionary.canonicalize(offer.getStatus()));
+        return stored;
+    }
+
+    private List<Offer> offersOf(Collection<Long> ids) {
+        if (ids == null) {
+            return List.of();
+        }
+        List<Offer> result = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            result.add(new Offer(offersById.get(id)));
+        }
+        return result;
+    }
+
+    /**
+     * Moves index entries from the previous state of an offer to its current state.
+     * Either side may be null (insert or delete); unchanged fields are left untouched.
+     */
+    private void reindex(Offer previous, Offer current) {
+        reindex(previous, current, ALL_FIELDS);
+    }
+
+    /**
+     * Moves the offer's index entries from previous to current for the given fields only.
+     * Either side may be null for an insert or a delete.
+     */
+    private void reindex(Offer previous, Offer current, Set<OfferPatch.Field> fields) {
+        long id = previous != null ? previous.getId() : current.getId();
+        if (fields.contains(OfferPatch.Field.TITLE)) {
+            String oldTitle = previous != null ? previous.getTitle() : null;
+            String newTitle = current != null ? current.getTitle() : null;
+            if (!Objects.equals(oldTitle, newTitle)) {
+                removeFrom(titleIndex, oldTitle, id);
+                addTo(titleIndex, newTitle, id);
+                titleSearchIndex.put(id, newTitle);
+            }
+        }
+        if (fields.contains(OfferPatch.Field.STATUS)) {
+            int oldStatus = dictionary.codeOf(previous != null ? previous.getStatus() : null);
+            int newStatus = dictionary.codeOf(current != null ? current.getStatus() : null);
+            if (oldStatus != newStatus) {
+                removeFromBitmap(statusIndex, oldStatus, id);
+                addToBitmap(statusIndex, newStatus, id);
+            }
+        }
+        boolean locationField = fields.contains(OfferPatch.Field.LOCATION);
+        boolean priceField = fields.contains(OfferPatch.Field.PRICE);
+        if (!locationField && !priceField) {
+            return;
+        }
+        int oldLocation = dictionary.codeOf(previous != null ? previous.getLocation() : null);
+        int newLocation = dictionary.codeOf(current != null ? current.getLocation() : null);
+        if (locationField && oldLocation != newLocation) {
+            removeFromBitmap(locationIndex, oldLocation, id);
+            addToBitmap(locationIndex, newLocation, id);
+        }
+        Double oldPrice = previous != null ? previous.getPrice() : null;
+        Double newPrice = current != null ? current.getPrice() : null;
+        if (priceField && !deferPriceIndex) {
+            if (oldPrice != null && newPrice != null) {
+                priceIndex.update(oldPrice, newPrice, id);
+            } else if (oldPrice != null) {
+                priceIndex.remove(oldPrice, id);
+            } else if (newPrice != null) {
+                priceIndex.add(newPrice, id);
+            }
+        }
+        if (oldLocation != newLocation || !Objects.equals(oldPrice, newPrice)) {
+            unaccount(oldLocation, oldPrice);
+            account(newLocation, newPrice);
+        }
+    }
+
+    private void account(int location, Double price) {
+        if (price == null) {
+            return;
+        }
+        catalogPrices.add(price);
+        if (location != ValueDictionary.NO_CODE) {
+            locationPrices.computeIfAbsent(location, c -> new PriceAggregate()).add(price);
+        }
+    }
+
+    private void unaccount(int location, Double price) {
+        if (price == null) {
+            return;
+        }
+        catalogPrices.remove(price);
+        PriceAggregate aggregate = locationPrices.get(location);
+        if (aggregate != null) {
+            aggregate.remove(price);
+            if (aggregate.isEmpty()) {
+                locationPrices.remove(location);
+            }
+        }
+    }
+
+    private static void addToBitmap(Map<Integer, LongBitmap> index, int code, long id) {
+        if (code != ValueDictionary.NO_CODE) {
+            index.computeIfAbsent(code, c -> new LongBitmap()).add(id);
+        }
+    }
+
+    private static void removeFromBitmap(Map<Integer, LongBitmap> index, int code, long id) {
+        if (code == ValueDictionary.NO_CODE) {
+            return;
+        }
+        LongBitmap ids = index.get(code);
+        if (ids != null) {
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                index.remove(code);
+            }
+        }
+    }
+
+    private static void addTo(Map<String, NavigableSet<Long>> index, String key, Long id) {
+        if (key != null) {
+            index.computeIfAbsent(key, k -> new TreeSet<>()).add(id);
+        }
+    }
+
+    private static void removeFrom(Map<String, NavigableSet<Long>> index, String key, Long id) {
+        if (key == null) {
+            return;
+        }
+        NavigableSet<Long> ids = index.get(key);
+        if (ids != null) {
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                index.remove(key);
+            }
+        }
+    }
+
+    /**
+     * Picks the criterion with the smallest estimated candidate set; a full scan
+     * costs the number of stored offers. For a limited price-sorted query, walking
+     * the price index in order costs roughly limit / selectivity of the best filter,
+     * since the walk stops at the limit. Caller holds the lock.
+     */
+    private Access plan(OfferQuery query) {
+        Access best = selectiveAccess(query);
+        if (best == Access.PRICE || !isPriceSort(query.getSort()) || query.getLimit() == Integer.MAX_VALUE) {
+            return best;
+        }
+        if (!query.hasPriceRange() && priceIndex.size() < offersById.size()) {
+            // offers without a price sort last but are not in the price index
+            return best;
+        }
+        int bestCost = costOf(query, best);
+        double selectivity = offersById.size() == 0 ? 1.0 : (double) bestCost / offersById.size();
+        double walkCost = Math.min(priceIndex.countBetween(minPriceOf(query), maxPriceOf(query)),
+                query.getLimit() / Math.max(selectivity, 1e-9));
+        return walkCost < bestCost ? Access.PRICE : best;
+    }
+
+    private int costOf(OfferQuery query, Access access) {
+        switch (access) {
+            case TITLE:
+                return titleSearchIndex.estimate(query.getTitleContains());
+            case LOCATION:
+                return cardinality(locationIndex, query.getLocation());
+            case STATUS:
+                return cardinality(statusIndex, query.getStatus());
+            case PRICE:
+                return priceIndex.countBetween(minPriceOf(query), maxPriceOf(query));
+            default:
+                return offersById.size();
+        }
+    }
+
+    private Access selectiveAccess(OfferQuery query) {
+        Access best = Access.SCAN;
+        int bestCost = offersById.size();
+        for (Access access : Access.values()) {
+            if (access != Access.SCAN && appliesTo(query, access)) {
+                int cost = costOf(query, access);
+                if (cost < bestCost) {
+                    best = access;
+                    bestCost = cost;
+                }
+            }
+        }
+        return best;
+    }
+
+    private static boolean appliesTo(OfferQuery query, Access access) {
+        switch (access) {
+            case TITLE:
+                return query.getTitleContains() != null;
+            case LOCATION:
+                return query.getLocation() != null;
+            case STATUS:
+                return query.getStatus() != null;
+            case PRICE:
+                return query.hasPriceRange();
+            default:
+                return true;
+        }
+    }
+
+    /**
+     * Feeds the stored offers of an access path to the visitor until it returns false:
+     * in price order for PRICE, in id order otherwise, reversed on request.
+     */
+    private void forEachCandidate(OfferQuery query, Access access, boolean reverse, Predicate<Offer> visitor) {
+        switch (access) {
+            case SCAN:
+                for (Offer offer : reverse ? offers.descendingMap().values() : offers.values()) {
+                    if (!visitor.test(offer)) {
+                        return;
+                    }
+                }
+                return;
+            case PRICE:
+                priceIndex.forEachBetween(minPriceOf(query), maxPriceOf(query), reverse,
+                        id -> visitor.test(offersById.get(id)));
+                return;
+            case TITLE:
+                forEach(titleSearchIndex.search(query.getTitleContains()), reverse, visitor);
+                return;
+            default:
+                LongBitmap ids = access == Access.LOCATION
+                        ? locationIndex.get(dictionary.codeOf(query.getLocation()))
+                        : statusIndex.get(dictionary.codeOf(query.getStatus()));
+                if (ids == null) {
+                    return;
+                }
+                if (reverse) {
+                    forEach(ids.toArray(), true, visitor);
+                } else {
+                    ids.forEach(id -> visitor.test(offersById.get(id)));
+                }
+        }
+    }
+
+    private void forEach(long[] ids, boolean reverse, Predicate<Offer> visitor) {
+        for (int i = 0; i < ids.length; i++) {
+            if (!visitor.test(offersById.get(ids[reverse ? ids.length - 1 - i : i]))) {
+                return;
+            }
+        }
+    }
+
+    private int cardinality(Map<Integer, LongBitmap> index, String value) {
+        LongBitmap ids = index.get(dictionary.codeOf(value));
+        return ids == null ? 0 : ids.cardinality();
+    }
+
+    private static boolean isPriceSort(OfferQuery.Sort sort) {
+        return sort == OfferQuery.Sort.PRICE_ASC || sort == OfferQuery.Sort.PRICE_DESC;
+    }
+
+    private static double minPriceOf(OfferQuery query) {
+        return query.getMinPrice() != null ? query.getMinPrice() : Double.NEGATIVE_INFINITY;
+    }
+
+    private static double maxPriceOf(OfferQuery query) {
+        return query.getMaxPrice() != null ? query.getMaxPrice() : Double.POSITIVE_INFINITY;
+    }
+
+    private List<Offer> offersOf(LongBitmap ids) {
+        if (ids == null) {
+            return List.of();
+        }
+        List<Offer> result = new ArrayList<>(ids.cardinality());
+        ids.forEach(id -> result.add(new Offer(offersById.get(id))));
+        return result;
+    }
+
+    private List<Offer> offersOf(long[] ids) {
+        List<Offer> result = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            result.add(new Offer(offersById.get(id)));
+        }
+        return result;
+    }
+
+    private static List<Offer> copyOf(Collection<Offer> source) {
+        List<Offer> result = new ArrayList<>(source.size());
+        for (Offer offer : source) {
+            result.add(new Offer(offer));
+        }
+        return result;
+    }
+}
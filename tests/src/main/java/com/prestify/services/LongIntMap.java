@@ -0,0 +1,189 @@
+package com.prestify.services;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash map from primitive long keys to primitive int values,
+ * laid out like LongObjectMap, so neither keys nor values are ever boxed.
+ * Absent keys read as NO_VALUE; callers storing NO_VALUE itself tell it
+ * apart with containsKey.
+ * Not thread-safe: callers guard it with their own lock.
+ */
+public class LongIntMap {
+
+    public static final int NO_VALUE = -1;
+
+    private static final long FREE = 0L;
+    private static final int INITIAL_CAPACITY = 16;
+
+    private long[] keys;
+    private int[] values;
+    private int mask;
+    private int size;
+    private int resizeAt;
+
+    // Key 0 doubles as the free-slot marker, so its value is kept aside
+    private boolean hasZeroKey;
+    private int zeroValue;
+
+    public LongIntMap() {
+        this(INITIAL_CAPACITY);
+    }
+
+    public LongIntMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(INITIAL_CAPACITY, expectedSize * 2 - 1) << 1);
+        allocate(capacity);
+    }
+
+    public int get(long key) {
+        if (key == FREE) {
+            return hasZeroKey ? zeroValue : NO_VALUE;
+        }
+        int slot = slot(key);
+        long current;
+        while ((current = keys[slot]) != FREE) {
+            if (current == key) {
+                return values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return NO_VALUE;
+    }
+
+    public boolean containsKey(long key) {
+        if (key == FREE) {
+            return hasZeroKey;
+        }
+        int slot = slot(key);
+        long current;
+        while ((current = keys[slot]) != FREE) {
+            if (current == key) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    /**
+     * @return the previous value for the key, or NO_VALUE
+     */
+    public int put(long key, int value) {
+        if (key == FREE) {
+            int previous = hasZeroKey ? zeroValue : NO_VALUE;
+            if (!hasZeroKey) {
+                size++;
+            }
+            hasZeroKey = true;
+            zeroValue = value;
+            return previous;
+        }
+        int slot = slot(key);
+        long current;
+        while ((current = keys[slot]) != FREE) {
+            if (current == key) {
+                int previous = values[slot];
+                values[slot] = value;
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size > resizeAt) {
+            allocate(keys.length << 1);
+        }
+        return NO_VALUE;
+    }
+
+    /**
+     * @return the removed value, or NO_VALUE if the key was absent
+     */
+    public int remove(long key) {
+        if (key == FREE) {
+            if (!hasZeroKey) {
+                return NO_VALUE;
+            }
+            hasZeroKey = false;
+            size--;
+            return zeroValue;
+        }
+        int slot = slot(key);
+        long current;
+        while ((current = keys[slot]) != FREE) {
+            if (current == key) {
+                int previous = values[slot];
+                shiftBack(slot);
+                size--;
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return NO_VALUE;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, FREE);
+        hasZeroKey = false;
+        size = 0;
+    }
+
+    /**
+     * Closes the gap left at a removed slot by moving back any following
+     * entry whose probe sequence passes through it.
+     */
+    private void shiftBack(int gap) {
+        int slot = gap;
+        while (true) {
+            slot = (slot + 1) & mask;
+            long key = keys[slot];
+            if (key == FREE) {
+                break;
+            }
+            int home = slot(key);
+            boolean movable = gap <= slot ? (home <= gap || home > slot) : (home <= gap && home > slot);
+            if (movable) {
+                keys[gap] = key;
+                values[gap] = values[slot];
+                gap = slot;
+            }
+        }
+        keys[gap] = FREE;
+    }
+
+    private void allocate(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new long[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+        resizeAt = (int) (capacity * 0.6);
+        if (oldKeys == null) {
+            return;
+        }
+        for (int i = 0; i < oldKeys.length; i++) {
+            long key = oldKeys[i];
+            if (key != FREE) {
+                int slot = slot(key);
+                while (keys[slot] != FREE) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = key;
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private int slot(long key) {
+        long h = key * 0x9e3779b97f4a7c15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+}
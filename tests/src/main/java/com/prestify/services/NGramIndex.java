@@ -0,0 +1,195 @@
+package com.prestify.services;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Inverted trigram index for substring search.
+ * Text is normalized (lower case, accents stripped) before being split into
+ * trigrams; each trigram maps to a sorted posting list of ids. A query is
+ * answered by intersecting the postings of its trigrams, starting from the
+ * shortest one, and verifying the remaining candidates against the stored text.
+ * Queries shorter than a trigram fall back to scanning the stored text.
+ * Not thread-safe: callers guard it with their own lock.
+ */
+public class NGramIndex {
+
+    static final int GRAM = 3;
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+
+    private final Map<String, Postings> postings = new HashMap<>();
+    private final Map<Long, String> texts = new HashMap<>();
+
+    /**
+     * @return the text in lower case with diacritics removed, or null for null input
+     */
+    public static String normalize(String text) {
+        if (text == null) {
+            return null;
+        }
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        return MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Indexes the text for an id, replacing whatever was indexed for it before.
+     */
+    public void put(long id, String text) {
+        String normalized = normalize(text);
+        String previous = texts.get(id);
+        if (previous != null && previous.equals(normalized)) {
+            return;
+        }
+        remove(id);
+        if (normalized == null) {
+            return;
+        }
+        texts.put(id, normalized);
+        for (String gram : grams(normalized)) {
+            postings.computeIfAbsent(gram, g -> new Postings()).add(id);
+        }
+    }
+
+    public void remove(long id) {
+        String previous = texts.remove(id);
+        if (previous == null) {
+            return;
+        }
+        for (String gram : grams(previous)) {
+            Postings list = postings.get(gram);
+            if (list != null && list.remove(id) && list.size == 0) {
+                postings.remove(gram);
+            }
+        }
+    }
+
+    /**
+     * @return ids whose text contains the fragment, ignoring case and accents, in id order
+     */
+    public long[] search(String fragment) {
+        String query = normalize(fragment);
+        if (query == null || query.isEmpty()) {
+            return new long[0];
+        }
+        if (query.length() < GRAM) {
+            return scan(query);
+        }
+        Set<String> queryGrams = grams(query);
+        Postings[] lists = new Postings[queryGrams.size()];
+        int n = 0;
+        for (String gram : queryGrams) {
+            Postings list = postings.get(gram);
+            if (list == null) {
+                return new long[0];
+            }
+            lists[n++] = list;
+        }
+        Arrays.sort(lists, (a, b) -> Integer.compare(a.size, b.size));
+        Postings driver = lists[0];
+        long[] result = new long[driver.size];
+        int count = 0;
+        for (int i = 0; i < driver.size; i++) {
+            long id = driver.ids[i];
+            if (containsAll(lists, id) && texts.get(id).contains(query)) {
+                result[count++] = id;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    /**
+     * @return size of the shortest posting list the fragment would be driven from,
+     *         an upper bound on the number of matches
+     */
+    public int estimate(String fragment) {
+        String query = normalize(fragment);
+        if (query == null || query.isEmpty()) {
+            return 0;
+        }
+        if (query.length() < GRAM) {
+            return texts.size();
+        }
+        int min = Integer.MAX_VALUE;
+        for (String gram : grams(query)) {
+            Postings list = postings.get(gram);
+            if (list == null) {
+                return 0;
+            }
+            min = Math.min(min, list.size);
+        }
+        return min;
+    }
+
+    public int size() {
+        return texts.size();
+    }
+
+    private long[] scan(String query) {
+        long[] result = new long[texts.size()];
+        int count = 0;
+        for (Map.Entry<Long, String> entry : texts.entrySet()) {
+            if (entry.getValue().contains(query)) {
+                result[count++] = entry.getKey();
+            }
+        }
+        result = Arrays.copyOf(result, count);
+        Arrays.sort(result);
+        return result;
+    }
+
+    private static boolean containsAll(Postings[] lists, long id) {
+        for (int i = 1; i < lists.length; i++) {
+            if (Arrays.binarySearch(lists[i].ids, 0, lists[i].size, id) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Set<String> grams(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    /**
+     * Sorted, growable list of ids for one trigram.
+     */
+    private static final class Postings {
+        private long[] ids = new long[4];
+        private int size;
+
+        void add(long id) {
+            int pos = Arrays.binarySearch(ids, 0, size, id);
+            if (pos >= 0) {
+                return;
+            }
+            pos = -pos - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size << 1);
+            }
+            System.arraycopy(ids, pos, ids, pos + 1, size - pos);
+            ids[pos] = id;
+            size++;
+        }
+
+        boolean remove(long id) {
+            int pos = Arrays.binarySearch(ids, 0, size, id);
+            if (pos < 0) {
+                return false;
+            }
+            System.arraycopy(ids, pos + 1, ids, pos, size - pos - 1);
+            size--;
+            return true;
+        }
+    }
+}
@@ -10,6 +10,7 @@ public class Offer {
     private Double price;
     private String location;
     private String status;
+    private long version;
 
     public Offer() {
     }
@@ -28,6 +29,16 @@ public class Offer {
         this.location = location;
     }
 
+    public Offer(Offer other) {
+        this.id = other.id;
+        this.title = other.title;
+        this.description = other.description;
+        this.price = other.price;
+        this.location = other.location;
+        this.status = other.status;
+        this.version = other.version;
+    }
+
     // Getters and Setters
     public Long getId() {
         return id;
@@ -77,6 +88,17 @@ public class Offer {
         this.status = status;
     }
 
+    /**
+     * @return number of times the stored offer has been written, 0 when not yet stored
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
     @Override
     public String toString() {
         return "Offer{" +
@@ -84,6 +106,7 @@ public class Offer {
                 ", title='" + title + '\'' +
                 ", price=" + price +
                 ", location='" + location + '\'' +
+                ", version=" + version +
                 '}';
     }
 
@@ -0,0 +1,272 @@
+package com.prestify.services;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * Compact, versioned binary encoding of an Offer.
+ * Layout: format version byte, presence bits byte, then the offer version,
+ * id and price, then title, location, status and description. Numbers come
+ * first so that a View can read them without touching the strings.
+ * Ids and versions are varints. A price that is a whole number of cents is
+ * stored as a zigzag varint of cents; any other price is stored as a raw
+ * 8-byte double, so every price decodes exactly. Strings are a varint length
+ * followed by UTF-8. Absent fields take no bytes beyond their presence bit.
+ * Encoding and decoding work directly on the caller's ByteBuffer, and give
+ * the same bytes whatever its byte order.
+ */
+public final class OfferCodec {
+
+    public static final byte FORMAT_VERSION = 1;
+
+    private static final int ID = 1;
+    private static final int TITLE = 1 << 1;
+    private static final int DESCRIPTION = 1 << 2;
+    private static final int PRICE = 1 << 3;
+    private static final int LOCATION = 1 << 4;
+    private static final int STATUS = 1 << 5;
+    private static final int RAW_PRICE = 1 << 6;
+
+    private OfferCodec() {
+    }
+
+    public static int encodedSize(Offer offer) {
+        int flags = flags(offer);
+        int size = 2 + BinaryFormat.varLongSize(offer.getVersion());
+        if ((flags & ID) != 0) {
+            size += BinaryFormat.varLongSize(offer.getId());
+        }
+        if ((flags & RAW_PRICE) != 0) {
+            size += Double.BYTES;
+        } else if ((flags & PRICE) != 0) {
+            size += BinaryFormat.varLongSize(BinaryFormat.zigZag(cents(offer.getPrice())));
+        }
+        size += stringSize(offer.getTitle()) + stringSize(offer.getLocation())
+                + stringSize(offer.getStatus()) + stringSize(offer.getDescription());
+        return size;
+    }
+
+    /**
+     * Writes the offer at the buffer's position and advances past it.
+     * @throws BufferOverflowException if the buffer lacks room, in which case nothing is written
+     */
+    public static void encode(Offer offer, ByteBuffer buffer) {
+        if (offer == null) {
+            throw new IllegalArgumentException("Offer cannot be null");
+        }
+        if (buffer.remaining() < encodedSize(offer)) {
+            throw new BufferOverflowException();
+        }
+        int flags = flags(offer);
+        buffer.put(FORMAT_VERSION);
+        buffer.put((byte) flags);
+        BinaryFormat.writeVarLong(buffer, offer.getVersion());
+        if ((flags & ID) != 0) {
+            BinaryFormat.writeVarLong(buffer, offer.getId());
+        }
+        if ((flags & RAW_PRICE) != 0) {
+            BinaryFormat.writeDouble(buffer, offer.getPrice());
+        } else if ((flags & PRICE) != 0) {
+            BinaryFormat.writeVarLong(buffer, BinaryFormat.zigZag(cents(offer.getPrice())));
+        }
+        writeString(buffer, offer.getTitle());
+        writeString(buffer, offer.getLocation());
+        writeString(buffer, offer.getStatus());
+        writeString(buffer, offer.getDescription());
+    }
+
+    public static byte[] toBytes(Offer offer) {
+        byte[] bytes = new byte[encodedSize(offer)];
+        encode(offer, ByteBuffer.wrap(bytes));
+        return bytes;
+    }
+
+    /**
+     * Reads the offer at the buffer's position and advances past it.
+     * @throws IllegalArgumentException if the format version is unknown or the data is malformed
+     */
+    public static Offer decode(ByteBuffer buffer) {
+        return new View(buffer.slice()).decodeAndSkip(buffer);
+    }
+
+    public static Offer fromBytes(byte[] bytes) {
+        return decode(ByteBuffer.wrap(bytes));
+    }
+
+    /**
+     * @return a lazy view of the offer at the buffer's position; the buffer's position is left unchanged
+     */
+    public static View view(ByteBuffer buffer) {
+        return new View(buffer.slice());
+    }
+
+    private static int flags(Offer offer) {
+        int flags = 0;
+        if (offer.getId() != null) {
+            flags |= ID;
+        }
+        if (offer.getTitle() != null) {
+            flags |= TITLE;
+        }
+        if (offer.getDescription() != null) {
+            flags |= DESCRIPTION;
+        }
+        if (offer.getPrice() != null) {
+            flags |= PRICE;
+            if (!isCents(offer.getPrice())) {
+                flags |= RAW_PRICE;
+            }
+        }
+        if (offer.getLocation() != null) {
+            flags |= LOCATION;
+        }
+        if (offer.getStatus() != null) {
+            flags |= STATUS;
+        }
+        return flags;
+    }
+
+    private static long cents(double price) {
+        return Math.round(price * 100);
+    }
+
+    /** Whether the price survives a round trip through whole cents, sign of zero included. */
+    private static boolean isCents(double price) {
+        if (Double.isNaN(price) || Double.isInfinite(price) || Math.abs(price) >= 1e13) {
+            return false;
+        }
+        return Double.doubleToLongBits(cents(price) / 100.0) == Double.doubleToLongBits(price);
+    }
+
+    private static int stringSize(String value) {
+        return value != null ? BinaryFormat.stringSize(value) : 0;
+    }
+
+    private static void writeString(ByteBuffer buffer, String value) {
+        if (value != null) {
+            BinaryFormat.writeString(buffer, value);
+        }
+    }
+
+    /**
+     * Offer fields read on demand from an encoded offer.
+     * The header and numeric fields are parsed up front; a string is decoded
+     * only when asked for, skipping the strings before it by their lengths.
+     * The view shares the encoded bytes, which must not change while it is in use.
+     */
+    public static final class View {
+        private static final int[] STRING_FIELDS = {TITLE, LOCATION, STATUS, DESCRIPTION};
+
+        private final ByteBuffer buffer;
+        private final int flags;
+        private final long version;
+        private final Long id;
+        private final Double price;
+        private final int stringsStart;
+        private int length = -1;
+
+        private View(ByteBuffer buffer) {
+            this.buffer = buffer;
+            byte format = buffer.get();
+            if (format != FORMAT_VERSION) {
+                throw new IllegalArgumentException("Unsupported offer format version: " + format);
+            }
+            this.flags = buffer.get() & 0xFF;
+            this.version = BinaryFormat.readVarLong(buffer);
+            this.id = (flags & ID) != 0 ? BinaryFormat.readVarLong(buffer) : null;
+            if ((flags & RAW_PRICE) != 0) {
+                this.price = BinaryFormat.readDouble(buffer);
+            } else if ((flags & PRICE) != 0) {
+                this.price = BinaryFormat.unZigZag(BinaryFormat.readVarLong(buffer)) / 100.0;
+            } else {
+                this.price = null;
+            }
+            this.stringsStart = buffer.position();
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public long getVersion() {
+            return version;
+        }
+
+        public Double getPrice() {
+            return price;
+        }
+
+        public String getTitle() {
+            return string(0, TITLE);
+        }
+
+        public String getLocation() {
+            return string(1, LOCATION);
+        }
+
+        public String getStatus() {
+            return string(2, STATUS);
+        }
+
+        public String getDescription() {
+            return string(3, DESCRIPTION);
+        }
+
+        /**
+         * @return number of bytes the encoded offer occupies
+         */
+        public int getEncodedLength() {
+            if (length < 0) {
+                ByteBuffer cursor = buffer.duplicate().position(stringsStart);
+                for (int field : STRING_FIELDS) {
+                    if ((flags & field) != 0) {
+                        BinaryFormat.skipString(cursor);
+                    }
+                }
+                length = cursor.position();
+            }
+            return length;
+        }
+
+        public Offer toOffer() {
+            return decodeAll(buffer.duplicate().position(stringsStart));
+        }
+
+        private Offer decodeAndSkip(ByteBuffer source) {
+            ByteBuffer cursor = buffer.duplicate().position(stringsStart);
+            Offer offer = decodeAll(cursor);
+            source.position(source.position() + cursor.position());
+            return offer;
+        }
+
+        private Offer decodeAll(ByteBuffer cursor) {
+            Offer offer = new Offer();
+            offer.setId(id);
+            offer.setVersion(version);
+            offer.setPrice(price);
+            offer.setTitle(readString(cursor, TITLE));
+            offer.setLocation(readString(cursor, LOCATION));
+            offer.setStatus(readString(cursor, STATUS));
+            offer.setDescription(readString(cursor, DESCRIPTION));
+            length = cursor.position();
+            return offer;
+        }
+
+        private String string(int index, int field) {
+            if ((flags & field) == 0) {
+                return null;
+            }
+            ByteBuffer cursor = buffer.duplicate().position(stringsStart);
+            for (int i = 0; i < index; i++) {
+                if ((flags & STRING_FIELDS[i]) != 0) {
+                    BinaryFormat.skipString(cursor);
+                }
+            }
+            return BinaryFormat.readString(cursor);
+        }
+
+        private String readString(ByteBuffer cursor, int field) {
+            return (flags & field) != 0 ? BinaryFormat.readString(cursor) : null;
+        }
+    }
+}
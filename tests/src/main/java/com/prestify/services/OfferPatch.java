@@ -0,0 +1,122 @@
+package com.prestify.services;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Partial update of an Offer.
+ * Only the fields explicitly set on the patch are written; setting a field to
+ * null clears it. applyTo reports which fields actually changed value, so a
+ * repository can rewrite and re-index just those.
+ */
+public final class OfferPatch {
+
+    public enum Field {
+        TITLE, DESCRIPTION, PRICE, LOCATION, STATUS
+    }
+
+    private final Set<Field> fields = EnumSet.noneOf(Field.class);
+    private String title;
+    private String description;
+    private Double price;
+    private String location;
+    private String status;
+
+    public OfferPatch title(String title) {
+        this.title = title;
+        fields.add(Field.TITLE);
+        return this;
+    }
+
+    public OfferPatch description(String description) {
+        this.description = description;
+        fields.add(Field.DESCRIPTION);
+        return this;
+    }
+
+    public OfferPatch price(Double price) {
+        this.price = price;
+        fields.add(Field.PRICE);
+        return this;
+    }
+
+    public OfferPatch location(String location) {
+        this.location = location;
+        fields.add(Field.LOCATION);
+        return this;
+    }
+
+    public OfferPatch status(String status) {
+        this.status = status;
+        fields.add(Field.STATUS);
+        return this;
+    }
+
+    public boolean contains(Field field) {
+        return fields.contains(field);
+    }
+
+    public Set<Field> getFields() {
+        return Collections.unmodifiableSet(fields);
+    }
+
+    public boolean isEmpty() {
+        return fields.isEmpty();
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public Double getPrice() {
+        return price;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    /**
+     * Writes the set fields into the offer.
+     * @return the fields whose value differed from the offer's, possibly empty
+     */
+    public Set<Field> applyTo(Offer offer) {
+        Set<Field> changed = EnumSet.noneOf(Field.class);
+        if (fields.contains(Field.TITLE) && !Objects.equals(title, offer.getTitle())) {
+            offer.setTitle(title);
+            changed.add(Field.TITLE);
+        }
+        if (fields.contains(Field.DESCRIPTION) && !Objects.equals(description, offer.getDescription())) {
+            offer.setDescription(description);
+            changed.add(Field.DESCRIPTION);
+        }
+        if (fields.contains(Field.PRICE) && !Objects.equals(price, offer.getPrice())) {
+            offer.setPrice(price);
+            changed.add(Field.PRICE);
+        }
+        if (fields.contains(Field.LOCATION) && !Objects.equals(location, offer.getLocation())) {
+            offer.setLocation(location);
+            changed.add(Field.LOCATION);
+        }
+        if (fields.contains(Field.STATUS) && !Objects.equals(status, offer.getStatus())) {
+            offer.setStatus(status);
+            changed.add(Field.STATUS);
+        }
+        return changed;
+    }
+
+    @Override
+    public String toString() {
+        return "OfferPatch{fields=" + fields + '}';
+    }
+}
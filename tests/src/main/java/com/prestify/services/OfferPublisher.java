@@ -0,0 +1,150 @@
+package com.prestify.services;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Demand-driven publisher of offers read page by page from a repository.
+ * A page is only fetched once the subscriber has requested more items and the
+ * previous page has been emitted. Pages are always batchSize offers, whatever
+ * the outstanding demand, and are served from a buffer. A subscriber asking
+ * one item at a time still costs one query per batchSize offers, which matters
+ * for sources that scan to find their place. Memory stays bounded by one page
+ * however large the result and however slow the subscriber.
+ */
+public class OfferPublisher implements Flow.Publisher<Offer> {
+
+    public static final int DEFAULT_BATCH_SIZE = 256;
+
+    /**
+     * Reads the next slice of results, continuing after the last offer emitted
+     * (null for the first slice). Returning fewer than limit offers ends the stream.
+     */
+    @FunctionalInterface
+    public interface PageSource {
+        List<Offer> fetch(Offer after, int limit);
+    }
+
+    private final PageSource source;
+    private final int batchSize;
+    private final Executor executor;
+
+    public OfferPublisher(PageSource source, int batchSize, Executor executor) {
+        if (source == null || executor == null) {
+            throw new IllegalArgumentException("Source and executor cannot be null");
+        }
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be greater than 0");
+        }
+        this.source = source;
+        this.batchSize = batchSize;
+        this.executor = executor;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super Offer> subscriber) {
+        Objects.requireNonNull(subscriber, "Subscriber cannot be null");
+        subscriber.onSubscribe(new OfferSubscription(subscriber));
+    }
+
+    private final class OfferSubscription implements Flow.Subscription, Runnable {
+        private final Flow.Subscriber<? super Offer> subscriber;
+        private final AtomicLong demand = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();
+        private volatile boolean cancelled;
+        private volatile Throwable pendingError;
+
+        // Only touched by the drain loop, which never runs concurrently with itself
+        private final ArrayDeque<Offer> buffer = new ArrayDeque<>();
+        private Offer last;
+        private boolean exhausted;
+        private boolean done;
+
+        OfferSubscription(Flow.Subscriber<? super Offer> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                pendingError = new IllegalArgumentException("Requested items must be greater than 0: " + n);
+            } else {
+                demand.accumulateAndGet(n, (current, added) -> {
+                    long sum = current + added;
+                    return sum < 0 ? Long.MAX_VALUE : sum;
+                });
+            }
+            schedule();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+
+        private void schedule() {
+            if (wip.getAndIncrement() == 0) {
+                executor.execute(this);
+            }
+        }
+
+        @Override
+        public void run() {
+            int missed = 1;
+            do {
+                drain();
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void drain() {
+            while (!cancelled && !done) {
+                if (pendingError != null) {
+                    fail(pendingError);
+                    return;
+                }
+                if (buffer.isEmpty()) {
+                    if (exhausted) {
+                        done = true;
+                        buffer.clear();
+                        subscriber.onComplete();
+                        return;
+                    }
+                    if (demand.get() == 0) {
+                        return;
+                    }
+                    List<Offer> page;
+                    try {
+                        page = source.fetch(last, batchSize);
+                    } catch (RuntimeException e) {
+                        fail(e);
+                        return;
+                    }
+                    exhausted = page.size() < batchSize;
+                    buffer.addAll(page);
+                    continue;
+                }
+                if (demand.get() == 0) {
+                    return;
+                }
+                last = buffer.poll();
+                if (demand.get() != Long.MAX_VALUE) {
+                    demand.decrementAndGet();
+                }
+                subscriber.onNext(last);
+            }
+            buffer.clear();
+        }
+
+        private void fail(Throwable error) {
+            done = true;
+            buffer.clear();
+            subscriber.onError(error);
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package com.prestify.services;
+
+import java.util.Comparator;
+
+/**
+ * Immutable set of criteria for {@link IOfferService#searchOffers(OfferQuery)}.
+ * Every criterion is optional; the ones that are set are combined with AND.
+ * The title criterion is a case- and accent-insensitive fragment, price bounds
+ * are inclusive and either may be left open.
+ */
+public final class OfferQuery {
+
+    /**
+     * Result order. ID_DESC lists the most recently created offers first.
+     */
+    public enum Sort {
+        ID(Comparator.comparing(Offer::getId)),
+        ID_DESC(Comparator.comparing(Offer::getId).reversed()),
+        PRICE_ASC(Comparator.comparing(Offer::getPrice, Comparator.nullsLast(Comparator.naturalOrder()))
+                .thenComparing(Offer::getId)),
+        PRICE_DESC(Comparator.comparing(Offer::getPrice, Comparator.nullsLast(Comparator.<Double>reverseOrder()))
+                .thenComparing(Offer::getId, Comparator.reverseOrder()));
+
+        private final Comparator<Offer> comparator;
+
+        Sort(Comparator<Offer> comparator) {
+            this.comparator = comparator;
+        }
+
+        public Comparator<Offer> comparator() {
+            return comparator;
+        }
+    }
+
+    private final String titleContains;
+    private final String location;
+    private final String status;
+    private final Double minPrice;
+    private final Double maxPrice;
+    private final Sort sort;
+    private final int limit;
+
+    private OfferQuery(Builder builder) {
+        this.titleContains = builder.titleContains;
+        this.location = builder.location;
+        this.status = builder.status;
+        this.minPrice = builder.minPrice;
+        this.maxPrice = builder.maxPrice;
+        this.sort = builder.sort;
+        this.limit = builder.limit;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public String getTitleContains() {
+        return titleContains;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public Double getMinPrice() {
+        return minPrice;
+    }
+
+    public Double getMaxPrice() {
+        return maxPrice;
+    }
+
+    public boolean hasPriceRange() {
+        return minPrice != null || maxPrice != null;
+    }
+
+    public Sort getSort() {
+        return sort;
+    }
+
+    /**
+     * @return maximum number of results, or Integer.MAX_VALUE when unbounded
+     */
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * @return true when the offer satisfies every criterion of this query
+     */
+    public boolean matches(Offer offer) {
+        if (offer == null) {
+            return false;
+        }
+        if (location != null && !location.equals(offer.getLocation())) {
+            return false;
+        }
+        if (status != null && !status.equals(offer.getStatus())) {
+            return false;
+        }
+        if (hasPriceRange()) {
+            Double price = offer.getPrice();
+            if (price == null
+                    || (minPrice != null && price < minPrice)
+                    || (maxPrice != null && price > maxPrice)) {
+                return false;
+            }
+        }
+        if (titleContains != null) {
+            String title = NGramIndex.normalize(offer.getTitle());
+            return title != null && title.contains(NGramIndex.normalize(titleContains));
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return "OfferQuery{" +
+                "titleContains='" + titleContains + '\'' +
+                ", location='" + location + '\'' +
+                ", status='" + status + '\'' +
+                ", minPrice=" + minPrice +
+                ", maxPrice=" + maxPrice +
+                ", sort=" + sort +
+                ", limit=" + limit +
+                '}';
+    }
+
+    public static final class Builder {
+        private String titleContains;
+        private String location;
+        private String status;
+        private Double minPrice;
+        private Double maxPrice;
+        private Sort sort = Sort.ID;
+        private int limit = Integer.MAX_VALUE;
+
+        private Builder() {
+        }
+
+        public Builder titleContains(String fragment) {
+            this.titleContains = fragment == null || fragment.isBlank() ? null : fragment.trim();
+            return this;
+        }
+
+        public Builder location(String location) {
+            this.location = location;
+            return this;
+        }
+
+        public Builder status(String status) {
+            this.status = status;
+            return this;
+        }
+
+        public Builder minPrice(Double minPrice) {
+            this.minPrice = minPrice;
+            return this;
+        }
+
+        public Builder maxPrice(Double maxPrice) {
+            this.maxPrice = maxPrice;
+            return this;
+        }
+
+        public Builder priceBetween(Double minPrice, Double maxPrice) {
+            return minPrice(minPrice).maxPrice(maxPrice);
+        }
+
+        public Builder sort(Sort sort) {
+            this.sort = sort;
+            return this;
+        }
+
+        public Builder limit(int limit) {
+            this.limit = limit;
+            return this;
+        }
+
+        /**
+         * @throws IllegalArgumentException if a price bound is negative, the bounds are
+         *         inverted, the sort is null or the limit is not positive
+         */
+        public OfferQuery build() {
+            if ((minPrice != null && minPrice < 0) || (maxPrice != null && maxPrice < 0)) {
+                throw new IllegalArgumentException("Price bounds cannot be negative");
+            }
+            if (minPrice != null && maxPrice != null && minPrice > maxPrice) {
+                throw new IllegalArgumentException("Minimum price cannot exceed maximum price");
+            }
+            if (sort == null) {
+                throw new IllegalArgumentException("Sort cannot be null");
+            }
+            if (limit <= 0) {
+                throw new IllegalArgumentException("Limit must be positive");
+            }
+            return new OfferQuery(this);
+        }
+    }
+}
@@ -1,20 +1,194 @@
 package com.prestify.services;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 /**
  * Implementation of OfferService
  */
 public class OfferServiceImpl implements IOfferService {
     
+    public static final int DEFAULT_BATCH_SIZE = 500;
+    public static final int DEFAULT_MAX_UPDATE_ATTEMPTS = 16;
+
     private IOfferRepository offerRepository;
+    private int batchSize = DEFAULT_BATCH_SIZE;
+    private int maxUpdateAttempts = DEFAULT_MAX_UPDATE_ATTEMPTS;
+    private Executor streamExecutor = ForkJoinPool.commonPool();
+    private ChangeFeed<Offer> changeFeed;
+    private ChangeLog<Offer> changeLog;
 
     public OfferServiceImpl(IOfferRepository offerRepository) {
         this.offerRepository = offerRepository;
     }
 
+    /**
+     * Sets the executor that delivers streamed offers to subscribers.
+     */
+    public void setStreamExecutor(Executor streamExecutor) {
+        if (streamExecutor == null) {
+            throw new IllegalArgumentException("Executor cannot be null");
+        }
+        this.streamExecutor = streamExecutor;
+    }
+
+    /**
+     * Sets the feed that every add, update and delete is published on; null stops publishing.
+     */
+    public void setChangeFeed(ChangeFeed<Offer> changeFeed) {
+        this.changeFeed = changeFeed;
+    }
+
+    /**
+     * Sets the log that answers getOffersChangedSince, typically subscribed to the change feed
+     * and built with Offer::new as its copier so deltas never share its values.
+     */
+    public void setChangeLog(ChangeLog<Offer> changeLog) {
+        this.changeLog = changeLog;
+    }
+
+    /**
+     * Sets how many offers addOffers hands to the repository per saveAll call.
+     */
+    public void setBatchSize(int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be greater than 0");
+        }
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Sets how many read-modify-write rounds modifyOffer tries before giving up on a contended offer.
+     */
+    public void setMaxUpdateAttempts(int maxUpdateAttempts) {
+        if (maxUpdateAttempts <= 0) {
+            throw new IllegalArgumentException("Max update attempts must be greater than 0");
+        }
+        this.maxUpdateAttempts = maxUpdateAttempts;
+    }
+
     @Override
     public Offer addOffer(Offer offer) {
+        validateOffer(offer);
+        Offer named = offer.getId() == null ? withReservedIds(List.of(offer)).get(0) : offer;
+        if (named.getId() == null) {
+            return recordCreate(() -> published(ChangeEvent.Type.CREATED, offerRepository.save(offer)));
+        }
+        return recordChange(named.getId(), ChangeEvent.Type.CREATED, () -> offerRepository.save(named));
+    }
+
+    @Override
+    public BatchResult<Offer> addOffers(Collection<Offer> offers) {
+        if (offers == null) {
+            throw new IllegalArgumentException("Offers cannot be null");
+        }
+        BatchResult<Offer> result = new BatchResult<>();
+        List<Offer> chunk = new ArrayList<>(Math.min(batchSize, offers.size()));
+        List<Integer> positions = new ArrayList<>(Math.min(batchSize, offers.size()));
+        int index = 0;
+        for (Offer offer : offers) {
+            try {
+                validateOffer(offer);
+                chunk.add(offer);
+                positions.add(index);
+            } catch (IllegalArgumentException e) {
+                result.addFailure(index, offer, e.getMessage());
+            }
+            if (chunk.size() == batchSize) {
+                flushBatch(chunk, positions, result);
+            }
+            index++;
+        }
+        flushBatch(chunk, positions, result);
+        return result;
+    }
+
+    private void flushBatch(List<Offer> chunk, List<Integer> positions, BatchResult<Offer> result) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        try {
+            result.addSaved(saveBatch(chunk));
+        } catch (RuntimeException e) {
+            for (int i = 0; i < chunk.size(); i++) {
+                result.addFailure(positions.get(i), chunk.get(i), e.getMessage());
+            }
+        }
+        chunk.clear();
+        positions.clear();
+    }
+
+    /**
+     * Saves a batch and publishes its creates under the stripes of the ids it
+     * writes, reserving ids for its new offers first.
+     */
+    private List<Offer> saveBatch(List<Offer> chunk) {
+        ChangeFeed<Offer> feed = changeFeed;
+        if (feed == null) {
+            return offerRepository.saveAll(chunk);
+        }
+        List<Offer> named = withReservedIds(chunk);
+        Supplier<List<Offer>> write = () -> {
+            List<Offer> stored = offerRepository.saveAll(named);
+            for (Offer offer : stored) {
+                published(ChangeEvent.Type.CREATED, offer);
+            }
+            return stored;
+        };
+        long[] ids = new long[named.size()];
+        for (int i = 0; i < ids.length; i++) {
+            Long id = named.get(i).getId();
+            if (id == null) {
+                return recordCreate(write);
+            }
+            ids[i] = id;
+        }
+        return feed.inOrderOf(ids, write);
+    }
+
+    /**
+     * Gives copies of the new offers ids reserved from the repository, so their
+     * creates can be published under those ids' stripes before anyone else can
+     * reach them. Offers are left as they are when nothing is published or the
+     * repository cannot reserve ids.
+     */
+    private List<Offer> withReservedIds(List<Offer> offers) {
+        int unnamed = 0;
+        for (Offer offer : offers) {
+            if (offer.getId() == null) {
+                unnamed++;
+            }
+        }
+        if (unnamed == 0 || changeFeed == null) {
+            return offers;
+        }
+        OptionalLong first = offerRepository.reserveIds(unnamed);
+        if (first.isEmpty()) {
+            return offers;
+        }
+        long next = first.getAsLong();
+        List<Offer> named = new ArrayList<>(offers.size());
+        for (Offer offer : offers) {
+            if (offer.getId() == null) {
+                offer = new Offer(offer);
+                offer.setId(next++);
+            }
+            named.add(offer);
+        }
+        return named;
+    }
+
+    private static void validateOffer(Offer offer) {
         if (offer == null) {
             throw new IllegalArgumentException("Offer cannot be null");
         }
@@ -24,7 +198,6 @@ public class OfferServiceImpl implements IOfferService {
         if (offer.getPrice() == null || offer.getPrice() <= 0) {
             throw new IllegalArgumentException("Offer price must be greater than 0");
         }
-        return offerRepository.save(offer);
     }
 
     @Override
@@ -32,6 +205,11 @@ public class OfferServiceImpl implements IOfferService {
         if (id == null) {
             throw new IllegalArgumentException("ID cannot be null");
         }
+        return getOfferById(id.longValue());
+    }
+
+    @Override
+    public Offer getOfferById(long id) {
         return offerRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Offer not found with id: " + id));
     }
@@ -41,15 +219,50 @@ public class OfferServiceImpl implements IOfferService {
         return offerRepository.findAll();
     }
 
+    @Override
+    public Page<Offer> getOffersPage(String cursor, int size) {
+        PageCursor.checkPageSize(size);
+        Long afterId = PageCursor.decode(cursor);
+        return Page.fromSlice(offerRepository.findAllAfter(afterId, size + 1), size, Offer::getId);
+    }
+
+    /**
+     * Returns offers changed and ids deleted since the token, at most limit of them.
+     * A null token, or one the change log can no longer answer, yields a reset.
+     * @throws IllegalStateException if no change log is set
+     */
+    @Override
+    public Delta<Offer> getOffersChangedSince(String token, int limit) {
+        ChangeLog<Offer> log = changeLog;
+        if (log == null) {
+            throw new IllegalStateException("Change log is not configured");
+        }
+        return log.changesSince(token, limit);
+    }
+
     @Override
     public void deleteOffer(Long id) {
         if (id == null) {
             throw new IllegalArgumentException("ID cannot be null");
         }
-        if (!offerRepository.existsById(id)) {
+        ChangeFeed<Offer> feed = changeFeed;
+        if (feed == null) {
+            checkExists(id);
+            offerRepository.deleteById(id);
+            return;
+        }
+        feed.inOrder(id, () -> {
+            checkExists(id);
+            offerRepository.deleteById(id);
+            feed.publish(ChangeEvent.Type.DELETED, id, null);
+            return null;
+        });
+    }
+
+    private void checkExists(Long id) {
+        if (!offerRepository.existsById(id.longValue())) {
             throw new RuntimeException("Offer not found with id: " + id);
         }
-        offerRepository.deleteById(id);
     }
 
     @Override
@@ -58,14 +271,131 @@ public class OfferServiceImpl implements IOfferService {
             throw new IllegalArgumentException("ID and Offer cannot be null");
         }
         
-        Offer existing = getOfferById(id);
+        Offer existing = new Offer(getOfferById(id));
         existing.setTitle(offer.getTitle());
         existing.setDescription(offer.getDescription());
         existing.setPrice(offer.getPrice());
         existing.setLocation(offer.getLocation());
         existing.setStatus(offer.getStatus());
         
-        return offerRepository.save(existing);
+        return recordChange(id, ChangeEvent.Type.UPDATED, () -> offerRepository.save(existing));
+    }
+
+    /**
+     * Applies the mutation to a fresh copy of the offer and saves it only if no other
+     * writer got in between, re-reading and re-applying on conflict. No lock is held
+     * while the mutation runs, so concurrent writers never wait on each other.
+     * @throws OptimisticLockException if every attempt lost the race
+     */
+    @Override
+    public Offer modifyOffer(Long id, Consumer<Offer> mutation) {
+        if (id == null || mutation == null) {
+            throw new IllegalArgumentException("ID and mutation cannot be null");
+        }
+        long expectedVersion = 0;
+        for (int attempt = 0; attempt < maxUpdateAttempts; attempt++) {
+            Offer candidate = new Offer(getOfferById(id.longValue()));
+            expectedVersion = candidate.getVersion();
+            mutation.accept(candidate);
+            candidate.setId(id);
+            long version = expectedVersion;
+            Offer saved = recordChange(id, ChangeEvent.Type.UPDATED,
+                    () -> offerRepository.saveIfVersion(candidate, version).orElse(null));
+            if (saved != null) {
+                return saved;
+            }
+            Thread.onSpinWait();
+        }
+        throw new OptimisticLockException(id, expectedVersion);
+    }
+
+    /**
+     * Writes only the fields set on the patch; the repository re-indexes only those that changed.
+     * A patch that changes nothing leaves the version as it was and publishes no event.
+     */
+    @Override
+    public Offer patchOffer(Long id, OfferPatch patch) {
+        if (id == null || patch == null) {
+            throw new IllegalArgumentException("ID and patch cannot be null");
+        }
+        if (patch.contains(OfferPatch.Field.TITLE) && (patch.getTitle() == null || patch.getTitle().isEmpty())) {
+            throw new IllegalArgumentException("Offer title cannot be empty");
+        }
+        if (patch.contains(OfferPatch.Field.PRICE) && (patch.getPrice() == null || patch.getPrice() <= 0)) {
+            throw new IllegalArgumentException("Offer price must be greater than 0");
+        }
+        ChangeFeed<Offer> feed = changeFeed;
+        Optional<Offer> patched;
+        if (feed == null) {
+            patched = offerRepository.patch(id.longValue(), patch);
+        } else {
+            patched = feed.inOrder(id, () -> {
+                long before = offerRepository.findById(id.longValue()).map(Offer::getVersion).orElse(0L);
+                Optional<Offer> result = offerRepository.patch(id.longValue(), patch);
+                result.filter(offer -> offer.getVersion() != before)
+                        .ifPresent(offer -> published(ChangeEvent.Type.UPDATED, offer));
+                return result;
+            });
+        }
+        return patched.orElseThrow(() -> new RuntimeException("Offer not found with id: " + id));
+    }
+
+    /**
+     * Replaces the offer's fields only if it is still at expectedVersion; the
+     * version carried by the offer itself is ignored.
+     */
+    @Override
+    public Offer updateOfferIfVersion(Long id, Offer offer, long expectedVersion) {
+        if (id == null || offer == null) {
+            throw new IllegalArgumentException("ID and Offer cannot be null");
+        }
+        Offer candidate = new Offer(offer);
+        candidate.setId(id);
+        Offer saved = recordChange(id, ChangeEvent.Type.UPDATED,
+                () -> offerRepository.saveIfVersion(candidate, expectedVersion).orElse(null));
+        if (saved != null) {
+            return saved;
+        }
+        if (!offerRepository.existsById(id.longValue())) {
+            throw new RuntimeException("Offer not found with id: " + id);
+        }
+        throw new OptimisticLockException(id, expectedVersion);
+    }
+
+    /**
+     * Runs a write and publishes the offer it returns, if any, as one step per offer id,
+     * so the feed carries each offer's changes in the order they were applied.
+     */
+    private Offer recordChange(long id, ChangeEvent.Type type, Supplier<Offer> write) {
+        ChangeFeed<Offer> feed = changeFeed;
+        if (feed == null) {
+            return write.get();
+        }
+        return feed.inOrder(id, () -> published(type, write.get()));
+    }
+
+    /**
+     * Runs a create whose id the repository assigns on save, and publishes it,
+     * before any recordChange write can reach the new id. Only repositories that
+     * cannot reserve ids get here, and the create then holds every stripe.
+     */
+    private <R> R recordCreate(Supplier<R> write) {
+        ChangeFeed<Offer> feed = changeFeed;
+        if (feed == null) {
+            return write.get();
+        }
+        return feed.inOrderOfAll(write);
+    }
+
+    /**
+     * Publishes a copy, so callers modifying the returned offer cannot change the event.
+     */
+    private Offer published(ChangeEvent.Type type, Offer offer) {
+        ChangeFeed<Offer> feed = changeFeed;
+        if (feed != null && offer != null) {
+            feed.publish(type, offer.getId(), new Offer(offer));
+        }
+        return offer;
     }
 
     @Override
@@ -76,6 +406,14 @@ public class OfferServiceImpl implements IOfferService {
         return offerRepository.findByTitle(title);
     }
 
+    @Override
+    public List<Offer> searchOffersByTitle(String query) {
+        if (query == null || query.isBlank()) {
+            return List.of();
+        }
+        return offerRepository.searchByTitle(query.trim());
+    }
+
     @Override
     public List<Offer> getOffersByLocation(String location) {
         if (location == null || location.isEmpty()) {
@@ -92,11 +430,114 @@ public class OfferServiceImpl implements IOfferService {
         return offerRepository.findByPriceBetween(minPrice, maxPrice);
     }
 
+    @Override
+    public List<Offer> searchOffers(OfferQuery query) {
+        if (query == null) {
+            return List.of();
+        }
+        return offerRepository.findByQuery(query);
+    }
+
+    @Override
+    public List<Offer> getOffersMatching(Predicate<? super Offer> filter) {
+        if (filter == null) {
+            return List.of();
+        }
+        return offerRepository.findMatching(filter);
+    }
+
+    /**
+     * First k offers in the given order (PRICE_ASC for the cheapest, ID_DESC for the
+     * newest), optionally scoped by location and price range.
+     */
+    @Override
+    public List<Offer> getTopOffers(OfferQuery.Sort order, String location,
+                                    Double minPrice, Double maxPrice, int k) {
+        if (order == null || k <= 0
+                || (minPrice != null && minPrice < 0) || (maxPrice != null && maxPrice < 0)
+                || (minPrice != null && maxPrice != null && minPrice > maxPrice)) {
+            return List.of();
+        }
+        OfferQuery query = OfferQuery.builder()
+                .location(location)
+                .priceBetween(minPrice, maxPrice)
+                .sort(order)
+                .limit(k)
+                .build();
+        return offerRepository.findByQuery(query);
+    }
+
+    /**
+     * Price statistics for a location, or for the whole catalog when location is null.
+     */
+    @Override
+    public PriceStats getPriceStatistics(String location) {
+        if (location != null && location.isEmpty()) {
+            return PriceStats.EMPTY;
+        }
+        return offerRepository.priceStatistics(location);
+    }
+
+    @Override
+    public Map<String, PriceStats> getPriceStatisticsByLocation() {
+        return offerRepository.priceStatisticsByLocation();
+    }
+
+    @Override
+    public List<Offer> getOffersByStatus(String status) {
+        if (status == null || status.isEmpty()) {
+            return List.of();
+        }
+        return offerRepository.findByStatus(status);
+    }
+
+    @Override
+    public List<Offer> getOffersByStatuses(Collection<String> statuses, String location,
+                                           Double minPrice, Double maxPrice) {
+        if ((minPrice != null && minPrice < 0) || (maxPrice != null && maxPrice < 0)
+                || (minPrice != null && maxPrice != null && minPrice > maxPrice)) {
+            return List.of();
+        }
+        return offerRepository.findByStatusIn(statuses, location, minPrice, maxPrice);
+    }
+
     @Override
     public boolean offerExists(Long id) {
         if (id == null) {
             return false;
         }
+        return offerExists(id.longValue());
+    }
+
+    @Override
+    public boolean offerExists(long id) {
         return offerRepository.existsById(id);
     }
+
+    @Override
+    public Flow.Publisher<Offer> streamAllOffers() {
+        return publisher((after, limit) -> offerRepository.findAllAfter(after == null ? null : after.getId(), limit));
+    }
+
+    @Override
+    public Flow.Publisher<Offer> streamOffersByLocation(String location) {
+        if (location == null || location.isEmpty()) {
+            return publisher((after, limit) -> List.of());
+        }
+        return publisher((after, limit) ->
+                offerRepository.findByLocationAfter(location, after == null ? null : after.getId(), limit));
+    }
+
+    @Override
+    public Flow.Publisher<Offer> streamOffersByPriceRange(Double minPrice, Double maxPrice) {
+        if (minPrice == null || maxPrice == null || minPrice < 0 || maxPrice < 0 || minPrice > maxPrice) {
+            return publisher((after, limit) -> List.of());
+        }
+        return publisher((after, limit) -> offerRepository.findByPriceBetweenAfter(minPrice, maxPrice,
+                after == null ? null : after.getPrice(), after == null ? null : after.getId(), limit));
+    }
+
+    private Flow.Publisher<Offer> publisher(OfferPublisher.PageSource source) {
+        return new OfferPublisher(source, OfferPublisher.DEFAULT_BATCH_SIZE, streamExecutor);
+    }
 }
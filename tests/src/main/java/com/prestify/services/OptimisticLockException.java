@@ -0,0 +1,27 @@
+package com.prestify.services;
+
+/**
+ * Thrown when a conditional update finds the stored offer at a different
+ * version than the one the caller read.
+ */
+public class OptimisticLockException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final long id;
+    private final long expectedVersion;
+
+    public OptimisticLockException(long id, long expectedVersion) {
+        super("Offer " + id + " was modified concurrently (expected version " + expectedVersion + ")");
+        this.id = id;
+        this.expectedVersion = expectedVersion;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public long getExpectedVersion() {
+        return expectedVersion;
+    }
+}
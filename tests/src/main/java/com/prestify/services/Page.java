@@ -0,0 +1,50 @@
+package com.prestify.services;
+
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+/**
+ * One page of a keyset-paginated result.
+ * The next cursor is opaque to callers and null on the last page.
+ */
+public class Page<T> {
+    private final List<T> items;
+    private final String nextCursor;
+
+    public Page(List<T> items, String nextCursor) {
+        this.items = List.copyOf(items);
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * Builds a page from a slice fetched with one row more than the page size;
+     * the extra row only signals that another page exists.
+     */
+    static <T> Page<T> fromSlice(List<T> slice, int size, ToLongFunction<T> idOf) {
+        if (slice.size() <= size) {
+            return new Page<>(slice, null);
+        }
+        List<T> items = slice.subList(0, size);
+        return new Page<>(items, PageCursor.encode(idOf.applyAsLong(items.get(size - 1))));
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+
+    @Override
+    public String toString() {
+        return "Page{" +
+                "size=" + items.size() +
+                ", nextCursor='" + nextCursor + '\'' +
+                '}';
+    }
+}
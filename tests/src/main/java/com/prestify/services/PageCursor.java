@@ -0,0 +1,55 @@
+package com.prestify.services;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Encodes and decodes the opaque "after id" cursors handed out with pages.
+ */
+public final class PageCursor {
+
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    private static final String PREFIX = "after:";
+
+    private PageCursor() {
+    }
+
+    public static String encode(long afterId) {
+        byte[] raw = (PREFIX + afterId).getBytes(StandardCharsets.UTF_8);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
+    }
+
+    /**
+     * @return the id to continue after, or null for a missing cursor (first page)
+     */
+    public static Long decode(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw invalid(cursor, e);
+        }
+        if (!raw.startsWith(PREFIX)) {
+            throw invalid(cursor, null);
+        }
+        try {
+            return Long.parseLong(raw.substring(PREFIX.length()));
+        } catch (NumberFormatException e) {
+            throw invalid(cursor, e);
+        }
+    }
+
+    private static IllegalArgumentException invalid(String cursor, Throwable cause) {
+        return new IllegalArgumentException("Invalid page cursor: " + cursor, cause);
+    }
+
+    static void checkPageSize(int size) {
+        if (size <= 0 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+    }
+}
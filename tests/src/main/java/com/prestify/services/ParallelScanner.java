@@ -0,0 +1,140 @@
+package com.prestify.services;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Fork/join filter over an array snapshot.
+ * The array is split in halves until a chunk is at most the threshold, chunks
+ * are filtered on the pool and partial results are concatenated left to right,
+ * so the output keeps the input order. Inputs no larger than the threshold are
+ * filtered on the calling thread.
+ * A scanner built with its own pool shuts that pool down on close; a pool
+ * passed in, like the common pool, is left to its owner.
+ */
+public class ParallelScanner implements AutoCloseable {
+
+    public static final int DEFAULT_THRESHOLD = 4096;
+
+    private final ForkJoinPool pool;
+    private final int threshold;
+    private final boolean ownsPool;
+
+    /**
+     * Scanner on the common pool with the default threshold.
+     */
+    public ParallelScanner() {
+        this(ForkJoinPool.commonPool(), DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * Scanner on a dedicated pool of the given parallelism.
+     */
+    public ParallelScanner(int parallelism, int threshold) {
+        this(new ForkJoinPool(checkPositive(parallelism, "Parallelism")), checkPositive(threshold, "Threshold"), true);
+    }
+
+    public ParallelScanner(ForkJoinPool pool, int threshold) {
+        this(pool, threshold, false);
+    }
+
+    private ParallelScanner(ForkJoinPool pool, int threshold, boolean ownsPool) {
+        if (pool == null) {
+            throw new IllegalArgumentException("Pool cannot be null");
+        }
+        this.pool = pool;
+        this.threshold = checkPositive(threshold, "Threshold");
+        this.ownsPool = ownsPool;
+    }
+
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    public int getThreshold() {
+        return threshold;
+    }
+
+    /**
+     * Maps only the items that satisfy the filter; the mapper must not return null.
+     * @return mapped items that satisfy the filter, in input order
+     */
+    public <T, R> List<R> filter(T[] items, Predicate<? super T> filter, Function<? super T, ? extends R> mapper) {
+        return run(items, item -> filter.test(item) ? mapper.apply(item) : null);
+    }
+
+    /**
+     * Shuts down the pool if this scanner created it.
+     */
+    @Override
+    public void close() {
+        if (ownsPool) {
+            pool.shutdown();
+        }
+    }
+
+    private <T, R> List<R> run(T[] items, Function<? super T, ? extends R> step) {
+        if (items.length <= threshold) {
+            return scan(items, 0, items.length, step);
+        }
+        return pool.invoke(new ScanTask<>(items, 0, items.length, step, threshold));
+    }
+
+    /**
+     * @return non-null results of the step, in input order
+     */
+    private static <T, R> List<R> scan(T[] items, int from, int to, Function<? super T, ? extends R> step) {
+        List<R> result = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            R kept = step.apply(items[i]);
+            if (kept != null) {
+                result.add(kept);
+            }
+        }
+        return result;
+    }
+
+    private static int checkPositive(int value, String name) {
+        if (value <= 0) {
+            throw new IllegalArgumentException(name + " must be positive");
+        }
+        return value;
+    }
+
+    private static final class ScanTask<T, R> extends RecursiveTask<List<R>> {
+        private static final long serialVersionUID = 1L;
+
+        private final T[] items;
+        private final int from;
+        private final int to;
+        private final Function<? super T, ? extends R> step;
+        private final int threshold;
+
+        ScanTask(T[] items, int from, int to, Function<? super T, ? extends R> step, int threshold) {
+            this.items = items;
+            this.from = from;
+            this.to = to;
+            this.step = step;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected List<R> compute() {
+            if (to - from <= threshold) {
+                return scan(items, from, to, step);
+            }
+            int mid = (from + to) >>> 1;
+            ScanTask<T, R> left = new ScanTask<>(items, from, mid, step, threshold);
+            ScanTask<T, R> right = new ScanTask<>(items, mid, to, step, threshold);
+            left.fork();
+            List<R> rightResult = right.compute();
+            List<R> result = left.join();
+            result.addAll(rightResult);
+            return result;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.prestify.services;
+
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Running price aggregate that supports removal: count and sum are updated in
+ * place, a price multiset keeps min and max exact after deletes, and a
+ * PriceHistogram keeps quantiles. The sum is compensated (Neumaier), so long
+ * runs of adds and removes do not drift from the sum of the prices held.
+ * Not thread-safe: callers guard it with their own lock.
+ */
+final class PriceAggregate {
+
+    private final NavigableMap<Double, Integer> prices = new TreeMap<>();
+    private final PriceHistogram histogram = new PriceHistogram();
+    private long count;
+    private double sum;
+    private double compensation;
+
+    void add(double price) {
+        prices.merge(price, 1, Integer::sum);
+        histogram.add(price);
+        count++;
+        accumulate(price);
+    }
+
+    void remove(double price) {
+        Integer occurrences = prices.get(price);
+        if (occurrences == null) {
+            return;
+        }
+        if (occurrences == 1) {
+            prices.remove(price);
+        } else {
+            prices.put(price, occurrences - 1);
+        }
+        histogram.remove(price);
+        count--;
+        if (count == 0) {
+            sum = 0.0;
+            compensation = 0.0;
+        } else {
+            accumulate(-price);
+        }
+    }
+
+    private void accumulate(double value) {
+        double total = sum + value;
+        if (Math.abs(sum) >= Math.abs(value)) {
+            compensation += (sum - total) + value;
+        } else {
+            compensation += (value - total) + sum;
+        }
+        sum = total;
+    }
+
+    boolean isEmpty() {
+        return count == 0;
+    }
+
+    PriceStats snapshot() {
+        if (count == 0) {
+            return PriceStats.EMPTY;
+        }
+        Map.Entry<Double, Integer> first = prices.firstEntry();
+        Map.Entry<Double, Integer> last = prices.lastEntry();
+        return new PriceStats(count, sum + compensation, first.getKey(), last.getKey(), histogram.snapshot());
+    }
+}
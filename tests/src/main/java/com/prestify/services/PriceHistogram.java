@@ -0,0 +1,285 @@
+package com.prestify.services;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Mergeable log-scale histogram of prices with bounded relative error.
+ * Bucket i holds prices in (GAMMA^(i-1), GAMMA^i], so any quantile is answered
+ * within RELATIVE_ACCURACY of a real price; zero gets its own bucket and values
+ * outside [MIN_PRICE, MAX_PRICE] are clamped into the edge buckets. Adding and
+ * removing a price are O(1), and two histograms merge by adding bucket counts.
+ * A Snapshot keeps only the non-empty buckets, so taking one costs the span of
+ * buckets in use rather than a copy of the whole range. Not thread-safe.
+ */
+public final class PriceHistogram {
+
+    public static final double RELATIVE_ACCURACY = 0.02;
+    static final double MIN_PRICE = 0.01;
+    static final double MAX_PRICE = 1e9;
+
+    private static final double GAMMA = (1 + RELATIVE_ACCURACY) / (1 - RELATIVE_ACCURACY);
+    private static final double LOG_GAMMA = Math.log(GAMMA);
+    private static final int MIN_INDEX = (int) Math.ceil(Math.log(MIN_PRICE) / LOG_GAMMA);
+    private static final int MAX_INDEX = (int) Math.ceil(Math.log(MAX_PRICE) / LOG_GAMMA);
+
+    private final long[] counts;
+    private long zeroCount;
+    private long count;
+    // Lowest and highest non-empty slots; low > high when only zeros were added
+    private int low;
+    private int high = -1;
+
+    public PriceHistogram() {
+        this.counts = new long[MAX_INDEX - MIN_INDEX + 1];
+        this.low = counts.length;
+    }
+
+    public void add(double price) {
+        if (price <= 0) {
+            zeroCount++;
+        } else {
+            int slot = slot(price);
+            counts[slot]++;
+            low = Math.min(low, slot);
+            high = Math.max(high, slot);
+        }
+        count++;
+    }
+
+    /**
+     * Removes one occurrence of a price previously added.
+     * @return false when the price's bucket was already empty
+     */
+    public boolean remove(double price) {
+        if (price <= 0) {
+            if (zeroCount == 0) {
+                return false;
+            }
+            zeroCount--;
+        } else {
+            int slot = slot(price);
+            if (counts[slot] == 0) {
+                return false;
+            }
+            if (--counts[slot] == 0) {
+                while (low <= high && counts[low] == 0) {
+                    low++;
+                }
+                while (high >= low && counts[high] == 0) {
+                    high--;
+                }
+                if (low > high) {
+                    low = counts.length;
+                    high = -1;
+                }
+            }
+        }
+        count--;
+        return true;
+    }
+
+    public void merge(PriceHistogram other) {
+        for (int i = other.low; i <= other.high; i++) {
+            counts[i] += other.counts[i];
+        }
+        if (other.low <= other.high) {
+            low = Math.min(low, other.low);
+            high = Math.max(high, other.high);
+        }
+        zeroCount += other.zeroCount;
+        count += other.count;
+    }
+
+    /**
+     * @return the non-empty buckets with running totals, for answering quantiles later
+     */
+    public Snapshot snapshot() {
+        int used = 0;
+        for (int i = low; i <= high; i++) {
+            if (counts[i] > 0) {
+                used++;
+            }
+        }
+        int[] slots = new int[used];
+        long[] cumulative = new long[used];
+        long seen = zeroCount;
+        int n = 0;
+        for (int i = low; i <= high; i++) {
+            if (counts[i] > 0) {
+                seen += counts[i];
+                slots[n] = i;
+                cumulative[n++] = seen;
+            }
+        }
+        return new Snapshot(zeroCount, slots, cumulative);
+    }
+
+    public long count() {
+        return count;
+    }
+
+    /**
+     * @param q quantile in [0, 1]
+     * @return estimated price at the quantile, or NaN when empty
+     */
+    public double quantile(double q) {
+        long rank = rank(q, count);
+        if (rank < 0) {
+            return Double.NaN;
+        }
+        if (rank < zeroCount) {
+            return 0.0;
+        }
+        long seen = zeroCount;
+        for (int i = low; i <= high; i++) {
+            seen += counts[i];
+            if (seen > rank) {
+                return representative(i);
+            }
+        }
+        return representative(high);
+    }
+
+    /**
+     * @return non-empty buckets keyed by their inclusive upper price bound, ascending
+     */
+    public SortedMap<Double, Long> buckets() {
+        SortedMap<Double, Long> result = new TreeMap<>();
+        if (zeroCount > 0) {
+            result.put(0.0, zeroCount);
+        }
+        for (int i = low; i <= high; i++) {
+            if (counts[i] > 0) {
+                result.put(upperBound(i), counts[i]);
+            }
+        }
+        return Collections.unmodifiableSortedMap(result);
+    }
+
+    @Override
+    public String toString() {
+        return "PriceHistogram{count=" + count + ", nonEmptyBuckets="
+                + (Arrays.stream(counts).filter(c -> c > 0).count() + (zeroCount > 0 ? 1 : 0)) + '}';
+    }
+
+    /**
+     * @return rank of the quantile among count values, or -1 when there are none
+     */
+    private static long rank(double q, long count) {
+        if (q < 0 || q > 1) {
+            throw new IllegalArgumentException("Quantile must be between 0 and 1");
+        }
+        return count == 0 ? -1 : (long) Math.floor(q * (count - 1));
+    }
+
+    private static int slot(double price) {
+        double clamped = Math.min(Math.max(price, MIN_PRICE), MAX_PRICE);
+        int index = (int) Math.ceil(Math.log(clamped) / LOG_GAMMA);
+        return Math.min(Math.max(index, MIN_INDEX), MAX_INDEX) - MIN_INDEX;
+    }
+
+    /** Value within RELATIVE_ACCURACY of every price in the bucket. */
+    private static double representative(int slot) {
+        return 2 * Math.pow(GAMMA, slot + MIN_INDEX) / (GAMMA + 1);
+    }
+
+    private static double upperBound(int slot) {
+        return Math.pow(GAMMA, slot + MIN_INDEX);
+    }
+
+    /**
+     * Immutable non-empty buckets of a histogram, in slot order, with the
+     * running count up to each one. Quantiles are a binary search over the
+     * running counts.
+     */
+    public static final class Snapshot {
+
+        static final Snapshot EMPTY = new Snapshot(0, new int[0], new long[0]);
+
+        private final long zeroCount;
+        private final int[] slots;
+        private final long[] cumulative;
+
+        private Snapshot(long zeroCount, int[] slots, long[] cumulative) {
+            this.zeroCount = zeroCount;
+            this.slots = slots;
+            this.cumulative = cumulative;
+        }
+
+        public long count() {
+            return cumulative.length == 0 ? zeroCount : cumulative[cumulative.length - 1];
+        }
+
+        /**
+         * @param q quantile in [0, 1]
+         * @return estimated price at the quantile, or NaN when empty
+         */
+        public double quantile(double q) {
+            long rank = rank(q, count());
+            if (rank < 0) {
+                return Double.NaN;
+            }
+            if (rank < zeroCount) {
+                return 0.0;
+            }
+            int lo = 0;
+            int hi = cumulative.length - 1;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (cumulative[mid] > rank) {
+                    hi = mid;
+                } else {
+                    lo = mid + 1;
+                }
+            }
+            return representative(slots[lo]);
+        }
+
+        /**
+         * @return non-empty buckets keyed by their inclusive upper price bound, ascending
+         */
+        public SortedMap<Double, Long> buckets() {
+            SortedMap<Double, Long> result = new TreeMap<>();
+            if (zeroCount > 0) {
+                result.put(0.0, zeroCount);
+            }
+            for (int i = 0; i < slots.length; i++) {
+                result.put(upperBound(slots[i]), countAt(i));
+            }
+            return Collections.unmodifiableSortedMap(result);
+        }
+
+        /**
+         * @return a snapshot with the bucket counts of both
+         */
+        public Snapshot merge(Snapshot other) {
+            int[] mergedSlots = new int[slots.length + other.slots.length];
+            long[] mergedCumulative = new long[mergedSlots.length];
+            long seen = zeroCount + other.zeroCount;
+            int i = 0;
+            int j = 0;
+            int n = 0;
+            while (i < slots.length || j < other.slots.length) {
+                int slot = j == other.slots.length
+                        || (i < slots.length && slots[i] <= other.slots[j]) ? slots[i] : other.slots[j];
+                if (i < slots.length && slots[i] == slot) {
+                    seen += countAt(i++);
+                }
+                if (j < other.slots.length && other.slots[j] == slot) {
+                    seen += other.countAt(j++);
+                }
+                mergedSlots[n] = slot;
+                mergedCumulative[n++] = seen;
+            }
+            return new Snapshot(zeroCount + other.zeroCount,
+                    Arrays.copyOf(mergedSlots, n), Arrays.copyOf(mergedCumulative, n));
+        }
+
+        private long countAt(int index) {
+            return cumulative[index] - (index == 0 ? zeroCount : cumulative[index - 1]);
+        }
+    }
+}
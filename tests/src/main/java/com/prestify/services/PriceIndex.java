@@ -0,0 +1,289 @@
+package com.prestify.services;
+
+import java.util.Arrays;
+import java.util.function.LongPredicate;
+
+/**
+ * Sorted price index backed by parallel primitive arrays.
+ * Entries are ordered by (price, id); range queries are two binary searches
+ * followed by a contiguous slice, with no boxing.
+ * Not thread-safe: callers guard it with their own lock.
+ */
+public class PriceIndex {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private double[] prices = new double[INITIAL_CAPACITY];
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private int size;
+
+    public void add(double price, long id) {
+        int pos = search(price, id);
+        if (pos >= 0) {
+            return;
+        }
+        pos = -pos - 1;
+        if (size == prices.length) {
+            int capacity = prices.length << 1;
+            prices = Arrays.copyOf(prices, capacity);
+            ids = Arrays.copyOf(ids, capacity);
+        }
+        System.arraycopy(prices, pos, prices, pos + 1, size - pos);
+        System.arraycopy(ids, pos, ids, pos + 1, size - pos);
+        prices[pos] = price;
+        ids[pos] = id;
+        size++;
+    }
+
+    public boolean remove(double price, long id) {
+        int pos = search(price, id);
+        if (pos < 0) {
+            return false;
+        }
+        System.arraycopy(prices, pos + 1, prices, pos, size - pos - 1);
+        System.arraycopy(ids, pos + 1, ids, pos, size - pos - 1);
+        size--;
+        return true;
+    }
+
+    /**
+     * Adds a batch of entries: the pairs are sorted once and merged into the
+     * arrays from the back in a single pass, so k entries cost
+     * O(n + k log n) rather than the O(n * k) of k single adds.
+     * Pairs already present, or repeated in the batch, are added once.
+     * The given arrays are left untouched.
+     */
+    public void addAll(double[] newPrices, long[] newIds, int count) {
+        double[] addPrices = Arrays.copyOf(newPrices, count);
+        long[] addIds = Arrays.copyOf(newIds, count);
+        sort(addPrices, addIds);
+        int added = 0;
+        for (int j = 0; j < count; j++) {
+            boolean repeated = added > 0 && compare(addPrices[added - 1], addIds[added - 1], addPrices[j], addIds[j]) == 0;
+            if (!repeated && search(addPrices[j], addIds[j]) < 0) {
+                addPrices[added] = addPrices[j];
+                addIds[added] = addIds[j];
+                added++;
+            }
+        }
+        if (added == 0) {
+            return;
+        }
+        if (size + added > prices.length) {
+            int capacity = prices.length;
+            while (capacity < size + added) {
+                capacity <<= 1;
+            }
+            prices = Arrays.copyOf(prices, capacity);
+            ids = Arrays.copyOf(ids, capacity);
+        }
+        int i = size - 1;
+        int j = added - 1;
+        for (int k = size + added - 1; j >= 0; k--) {
+            if (i >= 0 && compare(prices[i], ids[i], addPrices[j], addIds[j]) > 0) {
+                prices[k] = prices[i];
+                ids[k] = ids[i--];
+            } else {
+                prices[k] = addPrices[j];
+                ids[k] = addIds[j--];
+            }
+        }
+        size += added;
+    }
+
+    /**
+     * Removes a batch of entries: the pairs are sorted once and the arrays
+     * compacted in a single pass. Pairs that are not present are ignored.
+     * The given arrays are left untouched.
+     * @return number of entries removed
+     */
+    public int removeAll(double[] oldPrices, long[] oldIds, int count) {
+        if (count == 0) {
+            return 0;
+        }
+        double[] removePrices = Arrays.copyOf(oldPrices, count);
+        long[] removeIds = Arrays.copyOf(oldIds, count);
+        sort(removePrices, removeIds);
+        int j = 0;
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            while (j < count && compare(removePrices[j], removeIds[j], prices[i], ids[i]) < 0) {
+                j++;
+            }
+            if (j < count && compare(removePrices[j], removeIds[j], prices[i], ids[i]) == 0) {
+                continue;
+            }
+            prices[kept] = prices[i];
+            ids[kept] = ids[i];
+            kept++;
+        }
+        int removed = size - kept;
+        size = kept;
+        return removed;
+    }
+
+    /**
+     * Moves an entry to a new price. A no-op when the price did not change.
+     */
+    public void update(double oldPrice, double newPrice, long id) {
+        if (Double.compare(oldPrice, newPrice) == 0) {
+            return;
+        }
+        remove(oldPrice, id);
+        add(newPrice, id);
+    }
+
+    /**
+     * @return ids of entries with minPrice &lt;= price &lt;= maxPrice, in price order
+     */
+    public long[] idsBetween(double minPrice, double maxPrice) {
+        int from = lowerBound(minPrice);
+        int to = upperBound(maxPrice);
+        if (from >= to) {
+            return new long[0];
+        }
+        return Arrays.copyOfRange(ids, from, to);
+    }
+
+    /**
+     * Keyset slice of a price range: up to limit ids with minPrice &lt;= price &lt;= maxPrice
+     * that sort strictly after (afterPrice, afterId), in price then id order.
+     * A null afterPrice starts at the beginning of the range.
+     */
+    public long[] idsBetweenAfter(double minPrice, double maxPrice, Double afterPrice, long afterId, int limit) {
+        int from = lowerBound(minPrice);
+        if (afterPrice != null) {
+            int pos = search(afterPrice, afterId);
+            from = Math.max(from, pos >= 0 ? pos + 1 : -pos - 1);
+        }
+        int to = (int) Math.min(upperBound(maxPrice), (long) from + Math.max(0, limit));
+        if (from >= to) {
+            return new long[0];
+        }
+        return Arrays.copyOfRange(ids, from, to);
+    }
+
+    /**
+     * Visits ids with minPrice &lt;= price &lt;= maxPrice in price then id order, or the
+     * reverse of it, without copying; stops as soon as the visitor returns false.
+     */
+    public void forEachBetween(double minPrice, double maxPrice, boolean descending, LongPredicate visitor) {
+        int from = lowerBound(minPrice);
+        int to = upperBound(maxPrice);
+        if (descending) {
+            for (int i = to - 1; i >= from; i--) {
+                if (!visitor.test(ids[i])) {
+                    return;
+                }
+            }
+        } else {
+            for (int i = from; i < to; i++) {
+                if (!visitor.test(ids[i])) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * @return number of entries with minPrice &lt;= price &lt;= maxPrice, in O(log n)
+     */
+    public int countBetween(double minPrice, double maxPrice) {
+        return Math.max(0, upperBound(maxPrice) - lowerBound(minPrice));
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /** First position whose price is &gt;= the given price. */
+    private int lowerBound(double price) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (Double.compare(prices[mid], price) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /** First position whose price is &gt; the given price. */
+    private int upperBound(double price) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (Double.compare(prices[mid], price) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static int compare(double price, long id, double otherPrice, long otherId) {
+        int cmp = Double.compare(price, otherPrice);
+        return cmp != 0 ? cmp : Long.compare(id, otherId);
+    }
+
+    /** Sorts parallel arrays by (price, id) with a bottom-up merge sort, so nothing is boxed. */
+    private static void sort(double[] prices, long[] ids) {
+        int count = prices.length;
+        double[] fromPrices = prices;
+        long[] fromIds = ids;
+        double[] toPrices = new double[count];
+        long[] toIds = new long[count];
+        for (int width = 1; width < count; width <<= 1) {
+            for (int low = 0; low < count; low += width << 1) {
+                int mid = Math.min(low + width, count);
+                int high = Math.min(low + (width << 1), count);
+                int i = low;
+                int j = mid;
+                for (int k = low; k < high; k++) {
+                    if (j >= high || (i < mid && compare(fromPrices[i], fromIds[i], fromPrices[j], fromIds[j]) <= 0)) {
+                        toPrices[k] = fromPrices[i];
+                        toIds[k] = fromIds[i++];
+                    } else {
+                        toPrices[k] = fromPrices[j];
+                        toIds[k] = fromIds[j++];
+                    }
+                }
+            }
+            double[] swapPrices = fromPrices;
+            fromPrices = toPrices;
+            toPrices = swapPrices;
+            long[] swapIds = fromIds;
+            fromIds = toIds;
+            toIds = swapIds;
+        }
+        if (fromPrices != prices) {
+            System.arraycopy(fromPrices, 0, prices, 0, count);
+            System.arraycopy(fromIds, 0, ids, 0, count);
+        }
+    }
+
+    private int search(double price, long id) {
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = Double.compare(prices[mid], price);
+            if (cmp == 0) {
+                cmp = Long.compare(ids[mid], id);
+            }
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+}
@@ -0,0 +1,114 @@
+package com.prestify.services;
+
+import java.util.Collection;
+import java.util.SortedMap;
+
+/**
+ * Immutable snapshot of price aggregates over a set of offers.
+ * Count, sum, min and max are exact; quantiles come from the histogram and are
+ * within PriceHistogram.RELATIVE_ACCURACY of a real price. Offers without a
+ * price are not counted.
+ */
+public final class PriceStats {
+
+    public static final PriceStats EMPTY = new PriceStats(0, 0.0, null, null, PriceHistogram.Snapshot.EMPTY);
+
+    private final long count;
+    private final double sum;
+    private final Double min;
+    private final Double max;
+    private final PriceHistogram.Snapshot histogram;
+
+    PriceStats(long count, double sum, Double min, Double max, PriceHistogram.Snapshot histogram) {
+        this.count = count;
+        this.sum = sum;
+        this.min = min;
+        this.max = max;
+        this.histogram = histogram;
+    }
+
+    /**
+     * @return statistics over the given prices, ignoring nulls
+     */
+    public static PriceStats of(Collection<Double> prices) {
+        PriceAggregate aggregate = new PriceAggregate();
+        for (Double price : prices) {
+            if (price != null) {
+                aggregate.add(price);
+            }
+        }
+        return aggregate.snapshot();
+    }
+
+    /**
+     * @return statistics over the offers of both snapshots, as if taken over their union
+     */
+    public PriceStats merge(PriceStats other) {
+        if (other.count == 0) {
+            return this;
+        }
+        if (count == 0) {
+            return other;
+        }
+        return new PriceStats(count + other.count, sum + other.sum,
+                Math.min(min, other.min), Math.max(max, other.max), histogram.merge(other.histogram));
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getSum() {
+        return sum;
+    }
+
+    /**
+     * @return lowest price, or null when there are no priced offers
+     */
+    public Double getMin() {
+        return min;
+    }
+
+    /**
+     * @return highest price, or null when there are no priced offers
+     */
+    public Double getMax() {
+        return max;
+    }
+
+    /**
+     * @return mean price, or null when there are no priced offers
+     */
+    public Double getAverage() {
+        return count == 0 ? null : sum / count;
+    }
+
+    /**
+     * @param q quantile in [0, 1], e.g. 0.5 for the median
+     * @return estimated price at the quantile, or null when there are no priced offers
+     */
+    public Double getQuantile(double q) {
+        double value = histogram.quantile(q);
+        if (Double.isNaN(value)) {
+            return null;
+        }
+        return Math.min(Math.max(value, min), max);
+    }
+
+    /**
+     * @return non-empty histogram buckets keyed by their upper price bound
+     */
+    public SortedMap<Double, Long> getHistogram() {
+        return histogram.buckets();
+    }
+
+    @Override
+    public String toString() {
+        return "PriceStats{" +
+                "count=" + count +
+                ", min=" + min +
+                ", max=" + max +
+                ", average=" + getAverage() +
+                '}';
+    }
+}
@@ -0,0 +1,359 @@
+package com.prestify.services;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * IOfferRepository that hash-partitions offers by id across independently
+ * locked InMemoryOfferRepository shards, so writers to different shards never
+ * wait for each other and readers only contend with writers of their own shard.
+ * Ids are assigned from one global sequence before routing, which keeps them
+ * unique across shards. Single-offer operations touch one shard; secondary-index
+ * queries run on every shard and their id- or price-ordered results are merged,
+ * with limits applied after the merge. A fan-out query reads each shard under
+ * that shard's lock only, so it is consistent per shard, not across shards.
+ */
+public class ShardedOfferRepository implements IOfferRepository {
+
+    public static final int DEFAULT_SHARD_COUNT = 4 * Runtime.getRuntime().availableProcessors();
+
+    private static final Comparator<Offer> BY_ID = Comparator.comparing(Offer::getId);
+    private static final Comparator<Offer> BY_PRICE =
+            Comparator.comparing(Offer::getPrice).thenComparing(Offer::getId);
+
+    private final InMemoryOfferRepository[] shards;
+    private final AtomicLong sequence = new AtomicLong();
+
+    public ShardedOfferRepository() {
+        this(DEFAULT_SHARD_COUNT);
+    }
+
+    public ShardedOfferRepository(int shardCount) {
+        this(shardCount, new ValueDictionary());
+    }
+
+    /**
+     * @param dictionary codes for locations and statuses, shared by every shard;
+     *                   it keeps every value it has seen, so share one beyond this
+     *                   repository only when values come from a bounded set
+     */
+    public ShardedOfferRepository(int shardCount, ValueDictionary dictionary) {
+        if (shardCount <= 0) {
+            throw new IllegalArgumentException("Shard count must be positive");
+        }
+        this.shards = new InMemoryOfferRepository[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new InMemoryOfferRepository(dictionary);
+        }
+    }
+
+    /**
+     * Sets the fork/join scanner each shard uses for findMatching.
+     */
+    public void setParallelScanner(ParallelScanner scanner) {
+        for (InMemoryOfferRepository shard : shards) {
+            shard.setParallelScanner(scanner);
+        }
+    }
+
+    public int getShardCount() {
+        return shards.length;
+    }
+
+    /**
+     * @return number of offers currently stored across all shards
+     */
+    public int size() {
+        int size = 0;
+        for (InMemoryOfferRepository shard : shards) {
+            size += shard.size();
+        }
+        return size;
+    }
+
+    /**
+     * @return index of the shard that owns the id
+     */
+    int shardOf(long id) {
+        return (int) Math.floorMod(id, (long) shards.length);
+    }
+
+    @Override
+    public Offer save(Offer offer) {
+        if (offer == null) {
+            throw new IllegalArgumentException("Offer cannot be null");
+        }
+        Offer routed = assignId(offer);
+        return shards[shardOf(routed.getId())].save(routed);
+    }
+
+    /**
+     * Saves each shard's part of the batch under that shard's write lock.
+     * The batch is not atomic across shards.
+     */
+    @Override
+    public List<Offer> saveAll(Collection<Offer> offers) {
+        List<List<Offer>> parts = new ArrayList<>(shards.length);
+        List<List<Integer>> positions = new ArrayList<>(shards.length);
+        for (int i = 0; i < shards.length; i++) {
+            parts.add(new ArrayList<>());
+            positions.add(new ArrayList<>());
+        }
+        int position = 0;
+        for (Offer offer : offers) {
+            if (offer == null) {
+                throw new IllegalArgumentException("Offer cannot be null");
+            }
+            Offer routed = assignId(offer);
+            int shard = shardOf(routed.getId());
+            parts.get(shard).add(routed);
+            positions.get(shard).add(position++);
+        }
+        Offer[] saved = new Offer[position];
+        for (int i = 0; i < shards.length; i++) {
+            if (parts.get(i).isEmpty()) {
+                continue;
+            }
+            List<Offer> stored = shards[i].saveAll(parts.get(i));
+            for (int j = 0; j < stored.size(); j++) {
+                saved[positions.get(i).get(j)] = stored.get(j);
+            }
+        }
+        return new ArrayList<>(Arrays.asList(saved));
+    }
+
+    /**
+     * Restores each shard's part of the batch, versions included, and moves
+     * the global sequence past every id. Not atomic across shards.
+     */
+    @Override
+    public void restore(Collection<Offer> offers) {
+        List<List<Offer>> parts = new ArrayList<>(shards.length);
+        for (int i = 0; i < shards.length; i++) {
+            parts.add(new ArrayList<>());
+        }
+        for (Offer offer : offers) {
+            if (offer == null || offer.getId() == null) {
+                throw new IllegalArgumentException("Offer and its ID cannot be null");
+            }
+            sequence.accumulateAndGet(offer.getId(), Math::max);
+            parts.get(shardOf(offer.getId())).add(offer);
+        }
+        for (int i = 0; i < shards.length; i++) {
+            if (!parts.get(i).isEmpty()) {
+                shards[i].restore(parts.get(i));
+            }
+        }
+    }
+
+    @Override
+    public OptionalLong reserveIds(int count) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("Count must be greater than 0");
+        }
+        return OptionalLong.of(sequence.getAndAdd(count) + 1);
+    }
+
+    @Override
+    public Optional<Offer> saveIfVersion(Offer offer, long expectedVersion) {
+        if (offer == null || offer.getId() == null) {
+            throw new IllegalArgumentException("Offer and its ID cannot be null");
+        }
+        return shards[shardOf(offer.getId())].saveIfVersion(offer, expectedVersion);
+    }
+
+    @Override
+    public Optional<Offer> patch(long id, OfferPatch patch) {
+        return shards[shardOf(id)].patch(id, patch);
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        if (id == null) {
+            return;
+        }
+        shards[shardOf(id)].deleteById(id);
+    }
+
+    @Override
+    public Optional<Offer> findById(Long id) {
+        return id != null ? findById(id.longValue()) : Optional.empty();
+    }
+
+    @Override
+    public Optional<Offer> findById(long id) {
+        return shards[shardOf(id)].findById(id);
+    }
+
+    @Override
+    public boolean existsById(Long id) {
+        return id != null && existsById(id.longValue());
+    }
+
+    @Override
+    public boolean existsById(long id) {
+        return shards[shardOf(id)].existsById(id);
+    }
+
+    @Override
+    public List<Offer> findAll() {
+        return mergeAll(IOfferRepository::findAll, BY_ID, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<Offer> findAllAfter(Long afterId, int limit) {
+        return mergeAll(shard -> shard.findAllAfter(afterId, limit), BY_ID, limit);
+    }
+
+    @Override
+    public List<Offer> findByTitle(String title) {
+        return mergeAll(shard -> shard.findByTitle(title), BY_ID, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<Offer> searchByTitle(String fragment) {
+        return mergeAll(shard -> shard.searchByTitle(fragment), BY_ID, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<Offer> findByLocation(String location) {
+        return mergeAll(shard -> shard.findByLocation(location), BY_ID, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<Offer> findByLocationAfter(String location, Long afterId, int limit) {
+        return mergeAll(shard -> shard.findByLocationAfter(location, afterId, limit), BY_ID, limit);
+    }
+
+    @Override
+    public List<Offer> findByPriceBetween(Double minPrice, Double maxPrice) {
+        return mergeAll(shard -> shard.findByPriceBetween(minPrice, maxPrice), BY_PRICE, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<Offer> findByPriceBetweenAfter(Double minPrice, Double maxPrice,
+                                               Double afterPrice, Long afterId, int limit) {
+        return mergeAll(shard -> shard.findByPriceBetweenAfter(minPrice, maxPrice, afterPrice, afterId, limit),
+                BY_PRICE, limit);
+    }
+
+    @Override
+    public List<Offer> findByStatus(String status) {
+        return mergeAll(shard -> shard.findByStatus(status), BY_ID, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<Offer> findByStatusIn(Collection<String> statuses, String location,
+                                      Double minPrice, Double maxPrice) {
+        return mergeAll(shard -> shard.findByStatusIn(statuses, location, minPrice, maxPrice),
+                BY_ID, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Each shard plans and runs the query on its own indexes and returns at most
+     * query.getLimit() offers in the query's order, so the merged head is exact.
+     */
+    @Override
+    public List<Offer> findByQuery(OfferQuery query) {
+        if (query == null) {
+            return List.of();
+        }
+        return mergeAll(shard -> shard.findByQuery(query), query.getSort().comparator(), query.getLimit());
+    }
+
+    @Override
+    public List<Offer> findMatching(Predicate<? super Offer> filter) {
+        return mergeAll(shard -> shard.findMatching(filter), BY_ID, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public PriceStats priceStatistics(String location) {
+        PriceStats stats = PriceStats.EMPTY;
+        for (InMemoryOfferRepository shard : shards) {
+            stats = stats.merge(shard.priceStatistics(location));
+        }
+        return stats;
+    }
+
+    @Override
+    public Map<String, PriceStats> priceStatisticsByLocation() {
+        Map<String, PriceStats> result = new TreeMap<>();
+        for (InMemoryOfferRepository shard : shards) {
+            for (Map.Entry<String, PriceStats> entry : shard.priceStatisticsByLocation().entrySet()) {
+                result.merge(entry.getKey(), entry.getValue(), PriceStats::merge);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Takes the next global id for a new offer, or moves the sequence past an
+     * explicit one so later assignments never collide with it.
+     */
+    private Offer assignId(Offer offer) {
+        if (offer.getId() == null) {
+            Offer routed = new Offer(offer);
+            routed.setId(sequence.incrementAndGet());
+            return routed;
+        }
+        long id = offer.getId();
+        sequence.accumulateAndGet(id, Math::max);
+        return offer;
+    }
+
+    /**
+     * Runs the query on every shard and k-way merges the sorted results,
+     * stopping once limit offers have been taken.
+     */
+    private List<Offer> mergeAll(Function<IOfferRepository, List<Offer>> query,
+                                 Comparator<Offer> order, int limit) {
+        if (shards.length == 1) {
+            List<Offer> only = query.apply(shards[0]);
+            return only.size() > limit ? new ArrayList<>(only.subList(0, limit)) : only;
+        }
+        List<List<Offer>> parts = new ArrayList<>(shards.length);
+        int total = 0;
+        for (InMemoryOfferRepository shard : shards) {
+            List<Offer> part = query.apply(shard);
+            if (!part.isEmpty()) {
+                parts.add(part);
+                total += part.size();
+            }
+        }
+        return merge(parts, order, limit, total);
+    }
+
+    private static List<Offer> merge(List<List<Offer>> parts, Comparator<Offer> order, int limit, int total) {
+        List<Offer> result = new ArrayList<>(Math.min(total, limit));
+        if (parts.size() == 1) {
+            List<Offer> only = parts.get(0);
+            result.addAll(only.size() > limit ? only.subList(0, limit) : only);
+            return result;
+        }
+        PriorityQueue<int[]> heads = new PriorityQueue<>(parts.size(),
+                (a, b) -> order.compare(parts.get(a[0]).get(a[1]), parts.get(b[0]).get(b[1])));
+        for (int i = 0; i < parts.size(); i++) {
+            heads.add(new int[] {i, 0});
+        }
+        while (result.size() < limit && !heads.isEmpty()) {
+            int[] head = heads.poll();
+            List<Offer> part = parts.get(head[0]);
+            result.add(part.get(head[1]));
+            if (++head[1] < part.size()) {
+                heads.add(head);
+            }
+        }
+        return result;
+    }
+}
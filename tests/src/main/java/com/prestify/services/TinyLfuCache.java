@@ -0,0 +1,157 @@
+package com.prestify.services;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Size-bounded cache keyed by long ids with W-TinyLFU style eviction.
+ * New entries land in a small LRU window; an entry leaving the window is only
+ * admitted into the main LRU region if the frequency sketch says it is more
+ * popular than the main region's eviction victim, so a burst of one-off
+ * lookups cannot flush the hot set. Entries optionally expire after a TTL.
+ */
+public class TinyLfuCache<V> {
+
+    private final int windowCapacity;
+    private final int mainCapacity;
+    private final long ttlNanos;
+    private final LongSupplier clock;
+    private final FrequencySketch sketch;
+    private final LinkedHashMap<Long, Entry<V>> window = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<Long, Entry<V>> main = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long invalidations;
+
+    /**
+     * @param maximumSize maximum number of entries kept
+     * @param ttlNanos    time to live of an entry in nanoseconds, 0 for no expiry
+     */
+    public TinyLfuCache(int maximumSize, long ttlNanos) {
+        this(maximumSize, ttlNanos, System::nanoTime);
+    }
+
+    TinyLfuCache(int maximumSize, long ttlNanos, LongSupplier clock) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("Maximum size must be greater than 0");
+        }
+        if (ttlNanos < 0) {
+            throw new IllegalArgumentException("TTL cannot be negative");
+        }
+        this.windowCapacity = Math.max(1, maximumSize / 100);
+        this.mainCapacity = Math.max(1, maximumSize - windowCapacity);
+        this.ttlNanos = ttlNanos;
+        this.clock = clock;
+        this.sketch = new FrequencySketch(maximumSize);
+    }
+
+    public synchronized V get(long key) {
+        sketch.increment(key);
+        Entry<V> entry = window.get(key);
+        if (entry == null) {
+            entry = main.get(key);
+        }
+        if (entry != null && isExpired(entry)) {
+            window.remove(key);
+            main.remove(key);
+            entry = null;
+        }
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry.value;
+    }
+
+    /**
+     * @return true if a live entry is cached for the key; unlike get, this
+     *         records no hit, miss or access and leaves the frequency sketch alone
+     */
+    public synchronized boolean containsKey(long key) {
+        Entry<V> entry = window.containsKey(key) ? window.get(key) : main.get(key);
+        return entry != null && !isExpired(entry);
+    }
+
+    /**
+     * @return token to pass to put after loading a value, so a load that raced
+     *         with an invalidation is not cached
+     */
+    public synchronized long loadToken() {
+        return invalidations;
+    }
+
+    /**
+     * Caches a value loaded from the backing store, unless some entry was
+     * invalidated since the token was taken.
+     */
+    public synchronized void put(long key, V value, long loadToken) {
+        if (loadToken != invalidations) {
+            return;
+        }
+        Entry<V> entry = new Entry<>(value, ttlNanos == 0 ? 0 : clock.getAsLong() + ttlNanos);
+        if (main.containsKey(key)) {
+            main.put(key, entry);
+            return;
+        }
+        window.put(key, entry);
+        if (window.size() > windowCapacity) {
+            Iterator<Map.Entry<Long, Entry<V>>> oldest = window.entrySet().iterator();
+            Map.Entry<Long, Entry<V>> candidate = oldest.next();
+            oldest.remove();
+            admit(candidate.getKey(), candidate.getValue());
+        }
+    }
+
+    public synchronized void invalidate(long key) {
+        invalidations++;
+        window.remove(key);
+        main.remove(key);
+    }
+
+    public synchronized void invalidateAll() {
+        invalidations++;
+        window.clear();
+        main.clear();
+    }
+
+    public synchronized int size() {
+        return window.size() + main.size();
+    }
+
+    public synchronized CacheStats stats() {
+        return new CacheStats(hits, misses, evictions);
+    }
+
+    private void admit(long key, Entry<V> candidate) {
+        if (main.size() < mainCapacity) {
+            main.put(key, candidate);
+            return;
+        }
+        Iterator<Map.Entry<Long, Entry<V>>> lru = main.entrySet().iterator();
+        Map.Entry<Long, Entry<V>> victim = lru.next();
+        if (sketch.frequency(key) > sketch.frequency(victim.getKey())) {
+            lru.remove();
+            main.put(key, candidate);
+        }
+        evictions++;
+    }
+
+    private boolean isExpired(Entry<V> entry) {
+        return entry.expiresAt != 0 && clock.getAsLong() - entry.expiresAt >= 0;
+    }
+
+    private static final class Entry<V> {
+        private final V value;
+        private final long expiresAt;
+
+        Entry(V value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.prestify.services;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Keeps the k smallest items offered so far under a comparator.
+ * Backed by a max-heap of at most k items whose root is the current worst,
+ * so each offer costs O(log k) and memory stays O(k) however many items pass.
+ * Not thread-safe.
+ */
+public final class TopK<T> {
+
+    private final int k;
+    private final Comparator<? super T> comparator;
+    private final PriorityQueue<T> heap;
+
+    public TopK(int k, Comparator<? super T> comparator) {
+        if (k <= 0) {
+            throw new IllegalArgumentException("k must be positive");
+        }
+        if (comparator == null) {
+            throw new IllegalArgumentException("Comparator cannot be null");
+        }
+        this.k = k;
+        this.comparator = comparator;
+        this.heap = new PriorityQueue<>(Math.min(k, 64), comparator.reversed());
+    }
+
+    /**
+     * @return true when the item was kept
+     */
+    public boolean offer(T item) {
+        if (heap.size() < k) {
+            heap.add(item);
+            return true;
+        }
+        if (comparator.compare(item, heap.peek()) < 0) {
+            heap.poll();
+            heap.add(item);
+            return true;
+        }
+        return false;
+    }
+
+    public int size() {
+        return heap.size();
+    }
+
+    /**
+     * @return the kept items, best first
+     */
+    public List<T> toSortedList() {
+        List<T> result = new ArrayList<>(heap);
+        result.sort(comparator);
+        return result;
+    }
+}
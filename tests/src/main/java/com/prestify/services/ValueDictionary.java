@@ -0,0 +1,98 @@
+package com.prestify.services;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Concurrent dictionary mapping low-cardinality string values (locations,
+ * statuses) to dense int codes. Repositories index and compare the codes
+ * instead of the strings, and store the canonical instance returned by
+ * canonicalize so equal values share a single String on the heap.
+ * Codes are never reused, so they stay valid for the life of the dictionary,
+ * which therefore holds every value it has ever seen. Repositories create
+ * their own by default, so its memory goes with the repository; a dictionary
+ * shared between repositories must only see a bounded set of values.
+ */
+public class ValueDictionary {
+
+    public static final int NO_CODE = -1;
+
+    private static final ValueDictionary SHARED = new ValueDictionary();
+
+    private final ConcurrentHashMap<String, Integer> codes = new ConcurrentHashMap<>();
+    private volatile String[] values = new String[16];
+    private int size;
+
+    /**
+     * Process-wide dictionary for repositories that should share canonical
+     * values. It is never reclaimed and its codes are never freed, so only pass
+     * it to repositories whose locations and statuses come from a small, fixed
+     * set; free-form values would grow it for the life of the process.
+     */
+    public static ValueDictionary shared() {
+        return SHARED;
+    }
+
+    /**
+     * @return the code for the value, assigning a new one on first sight; NO_CODE for null
+     */
+    public int encode(String value) {
+        if (value == null) {
+            return NO_CODE;
+        }
+        Integer code = codes.get(value);
+        if (code != null) {
+            return code;
+        }
+        synchronized (this) {
+            code = codes.get(value);
+            if (code != null) {
+                return code;
+            }
+            String[] current = values;
+            if (size == current.length) {
+                current = Arrays.copyOf(current, size << 1);
+            }
+            current[size] = value;
+            values = current;
+            codes.put(value, size);
+            return size++;
+        }
+    }
+
+    /**
+     * @return the code for the value without assigning one; NO_CODE if unknown or null
+     */
+    public int codeOf(String value) {
+        if (value == null) {
+            return NO_CODE;
+        }
+        Integer code = codes.get(value);
+        return code != null ? code : NO_CODE;
+    }
+
+    /**
+     * @return the value for a code, or null for NO_CODE
+     */
+    public String decode(int code) {
+        if (code == NO_CODE) {
+            return null;
+        }
+        String[] current = values;
+        if (code < 0 || code >= current.length || current[code] == null) {
+            throw new IllegalArgumentException("Unknown dictionary code: " + code);
+        }
+        return current[code];
+    }
+
+    /**
+     * @return the shared instance equal to the value, or null for null
+     */
+    public String canonicalize(String value) {
+        return decode(encode(value));
+    }
+
+    public int size() {
+        return codes.size();
+    }
+}
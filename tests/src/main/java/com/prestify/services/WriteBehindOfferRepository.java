@@ -0,0 +1,506 @@
+package com.prestify.services;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Write-behind IOfferRepository decorator.
+ * Writes are applied at once to an indexed in-memory view, which serves every
+ * read, and recorded in a pending map keyed by id, so repeated writes to one
+ * offer collapse into the latest one. A background thread flushes pending
+ * writes to the delegate in batches of up to batchSize, as soon as a batch is
+ * full or when the flush interval elapses. When maxPending distinct offers are
+ * waiting, writers block until a flush makes room. close() stops the flusher
+ * and synchronously flushes everything still pending.
+ * A batch the delegate rejects goes back to the pending map unless a newer
+ * write for the same offer has arrived meanwhile, and the flusher backs off,
+ * from one flush interval doubling up to MAX_BACKOFF, before retrying.
+ * Writes reach the delegate through restore, carrying the versions the view
+ * assigned, so a coalesced run of writes is stored at its latest version and
+ * offers are loaded back with the versions clients last saw. The delegate
+ * must therefore support restore.
+ */
+public class WriteBehindOfferRepository implements IOfferRepository, AutoCloseable {
+
+    public static final int DEFAULT_BATCH_SIZE = 500;
+    public static final int DEFAULT_MAX_PENDING = 10_000;
+    public static final Duration DEFAULT_FLUSH_INTERVAL = Duration.ofMillis(100);
+
+    public static final Duration MAX_BACKOFF = Duration.ofSeconds(30);
+
+    private static final int LOAD_PAGE_SIZE = 1000;
+    /** Pending-map marker for a delete. */
+    private static final Offer DELETED = new Offer();
+
+    private final IOfferRepository delegate;
+    private final InMemoryOfferRepository view = new InMemoryOfferRepository();
+    private final Map<Long, Offer> pending = new LinkedHashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notFull = lock.newCondition();
+    private final Condition flushNeeded = lock.newCondition();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final AtomicLong flushedCount = new AtomicLong();
+    private final int batchSize;
+    private final int maxPending;
+    private final long flushIntervalNanos;
+    private final Thread flusher;
+    private volatile RuntimeException lastFlushFailure;
+    private boolean closed;
+
+    public WriteBehindOfferRepository(IOfferRepository delegate) {
+        this(delegate, DEFAULT_BATCH_SIZE, DEFAULT_MAX_PENDING, DEFAULT_FLUSH_INTERVAL);
+    }
+
+    /**
+     * Loads the delegate's offers into the view and starts the flusher thread.
+     */
+    public WriteBehindOfferRepository(IOfferRepository delegate, int batchSize, int maxPending, Duration flushInterval) {
+        if (delegate == null) {
+            throw new IllegalArgumentException("Delegate cannot be null");
+        }
+        if (batchSize <= 0 || maxPending < batchSize) {
+            throw new IllegalArgumentException("Batch size must be positive and not exceed max pending");
+        }
+        if (flushInterval == null || flushInterval.isNegative() || flushInterval.isZero()) {
+            throw new IllegalArgumentException("Flush interval must be positive");
+        }
+        this.delegate = delegate;
+        this.batchSize = batchSize;
+        this.maxPending = maxPending;
+        this.flushIntervalNanos = flushInterval.toNanos();
+        load();
+        this.flusher = new Thread(this::runFlusher, "prestify-write-behind");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    /**
+     * @return number of offers with a write not yet handed to the delegate
+     */
+    public int getPendingCount() {
+        lock.lock();
+        try {
+            return pending.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return number of coalesced writes handed to the delegate so far
+     */
+    public long getFlushedCount() {
+        return flushedCount.get();
+    }
+
+    /**
+     * @return the failure of the most recent background flush, or null if it succeeded
+     */
+    public RuntimeException getLastFlushFailure() {
+        return lastFlushFailure;
+    }
+
+    /**
+     * Synchronously hands every pending write to the delegate.
+     * @throws RuntimeException whatever the delegate threw; the failed writes stay pending
+     */
+    public void flush() {
+        while (flushBatch() > 0) {
+            // keep draining until nothing is pending
+        }
+    }
+
+    /**
+     * Stops accepting writes, stops the flusher and flushes what is still pending.
+     */
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            flushNeeded.signalAll();
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            flusher.join(TimeUnit.NANOSECONDS.toMillis(flushIntervalNanos) + 1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+
+    @Override
+    public Offer save(Offer offer) {
+        if (offer == null) {
+            throw new IllegalArgumentException("Offer cannot be null");
+        }
+        lock.lock();
+        try {
+            awaitCapacity(offer.getId());
+            Offer saved = view.save(offer);
+            enqueue(saved.getId(), saved);
+            return saved;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Saves the batch under one acquisition of the lock, handing the view as
+     * many offers at a time as the pending map has room for; a batch larger
+     * than that room waits for flushes between chunks.
+     */
+    @Override
+    public List<Offer> saveAll(Collection<Offer> offers) {
+        List<Offer> batch = new ArrayList<>(offers.size());
+        for (Offer offer : offers) {
+            if (offer == null) {
+                throw new IllegalArgumentException("Offer cannot be null");
+            }
+            batch.add(offer);
+        }
+        return writeAll(batch, view::saveAll);
+    }
+
+    /**
+     * Stores the offers with the versions they carry and queues them like saveAll.
+     */
+    @Override
+    public void restore(Collection<Offer> offers) {
+        List<Offer> batch = new ArrayList<>(offers.size());
+        for (Offer offer : offers) {
+            if (offer == null || offer.getId() == null) {
+                throw new IllegalArgumentException("Offer and its ID cannot be null");
+            }
+            batch.add(offer);
+        }
+        writeAll(batch, chunk -> {
+            view.restore(chunk);
+            return chunk;
+        });
+    }
+
+    @Override
+    public OptionalLong reserveIds(int count) {
+        return view.reserveIds(count);
+    }
+
+    @Override
+    public Optional<Offer> saveIfVersion(Offer offer, long expectedVersion) {
+        if (offer == null || offer.getId() == null) {
+            throw new IllegalArgumentException("Offer and its ID cannot be null");
+        }
+        lock.lock();
+        try {
+            awaitCapacity(offer.getId());
+            Optional<Offer> saved = view.saveIfVersion(offer, expectedVersion);
+            saved.ifPresent(stored -> enqueue(stored.getId(), stored));
+            return saved;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Optional<Offer> patch(long id, OfferPatch patch) {
+        lock.lock();
+        try {
+            awaitCapacity(id);
+            long before = view.findById(id).map(Offer::getVersion).orElse(0L);
+            Optional<Offer> patched = view.patch(id, patch);
+            patched.filter(offer -> offer.getVersion() != before)
+                    .ifPresent(offer -> enqueue(id, offer));
+            return patched;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        if (id == null) {
+            return;
+        }
+        lock.lock();
+        try {
+            awaitCapacity(id);
+            view.deleteById(id);
+            enqueue(id, DELETED);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Optional<Offer> findById(Long id) {
+        return view.findById(id);
+    }
+
+    @Override
+    public Optional<Offer> findById(long id) {
+        return view.findById(id);
+    }
+
+    @Override
+    public boolean existsById(Long id) {
+        return view.existsById(id);
+    }
+
+    @Override
+    public boolean existsById(long id) {
+        return view.existsById(id);
+    }
+
+    @Override
+    public List<Offer> findAll() {
+        return view.findAll();
+    }
+
+    @Override
+    public List<Offer> findAllAfter(Long afterId, int limit) {
+        return view.findAllAfter(afterId, limit);
+    }
+
+    @Override
+    public List<Offer> findByTitle(String title) {
+        return view.findByTitle(title);
+    }
+
+    @Override
+    public List<Offer> searchByTitle(String fragment) {
+        return view.searchByTitle(fragment);
+    }
+
+    @Override
+    public List<Offer> findByLocation(String location) {
+        return view.findByLocation(location);
+    }
+
+    @Override
+    public List<Offer> findByLocationAfter(String location, Long afterId, int limit) {
+        return view.findByLocationAfter(location, afterId, limit);
+    }
+
+    @Override
+    public List<Offer> findByPriceBetween(Double minPrice, Double maxPrice) {
+        return view.findByPriceBetween(minPrice, maxPrice);
+    }
+
+    @Override
+    public List<Offer> findByPriceBetweenAfter(Double minPrice, Double maxPrice,
+                                               Double afterPrice, Long afterId, int limit) {
+        return view.findByPriceBetweenAfter(minPrice, maxPrice, afterPrice, afterId, limit);
+    }
+
+    @Override
+    public List<Offer> findByStatus(String status) {
+        return view.findByStatus(status);
+    }
+
+    @Override
+    public List<Offer> findByStatusIn(Collection<String> statuses, String location,
+                                      Double minPrice, Double maxPrice) {
+        return view.findByStatusIn(statuses, location, minPrice, maxPrice);
+    }
+
+    @Override
+    public List<Offer> findByQuery(OfferQuery query) {
+        return view.findByQuery(query);
+    }
+
+    @Override
+    public List<Offer> findMatching(Predicate<? super Offer> filter) {
+        return view.findMatching(filter);
+    }
+
+    @Override
+    public PriceStats priceStatistics(String location) {
+        return view.priceStatistics(location);
+    }
+
+    @Override
+    public Map<String, PriceStats> priceStatisticsByLocation() {
+        return view.priceStatisticsByLocation();
+    }
+
+    private void load() {
+        Long after = null;
+        List<Offer> page;
+        do {
+            page = delegate.findAllAfter(after, LOAD_PAGE_SIZE);
+            view.restore(page);
+            if (!page.isEmpty()) {
+                after = page.get(page.size() - 1).getId();
+            }
+        } while (page.size() == LOAD_PAGE_SIZE);
+    }
+
+    /**
+     * Blocks while the pending map is full and the id is not already pending,
+     * since a write to a pending id only replaces its entry. Caller holds the lock.
+     */
+    private void awaitCapacity(Long id) {
+        while (true) {
+            if (closed) {
+                throw new IllegalStateException("Repository is closed");
+            }
+            if (pending.size() < maxPending || (id != null && pending.containsKey(id))) {
+                return;
+            }
+            flushNeeded.signalAll();
+            notFull.awaitUninterruptibly();
+        }
+    }
+
+    private List<Offer> writeAll(List<Offer> batch, Function<List<Offer>, List<Offer>> write) {
+        List<Offer> saved = new ArrayList<>(batch.size());
+        lock.lock();
+        try {
+            int from = 0;
+            while (from < batch.size()) {
+                awaitCapacity(null);
+                int to = Math.min(batch.size(), from + maxPending - pending.size());
+                for (Offer stored : write.apply(batch.subList(from, to))) {
+                    enqueue(stored.getId(), stored);
+                    saved.add(stored);
+                }
+                from = to;
+            }
+            return saved;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Queues a private copy of the write, since the offer itself is also
+     * handed back to the caller, who may change it. Caller holds the lock.
+     */
+    private void enqueue(long id, Offer write) {
+        pending.remove(id);
+        pending.put(id, write == DELETED ? write : new Offer(write));
+        if (pending.size() >= batchSize) {
+            flushNeeded.signalAll();
+        }
+    }
+
+    private void runFlusher() {
+        long maxBackoffNanos = Math.max(flushIntervalNanos, MAX_BACKOFF.toNanos());
+        long backoffNanos = 0;
+        while (true) {
+            lock.lock();
+            try {
+                if (backoffNanos > 0) {
+                    long remaining = backoffNanos;
+                    while (!closed && remaining > 0) {
+                        remaining = flushNeeded.awaitNanos(remaining);
+                    }
+                } else {
+                    long remaining = flushIntervalNanos;
+                    while (!closed && pending.size() < batchSize && remaining > 0) {
+                        remaining = flushNeeded.awaitNanos(remaining);
+                    }
+                }
+                if (closed) {
+                    return;
+                }
+            } catch (InterruptedException e) {
+                return;
+            } finally {
+                lock.unlock();
+            }
+            try {
+                flushBatch();
+                lastFlushFailure = null;
+                backoffNanos = 0;
+            } catch (RuntimeException e) {
+                lastFlushFailure = e;
+                backoffNanos = backoffNanos == 0 ? flushIntervalNanos : Math.min(backoffNanos * 2, maxBackoffNanos);
+            }
+        }
+    }
+
+    /**
+     * Hands up to batchSize of the oldest pending writes to the delegate.
+     * @return number of writes flushed
+     */
+    private int flushBatch() {
+        flushLock.lock();
+        try {
+            Map<Long, Offer> batch = new LinkedHashMap<>();
+            lock.lock();
+            try {
+                Iterator<Map.Entry<Long, Offer>> it = pending.entrySet().iterator();
+                while (it.hasNext() && batch.size() < batchSize) {
+                    Map.Entry<Long, Offer> entry = it.next();
+                    batch.put(entry.getKey(), entry.getValue());
+                    it.remove();
+                }
+                notFull.signalAll();
+            } finally {
+                lock.unlock();
+            }
+            if (batch.isEmpty()) {
+                return 0;
+            }
+            try {
+                write(batch);
+            } catch (RuntimeException e) {
+                requeue(batch);
+                throw e;
+            }
+            flushedCount.addAndGet(batch.size());
+            return batch.size();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void write(Map<Long, Offer> batch) {
+        List<Offer> upserts = new ArrayList<>(batch.size());
+        for (Map.Entry<Long, Offer> entry : batch.entrySet()) {
+            if (entry.getValue() == DELETED) {
+                delegate.deleteById(entry.getKey());
+            } else {
+                upserts.add(entry.getValue());
+            }
+        }
+        if (!upserts.isEmpty()) {
+            delegate.restore(upserts);
+        }
+    }
+
+    private void requeue(Map<Long, Offer> batch) {
+        lock.lock();
+        try {
+            Map<Long, Offer> newer = new LinkedHashMap<>(pending);
+            pending.clear();
+            for (Map.Entry<Long, Offer> entry : batch.entrySet()) {
+                if (!newer.containsKey(entry.getKey())) {
+                    pending.put(entry.getKey(), entry.getValue());
+                }
+            }
+            pending.putAll(newer);
+        } finally {
+            lock.unlock();
+        }
+    }
+}
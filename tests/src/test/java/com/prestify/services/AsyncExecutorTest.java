@@ -0,0 +1,130 @@
+package com.prestify.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit Tests for AsyncExecutor
+ */
+@DisplayName("AsyncExecutor Unit Tests")
+class AsyncExecutorTest {
+
+    private AsyncExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = new AsyncExecutor(3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.close();
+    }
+
+    @Test
+    @DisplayName("Should complete future with the call's result")
+    void testSubmit_Result() {
+        assertEquals("done", executor.submit(() -> "done").join());
+    }
+
+    @Test
+    @DisplayName("Should complete future exceptionally when the call throws")
+    void testSubmit_Failure() {
+        CompletableFuture<Object> future = executor.submit(() -> {
+            throw new IllegalArgumentException("bad");
+        });
+
+        CompletionException thrown = assertThrows(CompletionException.class, future::join);
+        assertInstanceOf(IllegalArgumentException.class, thrown.getCause());
+    }
+
+    @Test
+    @DisplayName("Should never run more calls at once than the limit")
+    void testSubmit_BoundedConcurrency() {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        List<CompletableFuture<Integer>> futures = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            int n = i;
+            futures.add(executor.submit(() -> {
+                peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+                sleep(10);
+                running.decrementAndGet();
+                return n;
+            }));
+        }
+
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        assertEquals(3, peak.get());
+        assertEquals(0, executor.getPendingCount());
+        assertEquals(29, futures.get(29).join());
+    }
+
+    @Test
+    @DisplayName("Should run calls concurrently up to the limit")
+    void testSubmit_Concurrent() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(3);
+        CountDownLatch release = new CountDownLatch(1);
+        for (int i = 0; i < 3; i++) {
+            executor.run(() -> {
+                started.countDown();
+                await(release);
+            });
+        }
+
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        release.countDown();
+    }
+
+    @Test
+    @DisplayName("Should fail future when the executor rejects the call")
+    void testSubmit_Rejected() {
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        pool.shutdown();
+        AsyncExecutor rejecting = new AsyncExecutor(pool, 2);
+
+        CompletionException thrown = assertThrows(CompletionException.class,
+                () -> rejecting.submit(() -> 1).join());
+        assertInstanceOf(RejectedExecutionException.class, thrown.getCause());
+        assertEquals(1, rejecting.submit(() -> 1).exceptionally(t -> 1).join());
+    }
+
+    @Test
+    @DisplayName("Should reject invalid arguments")
+    void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new AsyncExecutor(0));
+        assertThrows(IllegalArgumentException.class, () -> new AsyncExecutor(null, 2));
+        assertThrows(IllegalArgumentException.class, () -> executor.submit(null));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.prestify.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/**
+ * Unit Tests for AsyncOfferService and AsyncCategorieService
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AsyncOfferService Unit Tests")
+class AsyncOfferServiceTest {
+
+    @Mock
+    private IOfferService offerService;
+
+    @Mock
+    private ICategorieService categorieService;
+
+    private AsyncExecutor executor;
+    private AsyncOfferService asyncOffers;
+    private AsyncCategorieService asyncCategories;
+
+    private Offer offer1;
+
+    @BeforeEach
+    void setUp() {
+        executor = new AsyncExecutor(8);
+        asyncOffers = new AsyncOfferService(offerService, executor);
+        asyncCategories = new AsyncCategorieService(categorieService, executor);
+        offer1 = new Offer(1L, "Réparation Plomberie", "Réparation urgente", 100.0, "Paris");
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.close();
+    }
+
+    @Test
+    @DisplayName("Should resolve offer lookup asynchronously")
+    void testGetOfferById() {
+        when(offerService.getOfferById(1L)).thenReturn(offer1);
+
+        assertSame(offer1, asyncOffers.getOfferById(1L).join());
+    }
+
+    @Test
+    @DisplayName("Should surface service errors through the future")
+    void testGetOfferById_NotFound() {
+        when(offerService.getOfferById(99L)).thenThrow(new RuntimeException("Offer not found with id: 99"));
+
+        CompletionException thrown = assertThrows(CompletionException.class,
+                () -> asyncOffers.getOfferById(99L).join());
+        assertEquals("Offer not found with id: 99", thrown.getCause().getMessage());
+    }
+
+    @Test
+    @DisplayName("Should run delete and report completion")
+    void testDeleteOffer() {
+        asyncOffers.deleteOffer(1L).join();
+
+        verify(offerService).deleteOffer(1L);
+    }
+
+    @Test
+    @DisplayName("Should delegate modify, patch and change-feed calls")
+    void testWriteAndDeltaCalls() {
+        OfferPatch patch = new OfferPatch().price(90.0);
+        Consumer<Offer> mutation = offer -> offer.setPrice(80.0);
+        Delta<Offer> delta = new Delta<>(List.of(offer1), List.of(), "t1", false, false);
+        when(offerService.patchOffer(1L, patch)).thenReturn(offer1);
+        when(offerService.modifyOffer(1L, mutation)).thenReturn(offer1);
+        when(offerService.updateOfferIfVersion(1L, offer1, 2L)).thenReturn(offer1);
+        when(offerService.getOffersChangedSince("t0", 10)).thenReturn(delta);
+
+        assertSame(offer1, asyncOffers.patchOffer(1L, patch).join());
+        assertSame(offer1, asyncOffers.modifyOffer(1L, mutation).join());
+        assertSame(offer1, asyncOffers.updateOfferIfVersion(1L, offer1, 2L).join());
+        assertSame(delta, asyncOffers.getOffersChangedSince("t0", 10).join());
+    }
+
+    @Test
+    @DisplayName("Should delegate predicate and multi-status queries")
+    void testQueryCalls() {
+        Predicate<Offer> filter = offer -> offer.getPrice() > 50.0;
+        when(offerService.getOffersMatching(filter)).thenReturn(List.of(offer1));
+        when(offerService.getOffersByStatuses(Set.of("ACTIVE"), "Paris", 50.0, 150.0)).thenReturn(List.of(offer1));
+
+        assertEquals(List.of(offer1), asyncOffers.getOffersMatching(filter).join());
+        assertEquals(List.of(offer1), asyncOffers.getOffersByStatuses(Set.of("ACTIVE"), "Paris", 50.0, 150.0).join());
+    }
+
+    @Test
+    @DisplayName("Should overlap independent lookups of a page")
+    void testFanOut_Overlaps() {
+        when(offerService.getOfferById(1L)).thenAnswer(invocation -> slow(offer1));
+        when(offerService.getPriceStatistics("Paris")).thenAnswer(invocation -> slow(PriceStats.EMPTY));
+        Categorie categorie = new Categorie();
+        when(categorieService.getCategorieById(2L)).thenAnswer(invocation -> slow(categorie));
+
+        long start = System.nanoTime();
+        CompletableFuture<Offer> offer = asyncOffers.getOfferById(1L);
+        CompletableFuture<PriceStats> stats = asyncOffers.getPriceStatistics("Paris");
+        CompletableFuture<Categorie> category = asyncCategories.getCategorieById(2L);
+        CompletableFuture.allOf(offer, stats, category).join();
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertSame(offer1, offer.join());
+        assertSame(categorie, category.join());
+        assertTrue(elapsedMillis < 600, "took " + elapsedMillis + " ms");
+    }
+
+    @Test
+    @DisplayName("Should delegate category calls")
+    void testCategorieCalls() {
+        when(categorieService.existsByNom("Plomberie")).thenReturn(true);
+        when(categorieService.getAllCategories()).thenReturn(List.of());
+
+        assertTrue(asyncCategories.existsByNom("Plomberie").join());
+        assertTrue(asyncCategories.getAllCategories().join().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should delegate category patch and change-feed calls")
+    void testCategoriePatchAndDelta() {
+        Categorie categorie = new Categorie(1L, "Plomberie");
+        CategoriePatch patch = new CategoriePatch().description("Fuites");
+        Delta<Categorie> delta = new Delta<>(List.of(categorie), List.of(2L), "t1", false, false);
+        when(categorieService.patchCategorie(1L, patch)).thenReturn(categorie);
+        when(categorieService.getCategoriesChangedSince(null, 5)).thenReturn(delta);
+
+        assertSame(categorie, asyncCategories.patchCategorie(1L, patch).join());
+        assertSame(delta, asyncCategories.getCategoriesChangedSince(null, 5).join());
+    }
+
+    @Test
+    @DisplayName("Should reject missing collaborators")
+    void testConstructor_Invalid() {
+        assertThrows(IllegalArgumentException.class, () -> new AsyncOfferService(null, executor));
+        assertThrows(IllegalArgumentException.class, () -> new AsyncOfferService(offerService, null));
+        assertThrows(IllegalArgumentException.class, () -> new AsyncCategorieService(null, executor));
+    }
+
+    private static <T> T slow(T value) throws InterruptedException {
+        Thread.sleep(300);
+        return value;
+    }
+}
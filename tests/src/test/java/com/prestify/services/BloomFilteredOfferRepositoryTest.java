@@ -0,0 +1,124 @@
+package com.prestify.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit Tests for BloomFilteredOfferRepository
+ */
+@DisplayName("BloomFilteredOfferRepository Unit Tests")
+class BloomFilteredOfferRepositoryTest {
+
+    private IOfferRepository delegate;
+    private BloomFilteredOfferRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        InMemoryOfferRepository store = new InMemoryOfferRepository();
+        store.save(new Offer(1L, "Réparation Plomberie", "Réparation urgente", 100.0, "Paris"));
+        store.save(new Offer(2L, "Installation Électrique", "Installation complète", 150.0, "Lyon"));
+        delegate = spy(store);
+        repository = new BloomFilteredOfferRepository(delegate, 1000, 0.01);
+    }
+
+    @Test
+    @DisplayName("Should load existing ids at construction")
+    void testRebuildOnStartup() {
+        assertTrue(repository.existsById(1L));
+        assertTrue(repository.findById(2L).isPresent());
+    }
+
+    @Test
+    @DisplayName("Should answer absent ids without touching the delegate")
+    void testAbsentIdsSkipDelegate() {
+        int definitelyAbsent = 0;
+        for (long id = 1000; id < 1100; id++) {
+            if (!repository.mightContain(id)) {
+                definitelyAbsent++;
+                assertFalse(repository.existsById(id));
+                assertTrue(repository.findById(id).isEmpty());
+            }
+        }
+
+        assertTrue(definitelyAbsent > 90);
+        verify(delegate, never()).existsById(longThat(id -> id >= 1000));
+        verify(delegate, never()).findById(longThat(id -> id >= 1000));
+    }
+
+    @Test
+    @DisplayName("Should track saves and deletes")
+    void testSaveAndDelete() {
+        Offer saved = repository.save(new Offer(null, "Nettoyage", 50.0));
+        assertTrue(repository.existsById(saved.getId()));
+
+        repository.deleteById(1L);
+        repository.deleteById(saved.getId());
+
+        assertFalse(repository.mightContain(1L));
+        assertFalse(repository.existsById(saved.getId()));
+        assertTrue(repository.existsById(2L));
+    }
+
+    @Test
+    @DisplayName("Should track restored offers")
+    void testRestore() {
+        Offer offer = new Offer(9L, "Peinture", 90.0);
+        offer.setVersion(3);
+
+        repository.restore(List.of(offer, new Offer(9L, "Peinture", 95.0)));
+        repository.deleteById(9L);
+
+        assertFalse(repository.mightContain(9L));
+        assertFalse(repository.existsById(9L));
+    }
+
+    @Test
+    @DisplayName("Should not double count an update of an existing offer")
+    void testUpdateThenDelete() {
+        Offer offer = repository.findById(2L).orElseThrow();
+        offer.setPrice(175.0);
+        repository.save(offer);
+        repository.deleteById(2L);
+
+        assertFalse(repository.mightContain(2L));
+    }
+
+    @Test
+    @DisplayName("Should track batch saves")
+    void testSaveAll() {
+        List<Offer> saved = repository.saveAll(List.of(new Offer(null, "Jardinage", 80.0), new Offer(1L, "Plomberie", 90.0)));
+
+        assertTrue(repository.existsById(saved.get(0).getId()));
+        repository.deleteById(1L);
+        assertFalse(repository.mightContain(1L));
+    }
+
+    @Test
+    @DisplayName("Should always forward deletes to the delegate")
+    void testDeleteForwarded() {
+        repository.deleteById(42L);
+
+        verify(delegate, times(1)).deleteById(42L);
+    }
+
+    @Test
+    @DisplayName("Should keep counting filter consistent after removals")
+    void testCountingFilter() {
+        CountingBloomFilter filter = new CountingBloomFilter(100, 0.01);
+        filter.add(7L);
+        filter.add(7L);
+        filter.remove(7L);
+
+        assertTrue(filter.mightContain(7L));
+        filter.remove(7L);
+        assertFalse(filter.mightContain(7L));
+        assertThrows(IllegalArgumentException.class, () -> new CountingBloomFilter(0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new CountingBloomFilter(10, 1.0));
+    }
+}
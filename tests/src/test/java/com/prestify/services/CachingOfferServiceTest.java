@@ -0,0 +1,157 @@
+package com.prestify.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/**
+ * Unit Tests for CachingOfferService
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CachingOfferService Unit Tests")
+class CachingOfferServiceTest {
+
+    @Mock
+    private IOfferService delegate;
+
+    private CachingOfferService service;
+    private Offer offer1;
+
+    @BeforeEach
+    void setUp() {
+        service = new CachingOfferService(delegate, 100);
+        offer1 = new Offer(1L, "Réparation Plomberie", "Réparation urgente", 100.0, "Paris");
+    }
+
+    @Test
+    @DisplayName("Should load once and serve repeated lookups from the cache")
+    void testGetOfferById_Cached() {
+        when(delegate.getOfferById(1L)).thenReturn(offer1);
+
+        service.getOfferById(1L);
+        Offer second = service.getOfferById(1L);
+
+        assertEquals("Réparation Plomberie", second.getTitle());
+        assertNotSame(offer1, second);
+        verify(delegate, times(1)).getOfferById(1L);
+        assertEquals(1, service.getStats().getHits());
+        assertEquals(1, service.getStats().getMisses());
+    }
+
+    @Test
+    @DisplayName("Should not let callers mutate the cached offer")
+    void testGetOfferById_DefensiveCopy() {
+        when(delegate.getOfferById(1L)).thenReturn(offer1);
+
+        service.getOfferById(1L).setTitle("Modifié");
+
+        assertEquals("Réparation Plomberie", service.getOfferById(1L).getTitle());
+    }
+
+    @Test
+    @DisplayName("Should invalidate on update")
+    void testUpdateOffer_Invalidates() {
+        Offer updated = new Offer(1L, "Plomberie Pro", 120.0);
+        when(delegate.getOfferById(1L)).thenReturn(offer1, updated);
+        when(delegate.updateOffer(1L, updated)).thenReturn(updated);
+
+        service.getOfferById(1L);
+        service.updateOffer(1L, updated);
+
+        assertEquals("Plomberie Pro", service.getOfferById(1L).getTitle());
+        verify(delegate, times(2)).getOfferById(1L);
+    }
+
+    @Test
+    @DisplayName("Should invalidate on a failed conditional update")
+    void testUpdateOfferIfVersion_Invalidates() {
+        Offer updated = new Offer(1L, "Plomberie Pro", 120.0);
+        when(delegate.getOfferById(1L)).thenReturn(offer1, updated);
+        when(delegate.updateOfferIfVersion(1L, updated, 1L)).thenThrow(new OptimisticLockException(1L, 1L));
+
+        service.getOfferById(1L);
+        assertThrows(OptimisticLockException.class, () -> service.updateOfferIfVersion(1L, updated, 1L));
+
+        assertEquals("Plomberie Pro", service.getOfferById(1L).getTitle());
+        verify(delegate, times(2)).getOfferById(1L);
+    }
+
+    @Test
+    @DisplayName("Should invalidate on delete even when the delegate fails")
+    void testDeleteOffer_Invalidates() {
+        when(delegate.getOfferById(1L)).thenReturn(offer1);
+        when(delegate.offerExists(1L)).thenReturn(false);
+        doThrow(new RuntimeException("Offer not found with id: 1")).doNothing().when(delegate).deleteOffer(1L);
+
+        service.getOfferById(1L);
+        assertThrows(RuntimeException.class, () -> service.deleteOffer(1L));
+
+        assertFalse(service.offerExists(1L));
+    }
+
+    @Test
+    @DisplayName("Should answer offerExists from the cache")
+    void testOfferExists_Cached() {
+        when(delegate.getOfferById(1L)).thenReturn(offer1);
+
+        service.getOfferById(1L);
+
+        assertTrue(service.offerExists(1L));
+        verify(delegate, never()).offerExists(1L);
+    }
+
+    @Test
+    @DisplayName("Should not count existence probes as cache lookups")
+    void testOfferExists_NoStats() {
+        when(delegate.offerExists(2L)).thenReturn(false);
+
+        assertFalse(service.offerExists(2L));
+
+        assertEquals(0, service.getStats().getHits());
+        assertEquals(0, service.getStats().getMisses());
+    }
+
+    @Test
+    @DisplayName("Should invalidate an offer overwritten by a create with its id")
+    void testAddOffer_Invalidates() {
+        Offer replacement = new Offer(1L, "Plomberie Pro", 120.0);
+        when(delegate.getOfferById(1L)).thenReturn(offer1, replacement);
+        when(delegate.addOffer(replacement)).thenReturn(replacement);
+
+        service.getOfferById(1L);
+        service.addOffer(replacement);
+
+        assertEquals("Plomberie Pro", service.getOfferById(1L).getTitle());
+    }
+
+    @Test
+    @DisplayName("Should invalidate every offer saved by a batch create")
+    void testAddOffers_Invalidates() {
+        Offer replacement = new Offer(1L, "Plomberie Pro", 120.0);
+        BatchResult<Offer> result = new BatchResult<>();
+        result.addSaved(List.of(replacement));
+        when(delegate.getOfferById(1L)).thenReturn(offer1, replacement);
+        when(delegate.addOffers(List.of(replacement))).thenReturn(result);
+
+        service.getOfferById(1L);
+        service.addOffers(List.of(replacement));
+
+        assertEquals("Plomberie Pro", service.getOfferById(1L).getTitle());
+    }
+
+    @Test
+    @DisplayName("Should pass null ids through to the delegate")
+    void testGetOfferById_NullId() {
+        when(delegate.getOfferById(null)).thenThrow(new IllegalArgumentException("ID cannot be null"));
+
+        assertThrows(IllegalArgumentException.class, () -> service.getOfferById(null));
+    }
+}
@@ -6,6 +6,8 @@ import static org.mockito.Mockito.*;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -142,6 +144,43 @@ class CategorieServiceImplTest {
         assertEquals(0, result.size());
     }
 
+    // ===== PAGINATION TESTS =====
+    @Test
+    @DisplayName("Should return first page with a cursor when more rows exist")
+    void testGetCategoriesPage_FirstPage() {
+        when(categorieRepository.findAllAfter(null, 2)).thenReturn(Arrays.asList(categorie1, categorie2));
+
+        Page<Categorie> page = categorieService.getCategoriesPage(null, 1);
+
+        assertEquals(1, page.getItems().size());
+        assertTrue(page.hasNext());
+        assertEquals(1L, PageCursor.decode(page.getNextCursor()));
+    }
+
+    @Test
+    @DisplayName("Should continue after the cursor and stop on the last page")
+    void testGetCategoriesPage_LastPage() {
+        when(categorieRepository.findAllAfter(1L, 3)).thenReturn(Arrays.asList(categorie2));
+
+        Page<Categorie> page = categorieService.getCategoriesPage(PageCursor.encode(1L), 2);
+
+        assertEquals(1, page.getItems().size());
+        assertFalse(page.hasNext());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    @DisplayName("Should reject invalid page size or cursor")
+    void testGetCategoriesPage_Invalid() {
+        assertThrows(IllegalArgumentException.class, () -> {
+            categorieService.getCategoriesPage(null, 0);
+        });
+        assertThrows(IllegalArgumentException.class, () -> {
+            categorieService.getCategoriesPage("not-a-cursor", 10);
+        });
+        verify(categorieRepository, never()).findAllAfter(any(), anyInt());
+    }
+
     // ===== DELETE TESTS =====
     @Test
     @DisplayName("Should delete categorie successfully")
@@ -174,6 +213,25 @@ class CategorieServiceImplTest {
         verify(categorieRepository, never()).existsById(any());
     }
 
+    // ===== PATCH TESTS =====
+    @Test
+    @DisplayName("Should pass patch to the repository")
+    void testPatchCategorie() {
+        CategoriePatch patch = new CategoriePatch().description("Dépannage");
+        when(categorieRepository.patch(1L, patch)).thenReturn(Optional.of(categorie1));
+
+        assertSame(categorie1, categorieService.patchCategorie(1L, patch));
+        verify(categorieRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should reject empty nom in patch")
+    void testPatchCategorie_EmptyNom() {
+        assertThrows(IllegalArgumentException.class,
+                () -> categorieService.patchCategorie(1L, new CategoriePatch().nom("")));
+        verify(categorieRepository, never()).patch(anyLong(), any());
+    }
+
     // ===== UPDATE TESTS =====
     @Test
     @DisplayName("Should update categorie successfully")
@@ -259,6 +317,71 @@ class CategorieServiceImplTest {
         verify(categorieRepository, never()).existsByNom(any());
     }
 
+    // ===== CHANGE FEED TESTS =====
+    @Test
+    @DisplayName("Should publish add, patch and delete on the change feed")
+    void testChangeFeed_PublishesWrites() {
+        ChangeFeed<Categorie> feed = new ChangeFeed<>(16, 8);
+        List<ChangeEvent<Categorie>> received = new CopyOnWriteArrayList<>();
+        ChangeFeed<Categorie>.Subscription subscription = feed.subscribe("categories", received::addAll);
+        categorieService.setChangeFeed(feed);
+        when(categorieRepository.save(categorie1)).thenReturn(categorie1);
+        when(categorieRepository.patch(eq(1L), any(CategoriePatch.class))).thenReturn(Optional.of(categorie2));
+        when(categorieRepository.existsById(1L)).thenReturn(true);
+
+        categorieService.addCategorie(categorie1);
+        categorieService.patchCategorie(1L, new CategoriePatch().description("Nouveau"));
+        categorieService.deleteCategorie(1L);
+
+        assertTrue(subscription.awaitSequence(3, 5, TimeUnit.SECONDS));
+        feed.close();
+        assertEquals(ChangeEvent.Type.CREATED, received.get(0).getType());
+        assertEquals(ChangeEvent.Type.UPDATED, received.get(1).getType());
+        assertEquals(ChangeEvent.Type.DELETED, received.get(2).getType());
+        assertEquals(1L, received.get(2).getId());
+    }
+
+    @Test
+    @DisplayName("Should publish a copy that callers cannot modify")
+    void testChangeFeed_PublishesCopy() {
+        ChangeFeed<Categorie> feed = new ChangeFeed<>(16, 8);
+        List<ChangeEvent<Categorie>> received = new CopyOnWriteArrayList<>();
+        ChangeFeed<Categorie>.Subscription subscription = feed.subscribe("categories", received::addAll);
+        categorieService.setChangeFeed(feed);
+        when(categorieRepository.save(categorie1)).thenReturn(categorie1);
+        String nom = categorie1.getNom();
+
+        Categorie added = categorieService.addCategorie(categorie1);
+        added.setNom("Modifié");
+
+        assertTrue(subscription.awaitSequence(1, 5, TimeUnit.SECONDS));
+        feed.close();
+        assertNotSame(added, received.get(0).getValue());
+        assertEquals(nom, received.get(0).getValue().getNom());
+    }
+
+    // ===== DELTA SYNC TESTS =====
+    @Test
+    @DisplayName("Should answer deltas from the change log fed by the change feed")
+    void testGetCategoriesChangedSince_Delta() {
+        ChangeFeed<Categorie> feed = new ChangeFeed<>(16, 8);
+        ChangeLog<Categorie> log = new ChangeLog<>(Categorie::new);
+        ChangeFeed<Categorie>.Subscription subscription = feed.subscribe("changelog", log);
+        categorieService.setChangeFeed(feed);
+        categorieService.setChangeLog(log);
+        when(categorieRepository.save(categorie1)).thenReturn(categorie1);
+        String token = categorieService.getCategoriesChangedSince(null, 100).getToken();
+
+        categorieService.addCategorie(categorie1);
+        assertTrue(subscription.awaitSequence(1, 5, TimeUnit.SECONDS));
+        feed.close();
+
+        Delta<Categorie> delta = categorieService.getCategoriesChangedSince(token, 100);
+        assertEquals(List.of(categorie1), delta.getChanged());
+        assertTrue(delta.getDeleted().isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> categorieService.getCategoriesChangedSince(token, 0));
+    }
+
     // ===== INTEGRATION TESTS =====
     @Test
     @DisplayName("Should handle complete workflow: add, get, update, delete")
@@ -0,0 +1,279 @@
+package com.prestify.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit Tests for ChangeFeed
+ */
+@DisplayName("ChangeFeed Unit Tests")
+class ChangeFeedTest {
+
+    private ChangeFeed<String> feed = new ChangeFeed<>(16, 4);
+
+    @AfterEach
+    void tearDown() {
+        feed.close();
+    }
+
+    // ===== DELIVERY TESTS =====
+
+    @Test
+    @DisplayName("Should deliver events in order, in batches no larger than max batch")
+    void testSubscribe_OrderedBatches() {
+        List<List<ChangeEvent<String>>> batches = new CopyOnWriteArrayList<>();
+        ChangeFeed<String>.Subscription subscription = feed.subscribe("ordered", batches::add);
+
+        for (int i = 1; i <= 100; i++) {
+            feed.publish(ChangeEvent.Type.CREATED, i, "offer-" + i);
+        }
+
+        assertTrue(subscription.awaitSequence(100, 5, TimeUnit.SECONDS));
+        List<Long> sequences = new ArrayList<>();
+        for (List<ChangeEvent<String>> batch : batches) {
+            assertTrue(batch.size() <= 4);
+            batch.forEach(event -> sequences.add(event.getSequence()));
+        }
+        assertEquals(100, sequences.size());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i + 1, sequences.get(i));
+        }
+        assertEquals("offer-100", batches.get(batches.size() - 1).get(batches.get(batches.size() - 1).size() - 1).getValue());
+    }
+
+    @Test
+    @DisplayName("Should deliver every event to each independent subscriber")
+    void testSubscribe_Independent() {
+        List<ChangeEvent<String>> first = new CopyOnWriteArrayList<>();
+        List<ChangeEvent<String>> second = new CopyOnWriteArrayList<>();
+        ChangeFeed<String>.Subscription a = feed.subscribe("first", first::addAll);
+        ChangeFeed<String>.Subscription b = feed.subscribe("second", second::addAll);
+
+        for (int i = 1; i <= 40; i++) {
+            feed.publish(ChangeEvent.Type.UPDATED, i, "v" + i);
+        }
+
+        assertTrue(a.awaitSequence(40, 5, TimeUnit.SECONDS));
+        assertTrue(b.awaitSequence(40, 5, TimeUnit.SECONDS));
+        assertEquals(40, first.size());
+        assertEquals(40, second.size());
+    }
+
+    @Test
+    @DisplayName("Should only deliver events published after subscribing")
+    void testSubscribe_StartsAtTail() {
+        feed.publish(ChangeEvent.Type.CREATED, 1, "before");
+        List<ChangeEvent<String>> received = new CopyOnWriteArrayList<>();
+        ChangeFeed<String>.Subscription subscription = feed.subscribe("late", received::addAll);
+        feed.publish(ChangeEvent.Type.DELETED, 1, null);
+
+        assertTrue(subscription.awaitSequence(2, 5, TimeUnit.SECONDS));
+        assertEquals(1, received.size());
+        assertEquals(ChangeEvent.Type.DELETED, received.get(0).getType());
+        assertNull(received.get(0).getValue());
+    }
+
+    @Test
+    @DisplayName("Should keep each publisher's order with concurrent publishers")
+    void testPublish_Concurrent() throws InterruptedException {
+        List<ChangeEvent<String>> received = new CopyOnWriteArrayList<>();
+        ChangeFeed<String>.Subscription subscription = feed.subscribe("concurrent", received::addAll);
+        List<Thread> publishers = new ArrayList<>();
+        for (int p = 0; p < 4; p++) {
+            long publisher = p;
+            publishers.add(new Thread(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    feed.publish(ChangeEvent.Type.UPDATED, publisher, Integer.toString(i));
+                }
+            }));
+        }
+        publishers.forEach(Thread::start);
+        for (Thread publisher : publishers) {
+            publisher.join();
+        }
+
+        assertTrue(subscription.awaitSequence(4000, 5, TimeUnit.SECONDS));
+        assertEquals(4000, received.size());
+        int[] last = {-1, -1, -1, -1};
+        for (int i = 0; i < received.size(); i++) {
+            ChangeEvent<String> event = received.get(i);
+            assertEquals(i + 1, event.getSequence());
+            int value = Integer.parseInt(event.getValue());
+            assertTrue(value > last[(int) event.getId()]);
+            last[(int) event.getId()] = value;
+        }
+    }
+
+    // ===== BACKPRESSURE TESTS =====
+
+    @Test
+    @DisplayName("Should not block publishers when nobody subscribes")
+    void testPublish_NoSubscribers() {
+        for (int i = 0; i < 100; i++) {
+            feed.publish(ChangeEvent.Type.CREATED, i, null);
+        }
+
+        assertEquals(100, feed.getLastSequence());
+    }
+
+    @Test
+    @DisplayName("Should hold publishers back while a subscriber lags a full ring")
+    void testPublish_WaitsForSlowSubscriber() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        List<ChangeEvent<String>> received = new CopyOnWriteArrayList<>();
+        ChangeFeed<String>.Subscription subscription = feed.subscribe("slow", events -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            received.addAll(events);
+        });
+        Thread publisher = new Thread(() -> {
+            for (int i = 1; i <= 40; i++) {
+                feed.publish(ChangeEvent.Type.CREATED, i, "v" + i);
+            }
+        });
+
+        publisher.start();
+        publisher.join(200);
+        assertTrue(publisher.isAlive());
+
+        release.countDown();
+        publisher.join(TimeUnit.SECONDS.toMillis(5));
+        assertFalse(publisher.isAlive());
+        assertTrue(subscription.awaitSequence(40, 5, TimeUnit.SECONDS));
+        assertEquals(40, received.size());
+    }
+
+    // ===== ORDERING TESTS =====
+
+    @Test
+    @DisplayName("Should hold keyed writes back while an unkeyed write runs")
+    void testInOrderOfAll_BlocksKeyedWrites() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread creator = new Thread(() -> feed.inOrderOfAll(() -> {
+            started.countDown();
+            awaitQuietly(release);
+            return feed.publish(ChangeEvent.Type.CREATED, 5, "created");
+        }));
+        creator.start();
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        Thread updater = new Thread(() -> feed.inOrder(5, () -> feed.publish(ChangeEvent.Type.UPDATED, 5, "updated")));
+        updater.start();
+
+        updater.join(200);
+        assertTrue(updater.isAlive());
+        assertEquals(0, feed.getLastSequence());
+        release.countDown();
+        creator.join(TimeUnit.SECONDS.toMillis(5));
+        updater.join(TimeUnit.SECONDS.toMillis(5));
+
+        assertEquals(2, feed.getLastSequence());
+    }
+
+    @Test
+    @DisplayName("Should hold back writes to the keys of a multi-key write and no others")
+    void testInOrderOf_BlocksOnlyItsKeys() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread batch = new Thread(() -> feed.inOrderOf(new long[] {3, 70}, () -> {
+            started.countDown();
+            awaitQuietly(release);
+            return feed.publish(ChangeEvent.Type.CREATED, 70, "created");
+        }));
+        batch.start();
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        Thread other = new Thread(() -> feed.inOrder(5, () -> feed.publish(ChangeEvent.Type.UPDATED, 5, "other")));
+        Thread same = new Thread(() -> feed.inOrder(70, () -> feed.publish(ChangeEvent.Type.UPDATED, 70, "updated")));
+        other.start();
+        same.start();
+
+        other.join(TimeUnit.SECONDS.toMillis(5));
+        same.join(200);
+        assertTrue(same.isAlive());
+        assertEquals(1, feed.getLastSequence());
+        release.countDown();
+        batch.join(TimeUnit.SECONDS.toMillis(5));
+        same.join(TimeUnit.SECONDS.toMillis(5));
+
+        assertEquals(3, feed.getLastSequence());
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // ===== FAILURE AND SHUTDOWN TESTS =====
+
+    @Test
+    @DisplayName("Should keep delivering after a listener failure")
+    void testListener_Failure() {
+        List<ChangeEvent<String>> received = new CopyOnWriteArrayList<>();
+        ChangeFeed<String>.Subscription subscription = feed.subscribe("failing", events -> {
+            received.addAll(events);
+            if (received.size() == events.size()) {
+                throw new IllegalStateException("boom");
+            }
+        });
+
+        feed.publish(ChangeEvent.Type.CREATED, 1, "a");
+        assertTrue(subscription.awaitSequence(1, 5, TimeUnit.SECONDS));
+        feed.publish(ChangeEvent.Type.CREATED, 2, "b");
+
+        assertTrue(subscription.awaitSequence(2, 5, TimeUnit.SECONDS));
+        assertEquals(2, received.size());
+        assertEquals("boom", subscription.getLastFailure().getMessage());
+    }
+
+    @Test
+    @DisplayName("Should drain published events on close and reject later ones")
+    void testClose_DrainsAndRejects() {
+        List<ChangeEvent<String>> received = new CopyOnWriteArrayList<>();
+        ChangeFeed<String>.Subscription subscription = feed.subscribe("draining", received::addAll);
+        for (int i = 1; i <= 10; i++) {
+            feed.publish(ChangeEvent.Type.CREATED, i, "v" + i);
+        }
+
+        feed.close();
+
+        assertEquals(10, received.size());
+        assertEquals(10, subscription.getSequence());
+        assertThrows(IllegalStateException.class, () -> feed.publish(ChangeEvent.Type.CREATED, 11, "v11"));
+    }
+
+    @Test
+    @DisplayName("Should stop gating publishers once a subscription is closed")
+    void testSubscription_Close() {
+        ChangeFeed<String>.Subscription subscription = feed.subscribe("closed", events -> { });
+        subscription.close();
+
+        for (int i = 0; i < 100; i++) {
+            feed.publish(ChangeEvent.Type.CREATED, i, null);
+        }
+
+        assertEquals(100, feed.getLastSequence());
+    }
+
+    @Test
+    @DisplayName("Should reject invalid configuration")
+    void testConstructor_Invalid() {
+        assertThrows(IllegalArgumentException.class, () -> new ChangeFeed<String>(12, 4));
+        assertThrows(IllegalArgumentException.class, () -> new ChangeFeed<String>(16, 0));
+        assertThrows(IllegalArgumentException.class, () -> feed.subscribe("none", null));
+    }
+}
@@ -0,0 +1,164 @@
+package com.prestify.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit Tests for ChangeLog
+ */
+@DisplayName("ChangeLog Unit Tests")
+class ChangeLogTest {
+
+    private ChangeLog<String> log;
+    private long sequence;
+
+    @BeforeEach
+    void setUp() {
+        log = new ChangeLog<>(2);
+        sequence = 0;
+    }
+
+    // ===== DELTA TESTS =====
+
+    @Test
+    @DisplayName("Should return only changes after the token")
+    void testChangesSince_AfterToken() {
+        change(ChangeEvent.Type.CREATED, 1, "a");
+        String token = log.currentToken();
+        change(ChangeEvent.Type.CREATED, 2, "b");
+        change(ChangeEvent.Type.DELETED, 1, null);
+
+        Delta<String> delta = log.changesSince(token, 100);
+
+        assertFalse(delta.isReset());
+        assertEquals(List.of("b"), delta.getChanged());
+        assertEquals(List.of(1L), delta.getDeleted());
+        assertFalse(delta.hasMore());
+        assertTrue(log.changesSince(delta.getToken(), 100).getChanged().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should keep only the latest change per id")
+    void testCompaction_LatestPerId() {
+        String token = log.currentToken();
+        change(ChangeEvent.Type.CREATED, 1, "v1");
+        change(ChangeEvent.Type.UPDATED, 1, "v2");
+        change(ChangeEvent.Type.UPDATED, 1, "v3");
+
+        assertEquals(1, log.size());
+        assertEquals(List.of("v3"), log.changesSince(token, 100).getChanged());
+    }
+
+    @Test
+    @DisplayName("Should page through changes with the returned tokens")
+    void testChangesSince_Paging() {
+        String token = log.currentToken();
+        for (long id = 1; id <= 5; id++) {
+            change(ChangeEvent.Type.CREATED, id, "o" + id);
+        }
+
+        Delta<String> first = log.changesSince(token, 2);
+        Delta<String> second = log.changesSince(first.getToken(), 2);
+        Delta<String> third = log.changesSince(second.getToken(), 2);
+
+        assertEquals(List.of("o1", "o2"), first.getChanged());
+        assertTrue(first.hasMore());
+        assertEquals(List.of("o3", "o4"), second.getChanged());
+        assertEquals(List.of("o5"), third.getChanged());
+        assertFalse(third.hasMore());
+    }
+
+    @Test
+    @DisplayName("Should move a re-changed entity behind the paging position")
+    void testChangesSince_ChangeDuringPaging() {
+        String token = log.currentToken();
+        change(ChangeEvent.Type.CREATED, 1, "a1");
+        change(ChangeEvent.Type.CREATED, 2, "b1");
+        Delta<String> first = log.changesSince(token, 1);
+        change(ChangeEvent.Type.UPDATED, 1, "a2");
+
+        Delta<String> rest = log.changesSince(first.getToken(), 100);
+
+        assertEquals(List.of("a1"), first.getChanged());
+        assertEquals(List.of("b1", "a2"), rest.getChanged());
+    }
+
+    @Test
+    @DisplayName("Should hand each delta its own copies of the values")
+    void testChangesSince_CopiesValues() {
+        ChangeLog<Offer> offers = new ChangeLog<>(Offer::new);
+        String token = offers.currentToken();
+        offers.append(new ChangeEvent<>(1, ChangeEvent.Type.CREATED, 1, new Offer(1L, "Peinture", 80.0)));
+
+        Offer first = offers.changesSince(token, 100).getChanged().get(0);
+        first.setTitle("Modifié");
+        Offer second = offers.changesSince(token, 100).getChanged().get(0);
+
+        assertNotSame(first, second);
+        assertEquals("Peinture", second.getTitle());
+        assertThrows(IllegalArgumentException.class, () -> new ChangeLog<Offer>(10, null));
+    }
+
+    // ===== RESET TESTS =====
+
+    @Test
+    @DisplayName("Should ask for a reset without a token")
+    void testChangesSince_NullToken() {
+        change(ChangeEvent.Type.CREATED, 1, "a");
+
+        Delta<String> delta = log.changesSince(null, 100);
+
+        assertTrue(delta.isReset());
+        assertTrue(delta.getChanged().isEmpty());
+        assertEquals(log.currentToken(), delta.getToken());
+    }
+
+    @Test
+    @DisplayName("Should ask for a reset once tombstones the token needs are dropped")
+    void testChangesSince_BeyondHorizon() {
+        String token = log.currentToken();
+        change(ChangeEvent.Type.DELETED, 1, null);
+        String afterFirst = log.currentToken();
+        change(ChangeEvent.Type.DELETED, 2, null);
+        change(ChangeEvent.Type.DELETED, 3, null);
+
+        assertEquals(2, log.getTombstoneCount());
+        assertTrue(log.changesSince(token, 100).isReset());
+        assertEquals(List.of(2L, 3L), log.changesSince(afterFirst, 100).getDeleted());
+    }
+
+    @Test
+    @DisplayName("Should ask for a reset on a token from another log")
+    void testChangesSince_OtherLog() {
+        ChangeLog<String> other = new ChangeLog<>();
+
+        assertTrue(log.changesSince(other.currentToken(), 100).isReset());
+    }
+
+    @Test
+    @DisplayName("Should reject malformed tokens and page sizes")
+    void testChangesSince_Invalid() {
+        assertThrows(IllegalArgumentException.class, () -> log.changesSince("not-a-token", 100));
+        assertThrows(IllegalArgumentException.class, () -> log.changesSince(PageCursor.encode(5), 100));
+        assertThrows(IllegalArgumentException.class, () -> log.changesSince(log.currentToken(), 0));
+    }
+
+    @Test
+    @DisplayName("Should ignore events already recorded")
+    void testAppend_IgnoresOldSequences() {
+        log.append(new ChangeEvent<>(5, ChangeEvent.Type.CREATED, 1, "new"));
+        log.append(new ChangeEvent<>(3, ChangeEvent.Type.UPDATED, 1, "old"));
+
+        assertEquals(1, log.size());
+        assertTrue(log.changesSince(log.currentToken(), 100).getChanged().isEmpty());
+    }
+
+    private void change(ChangeEvent.Type type, long id, String value) {
+        log.onEvents(List.of(new ChangeEvent<>(++sequence, type, id, value)));
+    }
+}
@@ -0,0 +1,178 @@
+package com.prestify.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit Tests for ColumnarOfferRepository
+ */
+@DisplayName("ColumnarOfferRepository Unit Tests")
+class ColumnarOfferRepositoryTest {
+
+    private ColumnarOfferRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new ColumnarOfferRepository(2);
+        repository.save(new Offer(1L, "Réparation Plomberie", "Réparation urgente", 100.0, "Paris"));
+        repository.save(new Offer(2L, "Installation Électrique", "Installation complète", 150.0, "Lyon"));
+        repository.save(new Offer(3L, "Nettoyage", "Nettoyage maison", 50.0, "Paris"));
+    }
+
+    @Test
+    @DisplayName("Should round-trip every field through the columns")
+    void testSaveAndFind() {
+        Offer offer = new Offer(null, "Jardinage", "Tonte", 80.0, "Nice");
+        offer.setStatus("ACTIVE");
+
+        Offer saved = repository.save(offer);
+        Offer found = repository.findById(saved.getId()).orElseThrow();
+
+        assertEquals(4L, found.getId());
+        assertEquals("Jardinage", found.getTitle());
+        assertEquals("Tonte", found.getDescription());
+        assertEquals(80.0, found.getPrice());
+        assertEquals("Nice", found.getLocation());
+        assertEquals("ACTIVE", found.getStatus());
+    }
+
+    @Test
+    @DisplayName("Should version rows and honour conditional saves")
+    void testSaveIfVersion() {
+        Offer offer = repository.findById(2L).orElseThrow();
+        assertEquals(1L, offer.getVersion());
+        offer.setPrice(175.0);
+
+        assertEquals(2L, repository.saveIfVersion(offer, 1L).orElseThrow().getVersion());
+        assertTrue(repository.saveIfVersion(offer, 1L).isEmpty());
+        assertEquals(175.0, repository.findById(2L).orElseThrow().getPrice());
+        assertEquals(3L, repository.save(offer).getVersion());
+    }
+
+    @Test
+    @DisplayName("Should restore rows with their versions")
+    void testRestore_KeepsVersions() {
+        Offer existing = new Offer(2L, "Installation Électrique", 160.0);
+        existing.setVersion(7);
+        Offer added = new Offer(9L, "Peinture", 90.0);
+        added.setVersion(3);
+
+        repository.restore(List.of(existing, added));
+
+        assertEquals(7L, repository.findById(2L).orElseThrow().getVersion());
+        assertEquals(160.0, repository.findById(2L).orElseThrow().getPrice());
+        assertEquals(3L, repository.findById(9L).orElseThrow().getVersion());
+        assertEquals(10L, repository.save(new Offer(null, "Jardinage", 30.0)).getId());
+    }
+
+    @Test
+    @DisplayName("Should write only patched columns")
+    void testPatch() {
+        Offer patched = repository.patch(1L, new OfferPatch().price(80.0).location("Lyon")).orElseThrow();
+
+        assertEquals(80.0, patched.getPrice());
+        assertEquals("Lyon", patched.getLocation());
+        assertEquals("Réparation Plomberie", patched.getTitle());
+        assertEquals(2L, patched.getVersion());
+        assertEquals(2, repository.findByLocation("Lyon").size());
+        assertEquals(1L, repository.patch(2L, new OfferPatch().price(150.0)).orElseThrow().getVersion());
+        assertTrue(repository.patch(42L, new OfferPatch().price(1.0)).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should keep null price and location")
+    void testNullFields() {
+        Offer saved = repository.save(new Offer(null, "Sans prix", null));
+
+        Offer found = repository.findById(saved.getId()).orElseThrow();
+        assertNull(found.getPrice());
+        assertNull(found.getLocation());
+        assertTrue(repository.findByPriceBetween(0.0, Double.MAX_VALUE).stream().noneMatch(o -> o.getId().equals(saved.getId())));
+    }
+
+    @Test
+    @DisplayName("Should scan columns for location, title and price filters")
+    void testScans() {
+        assertEquals(List.of(1L, 3L), ids(repository.findByLocation("Paris")));
+        assertTrue(repository.findByLocation("Nice").isEmpty());
+        assertEquals(List.of(3L), ids(repository.findByTitle("Nettoyage")));
+        assertEquals(List.of(3L, 1L), ids(repository.findByPriceBetween(50.0, 100.0)));
+    }
+
+    @Test
+    @DisplayName("Should overwrite a row on update")
+    void testUpdate() {
+        Offer offer = repository.findById(1L).orElseThrow();
+        offer.setLocation("Lyon");
+        offer.setPrice(200.0);
+        repository.save(offer);
+
+        assertEquals(List.of(1L, 2L), ids(repository.findByLocation("Lyon")));
+        assertEquals(List.of(1L), ids(repository.findByPriceBetween(190.0, 210.0)));
+        assertEquals(3, repository.size());
+    }
+
+    @Test
+    @DisplayName("Should recycle deleted rows")
+    void testDeleteAndReuse() {
+        repository.deleteById(1L);
+        repository.save(new Offer(null, "Peinture", "", 70.0, "Paris"));
+
+        assertFalse(repository.existsById(1L));
+        assertEquals(List.of(3L, 4L), ids(repository.findByLocation("Paris")));
+        assertEquals(List.of(2L, 3L, 4L), ids(repository.findAll()));
+    }
+
+    @Test
+    @DisplayName("Should page in id order")
+    void testFindAllAfter() {
+        for (long id = 10; id > 4; id--) {
+            repository.save(new Offer(id, "Offre " + id, 10.0));
+        }
+
+        assertEquals(List.of(1L, 2L, 3L), ids(repository.findAllAfter(null, 3)));
+        assertEquals(List.of(5L, 6L), ids(repository.findAllAfter(3L, 2)));
+        assertEquals(List.of(10L), ids(repository.findAllAfter(9L, 5)));
+    }
+
+    @Test
+    @DisplayName("Should page in id order over recycled rows")
+    void testFindAllAfter_RecycledRows() {
+        repository.deleteById(1L);
+        repository.save(new Offer(100_000L, "Loin", 10.0));
+        repository.save(new Offer(-5L, "Négatif", 10.0));
+
+        assertEquals(List.of(-5L, 2L), ids(repository.findAllAfter(null, 2)));
+        assertEquals(List.of(3L, 100_000L), ids(repository.findAllAfter(2L, 5)));
+        assertEquals(List.of(-5L, 2L, 3L, 100_000L), ids(repository.findAll()));
+        assertTrue(repository.findAllAfter(Long.MAX_VALUE, 5).isEmpty());
+        assertTrue(repository.findAllAfter(null, 0).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should store offers with any id, including zero and Long.MIN_VALUE")
+    void testEdgeIds() {
+        repository.save(new Offer(Long.MIN_VALUE, "Minimum", 10.0));
+        repository.save(new Offer(0L, "Zéro", 20.0));
+
+        assertTrue(repository.existsById(Long.MIN_VALUE));
+        assertEquals("Zéro", repository.findById(0L).orElseThrow().getTitle());
+        assertEquals(List.of(Long.MIN_VALUE, 0L, 1L), ids(repository.findAllAfter(null, 3)));
+        assertEquals(5, repository.findAll().size());
+
+        repository.deleteById(Long.MIN_VALUE);
+
+        assertFalse(repository.existsById(Long.MIN_VALUE));
+        assertEquals(List.of(0L, 1L, 2L, 3L), ids(repository.findAll()));
+    }
+
+    private static List<Long> ids(List<Offer> offers) {
+        return offers.stream().map(Offer::getId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,267 @@
+package com.prestify.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Unit Tests for FileOfferRepository
+ */
+@DisplayName("FileOfferRepository Unit Tests")
+class FileOfferRepositoryTest {
+
+    @TempDir
+    Path directory;
+
+    private FileOfferRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = open();
+    }
+
+    @AfterEach
+    void tearDown() {
+        repository.close();
+    }
+
+    // ===== RESTART TESTS =====
+
+    @Test
+    @DisplayName("Should restore saved offers with their versions after a restart")
+    void testRestart_RestoresOffers() {
+        Offer saved = repository.save(new Offer(null, "Réparation Plomberie", "Réparation urgente", 100.0, "Paris"));
+        repository.save(new Offer(null, "Installation Électrique", null, null, "Lyon"));
+        saved.setPrice(120.0);
+        repository.save(saved);
+
+        Offer restored = reopen().findById(saved.getId()).orElseThrow();
+
+        assertEquals(2, repository.findAll().size());
+        assertEquals(120.0, restored.getPrice());
+        assertEquals("Réparation urgente", restored.getDescription());
+        assertEquals(2, restored.getVersion());
+        assertNull(repository.findById(2L).orElseThrow().getPrice());
+        assertEquals(1, repository.findByLocation("Lyon").size());
+        assertEquals(3, repository.getLastSequence());
+    }
+
+    @Test
+    @DisplayName("Should restore deletes and patches after a restart")
+    void testRestart_DeletesAndPatches() {
+        repository.save(new Offer(null, "Nettoyage", 50.0));
+        repository.save(new Offer(null, "Jardinage", 30.0));
+        repository.deleteById(1L);
+        repository.patch(2L, new OfferPatch().status("PUBLISHED"));
+
+        reopen();
+
+        assertFalse(repository.existsById(1L));
+        assertEquals(1, repository.findByStatus("PUBLISHED").size());
+    }
+
+    @Test
+    @DisplayName("Should not log changes that did not happen")
+    void testWrite_NoOpsNotLogged() {
+        repository.save(new Offer(null, "Nettoyage", 50.0));
+        repository.deleteById(99L);
+        repository.patch(1L, new OfferPatch().price(50.0));
+        repository.saveIfVersion(new Offer(1L, "Nettoyage", 60.0), 7);
+
+        assertEquals(1, repository.getLastSequence());
+    }
+
+    @Test
+    @DisplayName("Should grow the log beyond its initial mapping")
+    void testLog_Grows() {
+        for (int i = 0; i < 200; i++) {
+            repository.save(new Offer(null, "Offer " + i, "Description " + i, 10.0 + i, "Paris"));
+        }
+
+        reopen();
+
+        assertEquals(200, repository.findAll().size());
+        assertEquals(209.0, repository.findById(200L).orElseThrow().getPrice());
+    }
+
+    @Test
+    @DisplayName("Should log a batch as consecutive records and restore it after a restart")
+    void testSaveAll_LoggedAsBatch() {
+        repository.save(new Offer(null, "Nettoyage", 50.0));
+        List<Offer> batch = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            batch.add(new Offer(null, "Offer " + i, "Description " + i, 10.0 + i, "Paris"));
+        }
+        batch.add(new Offer(1L, "Nettoyage", 55.0));
+
+        List<Offer> saved = repository.saveAll(batch);
+        reopen();
+
+        assertEquals(102, repository.getLastSequence());
+        assertEquals(101, saved.size());
+        assertEquals(101, repository.findAll().size());
+        assertEquals(2, repository.findById(1L).orElseThrow().getVersion());
+        assertEquals(List.of(1L, 47L), repository.findByPriceBetween(55.0, 55.0).stream()
+                .map(Offer::getId).collect(Collectors.toList()));
+        assertEquals(109.0, repository.findById(101L).orElseThrow().getPrice());
+    }
+
+    @Test
+    @DisplayName("Should keep restored versions after a restart")
+    void testRestore_KeepsVersions() {
+        Offer offer = new Offer(7L, "Nettoyage", 50.0);
+        offer.setVersion(5);
+
+        repository.restore(List.of(offer));
+        reopen();
+
+        assertEquals(5, repository.findById(7L).orElseThrow().getVersion());
+        assertEquals(8L, repository.save(new Offer(null, "Jardinage", 30.0)).getId());
+        assertThrows(IllegalArgumentException.class, () -> repository.restore(List.of(new Offer(null, "Peinture", 80.0))));
+    }
+
+    // ===== SNAPSHOT TESTS =====
+
+    @Test
+    @DisplayName("Should restart from a snapshot plus the log tail")
+    void testSnapshot_ThenTail() throws IOException {
+        for (int i = 0; i < 5; i++) {
+            repository.save(new Offer(null, "Offer " + i, 10.0 + i));
+        }
+        repository.snapshot();
+        repository.save(new Offer(null, "After", 99.0));
+        repository.deleteById(2L);
+
+        assertEquals(1, logs().size());
+        assertTrue(Files.exists(directory.resolve(FileOfferRepository.SNAPSHOT_FILE)));
+
+        reopen();
+
+        assertEquals(5, repository.findAll().size());
+        assertFalse(repository.existsById(2L));
+        assertEquals(99.0, repository.findById(6L).orElseThrow().getPrice());
+        assertEquals(7, repository.getLastSequence());
+    }
+
+    @Test
+    @DisplayName("Should not reuse the id of a deleted offer after a restart")
+    void testSnapshot_KeepsIdSequence() {
+        repository.save(new Offer(null, "Nettoyage", 50.0));
+        repository.save(new Offer(null, "Jardinage", 30.0));
+        repository.deleteById(2L);
+        repository.snapshot();
+
+        Offer saved = reopen().save(new Offer(null, "Peinture", 80.0));
+
+        assertEquals(3L, saved.getId());
+    }
+
+    @Test
+    @DisplayName("Should snapshot in the background once the threshold is reached")
+    void testSnapshot_OnThreshold() throws InterruptedException {
+        repository.close();
+        repository = new FileOfferRepository(directory, 4096, 5);
+
+        for (int i = 0; i < 12; i++) {
+            repository.save(new Offer(null, "Offer " + i, 10.0 + i));
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!Files.exists(directory.resolve(FileOfferRepository.SNAPSHOT_FILE)) && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertTrue(Files.exists(directory.resolve(FileOfferRepository.SNAPSHOT_FILE)));
+        assertNull(repository.getLastSnapshotFailure());
+        assertEquals(12, reopen().findAll().size());
+    }
+
+    // ===== CRASH TESTS =====
+
+    @Test
+    @DisplayName("Should drop a torn record at the end of the log and keep writing")
+    void testRecover_TornTail() throws IOException {
+        repository.save(new Offer(null, "Nettoyage", 50.0));
+        repository.save(new Offer(null, "Jardinage", 30.0));
+        repository.close();
+        corruptLastByte(logs().get(0));
+
+        repository = open();
+        assertEquals(1, repository.findAll().size());
+        assertEquals(1, repository.getLastSequence());
+
+        repository.save(new Offer(null, "Peinture", 80.0));
+        reopen();
+
+        assertEquals(2, repository.findAll().size());
+        assertEquals("Peinture", repository.findById(2L).orElseThrow().getTitle());
+    }
+
+    @Test
+    @DisplayName("Should reject a corrupt snapshot")
+    void testRecover_CorruptSnapshot() throws IOException {
+        repository.save(new Offer(null, "Nettoyage", 50.0));
+        repository.snapshot();
+        repository.close();
+        Path snapshot = directory.resolve(FileOfferRepository.SNAPSHOT_FILE);
+        byte[] bytes = Files.readAllBytes(snapshot);
+        bytes[40] ^= 0x7F;
+        Files.write(snapshot, bytes);
+
+        assertThrows(IllegalStateException.class, this::open);
+        repository = new FileOfferRepository(directory.resolve("fresh"), 4096, 1000);
+    }
+
+    @Test
+    @DisplayName("Should reject writes once closed")
+    void testClose_RejectsWrites() {
+        repository.close();
+
+        assertThrows(IllegalStateException.class, () -> repository.save(new Offer(null, "Nettoyage", 50.0)));
+    }
+
+    private FileOfferRepository open() {
+        return new FileOfferRepository(directory, 1024, 1000);
+    }
+
+    private FileOfferRepository reopen() {
+        repository.close();
+        repository = open();
+        return repository;
+    }
+
+    private List<Path> logs() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().endsWith(FileOfferRepository.LOG_SUFFIX))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private static void corruptLastByte(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer bytes = ByteBuffer.allocate((int) channel.size());
+            channel.read(bytes, 0);
+            int last = bytes.capacity() - 1;
+            while (bytes.get(last) == 0) {
+                last--;
+            }
+            channel.write(ByteBuffer.wrap(new byte[] {(byte) (bytes.get(last) ^ 0x5A)}), last);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.prestify.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit Tests for InMemoryCategorieRepository
+ */
+@DisplayName("InMemoryCategorieRepository Unit Tests")
+class InMemoryCategorieRepositoryTest {
+
+    private InMemoryCategorieRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryCategorieRepository();
+        repository.save(new Categorie(null, "Plomberie", "Services de plomberie"));
+        repository.save(new Categorie(null, "Électricité", "Services d'électricité"));
+        repository.save(new Categorie(null, "Jardinage"));
+    }
+
+    @Test
+    @DisplayName("Should assign sequential ids")
+    void testSave_AssignsIds() {
+        assertTrue(repository.existsById(1L));
+        assertTrue(repository.existsById(3L));
+        assertEquals("Jardinage", repository.findById(3L).orElseThrow().getNom());
+    }
+
+    @Test
+    @DisplayName("Should track noms across updates and deletes")
+    void testExistsByNom() {
+        Categorie categorie = repository.findById(1L).orElseThrow();
+        categorie.setNom("Plomberie Pro");
+        repository.save(categorie);
+        repository.deleteById(3L);
+
+        assertFalse(repository.existsByNom("Plomberie"));
+        assertTrue(repository.existsByNom("Plomberie Pro"));
+        assertFalse(repository.existsByNom("Jardinage"));
+        assertFalse(repository.existsByNom(null));
+    }
+
+    @Test
+    @DisplayName("Should read pages in id order")
+    void testFindAllAfter() {
+        List<Categorie> first = repository.findAllAfter(null, 2);
+        List<Categorie> second = repository.findAllAfter(first.get(1).getId(), 2);
+
+        assertEquals(2, first.size());
+        assertEquals(1, second.size());
+        assertEquals("Jardinage", second.get(0).getNom());
+    }
+
+    @Test
+    @DisplayName("Should patch fields and keep nom lookups in sync")
+    void testPatch() {
+        Categorie patched = repository.patch(1L, new CategoriePatch().nom("Sanitaire")).orElseThrow();
+
+        assertEquals("Sanitaire", patched.getNom());
+        assertEquals("Services de plomberie", patched.getDescription());
+        assertFalse(repository.existsByNom("Plomberie"));
+        assertTrue(repository.existsByNom("Sanitaire"));
+        assertTrue(repository.patch(99L, new CategoriePatch().nom("X")).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should page through CategorieServiceImpl")
+    void testWithCategorieService() {
+        CategorieServiceImpl service = new CategorieServiceImpl(repository);
+
+        Page<Categorie> first = service.getCategoriesPage(null, 2);
+        Page<Categorie> second = service.getCategoriesPage(first.getNextCursor(), 2);
+
+        assertTrue(first.hasNext());
+        assertFalse(second.hasNext());
+        assertEquals(3, first.getItems().size() + second.getItems().size());
+        assertEquals(3, service.findAll().size());
+    }
+}
@@ -0,0 +1,607 @@
+package com.prestify.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit Tests for InMemoryOfferRepository
+ */
+@DisplayName("InMemoryOfferRepository Unit Tests")
+class InMemoryOfferRepositoryTest {
+
+    private InMemoryOfferRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryOfferRepository();
+        repository.save(new Offer(1L, "Réparation Plomberie", "Réparation urgente", 100.0, "Paris"));
+        repository.save(new Offer(2L, "Installation Électrique", "Installation complète", 150.0, "Lyon"));
+        repository.save(new Offer(3L, "Nettoyage", "Nettoyage maison", 50.0, "Paris"));
+    }
+
+    // ===== SAVE TESTS =====
+    @Test
+    @DisplayName("Should never assign reserved ids to other offers")
+    void testReserveIds() {
+        repository.save(new Offer(null, "Peinture", 80.0));
+
+        assertEquals(5L, repository.reserveIds(3).getAsLong());
+        assertEquals(8L, repository.save(new Offer(null, "Jardinage", 40.0)).getId());
+        assertEquals(6L, repository.save(new Offer(6L, "Vitrerie", 60.0)).getId());
+        assertThrows(IllegalArgumentException.class, () -> repository.reserveIds(0));
+    }
+
+    @Test
+    @DisplayName("Should assign an id when saving a new offer")
+    void testSave_AssignsId() {
+        Offer saved = repository.save(new Offer(null, "Jardinage", 80.0));
+
+        assertEquals(4L, saved.getId());
+        assertTrue(repository.existsById(4L));
+        assertEquals(4, repository.size());
+    }
+
+    @Test
+    @DisplayName("Should throw exception when saving null offer")
+    void testSave_NullOffer() {
+        assertThrows(IllegalArgumentException.class, () -> {
+            repository.save(null);
+        });
+    }
+
+    @Test
+    @DisplayName("Should not be affected by mutations of the saved instance")
+    void testSave_DefensiveCopy() {
+        Offer offer = repository.findById(1L).orElseThrow();
+        offer.setLocation("Lyon");
+
+        assertEquals(2, repository.findByLocation("Paris").size());
+        assertEquals(1, repository.findByLocation("Lyon").size());
+    }
+
+    @Test
+    @DisplayName("Should save a batch and index every offer")
+    void testSaveAll() {
+        List<Offer> saved = repository.saveAll(List.of(
+                new Offer(null, "Jardinage", "", 80.0, "Nice"),
+                new Offer(null, "Peinture", "", 90.0, "Nice")));
+
+        assertEquals(List.of(4L, 5L), ids(saved));
+        assertEquals(2, repository.findByLocation("Nice").size());
+        assertEquals(5, repository.size());
+    }
+
+    @Test
+    @DisplayName("Should index a batch by the last price it gives each offer")
+    void testSaveAll_PriceIndex() {
+        repository.saveAll(List.of(
+                new Offer(1L, "Réparation Plomberie", "", 120.0, "Paris"),
+                new Offer(null, "Jardinage", "", 80.0, "Nice"),
+                new Offer(1L, "Réparation Plomberie", "", 60.0, "Paris"),
+                new Offer(3L, "Nettoyage", "", null, "Paris"),
+                new Offer(6L, "Peinture", "", 150.0, "Nice")));
+
+        assertEquals(List.of(1L, 4L), ids(repository.findByPriceBetween(0.0, 100.0)));
+        assertEquals(List.of(2L, 6L), ids(repository.findByPriceBetween(150.0, 150.0)));
+        assertEquals(4, repository.findByPriceBetween(0.0, 1000.0).size());
+        assertEquals(3, repository.findById(1L).orElseThrow().getVersion());
+    }
+
+    @Test
+    @DisplayName("Should store one canonical instance per location and status")
+    void testSave_CanonicalValues() {
+        Offer first = new Offer(null, "Jardinage", "", 80.0, new String("Nice"));
+        first.setStatus(new String("ACTIVE"));
+        Offer second = new Offer(null, "Peinture", "", 90.0, new String("Nice"));
+        second.setStatus(new String("ACTIVE"));
+
+        Offer savedFirst = repository.save(first);
+        Offer savedSecond = repository.save(second);
+
+        assertSame(savedFirst.getLocation(), savedSecond.getLocation());
+        assertSame(savedFirst.getStatus(), savedSecond.getStatus());
+        assertEquals(2, repository.findByLocation("Nice").size());
+        assertTrue(repository.findByLocation("Toulouse").isEmpty());
+    }
+
+    // ===== VERSION TESTS =====
+    @Test
+    @DisplayName("Should bump the version on every write")
+    void testSave_BumpsVersion() {
+        Offer offer = repository.findById(1L).orElseThrow();
+        assertEquals(1L, offer.getVersion());
+
+        offer.setVersion(42L);
+        assertEquals(2L, repository.save(offer).getVersion());
+        assertEquals(2L, repository.findById(1L).orElseThrow().getVersion());
+    }
+
+    @Test
+    @DisplayName("Should save only when the expected version matches")
+    void testSaveIfVersion() {
+        Offer offer = repository.findById(1L).orElseThrow();
+        offer.setPrice(120.0);
+
+        Offer saved = repository.saveIfVersion(offer, 1L).orElseThrow();
+        assertEquals(2L, saved.getVersion());
+
+        offer.setPrice(130.0);
+        assertTrue(repository.saveIfVersion(offer, 1L).isEmpty());
+        assertEquals(120.0, repository.findById(1L).orElseThrow().getPrice());
+        assertTrue(repository.saveIfVersion(new Offer(99L, "Absent", 1.0), 1L).isEmpty());
+        assertEquals(1, repository.findByPriceBetween(120.0, 120.0).size());
+    }
+
+    @Test
+    @DisplayName("Should reject conditional save without id")
+    void testSaveIfVersion_NullId() {
+        assertThrows(IllegalArgumentException.class, () -> repository.saveIfVersion(new Offer(), 1L));
+    }
+
+    @Test
+    @DisplayName("Should not lose updates from concurrent writers")
+    void testModifyOffer_Concurrent() throws InterruptedException {
+        OfferServiceImpl service = new OfferServiceImpl(repository);
+        service.setMaxUpdateAttempts(10_000);
+        Thread[] writers = new Thread[4];
+        for (int t = 0; t < writers.length; t++) {
+            writers[t] = new Thread(() -> {
+                for (int i = 0; i < 250; i++) {
+                    service.modifyOffer(3L, offer -> offer.setPrice(offer.getPrice() + 1));
+                }
+            });
+            writers[t].start();
+        }
+        for (Thread writer : writers) {
+            writer.join();
+        }
+
+        Offer offer = repository.findById(3L).orElseThrow();
+        assertEquals(1050.0, offer.getPrice());
+        assertEquals(1001L, offer.getVersion());
+    }
+
+    // ===== PATCH TESTS =====
+    @Test
+    @DisplayName("Should patch price and re-index only the price")
+    void testPatch_Price() {
+        Offer patched = repository.patch(1L, new OfferPatch().price(300.0)).orElseThrow();
+
+        assertEquals(300.0, patched.getPrice());
+        assertEquals("Réparation urgente", patched.getDescription());
+        assertEquals(2L, patched.getVersion());
+        assertEquals(1, repository.findByPriceBetween(250.0, 350.0).size());
+        assertTrue(repository.findByPriceBetween(90.0, 110.0).isEmpty());
+        assertEquals(2, repository.findByLocation("Paris").size());
+        assertEquals(350.0, repository.priceStatistics("Paris").getSum());
+    }
+
+    @Test
+    @DisplayName("Should patch indexed text and status fields")
+    void testPatch_TitleLocationStatus() {
+        repository.patch(3L, new OfferPatch().title("Ménage").location("Lyon").status("CLOSED"));
+
+        assertTrue(repository.findByTitle("Nettoyage").isEmpty());
+        assertEquals(List.of(3L), ids(repository.searchByTitle("menage")));
+        assertEquals(List.of(2L, 3L), ids(repository.findByLocation("Lyon")));
+        assertEquals(List.of(3L), ids(repository.findByStatus("CLOSED")));
+        assertEquals(200.0, repository.priceStatistics("Lyon").getSum());
+    }
+
+    @Test
+    @DisplayName("Should not bump the version when the patch changes nothing")
+    void testPatch_NoChange() {
+        Offer result = repository.patch(2L, new OfferPatch().price(150.0).location("Lyon")).orElseThrow();
+
+        assertEquals(1L, result.getVersion());
+        assertTrue(repository.patch(99L, new OfferPatch().price(1.0)).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> repository.patch(1L, null));
+    }
+
+    // ===== INDEX TESTS =====
+    @Test
+    @DisplayName("Should find offers by title")
+    void testFindByTitle() {
+        List<Offer> result = repository.findByTitle("Nettoyage");
+
+        assertEquals(1, result.size());
+        assertEquals(3L, result.get(0).getId());
+    }
+
+    @Test
+    @DisplayName("Should find offers by location in id order")
+    void testFindByLocation() {
+        List<Offer> result = repository.findByLocation("Paris");
+
+        assertEquals(2, result.size());
+        assertEquals(1L, result.get(0).getId());
+        assertEquals(3L, result.get(1).getId());
+    }
+
+    @Test
+    @DisplayName("Should find offers by inclusive price range")
+    void testFindByPriceBetween() {
+        List<Offer> result = repository.findByPriceBetween(50.0, 100.0);
+
+        assertEquals(2, result.size());
+        assertEquals(List.of(3L, 1L), List.of(result.get(0).getId(), result.get(1).getId()));
+    }
+
+    @Test
+    @DisplayName("Should return empty list for invalid price range")
+    void testFindByPriceBetween_InvalidRange() {
+        assertTrue(repository.findByPriceBetween(200.0, 50.0).isEmpty());
+        assertTrue(repository.findByPriceBetween(null, 50.0).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should search titles by case- and accent-insensitive fragment")
+    void testSearchByTitle() {
+        List<Offer> result = repository.searchByTitle("electrique");
+
+        assertEquals(1, result.size());
+        assertEquals(2L, result.get(0).getId());
+        assertEquals(2, repository.searchByTitle("ATION").size());
+    }
+
+    @Test
+    @DisplayName("Should re-index offer when it is updated")
+    void testSave_Reindex() {
+        Offer offer = repository.findById(1L).orElseThrow();
+        offer.setTitle("Plomberie Pro");
+        offer.setLocation("Marseille");
+        offer.setPrice(300.0);
+        repository.save(offer);
+
+        assertTrue(repository.findByTitle("Réparation Plomberie").isEmpty());
+        assertEquals(1, repository.findByTitle("Plomberie Pro").size());
+        assertTrue(repository.searchByTitle("reparation").isEmpty());
+        assertEquals(1, repository.searchByTitle("pro").size());
+        assertEquals(1, repository.findByLocation("Paris").size());
+        assertEquals(1, repository.findByLocation("Marseille").size());
+        assertEquals(1, repository.findByPriceBetween(250.0, 350.0).size());
+        assertTrue(repository.findByPriceBetween(90.0, 110.0).isEmpty());
+    }
+
+    // ===== STATUS TESTS =====
+    private void setStatuses(String... statuses) {
+        for (int i = 0; i < statuses.length; i++) {
+            Offer offer = repository.findById(i + 1L).orElseThrow();
+            offer.setStatus(statuses[i]);
+            repository.save(offer);
+        }
+    }
+
+    @Test
+    @DisplayName("Should find offers by status")
+    void testFindByStatus() {
+        setStatuses("ACTIVE", "CLOSED", "ACTIVE");
+
+        assertEquals(List.of(1L, 3L), ids(repository.findByStatus("ACTIVE")));
+        assertEquals(List.of(2L), ids(repository.findByStatus("CLOSED")));
+        assertTrue(repository.findByStatus("DRAFT").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should combine status, location and price filters")
+    void testFindByStatusIn() {
+        setStatuses("ACTIVE", "ACTIVE", "PENDING");
+
+        assertEquals(List.of(1L, 3L),
+                ids(repository.findByStatusIn(List.of("ACTIVE", "PENDING"), "Paris", null, null)));
+        assertEquals(List.of(3L),
+                ids(repository.findByStatusIn(List.of("PENDING", "DRAFT"), null, null, null)));
+        assertEquals(List.of(1L, 2L),
+                ids(repository.findByStatusIn(List.of("ACTIVE"), null, 90.0, null)));
+        assertEquals(List.of(3L),
+                ids(repository.findByStatusIn(null, "Paris", null, 60.0)));
+        assertEquals(List.of(1L, 2L, 3L), ids(repository.findByStatusIn(null, null, null, null)));
+        assertTrue(repository.findByStatusIn(List.of("ACTIVE"), "Nice", null, null).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should agree with a scan whether price or the bitmaps are more selective")
+    void testFindByStatusIn_PriceProbeAndSlice() {
+        setStatuses("ACTIVE", "ACTIVE", "PENDING");
+        IOfferRepository scan = new IOfferRepository() {
+            @Override public Offer save(Offer offer) { return offer; }
+            @Override public Optional<Offer> findById(Long id) { return repository.findById(id); }
+            @Override public List<Offer> findAll() { return repository.findAll(); }
+            @Override public void deleteById(Long id) { }
+            @Override public boolean existsById(Long id) { return repository.existsById(id); }
+            @Override public List<Offer> findByTitle(String title) { return List.of(); }
+            @Override public List<Offer> findByLocation(String location) { return List.of(); }
+            @Override public List<Offer> findByPriceBetween(Double min, Double max) { return List.of(); }
+        };
+        for (int i = 4; i <= 200; i++) {
+            Offer offer = new Offer(null, "Offre " + i, "", i % 5 == 0 ? null : (double) i, i % 2 == 0 ? "Paris" : "Lyon");
+            offer.setStatus(i % 10 == 0 ? "PENDING" : "ACTIVE");
+            repository.save(offer);
+        }
+
+        for (Double[] range : new Double[][] {{0.0, 1000.0}, {null, 150.0}, {20.0, 22.0}, {199.0, null}}) {
+            assertEquals(ids(scan.findByStatusIn(List.of("PENDING"), "Paris", range[0], range[1])),
+                    ids(repository.findByStatusIn(List.of("PENDING"), "Paris", range[0], range[1])));
+            assertEquals(ids(scan.findByStatusIn(List.of("ACTIVE"), null, range[0], range[1])),
+                    ids(repository.findByStatusIn(List.of("ACTIVE"), null, range[0], range[1])));
+            assertEquals(ids(scan.findByStatusIn(null, null, range[0], range[1])),
+                    ids(repository.findByStatusIn(null, null, range[0], range[1])));
+        }
+    }
+
+    @Test
+    @DisplayName("Should drop status index entries on delete")
+    void testFindByStatus_AfterDelete() {
+        setStatuses("ACTIVE", "ACTIVE", "ACTIVE");
+        repository.deleteById(1L);
+
+        assertEquals(List.of(2L, 3L), ids(repository.findByStatus("ACTIVE")));
+    }
+
+    @Test
+    @DisplayName("Should page offers of a location after a given id")
+    void testFindByLocationAfter() {
+        assertEquals(List.of(1L), ids(repository.findByLocationAfter("Paris", null, 1)));
+        assertEquals(List.of(3L), ids(repository.findByLocationAfter("Paris", 1L, 5)));
+        assertTrue(repository.findByLocationAfter("Paris", Long.MAX_VALUE, 5).isEmpty());
+    }
+
+    // ===== QUERY PLANNER TESTS =====
+    @Test
+    @DisplayName("Should combine every criterion of a query")
+    void testFindByQuery() {
+        setStatuses("ACTIVE", "ACTIVE", "CLOSED");
+        OfferQuery query = OfferQuery.builder()
+                .location("Paris").status("ACTIVE").maxPrice(120.0).titleContains("plomb").build();
+
+        assertEquals(List.of(1L), ids(repository.findByQuery(query)));
+        assertTrue(repository.findByQuery(OfferQuery.builder().location("Nice").build()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should drive the query from the most selective index")
+    void testExplain() {
+        for (int i = 0; i < 20; i++) {
+            repository.save(new Offer(null, "Ménage " + i, "", 10.0 + i, "Lyon"));
+        }
+
+        assertEquals(InMemoryOfferRepository.Access.SCAN,
+                repository.explain(OfferQuery.builder().build()));
+        assertEquals(InMemoryOfferRepository.Access.LOCATION,
+                repository.explain(OfferQuery.builder().location("Paris").minPrice(0.0).build()));
+        assertEquals(InMemoryOfferRepository.Access.PRICE,
+                repository.explain(OfferQuery.builder().location("Lyon").priceBetween(12.0, 13.0).build()));
+        assertEquals(InMemoryOfferRepository.Access.TITLE,
+                repository.explain(OfferQuery.builder().location("Lyon").titleContains("electrique").build()));
+    }
+
+    @Test
+    @DisplayName("Should sort and limit query results whichever index drives it")
+    void testFindByQuery_SortAndLimit() {
+        for (int i = 0; i < 20; i++) {
+            repository.save(new Offer(null, "Ménage " + i, "", 10.0 + (i % 5), "Lyon"));
+        }
+        IOfferRepository scanning = new IOfferRepository() {
+            @Override public Offer save(Offer offer) { return offer; }
+            @Override public Optional<Offer> findById(Long id) { return repository.findById(id); }
+            @Override public List<Offer> findAll() { return repository.findAll(); }
+            @Override public void deleteById(Long id) { }
+            @Override public boolean existsById(Long id) { return repository.existsById(id); }
+            @Override public List<Offer> findByTitle(String title) { return List.of(); }
+            @Override public List<Offer> findByLocation(String location) { return List.of(); }
+            @Override public List<Offer> findByPriceBetween(Double min, Double max) { return List.of(); }
+        };
+
+        for (OfferQuery.Sort sort : OfferQuery.Sort.values()) {
+            for (OfferQuery query : List.of(
+                    OfferQuery.builder().sort(sort).limit(4).build(),
+                    OfferQuery.builder().location("Lyon").sort(sort).limit(3).build(),
+                    OfferQuery.builder().priceBetween(11.0, 12.0).sort(sort).limit(5).build(),
+                    OfferQuery.builder().titleContains("menage 1").sort(sort).limit(2).build())) {
+                assertEquals(ids(scanning.findByQuery(query)), ids(repository.findByQuery(query)), query.toString());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should walk the price index for a small cheapest-first query")
+    void testFindByQuery_TopKByPrice() {
+        for (int i = 0; i < 50; i++) {
+            repository.save(new Offer(null, "Ménage " + i, "", 200.0 - i, i % 2 == 0 ? "Lyon" : "Nice"));
+        }
+        OfferQuery cheapest = OfferQuery.builder().location("Lyon").sort(OfferQuery.Sort.PRICE_ASC).limit(3).build();
+
+        assertEquals(InMemoryOfferRepository.Access.PRICE, repository.explain(cheapest));
+        assertEquals(List.of(2L, 52L, 50L), ids(repository.findByQuery(cheapest)));
+        assertEquals(List.of(4L, 6L), ids(repository.findByQuery(
+                OfferQuery.builder().location("Lyon").sort(OfferQuery.Sort.PRICE_DESC).limit(2).build())));
+    }
+
+    @Test
+    @DisplayName("Should keep offers without price last in price-sorted queries")
+    void testFindByQuery_NullPriceLast() {
+        repository.save(new Offer(null, "Devis", null));
+        OfferQuery query = OfferQuery.builder().sort(OfferQuery.Sort.PRICE_ASC).limit(4).build();
+
+        assertEquals(InMemoryOfferRepository.Access.SCAN, repository.explain(query));
+        assertEquals(List.of(3L, 1L, 2L, 4L), ids(repository.findByQuery(query)));
+    }
+
+    // ===== PRICE STATISTICS TESTS =====
+    @Test
+    @DisplayName("Should aggregate prices per location and for the catalog")
+    void testPriceStatistics() {
+        PriceStats paris = repository.priceStatistics("Paris");
+        PriceStats catalog = repository.priceStatistics(null);
+
+        assertEquals(2, paris.getCount());
+        assertEquals(75.0, paris.getAverage());
+        assertEquals(50.0, paris.getMin());
+        assertEquals(100.0, paris.getMax());
+        assertEquals(3, catalog.getCount());
+        assertEquals(150.0, catalog.getMax());
+        assertEquals(0, repository.priceStatistics("Nice").getCount());
+    }
+
+    @Test
+    @DisplayName("Should keep aggregates exact across updates and deletes")
+    void testPriceStatistics_Incremental() {
+        Offer offer = repository.findById(1L).orElseThrow();
+        offer.setLocation("Lyon");
+        offer.setPrice(300.0);
+        repository.save(offer);
+        repository.deleteById(3L);
+
+        assertEquals(0, repository.priceStatistics("Paris").getCount());
+        PriceStats lyon = repository.priceStatistics("Lyon");
+        assertEquals(2, lyon.getCount());
+        assertEquals(150.0, lyon.getMin());
+        assertEquals(300.0, lyon.getMax());
+        assertEquals(225.0, lyon.getAverage());
+        assertEquals(List.of("Lyon"), List.copyOf(repository.priceStatisticsByLocation().keySet()));
+    }
+
+    @Test
+    @DisplayName("Should match the scanning fallback")
+    void testPriceStatistics_MatchesScan() {
+        IOfferRepository scanning = new IOfferRepository() {
+            @Override public Offer save(Offer offer) { return offer; }
+            @Override public Optional<Offer> findById(Long id) { return repository.findById(id); }
+            @Override public List<Offer> findAll() { return repository.findAll(); }
+            @Override public void deleteById(Long id) { }
+            @Override public boolean existsById(Long id) { return repository.existsById(id); }
+            @Override public List<Offer> findByTitle(String title) { return List.of(); }
+            @Override public List<Offer> findByLocation(String location) { return repository.findByLocation(location); }
+            @Override public List<Offer> findByPriceBetween(Double min, Double max) { return List.of(); }
+        };
+        repository.save(new Offer(null, "Devis", null));
+
+        assertEquals(scanning.priceStatisticsByLocation().keySet(), repository.priceStatisticsByLocation().keySet());
+        assertEquals(scanning.priceStatistics(null).getSum(), repository.priceStatistics(null).getSum());
+        assertEquals(scanning.priceStatistics("Paris").getHistogram(), repository.priceStatistics("Paris").getHistogram());
+    }
+
+    // ===== PARALLEL SCAN TESTS =====
+    @Test
+    @DisplayName("Should evaluate unindexed predicates in id order")
+    void testFindMatching() {
+        try (ParallelScanner scanner = new ParallelScanner(4, 16)) {
+            repository.setParallelScanner(scanner);
+            for (int i = 0; i < 500; i++) {
+                repository.save(new Offer(null, "Offre " + i, i % 3 == 0 ? "urgent" : "", 10.0, "Nice"));
+            }
+
+            List<Offer> result = repository.findMatching(offer -> "urgent".equals(offer.getDescription()));
+
+            assertEquals(167, result.size());
+            assertEquals(ids(result).stream().sorted().collect(Collectors.toList()), ids(result));
+            assertTrue(repository.findMatching(null).isEmpty());
+        }
+    }
+
+    @Test
+    @DisplayName("Should return copies from parallel scan")
+    void testFindMatching_DefensiveCopy() {
+        repository.findMatching(offer -> true).forEach(offer -> offer.setLocation("Lyon"));
+
+        assertEquals(2, repository.findByLocation("Paris").size());
+    }
+
+    @Test
+    @DisplayName("Should test stored offers and copy only the matches")
+    void testFindMatching_CopiesOnlyMatches() {
+        Set<Offer> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        repository.findMatching(offer -> {
+            seen.add(offer);
+            return false;
+        });
+        List<Offer> matches = repository.findMatching(offer -> !seen.add(offer) && offer.getId() == 1L);
+
+        assertEquals(3, seen.size());
+        assertEquals(List.of(1L), ids(matches));
+        assertFalse(seen.contains(matches.get(0)));
+    }
+
+    @Test
+    @DisplayName("Should not block writers while the predicate runs")
+    void testFindMatching_DoesNotBlockWriters() throws Exception {
+        CountDownLatch scanning = new CountDownLatch(1);
+        CountDownLatch written = new CountDownLatch(1);
+        Thread scan = new Thread(() -> repository.findMatching(offer -> {
+            scanning.countDown();
+            try {
+                written.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return true;
+        }));
+        scan.start();
+        assertTrue(scanning.await(5, TimeUnit.SECONDS));
+
+        repository.save(new Offer(null, "Nettoyage", 40.0));
+        written.countDown();
+        scan.join(TimeUnit.SECONDS.toMillis(5));
+
+        assertFalse(scan.isAlive());
+    }
+
+    // ===== PAGINATION TESTS =====
+    @Test
+    @DisplayName("Should read pages in id order after a given id")
+    void testFindAllAfter() {
+        assertEquals(List.of(1L, 2L), ids(repository.findAllAfter(null, 2)));
+        assertEquals(List.of(3L), ids(repository.findAllAfter(2L, 2)));
+        assertTrue(repository.findAllAfter(3L, 2).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should keep page boundaries stable under concurrent inserts")
+    void testFindAllAfter_StableUnderInserts() {
+        List<Offer> first = repository.findAllAfter(null, 2);
+        repository.save(new Offer(null, "Jardinage", 80.0));
+
+        assertEquals(List.of(3L, 4L), ids(repository.findAllAfter(first.get(1).getId(), 2)));
+    }
+
+    // ===== DELETE TESTS =====
+    @Test
+    @DisplayName("Should remove offer and its index entries")
+    void testDeleteById() {
+        repository.deleteById(1L);
+
+        assertFalse(repository.existsById(1L));
+        assertEquals(Optional.empty(), repository.findById(1L));
+        assertEquals(1, repository.findByLocation("Paris").size());
+        assertTrue(repository.findByTitle("Réparation Plomberie").isEmpty());
+        assertTrue(repository.findByPriceBetween(100.0, 100.0).isEmpty());
+    }
+
+    private static List<Long> ids(List<Offer> offers) {
+        return offers.stream().map(Offer::getId).collect(Collectors.toList());
+    }
+
+    @Test
+    @DisplayName("Should work behind OfferServiceImpl")
+    void testWithOfferService() {
+        OfferServiceImpl service = new OfferServiceImpl(repository);
+
+        service.updateOffer(2L, new Offer(2L, "Installation Électrique", "Tableau", 175.0, "Lyon"));
+
+        assertEquals(175.0, service.getOfferById(2L).getPrice());
+        assertEquals(1, service.getOffersByPriceRange(160.0, 180.0).size());
+        assertEquals(3, service.getAllOffers().size());
+    }
+}
@@ -0,0 +1,107 @@
+package com.prestify.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit Tests for LongBitmap
+ */
+@DisplayName("LongBitmap Unit Tests")
+class LongBitmapTest {
+
+    @Test
+    @DisplayName("Should add, remove and test membership")
+    void testAddAndRemove() {
+        LongBitmap bitmap = new LongBitmap();
+        bitmap.add(5L);
+        bitmap.add(5L);
+        bitmap.add(70_000L);
+
+        assertTrue(bitmap.contains(5L));
+        assertTrue(bitmap.contains(70_000L));
+        assertFalse(bitmap.contains(6L));
+        assertEquals(2, bitmap.cardinality());
+
+        assertTrue(bitmap.remove(5L));
+        assertFalse(bitmap.remove(5L));
+        assertEquals(1, bitmap.cardinality());
+    }
+
+    @Test
+    @DisplayName("Should iterate ids in ascending order across containers")
+    void testToArray_Ordered() {
+        LongBitmap bitmap = LongBitmap.of(200_000L, 3L, 65_536L, 1L, 0L);
+
+        assertArrayEquals(new long[] {0L, 1L, 3L, 65_536L, 200_000L}, bitmap.toArray());
+    }
+
+    @Test
+    @DisplayName("Should switch to a dense container and back")
+    void testDenseContainer() {
+        LongBitmap bitmap = new LongBitmap();
+        for (long id = 0; id < 10_000; id += 2) {
+            bitmap.add(id);
+        }
+        assertEquals(5_000, bitmap.cardinality());
+        assertTrue(bitmap.contains(9_998L));
+        assertFalse(bitmap.contains(9_999L));
+
+        for (long id = 0; id < 9_000; id += 2) {
+            bitmap.remove(id);
+        }
+        assertEquals(500, bitmap.cardinality());
+        assertEquals(9_000L, bitmap.toArray()[0]);
+    }
+
+    @Test
+    @DisplayName("Should intersect and union bitmaps")
+    void testAndOr() {
+        LongBitmap left = LongBitmap.of(1L, 2L, 3L, 100_000L);
+        LongBitmap right = LongBitmap.of(2L, 3L, 4L, 200_000L);
+
+        assertArrayEquals(new long[] {2L, 3L}, left.and(right).toArray());
+        assertArrayEquals(new long[] {1L, 2L, 3L, 4L, 100_000L, 200_000L}, left.or(right).toArray());
+        assertArrayEquals(new long[] {1L, 2L, 3L, 100_000L}, left.toArray());
+    }
+
+    @Test
+    @DisplayName("Should iterate from a given id and stop early")
+    void testForEachFrom() {
+        LongBitmap bitmap = LongBitmap.of(1L, 5L, 9L, 70_000L);
+        List<Long> seen = new ArrayList<>();
+
+        bitmap.forEachFrom(5L, id -> {
+            seen.add(id);
+            return seen.size() < 2;
+        });
+
+        assertEquals(List.of(5L, 9L), seen);
+    }
+
+    @Test
+    @DisplayName("Should match a TreeSet under random operations")
+    void testRandomAgainstTreeSet() {
+        LongBitmap bitmap = new LongBitmap();
+        TreeSet<Long> expected = new TreeSet<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 20_000; i++) {
+            long id = random.nextInt(150_000);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(id), bitmap.remove(id));
+            } else {
+                expected.add(id);
+                bitmap.add(id);
+            }
+        }
+
+        assertEquals(expected.size(), bitmap.cardinality());
+        assertArrayEquals(expected.stream().mapToLong(Long::longValue).toArray(), bitmap.toArray());
+    }
+}
@@ -0,0 +1,86 @@
+package com.prestify.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit Tests for LongIntMap
+ */
+@DisplayName("LongIntMap Unit Tests")
+class LongIntMapTest {
+
+    private LongIntMap map;
+
+    @BeforeEach
+    void setUp() {
+        map = new LongIntMap();
+    }
+
+    @Test
+    @DisplayName("Should put, get and replace values")
+    void testPutAndGet() {
+        assertEquals(LongIntMap.NO_VALUE, map.put(1L, 10));
+        assertEquals(10, map.put(1L, 11));
+
+        assertEquals(11, map.get(1L));
+        assertEquals(LongIntMap.NO_VALUE, map.get(2L));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    @DisplayName("Should support zero, negative and extreme keys")
+    void testSpecialKeys() {
+        map.put(0L, 0);
+        map.put(-1L, 1);
+        map.put(Long.MIN_VALUE, 2);
+
+        assertTrue(map.containsKey(0L));
+        assertEquals(0, map.get(0L));
+        assertEquals(1, map.get(-1L));
+        assertEquals(2, map.get(Long.MIN_VALUE));
+        assertEquals(0, map.remove(0L));
+        assertFalse(map.containsKey(0L));
+        assertEquals(2, map.size());
+    }
+
+    @Test
+    @DisplayName("Should behave like HashMap under random operations")
+    void testAgainstHashMap() {
+        Map<Long, Integer> expected = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 20000; i++) {
+            long key = random.nextInt(2000) - 100;
+            if (random.nextInt(3) == 0) {
+                Integer removed = expected.remove(key);
+                assertEquals(removed != null ? removed : LongIntMap.NO_VALUE, map.remove(key));
+            } else {
+                Integer previous = expected.put(key, i);
+                assertEquals(previous != null ? previous : LongIntMap.NO_VALUE, map.put(key, i));
+            }
+        }
+
+        assertEquals(expected.size(), map.size());
+        for (Map.Entry<Long, Integer> entry : expected.entrySet()) {
+            assertEquals(entry.getValue(), map.get(entry.getKey()));
+        }
+    }
+
+    @Test
+    @DisplayName("Should clear all entries")
+    void testClear() {
+        map.put(0L, 0);
+        map.put(5L, 5);
+        map.clear();
+
+        assertTrue(map.isEmpty());
+        assertEquals(LongIntMap.NO_VALUE, map.get(5L));
+        assertFalse(map.containsKey(0L));
+    }
+}
@@ -0,0 +1,85 @@
+package com.prestify.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit Tests for LongObjectMap
+ */
+@DisplayName("LongObjectMap Unit Tests")
+class LongObjectMapTest {
+
+    private LongObjectMap<String> map;
+
+    @BeforeEach
+    void setUp() {
+        map = new LongObjectMap<>();
+    }
+
+    @Test
+    @DisplayName("Should put, get and replace values")
+    void testPutAndGet() {
+        assertNull(map.put(1L, "un"));
+        assertEquals("un", map.put(1L, "one"));
+
+        assertEquals("one", map.get(1L));
+        assertNull(map.get(2L));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    @DisplayName("Should support zero and negative keys")
+    void testSpecialKeys() {
+        map.put(0L, "zero");
+        map.put(-1L, "minus");
+
+        assertTrue(map.containsKey(0L));
+        assertEquals("zero", map.get(0L));
+        assertEquals("minus", map.get(-1L));
+        assertEquals("zero", map.remove(0L));
+        assertFalse(map.containsKey(0L));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    @DisplayName("Should behave like HashMap under random operations")
+    void testAgainstHashMap() {
+        Map<Long, String> expected = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 20000; i++) {
+            long key = random.nextInt(2000) - 100;
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                String value = "v" + i;
+                assertEquals(expected.put(key, value), map.put(key, value));
+            }
+        }
+
+        assertEquals(expected.size(), map.size());
+        for (Map.Entry<Long, String> entry : expected.entrySet()) {
+            assertEquals(entry.getValue(), map.get(entry.getKey()));
+        }
+        long[] count = new long[1];
+        map.forEachKey(key -> count[0]++);
+        assertEquals(expected.size(), count[0]);
+    }
+
+    @Test
+    @DisplayName("Should clear all entries")
+    void testClear() {
+        map.put(0L, "zero");
+        map.put(5L, "cinq");
+        map.clear();
+
+        assertTrue(map.isEmpty());
+        assertNull(map.get(5L));
+    }
+}
@@ -0,0 +1,89 @@
+package com.prestify.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit Tests for NGramIndex
+ */
+@DisplayName("NGramIndex Unit Tests")
+class NGramIndexTest {
+
+    private NGramIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new NGramIndex();
+        index.put(1L, "Réparation Plomberie");
+        index.put(2L, "Installation Électrique");
+        index.put(3L, "Nettoyage maison");
+    }
+
+    @Test
+    @DisplayName("Should normalize case and accents")
+    void testNormalize() {
+        assertEquals("electricite", NGramIndex.normalize("ÉLECTRICITÉ"));
+        assertNull(NGramIndex.normalize(null));
+    }
+
+    @Test
+    @DisplayName("Should find substring ignoring case and accents")
+    void testSearch() {
+        assertArrayEquals(new long[] {2L}, index.search("electr"));
+        assertArrayEquals(new long[] {1L}, index.search("PLOMB"));
+        assertArrayEquals(new long[] {1L, 2L}, index.search("ation"));
+    }
+
+    @Test
+    @DisplayName("Should verify candidates so gram order matters")
+    void testSearch_VerifiesCandidates() {
+        index.put(4L, "abcxbcd");
+
+        assertEquals(0, index.search("abcd").length);
+    }
+
+    @Test
+    @DisplayName("Should scan for queries shorter than a trigram")
+    void testSearch_ShortQuery() {
+        assertArrayEquals(new long[] {1L, 2L}, index.search("ti"));
+        assertArrayEquals(new long[] {3L}, index.search("ma"));
+    }
+
+    @Test
+    @DisplayName("Should return nothing for empty or unknown queries")
+    void testSearch_NoMatch() {
+        assertEquals(0, index.search("").length);
+        assertEquals(0, index.search(null).length);
+        assertEquals(0, index.search("zzz").length);
+    }
+
+    @Test
+    @DisplayName("Should update postings when text changes")
+    void testPut_Replace() {
+        index.put(3L, "Jardinage");
+
+        assertEquals(0, index.search("nettoyage").length);
+        assertArrayEquals(new long[] {3L}, index.search("jardin"));
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    @DisplayName("Should remove postings")
+    void testRemove() {
+        index.remove(1L);
+
+        assertEquals(0, index.search("plomberie").length);
+        assertArrayEquals(new long[] {2L}, index.search("ation"));
+    }
+
+    @Test
+    @DisplayName("Should estimate from the shortest posting list")
+    void testEstimate() {
+        assertEquals(1, index.estimate("plomberie"));
+        assertEquals(0, index.estimate("zzz"));
+        assertEquals(3, index.estimate("a"));
+    }
+}
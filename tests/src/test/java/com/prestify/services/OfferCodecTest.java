@@ -0,0 +1,182 @@
+package com.prestify.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit Tests for OfferCodec and CategorieCodec
+ */
+@DisplayName("OfferCodec Unit Tests")
+class OfferCodecTest {
+
+    // ===== ROUND TRIP TESTS =====
+
+    @Test
+    @DisplayName("Should round trip every offer field")
+    void testRoundTrip_AllFields() {
+        Offer offer = new Offer(42L, "Réparation Plomberie", "Réparation urgente", 149.99, "Paris");
+        offer.setStatus("PUBLISHED");
+        offer.setVersion(7);
+
+        Offer decoded = OfferCodec.fromBytes(OfferCodec.toBytes(offer));
+
+        assertEquals(42L, decoded.getId());
+        assertEquals("Réparation Plomberie", decoded.getTitle());
+        assertEquals("Réparation urgente", decoded.getDescription());
+        assertEquals(149.99, decoded.getPrice());
+        assertEquals("Paris", decoded.getLocation());
+        assertEquals("PUBLISHED", decoded.getStatus());
+        assertEquals(7, decoded.getVersion());
+    }
+
+    @Test
+    @DisplayName("Should round trip absent fields as null")
+    void testRoundTrip_NullFields() {
+        Offer decoded = OfferCodec.fromBytes(OfferCodec.toBytes(new Offer()));
+
+        assertNull(decoded.getId());
+        assertNull(decoded.getTitle());
+        assertNull(decoded.getPrice());
+        assertNull(decoded.getDescription());
+        assertEquals(3, OfferCodec.encodedSize(new Offer()));
+    }
+
+    @Test
+    @DisplayName("Should decode every price exactly, cents or not")
+    void testRoundTrip_Prices() {
+        double[] prices = {0.0, -0.0, 0.1 + 0.2, 19.99, -5.25, 1e300, Double.NaN, Double.POSITIVE_INFINITY, 1e12 + 0.01};
+        for (double price : prices) {
+            Offer decoded = OfferCodec.fromBytes(OfferCodec.toBytes(new Offer(1L, null, price)));
+            assertEquals(Double.doubleToLongBits(price), Double.doubleToLongBits(decoded.getPrice()), "price " + price);
+        }
+    }
+
+    @Test
+    @DisplayName("Should store whole cents more compactly than a double")
+    void testEncode_CentsAreCompact() {
+        int cents = OfferCodec.encodedSize(new Offer(1L, null, 19.99));
+        int raw = OfferCodec.encodedSize(new Offer(1L, null, 0.1 + 0.2));
+
+        assertTrue(cents < raw);
+        assertEquals(OfferCodec.toBytes(new Offer(1L, "Nettoyage", 50.0)).length,
+                OfferCodec.encodedSize(new Offer(1L, "Nettoyage", 50.0)));
+    }
+
+    @Test
+    @DisplayName("Should round trip characters outside ASCII")
+    void testRoundTrip_Unicode() {
+        String title = "Café 日本 🔧 fin";
+        Offer decoded = OfferCodec.fromBytes(OfferCodec.toBytes(new Offer(1L, title, 10.0)));
+
+        assertEquals(title, decoded.getTitle());
+        assertEquals("a?b", OfferCodec.fromBytes(OfferCodec.toBytes(new Offer(1L, "a\uD800b", 10.0))).getTitle());
+    }
+
+    // ===== BUFFER TESTS =====
+
+    @Test
+    @DisplayName("Should encode and decode consecutive offers in a direct buffer")
+    void testBuffer_Sequential() {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(256);
+        OfferCodec.encode(new Offer(1L, "Nettoyage", "Bureaux", 50.0, "Paris"), buffer);
+        OfferCodec.encode(new Offer(2L, "Jardinage", "Haies", 30.0, "Lyon"), buffer);
+        buffer.flip();
+
+        assertEquals("Bureaux", OfferCodec.decode(buffer).getDescription());
+        assertEquals("Lyon", OfferCodec.decode(buffer).getLocation());
+        assertFalse(buffer.hasRemaining());
+    }
+
+    @Test
+    @DisplayName("Should encode the same bytes whatever the buffer's byte order")
+    void testBuffer_LittleEndian() {
+        Offer offer = new Offer(1L, "Nettoyage", "Bureaux", 0.1234, "Paris");
+        ByteBuffer buffer = ByteBuffer.allocateDirect(256).order(ByteOrder.LITTLE_ENDIAN);
+        OfferCodec.encode(offer, buffer);
+        buffer.flip();
+
+        byte[] written = new byte[buffer.remaining()];
+        buffer.duplicate().get(written);
+        assertArrayEquals(OfferCodec.toBytes(offer), written);
+        assertEquals(0.1234, OfferCodec.view(buffer).getPrice());
+        assertEquals(0.1234, OfferCodec.decode(buffer).getPrice());
+    }
+
+    @Test
+    @DisplayName("Should write nothing when the buffer lacks room")
+    void testEncode_Overflow() {
+        ByteBuffer buffer = ByteBuffer.allocate(8);
+
+        assertThrows(BufferOverflowException.class,
+                () -> OfferCodec.encode(new Offer(1L, "Réparation Plomberie", 100.0), buffer));
+        assertEquals(0, buffer.position());
+    }
+
+    @Test
+    @DisplayName("Should reject an unknown format version")
+    void testDecode_UnknownVersion() {
+        byte[] bytes = OfferCodec.toBytes(new Offer(1L, "Nettoyage", 50.0));
+        bytes[0] = 99;
+
+        assertThrows(IllegalArgumentException.class, () -> OfferCodec.fromBytes(bytes));
+    }
+
+    // ===== VIEW TESTS =====
+
+    @Test
+    @DisplayName("Should read single fields through a view without moving the buffer")
+    void testView_LazyFields() {
+        Offer offer = new Offer(5L, "Nettoyage", "Bureaux", 50.0, "Paris");
+        offer.setStatus("DRAFT");
+        ByteBuffer buffer = ByteBuffer.wrap(OfferCodec.toBytes(offer));
+
+        OfferCodec.View view = OfferCodec.view(buffer);
+
+        assertEquals(5L, view.getId());
+        assertEquals(50.0, view.getPrice());
+        assertEquals("DRAFT", view.getStatus());
+        assertEquals("Paris", view.getLocation());
+        assertEquals("Bureaux", view.getDescription());
+        assertEquals(buffer.limit(), view.getEncodedLength());
+        assertEquals(0, buffer.position());
+        assertEquals("Nettoyage", view.toOffer().getTitle());
+    }
+
+    @Test
+    @DisplayName("Should report absent strings as null through a view")
+    void testView_AbsentFields() {
+        OfferCodec.View view = OfferCodec.view(ByteBuffer.wrap(OfferCodec.toBytes(new Offer(1L, null, null))));
+
+        assertNull(view.getTitle());
+        assertNull(view.getPrice());
+        assertNull(view.getDescription());
+    }
+
+    // ===== CATEGORIE TESTS =====
+
+    @Test
+    @DisplayName("Should round trip a categorie")
+    void testCategorie_RoundTrip() {
+        Categorie decoded = CategorieCodec.fromBytes(CategorieCodec.toBytes(new Categorie(3L, "Plomberie", "Eau et sanitaires")));
+
+        assertEquals(3L, decoded.getId());
+        assertEquals("Plomberie", decoded.getNom());
+        assertEquals("Eau et sanitaires", decoded.getDescription());
+        assertNull(CategorieCodec.fromBytes(CategorieCodec.toBytes(new Categorie(3L, "Plomberie"))).getDescription());
+    }
+
+    @Test
+    @DisplayName("Should reject an unknown categorie format version")
+    void testCategorie_UnknownVersion() {
+        byte[] bytes = CategorieCodec.toBytes(new Categorie(3L, "Plomberie"));
+        bytes[0] = 99;
+
+        assertThrows(IllegalArgumentException.class, () -> CategorieCodec.fromBytes(bytes));
+    }
+}
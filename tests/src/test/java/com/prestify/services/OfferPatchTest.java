@@ -0,0 +1,62 @@
+package com.prestify.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit Tests for OfferPatch and CategoriePatch
+ */
+@DisplayName("OfferPatch Unit Tests")
+class OfferPatchTest {
+
+    @Test
+    @DisplayName("Should track only the fields that were set")
+    void testDirtyFields() {
+        OfferPatch patch = new OfferPatch().price(120.0).status(null);
+
+        assertEquals(EnumSet.of(OfferPatch.Field.PRICE, OfferPatch.Field.STATUS), patch.getFields());
+        assertTrue(patch.contains(OfferPatch.Field.STATUS));
+        assertFalse(patch.contains(OfferPatch.Field.TITLE));
+        assertTrue(new OfferPatch().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should apply set fields and report the ones that changed")
+    void testApplyTo() {
+        Offer offer = new Offer(1L, "Réparation Plomberie", "Réparation urgente", 100.0, "Paris");
+        offer.setStatus("ACTIVE");
+
+        Set<OfferPatch.Field> changed = new OfferPatch()
+                .price(120.0).location("Paris").status(null).applyTo(offer);
+
+        assertEquals(EnumSet.of(OfferPatch.Field.PRICE, OfferPatch.Field.STATUS), changed);
+        assertEquals(120.0, offer.getPrice());
+        assertNull(offer.getStatus());
+        assertEquals("Réparation urgente", offer.getDescription());
+    }
+
+    @Test
+    @DisplayName("Should report no change when values are equal")
+    void testApplyTo_NoChange() {
+        Offer offer = new Offer(1L, "Nettoyage", 50.0);
+
+        assertTrue(new OfferPatch().title("Nettoyage").price(50.0).applyTo(offer).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should patch categorie fields")
+    void testCategoriePatch() {
+        Categorie categorie = new Categorie(1L, "Plomberie", "Services de plomberie");
+
+        Set<CategoriePatch.Field> changed = new CategoriePatch().description("Dépannage").applyTo(categorie);
+
+        assertEquals(EnumSet.of(CategoriePatch.Field.DESCRIPTION), changed);
+        assertEquals("Plomberie", categorie.getNom());
+        assertEquals("Dépannage", categorie.getDescription());
+    }
+}
@@ -0,0 +1,179 @@
+package com.prestify.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Flow;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit Tests for OfferPublisher
+ */
+@DisplayName("OfferPublisher Unit Tests")
+class OfferPublisherTest {
+
+    private InMemoryOfferRepository repository;
+    private List<Integer> fetchLimits;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryOfferRepository();
+        for (long id = 1; id <= 10; id++) {
+            repository.save(new Offer(id, "Offre " + id, "", 10.0 * (11 - id), id % 2 == 0 ? "Paris" : "Lyon"));
+        }
+        fetchLimits = new ArrayList<>();
+    }
+
+    private OfferPublisher publisherOverAll(int batchSize) {
+        return new OfferPublisher((after, limit) -> {
+            fetchLimits.add(limit);
+            return repository.findAllAfter(after == null ? null : after.getId(), limit);
+        }, batchSize, Runnable::run);
+    }
+
+    @Test
+    @DisplayName("Should only emit what has been requested")
+    void testBackpressure() {
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        publisherOverAll(4).subscribe(subscriber);
+
+        subscriber.subscription.request(3);
+        assertEquals(List.of(1L, 2L, 3L), subscriber.ids());
+        assertEquals(List.of(4), fetchLimits);
+
+        subscriber.subscription.request(2);
+        assertEquals(5, subscriber.received.size());
+        assertEquals(List.of(4, 4), fetchLimits);
+        assertFalse(subscriber.completed);
+    }
+
+    @Test
+    @DisplayName("Should serve one-at-a-time demand from full pages")
+    void testSingleRequests_FetchFullPages() {
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        publisherOverAll(4).subscribe(subscriber);
+
+        for (int i = 0; i < 10; i++) {
+            subscriber.subscription.request(1);
+        }
+
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L), subscriber.ids());
+        assertTrue(subscriber.completed);
+        assertEquals(List.of(4, 4, 4), fetchLimits);
+    }
+
+    @Test
+    @DisplayName("Should stream everything in bounded batches and complete")
+    void testStreamAll() {
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        publisherOverAll(4).subscribe(subscriber);
+
+        subscriber.subscription.request(Long.MAX_VALUE);
+
+        assertEquals(10, subscriber.received.size());
+        assertTrue(subscriber.completed);
+        assertTrue(fetchLimits.stream().allMatch(limit -> limit <= 4));
+    }
+
+    @Test
+    @DisplayName("Should stop fetching once cancelled")
+    void testCancel() {
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        subscriber.cancelAfter = 2;
+        publisherOverAll(4).subscribe(subscriber);
+
+        subscriber.subscription.request(10);
+
+        assertEquals(2, subscriber.received.size());
+        assertFalse(subscriber.completed);
+        assertEquals(1, fetchLimits.size());
+    }
+
+    @Test
+    @DisplayName("Should signal error on non-positive request")
+    void testInvalidRequest() {
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        publisherOverAll(4).subscribe(subscriber);
+
+        subscriber.subscription.request(0);
+
+        assertTrue(subscriber.error instanceof IllegalArgumentException);
+    }
+
+    @Test
+    @DisplayName("Should signal error when the source fails")
+    void testSourceFailure() {
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        new OfferPublisher((after, limit) -> {
+            throw new IllegalStateException("boom");
+        }, 4, Runnable::run).subscribe(subscriber);
+
+        subscriber.subscription.request(1);
+
+        assertTrue(subscriber.error instanceof IllegalStateException);
+    }
+
+    @Test
+    @DisplayName("Should stream by location and price range through the service")
+    void testServiceStreams() {
+        OfferServiceImpl service = new OfferServiceImpl(repository);
+        service.setStreamExecutor(Runnable::run);
+
+        RecordingSubscriber byLocation = new RecordingSubscriber();
+        service.streamOffersByLocation("Paris").subscribe(byLocation);
+        byLocation.subscription.request(Long.MAX_VALUE);
+
+        RecordingSubscriber byPrice = new RecordingSubscriber();
+        service.streamOffersByPriceRange(20.0, 50.0).subscribe(byPrice);
+        byPrice.subscription.request(Long.MAX_VALUE);
+
+        RecordingSubscriber invalid = new RecordingSubscriber();
+        service.streamOffersByPriceRange(50.0, 20.0).subscribe(invalid);
+        invalid.subscription.request(1);
+
+        assertEquals(List.of(2L, 4L, 6L, 8L, 10L), byLocation.ids());
+        assertEquals(List.of(9L, 8L, 7L, 6L), byPrice.ids());
+        assertTrue(invalid.completed);
+        assertTrue(invalid.received.isEmpty());
+    }
+
+    private static class RecordingSubscriber implements Flow.Subscriber<Offer> {
+        private final List<Offer> received = new ArrayList<>();
+        private Flow.Subscription subscription;
+        private boolean completed;
+        private Throwable error;
+        private int cancelAfter = Integer.MAX_VALUE;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(Offer item) {
+            received.add(item);
+            if (received.size() == cancelAfter) {
+                subscription.cancel();
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+
+        List<Long> ids() {
+            return received.stream().map(Offer::getId).collect(Collectors.toList());
+        }
+    }
+}
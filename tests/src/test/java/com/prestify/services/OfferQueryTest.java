@@ -0,0 +1,91 @@
+package com.prestify.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit Tests for OfferQuery
+ */
+@DisplayName("OfferQuery Unit Tests")
+class OfferQueryTest {
+
+    // ===== BUILDER TESTS =====
+    @Test
+    @DisplayName("Should default to id order without limit")
+    void testBuilder_Defaults() {
+        OfferQuery query = OfferQuery.builder().build();
+
+        assertEquals(OfferQuery.Sort.ID, query.getSort());
+        assertEquals(Integer.MAX_VALUE, query.getLimit());
+        assertFalse(query.hasPriceRange());
+        assertNull(query.getTitleContains());
+    }
+
+    @Test
+    @DisplayName("Should ignore blank title fragment")
+    void testBuilder_BlankTitle() {
+        assertNull(OfferQuery.builder().titleContains("  ").build().getTitleContains());
+        assertEquals("plomb", OfferQuery.builder().titleContains(" plomb ").build().getTitleContains());
+    }
+
+    @Test
+    @DisplayName("Should reject invalid criteria")
+    void testBuilder_Invalid() {
+        assertThrows(IllegalArgumentException.class, () -> OfferQuery.builder().priceBetween(200.0, 100.0).build());
+        assertThrows(IllegalArgumentException.class, () -> OfferQuery.builder().minPrice(-1.0).build());
+        assertThrows(IllegalArgumentException.class, () -> OfferQuery.builder().limit(0).build());
+        assertThrows(IllegalArgumentException.class, () -> OfferQuery.builder().sort(null).build());
+    }
+
+    // ===== MATCHES TESTS =====
+    @Test
+    @DisplayName("Should match only offers satisfying every criterion")
+    void testMatches() {
+        Offer offer = new Offer(1L, "Réparation Plomberie", "", 100.0, "Paris");
+        offer.setStatus("ACTIVE");
+
+        assertTrue(OfferQuery.builder().build().matches(offer));
+        assertTrue(OfferQuery.builder().titleContains("REPARATION").location("Paris")
+                .status("ACTIVE").priceBetween(100.0, 100.0).build().matches(offer));
+        assertTrue(OfferQuery.builder().maxPrice(150.0).build().matches(offer));
+        assertFalse(OfferQuery.builder().location("Lyon").build().matches(offer));
+        assertFalse(OfferQuery.builder().status("CLOSED").build().matches(offer));
+        assertFalse(OfferQuery.builder().minPrice(101.0).build().matches(offer));
+        assertFalse(OfferQuery.builder().titleContains("peinture").build().matches(offer));
+        assertFalse(OfferQuery.builder().build().matches(null));
+    }
+
+    @Test
+    @DisplayName("Should not match offer without price when a price bound is set")
+    void testMatches_NullPrice() {
+        Offer offer = new Offer(1L, "Jardinage", null);
+
+        assertTrue(OfferQuery.builder().location(null).build().matches(offer));
+        assertFalse(OfferQuery.builder().minPrice(0.0).build().matches(offer));
+    }
+
+    // ===== SORT TESTS =====
+    @Test
+    @DisplayName("Should order offers by each sort")
+    void testSortComparators() {
+        List<Offer> offers = new ArrayList<>(List.of(
+                new Offer(1L, "A", 100.0),
+                new Offer(2L, "B", 50.0),
+                new Offer(3L, "C", 100.0),
+                new Offer(4L, "D", null)));
+
+        offers.sort(OfferQuery.Sort.ID_DESC.comparator());
+        assertEquals(4L, offers.get(0).getId());
+
+        offers.sort(OfferQuery.Sort.PRICE_ASC.comparator());
+        assertEquals(List.of(2L, 1L, 3L, 4L), offers.stream().map(Offer::getId).toList());
+
+        offers.sort(OfferQuery.Sort.PRICE_DESC.comparator());
+        assertEquals(List.of(3L, 1L, 2L, 4L), offers.stream().map(Offer::getId).toList());
+    }
+}
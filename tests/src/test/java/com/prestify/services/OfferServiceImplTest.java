@@ -3,9 +3,18 @@ package com.prestify.services;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -122,6 +131,54 @@ class OfferServiceImplTest {
         });
     }
 
+    // ===== BATCH ADD TESTS =====
+    @Test
+    @DisplayName("Should save valid offers in batches and report invalid ones")
+    void testAddOffers_MixedBatch() {
+        List<Integer> batchSizes = new ArrayList<>();
+        when(offerRepository.saveAll(any())).thenAnswer(invocation -> {
+            List<Offer> batch = new ArrayList<>(invocation.<Collection<Offer>>getArgument(0));
+            batchSizes.add(batch.size());
+            return batch;
+        });
+        Offer invalid = new Offer(4L, "", 10.0);
+        offerService.setBatchSize(2);
+
+        BatchResult<Offer> result = offerService.addOffers(Arrays.asList(offer1, invalid, offer2, null, offer3));
+
+        assertEquals(Arrays.asList(offer1, offer2, offer3), result.getSaved());
+        assertEquals(2, result.getFailures().size());
+        assertEquals(1, result.getFailures().get(0).getIndex());
+        assertEquals("Offer title cannot be empty", result.getFailures().get(0).getReason());
+        assertEquals(3, result.getFailures().get(1).getIndex());
+        assertEquals(Arrays.asList(2, 1), batchSizes);
+        verify(offerRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should report every offer of a batch the repository rejected")
+    void testAddOffers_RepositoryFailure() {
+        when(offerRepository.saveAll(any())).thenThrow(new RuntimeException("Database unavailable"));
+
+        BatchResult<Offer> result = offerService.addOffers(Arrays.asList(offer1, offer2));
+
+        assertTrue(result.hasFailures());
+        assertTrue(result.getSaved().isEmpty());
+        assertEquals(2, result.getFailures().size());
+        assertEquals("Database unavailable", result.getFailures().get(1).getReason());
+    }
+
+    @Test
+    @DisplayName("Should reject null batch and invalid batch size")
+    void testAddOffers_InvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> {
+            offerService.addOffers(null);
+        });
+        assertThrows(IllegalArgumentException.class, () -> {
+            offerService.setBatchSize(0);
+        });
+    }
+
     // ===== GET OFFER BY ID TESTS =====
     @Test
     @DisplayName("Should get offer by id successfully")
@@ -146,6 +203,17 @@ class OfferServiceImplTest {
         });
     }
 
+    @Test
+    @DisplayName("Should look offers up by primitive id without boxing")
+    void testGetOfferById_PrimitiveId() {
+        when(offerRepository.findById(2L)).thenReturn(Optional.of(offer2));
+
+        Offer result = offerService.getOfferById(Long.valueOf(2L));
+
+        assertEquals("Installation Électrique", result.getTitle());
+        verify(offerRepository, never()).findById(any(Long.class));
+    }
+
     @Test
     @DisplayName("Should throw exception when id is null")
     void testGetOfferById_NullId() {
@@ -179,6 +247,45 @@ class OfferServiceImplTest {
         assertEquals(0, result.size());
     }
 
+    // ===== PAGINATION TESTS =====
+    @Test
+    @DisplayName("Should page offers with an opaque cursor")
+    void testGetOffersPage() {
+        when(offerRepository.findAllAfter(null, 3)).thenReturn(Arrays.asList(offer1, offer2, offer3));
+        when(offerRepository.findAllAfter(2L, 3)).thenReturn(Arrays.asList(offer3));
+
+        Page<Offer> first = offerService.getOffersPage(null, 2);
+        Page<Offer> second = offerService.getOffersPage(first.getNextCursor(), 2);
+
+        assertEquals(Arrays.asList(offer1, offer2), first.getItems());
+        assertTrue(first.hasNext());
+        assertEquals(Arrays.asList(offer3), second.getItems());
+        assertFalse(second.hasNext());
+    }
+
+    @Test
+    @DisplayName("Should reject page size above the maximum")
+    void testGetOffersPage_TooLarge() {
+        assertThrows(IllegalArgumentException.class, () -> {
+            offerService.getOffersPage(null, PageCursor.MAX_PAGE_SIZE + 1);
+        });
+    }
+
+    @Test
+    @DisplayName("Should reject a malformed cursor with a single message")
+    void testGetOffersPage_InvalidCursor() {
+        String notBase64 = "%%%";
+        String wrongPrefix = Base64.getUrlEncoder().encodeToString("before:1".getBytes(StandardCharsets.UTF_8));
+        String notANumber = Base64.getUrlEncoder().encodeToString("after:x".getBytes(StandardCharsets.UTF_8));
+
+        for (String cursor : List.of(notBase64, wrongPrefix, notANumber)) {
+            IllegalArgumentException thrown = assertThrows(IllegalArgumentException.class,
+                    () -> offerService.getOffersPage(cursor, 2));
+            assertEquals("Invalid page cursor: " + cursor, thrown.getMessage());
+        }
+        verify(offerRepository, never()).findAllAfter(any(), anyInt());
+    }
+
     // ===== DELETE OFFER TESTS =====
     @Test
     @DisplayName("Should delete offer successfully")
@@ -226,6 +333,105 @@ class OfferServiceImplTest {
         verify(offerRepository, times(1)).save(any());
     }
 
+    @Test
+    @DisplayName("Should update unconditionally even when the offer carries a version")
+    void testUpdateOffer_IgnoresCarriedVersion() {
+        Offer updatedOffer = new Offer(1L, "Réparation Plomberie Pro", "Réparation urgente avancée", 120.0, "Paris");
+        updatedOffer.setVersion(3L);
+        when(offerRepository.findById(1L)).thenReturn(Optional.of(offer1));
+        when(offerRepository.save(any())).thenReturn(updatedOffer);
+
+        assertSame(updatedOffer, offerService.updateOffer(1L, updatedOffer));
+        verify(offerRepository, never()).saveIfVersion(any(), anyLong());
+    }
+
+    @Test
+    @DisplayName("Should update conditionally on the expected version")
+    void testUpdateOfferIfVersion_Success() {
+        Offer updatedOffer = new Offer(1L, "Réparation Plomberie Pro", "Réparation urgente avancée", 120.0, "Paris");
+        when(offerRepository.saveIfVersion(any(), eq(3L))).thenReturn(Optional.of(updatedOffer));
+
+        assertSame(updatedOffer, offerService.updateOfferIfVersion(1L, updatedOffer, 3L));
+        verify(offerRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should throw OptimisticLockException on a stale version")
+    void testUpdateOfferIfVersion_StaleVersion() {
+        Offer updatedOffer = new Offer(1L, "Réparation Plomberie Pro", 120.0);
+        when(offerRepository.saveIfVersion(any(), eq(3L))).thenReturn(Optional.empty());
+        when(offerRepository.existsById(1L)).thenReturn(true);
+
+        OptimisticLockException thrown = assertThrows(OptimisticLockException.class,
+                () -> offerService.updateOfferIfVersion(1L, updatedOffer, 3L));
+        assertEquals(3L, thrown.getExpectedVersion());
+    }
+
+    @Test
+    @DisplayName("Should report a missing offer on versioned update")
+    void testUpdateOfferIfVersion_NotFound() {
+        Offer updatedOffer = new Offer(99L, "Inconnue", 10.0);
+        when(offerRepository.saveIfVersion(any(), eq(1L))).thenReturn(Optional.empty());
+        when(offerRepository.existsById(99L)).thenReturn(false);
+
+        RuntimeException thrown = assertThrows(RuntimeException.class,
+                () -> offerService.updateOfferIfVersion(99L, updatedOffer, 1L));
+        assertEquals("Offer not found with id: 99", thrown.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> offerService.updateOfferIfVersion(null, updatedOffer, 1L));
+    }
+
+    @Test
+    @DisplayName("Should retry modification after a conflict")
+    void testModifyOffer_RetriesOnConflict() {
+        Offer stale = new Offer(offer1);
+        stale.setVersion(1L);
+        Offer fresh = new Offer(offer1);
+        fresh.setVersion(2L);
+        when(offerRepository.findById(1L)).thenReturn(Optional.of(stale), Optional.of(fresh));
+        when(offerRepository.saveIfVersion(any(), eq(1L))).thenReturn(Optional.empty());
+        when(offerRepository.saveIfVersion(any(), eq(2L))).thenAnswer(invocation -> Optional.of(invocation.getArgument(0)));
+
+        Offer result = offerService.modifyOffer(1L, offer -> offer.setPrice(110.0));
+
+        assertEquals(110.0, result.getPrice());
+        verify(offerRepository, times(2)).findById(1L);
+    }
+
+    @Test
+    @DisplayName("Should give up after the configured number of attempts")
+    void testModifyOffer_GivesUp() {
+        offerService.setMaxUpdateAttempts(3);
+        when(offerRepository.findById(1L)).thenReturn(Optional.of(offer1));
+        when(offerRepository.saveIfVersion(any(), anyLong())).thenReturn(Optional.empty());
+
+        assertThrows(OptimisticLockException.class, () -> offerService.modifyOffer(1L, offer -> offer.setPrice(1.0)));
+        verify(offerRepository, times(3)).saveIfVersion(any(), anyLong());
+        assertThrows(IllegalArgumentException.class, () -> offerService.modifyOffer(1L, null));
+    }
+
+    @Test
+    @DisplayName("Should pass patch to the repository")
+    void testPatchOffer() {
+        OfferPatch patch = new OfferPatch().price(120.0);
+        when(offerRepository.patch(1L, patch)).thenReturn(Optional.of(offer1));
+
+        assertSame(offer1, offerService.patchOffer(1L, patch));
+        verify(offerRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should validate patched fields and report missing offer")
+    void testPatchOffer_Invalid() {
+        assertThrows(IllegalArgumentException.class, () -> offerService.patchOffer(1L, new OfferPatch().price(-5.0)));
+        assertThrows(IllegalArgumentException.class, () -> offerService.patchOffer(1L, new OfferPatch().title("")));
+        assertThrows(IllegalArgumentException.class, () -> offerService.patchOffer(null, new OfferPatch()));
+        when(offerRepository.patch(eq(99L), any())).thenReturn(Optional.empty());
+
+        RuntimeException thrown = assertThrows(RuntimeException.class,
+                () -> offerService.patchOffer(99L, new OfferPatch().status("CLOSED")));
+        assertEquals("Offer not found with id: 99", thrown.getMessage());
+    }
+
     @Test
     @DisplayName("Should throw exception when updating with null id")
     void testUpdateOffer_NullId() {
@@ -275,6 +481,25 @@ class OfferServiceImplTest {
         assertEquals(0, result.size());
     }
 
+    @Test
+    @DisplayName("Should search offers by title fragment")
+    void testSearchOffersByTitle() {
+        when(offerRepository.searchByTitle("plomb")).thenReturn(Arrays.asList(offer1));
+
+        List<Offer> result = offerService.searchOffersByTitle(" plomb ");
+
+        assertEquals(1, result.size());
+        verify(offerRepository, times(1)).searchByTitle("plomb");
+    }
+
+    @Test
+    @DisplayName("Should return empty list when search query is blank")
+    void testSearchOffersByTitle_BlankQuery() {
+        assertTrue(offerService.searchOffersByTitle("  ").isEmpty());
+        assertTrue(offerService.searchOffersByTitle(null).isEmpty());
+        verify(offerRepository, never()).searchByTitle(any());
+    }
+
     // ===== GET BY LOCATION TESTS =====
     @Test
     @DisplayName("Should get offers by location")
@@ -357,6 +582,104 @@ class OfferServiceImplTest {
         assertEquals(0, result.size());
     }
 
+    // ===== QUERY TESTS =====
+    @Test
+    @DisplayName("Should pass composite query to the repository")
+    void testSearchOffers() {
+        OfferQuery query = OfferQuery.builder().location("Paris").maxPrice(120.0).build();
+        when(offerRepository.findByQuery(query)).thenReturn(List.of(offer1));
+
+        assertEquals(List.of(offer1), offerService.searchOffers(query));
+    }
+
+    @Test
+    @DisplayName("Should return empty list for null query")
+    void testSearchOffers_Null() {
+        assertTrue(offerService.searchOffers(null).isEmpty());
+        verify(offerRepository, never()).findByQuery(any());
+    }
+
+    @Test
+    @DisplayName("Should pass unindexed predicate to the repository")
+    void testGetOffersMatching() {
+        when(offerRepository.findMatching(any())).thenReturn(List.of(offer3));
+
+        assertEquals(List.of(offer3), offerService.getOffersMatching(offer -> offer.getPrice() < 60.0));
+        assertTrue(offerService.getOffersMatching(null).isEmpty());
+        verify(offerRepository, times(1)).findMatching(any());
+    }
+
+    // ===== TOP-K TESTS =====
+    @Test
+    @DisplayName("Should ask the repository for the k cheapest offers of a location")
+    void testGetTopOffers() {
+        when(offerRepository.findByQuery(any())).thenReturn(List.of(offer3));
+
+        List<Offer> result = offerService.getTopOffers(OfferQuery.Sort.PRICE_ASC, "Marseille", null, 80.0, 10);
+
+        assertEquals(List.of(offer3), result);
+        verify(offerRepository).findByQuery(argThat(query -> query.getLimit() == 10
+                && query.getSort() == OfferQuery.Sort.PRICE_ASC
+                && "Marseille".equals(query.getLocation())
+                && query.getMaxPrice() == 80.0));
+    }
+
+    @Test
+    @DisplayName("Should return empty list for invalid top-k arguments")
+    void testGetTopOffers_Invalid() {
+        assertTrue(offerService.getTopOffers(null, null, null, null, 10).isEmpty());
+        assertTrue(offerService.getTopOffers(OfferQuery.Sort.ID_DESC, null, null, null, 0).isEmpty());
+        assertTrue(offerService.getTopOffers(OfferQuery.Sort.PRICE_ASC, null, 90.0, 10.0, 5).isEmpty());
+        verify(offerRepository, never()).findByQuery(any());
+    }
+
+    // ===== PRICE STATISTICS TESTS =====
+    @Test
+    @DisplayName("Should read price statistics from the repository")
+    void testGetPriceStatistics() {
+        PriceStats stats = PriceStats.of(List.of(100.0));
+        when(offerRepository.priceStatistics("Paris")).thenReturn(stats);
+
+        assertSame(stats, offerService.getPriceStatistics("Paris"));
+        assertSame(PriceStats.EMPTY, offerService.getPriceStatistics(""));
+        verify(offerRepository, times(1)).priceStatistics(anyString());
+    }
+
+    // ===== GET BY STATUS TESTS =====
+    @Test
+    @DisplayName("Should get offers by status")
+    void testGetOffersByStatus() {
+        when(offerRepository.findByStatus("ACTIVE")).thenReturn(Arrays.asList(offer1, offer2));
+
+        assertEquals(2, offerService.getOffersByStatus("ACTIVE").size());
+        verify(offerRepository, times(1)).findByStatus("ACTIVE");
+    }
+
+    @Test
+    @DisplayName("Should return empty list for null or empty status")
+    void testGetOffersByStatus_Invalid() {
+        assertTrue(offerService.getOffersByStatus(null).isEmpty());
+        assertTrue(offerService.getOffersByStatus("").isEmpty());
+        verify(offerRepository, never()).findByStatus(anyString());
+    }
+
+    @Test
+    @DisplayName("Should pass combined status filters to the repository")
+    void testGetOffersByStatuses() {
+        List<String> statuses = List.of("ACTIVE", "PENDING");
+        when(offerRepository.findByStatusIn(statuses, "Paris", 50.0, null)).thenReturn(List.of(offer1));
+
+        assertEquals(List.of(offer1), offerService.getOffersByStatuses(statuses, "Paris", 50.0, null));
+    }
+
+    @Test
+    @DisplayName("Should return empty list for invalid price bounds in status query")
+    void testGetOffersByStatuses_InvalidPrice() {
+        assertTrue(offerService.getOffersByStatuses(List.of("ACTIVE"), null, 200.0, 100.0).isEmpty());
+        assertTrue(offerService.getOffersByStatuses(List.of("ACTIVE"), null, -1.0, null).isEmpty());
+        verify(offerRepository, never()).findByStatusIn(any(), any(), any(), any());
+    }
+
     // ===== OFFER EXISTS TESTS =====
     @Test
     @DisplayName("Should return true when offer exists")
@@ -388,6 +711,212 @@ class OfferServiceImplTest {
         verify(offerRepository, never()).existsById(any());
     }
 
+    // ===== CHANGE FEED TESTS =====
+    @Test
+    @DisplayName("Should publish add, update and delete on the change feed")
+    void testChangeFeed_PublishesWrites() {
+        ChangeFeed<Offer> feed = new ChangeFeed<>(16, 8);
+        List<ChangeEvent<Offer>> received = new CopyOnWriteArrayList<>();
+        ChangeFeed<Offer>.Subscription subscription = feed.subscribe("offers", received::addAll);
+        offerService.setChangeFeed(feed);
+        when(offerRepository.save(any(Offer.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(offerRepository.findById(1L)).thenReturn(Optional.of(offer1));
+        when(offerRepository.existsById(1L)).thenReturn(true);
+
+        offerService.addOffer(offer1);
+        offerService.updateOffer(1L, offer2);
+        offerService.deleteOffer(1L);
+
+        assertTrue(subscription.awaitSequence(3, 5, TimeUnit.SECONDS));
+        feed.close();
+        assertEquals(3, received.size());
+        assertEquals(ChangeEvent.Type.CREATED, received.get(0).getType());
+        assertEquals(ChangeEvent.Type.UPDATED, received.get(1).getType());
+        assertEquals("Installation Électrique", received.get(1).getValue().getTitle());
+        assertEquals(ChangeEvent.Type.DELETED, received.get(2).getType());
+        assertEquals(1L, received.get(2).getId());
+        assertNull(received.get(2).getValue());
+    }
+
+    @Test
+    @DisplayName("Should not publish a change that did not happen")
+    void testChangeFeed_NoEventOnFailure() {
+        ChangeFeed<Offer> feed = new ChangeFeed<>(16, 8);
+        offerService.setChangeFeed(feed);
+        when(offerRepository.patch(eq(9L), any(OfferPatch.class))).thenReturn(Optional.empty());
+
+        assertThrows(RuntimeException.class, () -> offerService.patchOffer(9L, new OfferPatch().price(10.0)));
+        assertEquals(0, feed.getLastSequence());
+        feed.close();
+    }
+
+    @Test
+    @DisplayName("Should publish a copy that callers cannot modify")
+    void testChangeFeed_PublishesCopy() {
+        ChangeFeed<Offer> feed = new ChangeFeed<>(16, 8);
+        List<ChangeEvent<Offer>> received = new CopyOnWriteArrayList<>();
+        ChangeFeed<Offer>.Subscription subscription = feed.subscribe("offers", received::addAll);
+        offerService.setChangeFeed(feed);
+        when(offerRepository.save(any(Offer.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        String title = offer1.getTitle();
+
+        Offer added = offerService.addOffer(offer1);
+        added.setTitle("Modifié");
+
+        assertTrue(subscription.awaitSequence(1, 5, TimeUnit.SECONDS));
+        feed.close();
+        assertNotSame(added, received.get(0).getValue());
+        assertEquals(title, received.get(0).getValue().getTitle());
+    }
+
+    @Test
+    @DisplayName("Should publish a create before any later write to the id it was assigned")
+    void testChangeFeed_CreateOrderedBeforeLaterWrites() throws InterruptedException {
+        ChangeFeed<Offer> feed = new ChangeFeed<>(16, 8);
+        List<ChangeEvent<Offer>> received = new CopyOnWriteArrayList<>();
+        ChangeFeed<Offer>.Subscription subscription = feed.subscribe("offers", received::addAll);
+        offerService.setChangeFeed(feed);
+        when(offerRepository.existsById(7L)).thenReturn(true);
+        List<Thread> deleters = new ArrayList<>();
+        when(offerRepository.save(any(Offer.class))).thenAnswer(invocation -> {
+            Offer saved = new Offer((Offer) invocation.getArgument(0));
+            saved.setId(7L);
+            Thread deleter = new Thread(() -> offerService.deleteOffer(7L));
+            deleters.add(deleter);
+            deleter.start();
+            Thread.sleep(100);
+            return saved;
+        });
+
+        offerService.addOffer(new Offer(null, "Peinture", 80.0));
+        deleters.get(0).join(5000);
+
+        assertTrue(subscription.awaitSequence(2, 5, TimeUnit.SECONDS));
+        feed.close();
+        assertEquals(ChangeEvent.Type.CREATED, received.get(0).getType());
+        assertEquals(ChangeEvent.Type.DELETED, received.get(1).getType());
+        assertEquals(7L, received.get(1).getId());
+    }
+
+    @Test
+    @DisplayName("Should create under the reserved ids' stripes only")
+    void testChangeFeed_CreateLocksOnlyItsIds() throws Exception {
+        ChangeFeed<Offer> feed = new ChangeFeed<>(16, 8);
+        OfferServiceImpl service = new OfferServiceImpl(new InMemoryOfferRepository());
+        service.setChangeFeed(feed);
+        CountDownLatch held = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread holder = new Thread(() -> feed.inOrder(63L, () -> {
+            held.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return null;
+        }));
+        holder.start();
+        assertTrue(held.await(5, TimeUnit.SECONDS));
+
+        try {
+            Offer added = CompletableFuture.supplyAsync(() -> service.addOffer(new Offer(null, "Peinture", 80.0)))
+                    .get(5, TimeUnit.SECONDS);
+            BatchResult<Offer> batch = CompletableFuture.supplyAsync(() -> service.addOffers(List.of(
+                    new Offer(null, "Jardinage", 40.0), new Offer(null, "Vitrerie", 60.0))))
+                    .get(5, TimeUnit.SECONDS);
+
+            assertEquals(1L, added.getId());
+            assertEquals(List.of(2L, 3L), batch.getSaved().stream().map(Offer::getId).toList());
+            assertEquals(3, feed.getLastSequence());
+        } finally {
+            release.countDown();
+            holder.join(5000);
+            feed.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Should publish one delete when two deletes race")
+    void testChangeFeed_ConcurrentDeletesPublishOnce() throws InterruptedException {
+        ChangeFeed<Offer> feed = new ChangeFeed<>(16, 8);
+        offerService.setChangeFeed(feed);
+        AtomicBoolean deleted = new AtomicBoolean();
+        when(offerRepository.existsById(5L)).thenAnswer(invocation -> !deleted.get());
+        doAnswer(invocation -> {
+            Thread.sleep(50);
+            deleted.set(true);
+            return null;
+        }).when(offerRepository).deleteById(5L);
+        List<Throwable> failures = new CopyOnWriteArrayList<>();
+        List<Thread> deleters = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            Thread deleter = new Thread(() -> {
+                try {
+                    offerService.deleteOffer(5L);
+                } catch (RuntimeException e) {
+                    failures.add(e);
+                }
+            });
+            deleters.add(deleter);
+            deleter.start();
+        }
+        for (Thread deleter : deleters) {
+            deleter.join(5000);
+        }
+
+        assertEquals(1, feed.getLastSequence());
+        assertEquals(1, failures.size());
+        feed.close();
+    }
+
+    @Test
+    @DisplayName("Should not publish a patch that changed nothing")
+    void testChangeFeed_NoOpPatchNotPublished() {
+        ChangeFeed<Offer> feed = new ChangeFeed<>(16, 8);
+        OfferServiceImpl service = new OfferServiceImpl(new InMemoryOfferRepository());
+        service.setChangeFeed(feed);
+        Offer added = service.addOffer(new Offer(null, "Peinture", 80.0));
+
+        Offer unchanged = service.patchOffer(added.getId(), new OfferPatch().price(80.0));
+        Offer changed = service.patchOffer(added.getId(), new OfferPatch().price(90.0));
+
+        assertEquals(added.getVersion(), unchanged.getVersion());
+        assertEquals(added.getVersion() + 1, changed.getVersion());
+        assertEquals(2, feed.getLastSequence());
+        feed.close();
+    }
+
+    // ===== DELTA SYNC TESTS =====
+    @Test
+    @DisplayName("Should answer deltas from the change log fed by the change feed")
+    void testGetOffersChangedSince_Delta() {
+        ChangeFeed<Offer> feed = new ChangeFeed<>(16, 8);
+        ChangeLog<Offer> log = new ChangeLog<>(Offer::new);
+        ChangeFeed<Offer>.Subscription subscription = feed.subscribe("changelog", log);
+        offerService.setChangeFeed(feed);
+        offerService.setChangeLog(log);
+        when(offerRepository.save(any(Offer.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(offerRepository.existsById(1L)).thenReturn(true);
+        String token = offerService.getOffersChangedSince(null, 100).getToken();
+
+        offerService.addOffer(offer1);
+        offerService.addOffer(offer2);
+        offerService.deleteOffer(1L);
+        assertTrue(subscription.awaitSequence(3, 5, TimeUnit.SECONDS));
+        feed.close();
+
+        Delta<Offer> delta = offerService.getOffersChangedSince(token, 100);
+        assertFalse(delta.isReset());
+        assertEquals(List.of(offer2), delta.getChanged());
+        assertEquals(List.of(1L), delta.getDeleted());
+    }
+
+    @Test
+    @DisplayName("Should refuse deltas without a change log")
+    void testGetOffersChangedSince_NotConfigured() {
+        assertThrows(IllegalStateException.class, () -> offerService.getOffersChangedSince(null, 100));
+    }
+
     // ===== INTEGRATION TESTS =====
     @Test
     @DisplayName("Should handle complete workflow: add, get, update, delete")
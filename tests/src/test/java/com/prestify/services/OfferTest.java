@@ -191,4 +191,21 @@ class OfferTest {
         assertNull(offer.getPrice());
         assertNull(offer.getLocation());
     }
+
+    @Test
+    @DisplayName("Should copy all fields with copy constructor")
+    void testCopyConstructor() {
+        Offer ofr = new Offer(1L, "Réparation", "Urgent", 100.0, "Paris");
+        ofr.setStatus("ACTIVE");
+
+        Offer copy = new Offer(ofr);
+        ofr.setPrice(200.0);
+
+        assertEquals(ofr, copy);
+        assertEquals("Réparation", copy.getTitle());
+        assertEquals("Urgent", copy.getDescription());
+        assertEquals(100.0, copy.getPrice());
+        assertEquals("Paris", copy.getLocation());
+        assertEquals("ACTIVE", copy.getStatus());
+    }
 }
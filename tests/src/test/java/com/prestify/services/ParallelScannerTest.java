@@ -0,0 +1,97 @@
+package com.prestify.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit Tests for ParallelScanner
+ */
+@DisplayName("ParallelScanner Unit Tests")
+class ParallelScannerTest {
+
+    private static Integer[] numbers(int count) {
+        return IntStream.range(0, count).boxed().toArray(Integer[]::new);
+    }
+
+    @Test
+    @DisplayName("Should keep input order when splitting across workers")
+    void testFilter_KeepsOrder() {
+        ParallelScanner scanner = new ParallelScanner(4, 64);
+
+        List<Integer> result = scanner.filter(numbers(10_000), n -> n % 7 == 0, Function.identity());
+
+        List<Integer> expected = IntStream.range(0, 10_000).filter(n -> n % 7 == 0).boxed()
+                .collect(Collectors.toList());
+        assertEquals(expected, result);
+    }
+
+    @Test
+    @DisplayName("Should apply mapper to matching items only")
+    void testFilter_Mapper() {
+        ParallelScanner scanner = new ParallelScanner(2, 8);
+
+        List<String> result = scanner.filter(numbers(40), n -> n >= 37, n -> "#" + n);
+
+        assertEquals(List.of("#37", "#38", "#39"), result);
+    }
+
+    @Test
+    @DisplayName("Should stay on the calling thread below the threshold")
+    void testFilter_SequentialBelowThreshold() {
+        ParallelScanner scanner = new ParallelScanner(4, 100);
+        Set<Thread> threads = ConcurrentHashMap.newKeySet();
+
+        scanner.filter(numbers(100), n -> threads.add(Thread.currentThread()), Function.identity());
+
+        assertEquals(Set.of(Thread.currentThread()), threads);
+    }
+
+    @Test
+    @DisplayName("Should propagate predicate failures")
+    void testFilter_PredicateFailure() {
+        ParallelScanner scanner = new ParallelScanner(2, 16);
+
+        assertThrows(IllegalStateException.class, () -> scanner.filter(numbers(1_000), n -> {
+            if (n == 500) {
+                throw new IllegalStateException("boom");
+            }
+            return true;
+        }, Function.identity()));
+    }
+
+    @Test
+    @DisplayName("Should shut down only a pool it created")
+    void testClose() {
+        ForkJoinPool shared = new ForkJoinPool(2);
+        ParallelScanner owned = new ParallelScanner(2, 8);
+        ParallelScanner borrowing = new ParallelScanner(shared, 8);
+
+        owned.close();
+        borrowing.close();
+
+        assertThrows(RejectedExecutionException.class,
+                () -> owned.filter(numbers(100), n -> true, Function.identity()));
+        assertEquals(100, borrowing.filter(numbers(100), n -> true, Function.identity()).size());
+        shared.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should reject invalid configuration")
+    void testConstructor_Invalid() {
+        assertThrows(IllegalArgumentException.class, () -> new ParallelScanner(0, 10));
+        assertThrows(IllegalArgumentException.class, () -> new ParallelScanner(2, 0));
+        assertThrows(IllegalArgumentException.class, () -> new ParallelScanner(null, 10));
+        assertEquals(3, new ParallelScanner(3, 10).getParallelism());
+    }
+}
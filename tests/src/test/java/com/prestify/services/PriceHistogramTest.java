@@ -0,0 +1,189 @@
+package com.prestify.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit Tests for PriceHistogram
+ */
+@DisplayName("PriceHistogram Unit Tests")
+class PriceHistogramTest {
+
+    @Test
+    @DisplayName("Should estimate quantiles within the relative accuracy")
+    void testQuantile_Accuracy() {
+        Random random = new Random(3);
+        double[] prices = new double[10_000];
+        PriceHistogram histogram = new PriceHistogram();
+        for (int i = 0; i < prices.length; i++) {
+            prices[i] = 1 + random.nextDouble() * 999;
+            histogram.add(prices[i]);
+        }
+        Arrays.sort(prices);
+
+        for (double q : new double[] {0.0, 0.1, 0.5, 0.9, 0.99, 1.0}) {
+            double expected = prices[(int) Math.floor(q * (prices.length - 1))];
+            assertEquals(expected, histogram.quantile(q), expected * PriceHistogram.RELATIVE_ACCURACY, "q=" + q);
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep a separate bucket for zero")
+    void testZeroBucket() {
+        PriceHistogram histogram = new PriceHistogram();
+        histogram.add(0.0);
+        histogram.add(0.0);
+        histogram.add(10.0);
+
+        assertEquals(0.0, histogram.quantile(0.5));
+        assertEquals(2L, histogram.buckets().get(0.0));
+    }
+
+    @Test
+    @DisplayName("Should undo additions on remove")
+    void testRemove() {
+        PriceHistogram histogram = new PriceHistogram();
+        histogram.add(10.0);
+        histogram.add(500.0);
+
+        assertTrue(histogram.remove(500.0));
+        assertFalse(histogram.remove(500.0));
+        assertEquals(1, histogram.count());
+        assertEquals(10.0, histogram.quantile(1.0), 10.0 * PriceHistogram.RELATIVE_ACCURACY);
+    }
+
+    @Test
+    @DisplayName("Should merge bucket counts")
+    void testMerge() {
+        PriceHistogram left = new PriceHistogram();
+        PriceHistogram right = new PriceHistogram();
+        left.add(10.0);
+        right.add(10.0);
+        right.add(1000.0);
+
+        left.merge(right);
+
+        assertEquals(3, left.count());
+        assertEquals(2, left.buckets().size());
+        assertEquals(3L, left.buckets().values().stream().mapToLong(Long::longValue).sum());
+    }
+
+    @Test
+    @DisplayName("Should answer from a snapshot as the histogram did when it was taken")
+    void testSnapshot_MatchesHistogram() {
+        Random random = new Random(5);
+        PriceHistogram histogram = new PriceHistogram();
+        List<Double> prices = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            double price = i % 50 == 0 ? 0.0 : random.nextDouble() * 5_000;
+            histogram.add(price);
+            prices.add(price);
+            if (i % 3 == 0) {
+                assertTrue(histogram.remove(prices.remove(random.nextInt(prices.size()))));
+            }
+        }
+
+        PriceHistogram.Snapshot snapshot = histogram.snapshot();
+        histogram.add(10_000.0);
+
+        assertEquals(prices.size(), snapshot.count());
+        histogram.remove(10_000.0);
+        assertEquals(histogram.buckets(), snapshot.buckets());
+        for (double q : new double[] {0.0, 0.01, 0.25, 0.5, 0.75, 0.99, 1.0}) {
+            assertEquals(histogram.quantile(q), snapshot.quantile(q), "q=" + q);
+        }
+    }
+
+    @Test
+    @DisplayName("Should merge snapshots as the histograms would merge")
+    void testSnapshot_Merge() {
+        PriceHistogram left = new PriceHistogram();
+        PriceHistogram right = new PriceHistogram();
+        left.add(0.0);
+        left.add(10.0);
+        left.add(500.0);
+        right.add(10.0);
+        right.add(1000.0);
+
+        PriceHistogram.Snapshot merged = left.snapshot().merge(right.snapshot());
+        left.merge(right);
+
+        assertEquals(left.buckets(), merged.buckets());
+        assertEquals(5, merged.count());
+        assertEquals(left.quantile(0.75), merged.quantile(0.75));
+        assertTrue(Double.isNaN(PriceHistogram.Snapshot.EMPTY.quantile(0.5)));
+        assertThrows(IllegalArgumentException.class, () -> merged.quantile(-0.1));
+    }
+
+    @Test
+    @DisplayName("Should report NaN for empty histogram and reject invalid quantile")
+    void testQuantile_EdgeCases() {
+        PriceHistogram histogram = new PriceHistogram();
+
+        assertTrue(Double.isNaN(histogram.quantile(0.5)));
+        assertThrows(IllegalArgumentException.class, () -> histogram.quantile(1.5));
+    }
+
+    @Test
+    @DisplayName("Should compute exact aggregates in PriceStats")
+    void testPriceStatsOf() {
+        PriceStats stats = PriceStats.of(Arrays.asList(100.0, null, 50.0, 150.0));
+
+        assertEquals(3, stats.getCount());
+        assertEquals(300.0, stats.getSum());
+        assertEquals(100.0, stats.getAverage());
+        assertEquals(50.0, stats.getMin());
+        assertEquals(150.0, stats.getMax());
+        assertEquals(100.0, stats.getQuantile(0.5), 100.0 * PriceHistogram.RELATIVE_ACCURACY);
+        assertNull(PriceStats.EMPTY.getAverage());
+        assertNull(PriceStats.EMPTY.getQuantile(0.5));
+    }
+
+    @Test
+    @DisplayName("Should merge PriceStats as if taken over the union")
+    void testPriceStatsMerge() {
+        PriceStats left = PriceStats.of(Arrays.asList(100.0, 50.0));
+        PriceStats right = PriceStats.of(Arrays.asList(150.0, 20.0));
+
+        PriceStats merged = left.merge(right);
+
+        assertEquals(4, merged.getCount());
+        assertEquals(320.0, merged.getSum());
+        assertEquals(20.0, merged.getMin());
+        assertEquals(150.0, merged.getMax());
+        assertEquals(PriceStats.of(Arrays.asList(100.0, 50.0, 150.0, 20.0)).getHistogram(), merged.getHistogram());
+        assertEquals(2, left.getCount());
+        assertSame(left, left.merge(PriceStats.EMPTY));
+        assertSame(right, PriceStats.EMPTY.merge(right));
+    }
+
+    @Test
+    @DisplayName("Should keep the running sum exact through adds and removes")
+    void testPriceAggregate_SumDoesNotDrift() {
+        Random random = new Random(7);
+        PriceAggregate aggregate = new PriceAggregate();
+        List<Double> held = new ArrayList<>();
+        for (int i = 0; i < 200_000; i++) {
+            double price = Math.round((0.01 + random.nextDouble() * 1e6) * 100) / 100.0;
+            aggregate.add(price);
+            held.add(price);
+            if (held.size() > 3) {
+                aggregate.remove(held.remove(random.nextInt(held.size())));
+            }
+        }
+        BigDecimal exact = BigDecimal.ZERO;
+        for (double price : held) {
+            exact = exact.add(new BigDecimal(price));
+        }
+
+        assertEquals(exact.doubleValue(), aggregate.snapshot().getSum(), Math.ulp(exact.doubleValue()));
+    }
+}
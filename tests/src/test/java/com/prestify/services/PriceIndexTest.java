@@ -0,0 +1,142 @@
+package com.prestify.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit Tests for PriceIndex
+ */
+@DisplayName("PriceIndex Unit Tests")
+class PriceIndexTest {
+
+    private PriceIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new PriceIndex();
+        index.add(100.0, 1L);
+        index.add(150.0, 2L);
+        index.add(50.0, 3L);
+        index.add(100.0, 4L);
+    }
+
+    @Test
+    @DisplayName("Should return ids in price then id order")
+    void testIdsBetween() {
+        assertArrayEquals(new long[] {3L, 1L, 4L}, index.idsBetween(50.0, 100.0));
+        assertArrayEquals(new long[] {1L, 4L, 2L}, index.idsBetween(60.0, 1000.0));
+    }
+
+    @Test
+    @DisplayName("Should return empty slice when nothing matches")
+    void testIdsBetween_Empty() {
+        assertEquals(0, index.idsBetween(101.0, 149.0).length);
+        assertEquals(0, index.idsBetween(200.0, 100.0).length);
+    }
+
+    @Test
+    @DisplayName("Should count entries in range")
+    void testCountBetween() {
+        assertEquals(2, index.countBetween(100.0, 100.0));
+        assertEquals(4, index.countBetween(0.0, 500.0));
+        assertEquals(0, index.countBetween(500.0, 0.0));
+    }
+
+    @Test
+    @DisplayName("Should walk a range in both directions and stop early")
+    void testForEachBetween() {
+        List<Long> ascending = new ArrayList<>();
+        index.forEachBetween(50.0, 150.0, false, id -> ascending.add(id) && ascending.size() < 3);
+        List<Long> descending = new ArrayList<>();
+        index.forEachBetween(Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY, true, descending::add);
+
+        assertEquals(List.of(3L, 1L, 4L), ascending);
+        assertEquals(List.of(2L, 4L, 1L, 3L), descending);
+    }
+
+    @Test
+    @DisplayName("Should ignore duplicate entries")
+    void testAdd_Duplicate() {
+        index.add(100.0, 1L);
+
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    @DisplayName("Should move entry on price update")
+    void testUpdate() {
+        index.update(100.0, 175.0, 1L);
+
+        assertArrayEquals(new long[] {4L}, index.idsBetween(100.0, 100.0));
+        assertArrayEquals(new long[] {2L, 1L}, index.idsBetween(150.0, 175.0));
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    @DisplayName("Should remove entry")
+    void testRemove() {
+        assertTrue(index.remove(50.0, 3L));
+        assertFalse(index.remove(50.0, 3L));
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    @DisplayName("Should merge a batch in order, skipping pairs already present or repeated")
+    void testAddAll() {
+        index.addAll(new double[] {120.0, 50.0, 100.0, 120.0, 10.0, 0.0}, new long[] {7L, 3L, 5L, 7L, 6L, 9L}, 5);
+
+        assertEquals(7, index.size());
+        assertArrayEquals(new long[] {6L, 3L, 1L, 4L, 5L, 7L, 2L}, index.idsBetween(0.0, 1000.0));
+    }
+
+    @Test
+    @DisplayName("Should remove a batch in one pass, ignoring absent pairs")
+    void testRemoveAll() {
+        assertEquals(2, index.removeAll(new double[] {100.0, 999.0, 50.0}, new long[] {4L, 1L, 3L}, 3));
+
+        assertArrayEquals(new long[] {1L, 2L}, index.idsBetween(0.0, 1000.0));
+        assertEquals(0, index.removeAll(new double[0], new long[0], 0));
+    }
+
+    @Test
+    @DisplayName("Should end in the same state as single adds and removes")
+    void testBatch_MatchesSingleOperations() {
+        Random random = new Random(11);
+        PriceIndex single = new PriceIndex();
+        PriceIndex batched = new PriceIndex();
+        double[] prices = new double[2000];
+        long[] ids = new long[2000];
+        for (int i = 0; i < prices.length; i++) {
+            prices[i] = random.nextInt(300);
+            ids[i] = random.nextInt(1500);
+            single.add(prices[i], ids[i]);
+        }
+        batched.addAll(prices, ids, prices.length);
+        for (int i = 0; i < 500; i++) {
+            single.remove(prices[i], ids[i]);
+        }
+        batched.removeAll(prices, ids, 500);
+
+        assertEquals(single.size(), batched.size());
+        assertArrayEquals(single.idsBetween(0.0, 300.0), batched.idsBetween(0.0, 300.0));
+        assertEquals(single.countBetween(100.0, 200.0), batched.countBetween(100.0, 200.0));
+    }
+
+    @Test
+    @DisplayName("Should grow beyond initial capacity")
+    void testGrow() {
+        for (long id = 10; id < 1000; id++) {
+            index.add(id % 97, id);
+        }
+
+        assertEquals(994, index.size());
+        assertEquals(index.countBetween(0.0, 96.0), index.idsBetween(0.0, 96.0).length);
+    }
+}
@@ -0,0 +1,154 @@
+package com.prestify.services;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Throughput benchmark for ShardedOfferRepository against a single
+ * InMemoryOfferRepository, for 1, 2, 4, ... threads up to the number of cores.
+ * Each operation is an update with probability WRITE_PERCENT, a location
+ * query with probability QUERY_PERCENT and an id lookup otherwise, i.e.
+ * 89% lookups, 10% updates and 1% queries.
+ * A shard holds a fraction of the offers, so its indexes are smaller and its
+ * updates cheaper even on one thread; the default sharding is therefore also
+ * compared with a one-shard ShardedOfferRepository, and each repository's
+ * throughput is reported as a multiple of its own one-thread figure, which
+ * is what lock striping changes. Every measured run starts from a freshly
+ * loaded repository after a GC, the code paths are warmed up once before the
+ * table, and each cell is the median of ROUNDS runs taken in rotating order.
+ * Not a unit test; run with
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.prestify.services.ShardedOfferRepositoryBenchmark}.
+ */
+public class ShardedOfferRepositoryBenchmark {
+
+    private static final int OFFERS = 100_000;
+    private static final int WRITE_PERCENT = 10;
+    private static final int QUERY_PERCENT = 1;
+    private static final int LOOKUP_PERCENT = 100 - WRITE_PERCENT - QUERY_PERCENT;
+    private static final int ROUNDS = 3;
+    private static final long WARMUP_MILLIS = 1_000;
+    private static final long RUN_MILLIS = 3_000;
+    private static final String[] LOCATIONS = new String[500];
+
+    static {
+        for (int i = 0; i < LOCATIONS.length; i++) {
+            LOCATIONS[i] = "Ville " + i;
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int cores = Runtime.getRuntime().availableProcessors();
+        List<Supplier<IOfferRepository>> repositories = List.of(
+                InMemoryOfferRepository::new,
+                () -> new ShardedOfferRepository(1),
+                ShardedOfferRepository::new);
+        System.out.printf("%d offers, %d%% lookups, %d%% updates, %d%% location queries, %d cores, %d shards%n",
+                OFFERS, LOOKUP_PERCENT, WRITE_PERCENT, QUERY_PERCENT, cores, ShardedOfferRepository.DEFAULT_SHARD_COUNT);
+        for (Supplier<IOfferRepository> repository : repositories) {
+            measure(repository, Math.max(cores, 2));
+        }
+        System.out.printf("%8s %14s %14s %14s %10s %10s %10s%n", "threads",
+                "single ops/s", "1-shard ops/s", "sharded ops/s", "single x", "1-shard x", "sharded x");
+        double[] oneThread = null;
+        for (int threads = 1; threads <= Math.max(cores, 2); threads *= 2) {
+            double[] medians = medians(repositories, threads);
+            if (oneThread == null) {
+                oneThread = medians;
+            }
+            System.out.printf("%8d %14.0f %14.0f %14.0f %10.2f %10.2f %10.2f%n", threads,
+                    medians[0], medians[1], medians[2],
+                    medians[0] / oneThread[0], medians[1] / oneThread[1], medians[2] / oneThread[2]);
+        }
+    }
+
+    /**
+     * @return median throughput of each repository over ROUNDS runs, the
+     *         repositories taking turns to go first
+     */
+    private static double[] medians(List<Supplier<IOfferRepository>> repositories, int threads)
+            throws InterruptedException {
+        double[][] results = new double[repositories.size()][ROUNDS];
+        for (int round = 0; round < ROUNDS; round++) {
+            for (int i = 0; i < repositories.size(); i++) {
+                int turn = (round + i) % repositories.size();
+                results[turn][round] = measure(repositories.get(turn), threads);
+            }
+        }
+        double[] medians = new double[repositories.size()];
+        for (int i = 0; i < medians.length; i++) {
+            Arrays.sort(results[i]);
+            medians[i] = results[i][ROUNDS / 2];
+        }
+        return medians;
+    }
+
+    /**
+     * Runs the workload on a freshly loaded repository, after collecting the
+     * garbage the previous run left behind.
+     */
+    private static double measure(Supplier<IOfferRepository> repository, int threads) throws InterruptedException {
+        IOfferRepository loaded = load(repository.get());
+        System.gc();
+        return run(loaded, threads);
+    }
+
+    private static IOfferRepository load(IOfferRepository repository) {
+        List<Offer> offers = new ArrayList<>(OFFERS);
+        for (int i = 1; i <= OFFERS; i++) {
+            offers.add(new Offer((long) i, "Offre " + i, "Description " + i,
+                    (double) (i % 1000), LOCATIONS[i % LOCATIONS.length]));
+        }
+        repository.saveAll(offers);
+        return repository;
+    }
+
+    /**
+     * @return operations per second over the measured run, all threads combined
+     */
+    private static double run(IOfferRepository repository, int threads) throws InterruptedException {
+        AtomicBoolean measuring = new AtomicBoolean();
+        AtomicBoolean stop = new AtomicBoolean();
+        LongAdder operations = new LongAdder();
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            Thread worker = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                long count = 0;
+                while (!stop.get()) {
+                    long id = 1 + random.nextInt(OFFERS);
+                    int roll = random.nextInt(100);
+                    if (roll < WRITE_PERCENT) {
+                        repository.save(new Offer(id, "Offre " + id, "Mise à jour", (double) random.nextInt(1000),
+                                LOCATIONS[(int) (id % LOCATIONS.length)]));
+                    } else if (roll < WRITE_PERCENT + QUERY_PERCENT) {
+                        repository.findByLocationAfter(LOCATIONS[random.nextInt(LOCATIONS.length)], null, 20);
+                    } else {
+                        repository.findById(id);
+                    }
+                    if (measuring.get()) {
+                        count++;
+                    }
+                }
+                operations.add(count);
+                done.countDown();
+            });
+            worker.setDaemon(true);
+            worker.start();
+        }
+        Thread.sleep(WARMUP_MILLIS);
+        measuring.set(true);
+        long started = System.nanoTime();
+        Thread.sleep(RUN_MILLIS);
+        stop.set(true);
+        long elapsed = System.nanoTime() - started;
+        done.await();
+        return operations.sum() * 1e9 / elapsed;
+    }
+}
@@ -0,0 +1,227 @@
+package com.prestify.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit Tests for ShardedOfferRepository
+ */
+@DisplayName("ShardedOfferRepository Unit Tests")
+class ShardedOfferRepositoryTest {
+
+    private ShardedOfferRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new ShardedOfferRepository(4);
+        repository.save(new Offer(null, "Réparation Plomberie", "Fuite", 100.0, "Paris"));
+        repository.save(new Offer(null, "Installation Électrique", "Tableau", 150.0, "Lyon"));
+        repository.save(new Offer(null, "Plomberie Salle de Bain", "Douche", 80.0, "Paris"));
+        repository.save(new Offer(null, "Peinture", "Salon", 120.0, "Lyon"));
+        repository.save(new Offer(null, "Jardinage", "Haie", 80.0, "Paris"));
+        repository.save(new Offer(null, "Nettoyage", "Bureaux", 50.0, "Marseille"));
+    }
+
+    private static List<Long> ids(List<Offer> offers) {
+        return offers.stream().map(Offer::getId).collect(Collectors.toList());
+    }
+
+    // ===== ROUTING TESTS =====
+
+    @Test
+    @DisplayName("Should reject a non-positive shard count")
+    void testConstructor_InvalidShardCount() {
+        assertThrows(IllegalArgumentException.class, () -> new ShardedOfferRepository(0));
+    }
+
+    @Test
+    @DisplayName("Should assign ids from one sequence across shards")
+    void testSave_GlobalSequence() {
+        assertEquals(6, repository.size());
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L, 6L), ids(repository.findAll()));
+        for (long id = 1; id <= 6; id++) {
+            assertEquals(id, repository.findById(id).orElseThrow().getId());
+            assertTrue(repository.existsById(id));
+        }
+    }
+
+    @Test
+    @DisplayName("Should not reuse an explicit id for a later offer")
+    void testSave_ExplicitIdAdvancesSequence() {
+        repository.save(new Offer(42L, "Déménagement", 300.0));
+        Offer next = repository.save(new Offer(null, "Serrurerie", 90.0));
+
+        assertEquals(43L, next.getId());
+        assertEquals(repository.shardOf(42L), Math.floorMod(42, 4));
+    }
+
+    @Test
+    @DisplayName("Should keep saveAll results in input order")
+    void testSaveAll_InputOrder() {
+        List<Offer> saved = repository.saveAll(List.of(
+                new Offer(20L, "A", 10.0),
+                new Offer(null, "B", 20.0),
+                new Offer(13L, "C", 30.0)));
+
+        assertEquals(List.of("A", "B", "C"), saved.stream().map(Offer::getTitle).collect(Collectors.toList()));
+        assertEquals(21L, saved.get(1).getId());
+        assertEquals(9, repository.size());
+    }
+
+    @Test
+    @DisplayName("Should restore offers with their versions and advance the global sequence")
+    void testRestore_KeepsVersions() {
+        Offer offer = new Offer(30L, "Déménagement", 300.0);
+        offer.setVersion(4);
+
+        repository.restore(List.of(offer));
+
+        assertEquals(4, repository.findById(30L).orElseThrow().getVersion());
+        assertEquals(31L, repository.save(new Offer(null, "Serrurerie", 90.0)).getId());
+    }
+
+    @Test
+    @DisplayName("Should route versioned writes, patches and deletes to the owning shard")
+    void testSingleShardOperations() {
+        Offer current = repository.findById(3L).orElseThrow();
+        current.setPrice(85.0);
+
+        assertTrue(repository.saveIfVersion(current, current.getVersion()).isPresent());
+        assertFalse(repository.saveIfVersion(current, current.getVersion()).isPresent());
+        assertEquals("Douche chaude",
+                repository.patch(3L, new OfferPatch().description("Douche chaude")).orElseThrow().getDescription());
+
+        repository.deleteById(3L);
+
+        assertFalse(repository.existsById(3L));
+        assertTrue(repository.findById(3L).isEmpty());
+        assertFalse(repository.existsById((Long) null));
+        assertEquals(5, repository.size());
+    }
+
+    // ===== FAN-OUT QUERY TESTS =====
+
+    @Test
+    @DisplayName("Should merge secondary index results in id order")
+    void testFanOut_IdOrder() {
+        assertEquals(List.of(1L, 3L, 5L), ids(repository.findByLocation("Paris")));
+        assertEquals(List.of(1L, 3L), ids(repository.searchByTitle("plomberie")));
+        assertEquals(List.of(4L), ids(repository.findByTitle("Peinture")));
+        assertEquals(List.of(2L, 4L, 6L), ids(repository.findMatching(offer -> !"Paris".equals(offer.getLocation()))));
+    }
+
+    @Test
+    @DisplayName("Should page across shards after the merge")
+    void testFanOut_Paging() {
+        assertEquals(List.of(3L, 4L), ids(repository.findAllAfter(2L, 2)));
+        assertEquals(List.of(3L, 5L), ids(repository.findByLocationAfter("Paris", 1L, 5)));
+        assertEquals(List.of(1L), ids(repository.findByLocationAfter("Paris", null, 1)));
+    }
+
+    @Test
+    @DisplayName("Should merge price range results in price then id order")
+    void testFanOut_PriceOrder() {
+        assertEquals(List.of(3L, 5L, 1L, 4L), ids(repository.findByPriceBetween(60.0, 120.0)));
+        assertEquals(List.of(5L, 1L), ids(repository.findByPriceBetweenAfter(60.0, 200.0, 80.0, 3L, 2)));
+    }
+
+    @Test
+    @DisplayName("Should merge query results in the query's sort and apply its limit")
+    void testFindByQuery_SortAndLimit() {
+        OfferQuery query = OfferQuery.builder()
+                .minPrice(60.0)
+                .sort(OfferQuery.Sort.PRICE_DESC)
+                .limit(3)
+                .build();
+
+        assertEquals(List.of(2L, 4L, 1L), ids(repository.findByQuery(query)));
+        assertEquals(List.of(6L, 5L), ids(repository.findByQuery(
+                OfferQuery.builder().sort(OfferQuery.Sort.ID_DESC).limit(2).build())));
+        assertTrue(repository.findByQuery(null).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should give the same answers as a single in-memory repository")
+    void testFanOut_MatchesSingleRepository() {
+        for (long id = 1; id <= 6; id++) {
+            repository.patch(id, new OfferPatch().status(id % 3 == 0 ? "PAUSED" : "ACTIVE"));
+        }
+        InMemoryOfferRepository single = new InMemoryOfferRepository();
+        single.saveAll(repository.findAll());
+
+        assertEquals(ids(single.findByStatusIn(Set.of("ACTIVE"), "Paris", 50.0, 100.0)),
+                ids(repository.findByStatusIn(Set.of("ACTIVE"), "Paris", 50.0, 100.0)));
+        assertEquals(ids(single.findByStatus("ACTIVE")), ids(repository.findByStatus("ACTIVE")));
+        assertEquals(ids(single.findByQuery(OfferQuery.builder().sort(OfferQuery.Sort.PRICE_ASC).build())),
+                ids(repository.findByQuery(OfferQuery.builder().sort(OfferQuery.Sort.PRICE_ASC).build())));
+    }
+
+    // ===== STATISTICS TESTS =====
+
+    @Test
+    @DisplayName("Should combine price statistics of every shard")
+    void testPriceStatistics_Merged() {
+        PriceStats all = repository.priceStatistics(null);
+        PriceStats paris = repository.priceStatistics("Paris");
+        Map<String, PriceStats> byLocation = repository.priceStatisticsByLocation();
+
+        assertEquals(6, all.getCount());
+        assertEquals(580.0, all.getSum());
+        assertEquals(50.0, all.getMin());
+        assertEquals(150.0, all.getMax());
+        assertEquals(3, paris.getCount());
+        assertEquals(260.0, paris.getSum());
+        assertEquals(List.of("Lyon", "Marseille", "Paris"), new ArrayList<>(byLocation.keySet()));
+        assertEquals(270.0, byLocation.get("Lyon").getSum());
+        assertEquals(0, repository.priceStatistics("Nice").getCount());
+    }
+
+    // ===== CONCURRENCY TESTS =====
+
+    @Test
+    @DisplayName("Should assign unique ids to concurrent writers")
+    void testConcurrentSaves_UniqueIds() throws Exception {
+        int threads = 4;
+        int perThread = 500;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        Set<Long> assigned = ConcurrentHashMap.newKeySet();
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < perThread; i++) {
+                        assigned.add(repository.save(new Offer(null, "Offre", 10.0 + i)).getId());
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(threads * perThread, assigned.size());
+        assertEquals(6 + threads * perThread, repository.size());
+        assertEquals(6 + threads * perThread, repository.findAll().size());
+    }
+}
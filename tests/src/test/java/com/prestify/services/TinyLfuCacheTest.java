@@ -0,0 +1,114 @@
+package com.prestify.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit Tests for TinyLfuCache
+ */
+@DisplayName("TinyLfuCache Unit Tests")
+class TinyLfuCacheTest {
+
+    private AtomicLong clock;
+    private TinyLfuCache<String> cache;
+
+    @BeforeEach
+    void setUp() {
+        clock = new AtomicLong();
+        cache = new TinyLfuCache<>(100, 0, clock::get);
+    }
+
+    @Test
+    @DisplayName("Should count hits and misses")
+    void testGetAndPut() {
+        assertNull(cache.get(1L));
+        cache.put(1L, "un", cache.loadToken());
+
+        assertEquals("un", cache.get(1L));
+        assertEquals(1, cache.stats().getHits());
+        assertEquals(1, cache.stats().getMisses());
+        assertEquals(0.5, cache.stats().getHitRate());
+    }
+
+    @Test
+    @DisplayName("Should stay within its maximum size")
+    void testBounded() {
+        for (long key = 0; key < 1000; key++) {
+            cache.put(key, "v" + key, cache.loadToken());
+        }
+
+        assertTrue(cache.size() <= 100);
+        assertTrue(cache.stats().getEvictions() > 0);
+    }
+
+    @Test
+    @DisplayName("Should keep frequently used entries through a scan of one-off keys")
+    void testFrequencyAwareAdmission() {
+        for (long key = 0; key < 99; key++) {
+            cache.put(key, "hot" + key, cache.loadToken());
+        }
+        for (int round = 0; round < 5; round++) {
+            for (long key = 0; key < 99; key++) {
+                cache.get(key);
+            }
+        }
+        for (long key = 1000; key < 2000; key++) {
+            cache.get(key);
+            cache.put(key, "cold" + key, cache.loadToken());
+        }
+
+        int hotHits = 0;
+        for (long key = 0; key < 99; key++) {
+            if (cache.get(key) != null) {
+                hotHits++;
+            }
+        }
+        assertTrue(hotHits > 90, "hot entries retained: " + hotHits);
+    }
+
+    @Test
+    @DisplayName("Should expire entries after the TTL")
+    void testTtl() {
+        TinyLfuCache<String> expiring = new TinyLfuCache<>(10, 1000, clock::get);
+        expiring.put(1L, "un", expiring.loadToken());
+
+        clock.set(999);
+        assertEquals("un", expiring.get(1L));
+        clock.set(1000);
+        assertNull(expiring.get(1L));
+        assertEquals(0, expiring.size());
+    }
+
+    @Test
+    @DisplayName("Should not cache a load that raced with an invalidation")
+    void testInvalidationDuringLoad() {
+        long token = cache.loadToken();
+        cache.invalidate(1L);
+        cache.put(1L, "stale", token);
+
+        assertNull(cache.get(1L));
+    }
+
+    @Test
+    @DisplayName("Should peek at entries without touching the stats")
+    void testContainsKey() {
+        cache.put(1L, "un", cache.loadToken());
+
+        assertTrue(cache.containsKey(1L));
+        assertFalse(cache.containsKey(2L));
+        assertEquals(0, cache.stats().getHits());
+        assertEquals(0, cache.stats().getMisses());
+    }
+
+    @Test
+    @DisplayName("Should reject invalid configuration")
+    void testInvalidConfiguration() {
+        assertThrows(IllegalArgumentException.class, () -> new TinyLfuCache<String>(0, 0));
+        assertThrows(IllegalArgumentException.class, () -> new TinyLfuCache<String>(10, -1));
+    }
+}
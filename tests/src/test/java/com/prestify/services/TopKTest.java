@@ -0,0 +1,64 @@
+package com.prestify.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit Tests for TopK
+ */
+@DisplayName("TopK Unit Tests")
+class TopKTest {
+
+    @Test
+    @DisplayName("Should keep the k smallest items in order")
+    void testToSortedList() {
+        TopK<Integer> top = new TopK<>(3, Comparator.naturalOrder());
+        for (int value : new int[] {9, 4, 7, 1, 8, 3}) {
+            top.offer(value);
+        }
+
+        assertEquals(List.of(1, 3, 4), top.toSortedList());
+        assertEquals(3, top.size());
+    }
+
+    @Test
+    @DisplayName("Should reject items worse than the current worst")
+    void testOffer_Rejected() {
+        TopK<Integer> top = new TopK<>(2, Comparator.naturalOrder());
+        assertTrue(top.offer(5));
+        assertTrue(top.offer(6));
+
+        assertFalse(top.offer(7));
+        assertTrue(top.offer(1));
+        assertEquals(List.of(1, 5), top.toSortedList());
+    }
+
+    @Test
+    @DisplayName("Should match a full sort on random input")
+    void testRandomAgainstSort() {
+        Random random = new Random(7);
+        List<Integer> values = IntStream.range(0, 5_000).map(i -> random.nextInt(1_000)).boxed()
+                .collect(Collectors.toList());
+        TopK<Integer> top = new TopK<>(25, Comparator.reverseOrder());
+        values.forEach(top::offer);
+
+        List<Integer> expected = values.stream().sorted(Comparator.reverseOrder()).limit(25)
+                .collect(Collectors.toList());
+        assertEquals(expected, top.toSortedList());
+    }
+
+    @Test
+    @DisplayName("Should reject invalid arguments")
+    void testConstructor_Invalid() {
+        assertThrows(IllegalArgumentException.class, () -> new TopK<Integer>(0, Comparator.naturalOrder()));
+        assertThrows(IllegalArgumentException.class, () -> new TopK<Integer>(3, null));
+    }
+}
@@ -0,0 +1,81 @@
+package com.prestify.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit Tests for ValueDictionary
+ */
+@DisplayName("ValueDictionary Unit Tests")
+class ValueDictionaryTest {
+
+    private ValueDictionary dictionary;
+
+    @BeforeEach
+    void setUp() {
+        dictionary = new ValueDictionary();
+    }
+
+    @Test
+    @DisplayName("Should assign dense codes and decode them back")
+    void testEncodeDecode() {
+        assertEquals(0, dictionary.encode("Paris"));
+        assertEquals(1, dictionary.encode("Lyon"));
+        assertEquals(0, dictionary.encode(new String("Paris")));
+
+        assertEquals("Lyon", dictionary.decode(1));
+        assertEquals(2, dictionary.size());
+    }
+
+    @Test
+    @DisplayName("Should handle null and unknown values")
+    void testNullAndUnknown() {
+        assertEquals(ValueDictionary.NO_CODE, dictionary.encode(null));
+        assertEquals(ValueDictionary.NO_CODE, dictionary.codeOf("Nice"));
+        assertNull(dictionary.decode(ValueDictionary.NO_CODE));
+        assertThrows(IllegalArgumentException.class, () -> dictionary.decode(5));
+        assertEquals(0, dictionary.size());
+    }
+
+    @Test
+    @DisplayName("Should return one canonical instance per value")
+    void testCanonicalize() {
+        String first = dictionary.canonicalize(new String("ACTIVE"));
+        String second = dictionary.canonicalize(new String("ACTIVE"));
+
+        assertSame(first, second);
+    }
+
+    @Test
+    @DisplayName("Should assign a single code per value under concurrency")
+    void testConcurrentEncode() throws InterruptedException {
+        Set<Integer> codes = ConcurrentHashMap.newKeySet();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 500; i++) {
+                    codes.add(dictionary.encode("ville-" + i));
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(500, dictionary.size());
+        assertEquals(500, codes.size());
+        for (int i = 0; i < 500; i++) {
+            assertEquals("ville-" + i, dictionary.decode(dictionary.codeOf("ville-" + i)));
+        }
+    }
+}
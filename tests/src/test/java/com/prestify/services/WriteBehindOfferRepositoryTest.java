@@ -0,0 +1,342 @@
+package com.prestify.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit Tests for WriteBehindOfferRepository
+ */
+@DisplayName("WriteBehindOfferRepository Unit Tests")
+class WriteBehindOfferRepositoryTest {
+
+    private static final Duration NEVER = Duration.ofHours(1);
+
+    private IOfferRepository delegate;
+    private WriteBehindOfferRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        InMemoryOfferRepository store = new InMemoryOfferRepository();
+        store.save(new Offer(1L, "Réparation Plomberie", "Réparation urgente", 100.0, "Paris"));
+        store.save(new Offer(2L, "Installation Électrique", "Installation complète", 150.0, "Lyon"));
+        delegate = spy(store);
+        repository = new WriteBehindOfferRepository(delegate, 10, 100, NEVER);
+    }
+
+    @AfterEach
+    void tearDown() {
+        repository.close();
+    }
+
+    // ===== VIEW TESTS =====
+
+    @Test
+    @DisplayName("Should load existing offers at construction")
+    void testLoad_ExistingOffers() {
+        assertEquals(2, repository.findAll().size());
+        assertEquals(1, repository.findByLocation("Lyon").size());
+    }
+
+    @Test
+    @DisplayName("Should keep the delegate's versions when loading")
+    void testLoad_KeepsVersions() {
+        Offer stored = delegate.findById(1L).orElseThrow();
+        stored.setPrice(105.0);
+        delegate.save(stored);
+        repository.close();
+        repository = new WriteBehindOfferRepository(delegate, 10, 100, NEVER);
+
+        Offer loaded = repository.findById(1L).orElseThrow();
+        loaded.setPrice(110.0);
+
+        assertEquals(2, loaded.getVersion());
+        assertTrue(repository.saveIfVersion(loaded, 2).isPresent());
+    }
+
+    @Test
+    @DisplayName("Should serve writes from the view before they are flushed")
+    void testSave_VisibleBeforeFlush() {
+        Offer saved = repository.save(new Offer(null, "Nettoyage", "Bureaux", 50.0, "Paris"));
+
+        assertEquals(3L, saved.getId());
+        assertTrue(repository.findById(3L).isPresent());
+        assertEquals(2, repository.findByLocation("Paris").size());
+        assertFalse(delegate.existsById(3L));
+        assertEquals(1, repository.getPendingCount());
+    }
+
+    @Test
+    @DisplayName("Should hide deleted offers before the delete is flushed")
+    void testDelete_VisibleBeforeFlush() {
+        repository.deleteById(1L);
+
+        assertFalse(repository.existsById(1L));
+        assertTrue(delegate.existsById(1L));
+
+        repository.flush();
+        assertFalse(delegate.existsById(1L));
+    }
+
+    // ===== COALESCING TESTS =====
+
+    @Test
+    @DisplayName("Should collapse repeated writes to one offer into one flushed write")
+    void testSave_Coalesces() {
+        for (double price = 110.0; price <= 150.0; price += 10.0) {
+            Offer offer = repository.findById(1L).orElseThrow();
+            offer.setPrice(price);
+            repository.save(offer);
+        }
+        repository.patch(1L, new OfferPatch().status("PUBLISHED"));
+
+        assertEquals(1, repository.getPendingCount());
+        repository.flush();
+
+        verify(delegate, times(1)).restore(argThat((Collection<Offer> batch) -> batch.size() == 1));
+        Offer stored = delegate.findById(1L).orElseThrow();
+        assertEquals(150.0, stored.getPrice());
+        assertEquals("PUBLISHED", stored.getStatus());
+        assertEquals(1, repository.getFlushedCount());
+    }
+
+    @Test
+    @DisplayName("Should store the view's version for coalesced writes and reject a stale one after a restart")
+    void testSaveIfVersion_CoalescedKeepsVersion() {
+        Offer saved = repository.save(new Offer(null, "Nettoyage", 50.0));
+        Offer stale = new Offer(saved);
+        for (long version = 1; version <= 3; version++) {
+            Offer update = repository.findById(saved.getId()).orElseThrow();
+            update.setPrice(50.0 + version);
+            assertTrue(repository.saveIfVersion(update, version).isPresent());
+        }
+        repository.close();
+        repository = new WriteBehindOfferRepository(delegate, 10, 100, NEVER);
+
+        assertEquals(4, delegate.findById(saved.getId()).orElseThrow().getVersion());
+        assertEquals(4, repository.findById(saved.getId()).orElseThrow().getVersion());
+        stale.setPrice(10.0);
+        assertFalse(repository.saveIfVersion(stale, 1).isPresent());
+        assertEquals(53.0, repository.findById(saved.getId()).orElseThrow().getPrice());
+    }
+
+    @Test
+    @DisplayName("Should flush only the delete when an offer is created then deleted")
+    void testSave_ThenDelete() {
+        Offer saved = repository.save(new Offer(null, "Nettoyage", 50.0));
+        repository.deleteById(saved.getId());
+        repository.flush();
+
+        verify(delegate, never()).restore(any());
+        assertFalse(delegate.existsById(saved.getId()));
+    }
+
+    @Test
+    @DisplayName("Should not enqueue a patch that changes nothing")
+    void testPatch_NoChange() {
+        repository.patch(1L, new OfferPatch().price(100.0));
+
+        assertEquals(0, repository.getPendingCount());
+    }
+
+    // ===== FLUSH TRIGGER TESTS =====
+
+    @Test
+    @DisplayName("Should flush in the background once a batch is full")
+    void testFlush_OnBatchSize() throws InterruptedException {
+        for (int i = 0; i < 10; i++) {
+            repository.save(new Offer(null, "Offer " + i, 10.0 + i));
+        }
+
+        assertTrue(waitFor(() -> repository.getFlushedCount() == 10));
+        assertEquals(12, delegate.findAll().size());
+    }
+
+    @Test
+    @DisplayName("Should flush in the background when the interval elapses")
+    void testFlush_OnInterval() throws InterruptedException {
+        repository.close();
+        repository = new WriteBehindOfferRepository(delegate, 10, 100, Duration.ofMillis(20));
+
+        repository.save(new Offer(null, "Nettoyage", 50.0));
+
+        assertTrue(waitFor(() -> delegate.existsById(3L)));
+    }
+
+    // ===== BACKPRESSURE TESTS =====
+
+    @Test
+    @DisplayName("Should block writers while the pending map is full")
+    void testSave_BlocksWhenFull() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        InMemoryOfferRepository slow = new InMemoryOfferRepository() {
+            @Override
+            public void restore(Collection<Offer> offers) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                super.restore(offers);
+            }
+        };
+        repository.close();
+        repository = new WriteBehindOfferRepository(slow, 1, 1, NEVER);
+
+        repository.save(new Offer(null, "A", 10.0));
+        Offer b = repository.save(new Offer(null, "B", 20.0));
+        AtomicBoolean written = new AtomicBoolean();
+        Thread writer = new Thread(() -> {
+            repository.save(new Offer(null, "C", 30.0));
+            written.set(true);
+        });
+        writer.start();
+        writer.join(100);
+        assertFalse(written.get());
+
+        b.setPrice(25.0);
+        repository.save(b);
+
+        release.countDown();
+        writer.join(TimeUnit.SECONDS.toMillis(5));
+        assertTrue(written.get());
+        repository.flush();
+        assertEquals(3, slow.findAll().size());
+        assertEquals(25.0, slow.findById(b.getId()).orElseThrow().getPrice());
+    }
+
+    @Test
+    @DisplayName("Should save a batch larger than the pending map in chunks")
+    void testSaveAll_LargerThanMaxPending() {
+        List<Offer> batch = new ArrayList<>();
+        for (int i = 0; i < 250; i++) {
+            batch.add(new Offer(null, "Offre " + i, 10.0 + i));
+        }
+
+        List<Offer> saved = repository.saveAll(batch);
+
+        assertEquals(250, saved.size());
+        assertEquals(252, repository.findAll().size());
+        assertTrue(repository.getPendingCount() <= 100);
+        repository.flush();
+        assertEquals(252, delegate.findAll().size());
+        assertEquals(259.0, delegate.findById(252L).orElseThrow().getPrice());
+    }
+
+    // ===== FAILURE TESTS =====
+
+    @Test
+    @DisplayName("Should keep a rejected batch pending and retry it")
+    void testFlush_FailureRequeues() {
+        doThrow(new RuntimeException("Store unavailable")).doCallRealMethod()
+                .when(delegate).restore(any());
+        repository.save(new Offer(null, "Nettoyage", 50.0));
+
+        assertThrows(RuntimeException.class, () -> repository.flush());
+        assertEquals(1, repository.getPendingCount());
+
+        repository.flush();
+        assertEquals(0, repository.getPendingCount());
+        assertTrue(delegate.existsById(3L));
+    }
+
+    @Test
+    @DisplayName("Should back off before retrying a failed background flush")
+    void testFlush_FailureBacksOff() throws InterruptedException {
+        AtomicInteger attempts = new AtomicInteger();
+        AtomicBoolean failing = new AtomicBoolean(true);
+        InMemoryOfferRepository unavailable = new InMemoryOfferRepository() {
+            @Override
+            public void restore(Collection<Offer> offers) {
+                attempts.incrementAndGet();
+                if (failing.get()) {
+                    throw new RuntimeException("Store unavailable");
+                }
+                super.restore(offers);
+            }
+        };
+        repository.close();
+        repository = new WriteBehindOfferRepository(unavailable, 1, 100, Duration.ofMillis(50));
+
+        repository.save(new Offer(null, "Nettoyage", 50.0));
+        Thread.sleep(300);
+
+        assertNotNull(repository.getLastFlushFailure());
+        assertTrue(attempts.get() <= 5, "attempts: " + attempts.get());
+        failing.set(false);
+        repository.flush();
+        assertEquals(1, unavailable.findAll().size());
+    }
+
+    @Test
+    @DisplayName("Should not let a requeued write override a newer one")
+    void testFlush_FailureKeepsNewerWrite() {
+        Offer offer = repository.findById(1L).orElseThrow();
+        offer.setPrice(110.0);
+        doAnswer(invocation -> {
+            Offer newer = repository.findById(1L).orElseThrow();
+            newer.setPrice(120.0);
+            repository.save(newer);
+            throw new RuntimeException("Store unavailable");
+        }).doCallRealMethod().when(delegate).restore(any());
+        repository.save(offer);
+
+        assertThrows(RuntimeException.class, () -> repository.flush());
+        repository.flush();
+
+        assertEquals(120.0, delegate.findById(1L).orElseThrow().getPrice());
+    }
+
+    // ===== SHUTDOWN TESTS =====
+
+    @Test
+    @DisplayName("Should flush pending writes on close and reject later writes")
+    void testClose_FlushesAndRejects() {
+        repository.save(new Offer(null, "Nettoyage", 50.0));
+        repository.deleteById(2L);
+
+        repository.close();
+
+        assertTrue(delegate.existsById(3L));
+        assertFalse(delegate.existsById(2L));
+        assertThrows(IllegalStateException.class, () -> repository.save(new Offer(null, "Jardinage", 30.0)));
+    }
+
+    @Test
+    @DisplayName("Should reject invalid configuration")
+    void testConstructor_Invalid() {
+        assertThrows(IllegalArgumentException.class, () -> new WriteBehindOfferRepository(null));
+        assertThrows(IllegalArgumentException.class,
+                () -> new WriteBehindOfferRepository(delegate, 0, 10, NEVER));
+        assertThrows(IllegalArgumentException.class,
+                () -> new WriteBehindOfferRepository(delegate, 10, 5, NEVER));
+        assertThrows(IllegalArgumentException.class,
+                () -> new WriteBehindOfferRepository(delegate, 10, 100, Duration.ZERO));
+    }
+
+    private static boolean waitFor(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline) {
+            if (condition.getAsBoolean()) {
+                return true;
+            }
+            Thread.sleep(5);
+        }
+        return condition.getAsBoolean();
+    }
+}